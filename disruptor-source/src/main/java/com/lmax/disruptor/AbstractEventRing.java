@@ -0,0 +1,242 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import java.util.concurrent.TimeUnit;
+
+import com.lmax.disruptor.dsl.ProducerType;
+
+/**
+ * Base for rings that hold their entries in something other than the preallocated objects of a {@link RingBuffer}.
+ * Claiming and publishing are implemented with a {@link Sequencer}, the {@link EventSink} methods are inherited from
+ * {@link AbstractEventSink} as for the {@link RingBuffer}, using the {@link #get(long)} of the subclass.
+ *
+ * @param <E> type of the event read from and written to the ring.
+ */
+abstract class AbstractEventRing<E> extends AbstractEventSink<E> implements EventRing<E>
+{
+    protected final Sequencer sequencer;
+    protected final int bufferSize;
+
+    /**
+     * @param sequencer sequencer to handle the ordering of events moving through the ring.
+     * @throws IllegalArgumentException if the buffer size is less than 1 or not a power of 2.
+     */
+    AbstractEventRing(final Sequencer sequencer)
+    {
+        this.sequencer = sequencer;
+        this.bufferSize = sequencer.getBufferSize();
+
+        if (bufferSize < 1)
+        {
+            throw new IllegalArgumentException("bufferSize must not be less than 1");
+        }
+        if (Integer.bitCount(bufferSize) != 1)
+        {
+            throw new IllegalArgumentException("bufferSize must be a power of 2");
+        }
+    }
+
+    /**
+     * Create the sequencer for a ring of the specified producer type.
+     *
+     * @param producerType producer type to use {@link ProducerType}.
+     * @param bufferSize number of entries held by the ring.
+     * @param waitStrategy used to determine how to wait for new entries to become available.
+     * @return the sequencer.
+     */
+    static Sequencer newSequencer(final ProducerType producerType, final int bufferSize, final WaitStrategy waitStrategy)
+    {
+        switch (producerType)
+        {
+        case SINGLE:
+            return new SingleProducerSequencer(bufferSize, waitStrategy);
+        case MULTI:
+            return new MultiProducerSequencer(bufferSize, waitStrategy);
+        case MULTI_FETCH_AND_ADD:
+            return new FetchAndAddMultiProducerSequencer(bufferSize, waitStrategy);
+        default:
+            throw new IllegalStateException(producerType.toString());
+        }
+    }
+
+    /**
+     * @see RingBuffer#next()
+     */
+    @Override
+    public long next()
+    {
+        return sequencer.next();
+    }
+
+    /**
+     * @see RingBuffer#next(int)
+     */
+    @Override
+    public long next(final int n)
+    {
+        return sequencer.next(n);
+    }
+
+    /**
+     * @see RingBuffer#next(int, long, TimeUnit)
+     */
+    @Override
+    public long next(final int n, final long timeout, final TimeUnit unit)
+    {
+        return sequencer.next(n, timeout, unit);
+    }
+
+    /**
+     * @see RingBuffer#tryNext()
+     */
+    @Override
+    public long tryNext() throws InsufficientCapacityException
+    {
+        return sequencer.tryNext();
+    }
+
+    /**
+     * @see RingBuffer#tryNext(int)
+     */
+    @Override
+    public long tryNext(final int n) throws InsufficientCapacityException
+    {
+        return sequencer.tryNext(n);
+    }
+
+    /**
+     * Attempt to claim the next sequence without throwing when the ring is full.
+     *
+     * @return the claimed sequence, or {@link Sequencer#INITIAL_CURSOR_VALUE} if there was insufficient capacity.
+     */
+    protected final long tryClaim()
+    {
+        try
+        {
+            return sequencer.tryNext();
+        }
+        catch (InsufficientCapacityException e)
+        {
+            return Sequencer.INITIAL_CURSOR_VALUE;
+        }
+    }
+
+    /**
+     * Determines if a particular slot has been published.
+     *
+     * @param sequence The sequence to identify the slot.
+     * @return If the value has been published or not.
+     */
+    public boolean isPublished(final long sequence)
+    {
+        return sequencer.isAvailable(sequence);
+    }
+
+    @Override
+    public void addGatingSequences(final Sequence... gatingSequences)
+    {
+        sequencer.addGatingSequences(gatingSequences);
+    }
+
+    /**
+     * Get the minimum sequence value from all of the gating sequences
+     * added to this ring buffer.
+     *
+     * @return The minimum gating sequence or the cursor sequence if
+     * no sequences have been added.
+     */
+    public long getMinimumGatingSequence()
+    {
+        return sequencer.getMinimumSequence();
+    }
+
+    @Override
+    public boolean removeGatingSequence(final Sequence sequence)
+    {
+        return sequencer.removeGatingSequence(sequence);
+    }
+
+    @Override
+    public SequenceBarrier newBarrier(final Sequence... sequencesToTrack)
+    {
+        return sequencer.newBarrier(sequencesToTrack);
+    }
+
+    /**
+     * Creates an event poller for this ring buffer gated on the supplied sequences.
+     *
+     * @param gatingSequences
+     * @return A poller that will gate on this ring buffer and the supplied sequences.
+     */
+    public EventPoller<E> newPoller(final Sequence... gatingSequences)
+    {
+        return sequencer.newPoller(this, gatingSequences);
+    }
+
+    @Override
+    public long getCursor()
+    {
+        return sequencer.getCursor();
+    }
+
+    @Override
+    public int getBufferSize()
+    {
+        return bufferSize;
+    }
+
+    @Override
+    public boolean hasAvailableCapacity(final int requiredCapacity)
+    {
+        return sequencer.hasAvailableCapacity(requiredCapacity);
+    }
+
+    /**
+     * Publish the specified sequence.  This action marks this particular
+     * message as being available to be read.
+     *
+     * @param sequence the sequence to publish.
+     */
+    @Override
+    public void publish(long sequence)
+    {
+        sequencer.publish(sequence);
+    }
+
+    /**
+     * Publish the specified sequences.  This action marks these particular
+     * messages as being available to be read.
+     *
+     * @see Sequencer#next(int)
+     * @param lo the lowest sequence number to be published
+     * @param hi the highest sequence number to be published
+     */
+    @Override
+    public void publish(long lo, long hi)
+    {
+        sequencer.publish(lo, hi);
+    }
+
+    /**
+     * Get the remaining capacity for this ringBuffer.
+     * @return The number of slots remaining.
+     */
+    public long remainingCapacity()
+    {
+        return sequencer.remainingCapacity();
+    }
+}
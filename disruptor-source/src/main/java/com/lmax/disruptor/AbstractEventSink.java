@@ -0,0 +1,1177 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@link EventSink} methods shared by the {@link RingBuffer} and the other rings, translating each event into
+ * the entry returned by {@link #get(long)} for a sequence claimed with {@link #next()} or {@link #tryNext()}, then
+ * publishing it with {@link #publish(long)}.
+ *
+ * <p>Holds no fields so as not to disturb the padding of the {@link RingBuffer}.</p>
+ *
+ * @param <E> type of the event read from and written to the ring.
+ */
+abstract class AbstractEventSink<E> implements EventSequencer<E>, EventSink<E>
+{
+    /**
+     * @see com.lmax.disruptor.EventSink#publishEvent(com.lmax.disruptor.EventTranslator)
+     */
+    @Override
+    public void publishEvent(EventTranslator<E> translator)
+    {
+        final long sequence = next();
+        translateAndPublish(translator, sequence);
+    }
+
+    /**
+     * @see com.lmax.disruptor.EventSink#tryPublishEvent(com.lmax.disruptor.EventTranslator)
+     */
+    @Override
+    public boolean tryPublishEvent(EventTranslator<E> translator)
+    {
+        try
+        {
+            final long sequence = tryNext();
+            translateAndPublish(translator, sequence);
+            return true;
+        }
+        catch (InsufficientCapacityException e)
+        {
+            return false;
+        }
+    }
+
+    /**
+     * @see com.lmax.disruptor.EventSink#publishEvent(com.lmax.disruptor.EventTranslatorOneArg, Object)
+     *      com.lmax.disruptor.EventSink#publishEvent(com.lmax.disruptor.EventTranslatorOneArg, A)
+     */
+    @Override
+    public <A> void publishEvent(EventTranslatorOneArg<E, A> translator, A arg0)
+    {
+        final long sequence = next();
+        translateAndPublish(translator, sequence, arg0);
+    }
+
+    /**
+     * @see com.lmax.disruptor.EventSink#tryPublishEvent(com.lmax.disruptor.EventTranslatorOneArg, Object)
+     *      com.lmax.disruptor.EventSink#tryPublishEvent(com.lmax.disruptor.EventTranslatorOneArg, A)
+     */
+    @Override
+    public <A> boolean tryPublishEvent(EventTranslatorOneArg<E, A> translator, A arg0)
+    {
+        try
+        {
+            final long sequence = tryNext();
+            translateAndPublish(translator, sequence, arg0);
+            return true;
+        }
+        catch (InsufficientCapacityException e)
+        {
+            return false;
+        }
+    }
+
+    /**
+     * @see com.lmax.disruptor.EventSink#publishEvent(com.lmax.disruptor.EventTranslatorTwoArg, Object, Object)
+     *      com.lmax.disruptor.EventSink#publishEvent(com.lmax.disruptor.EventTranslatorTwoArg, A, B)
+     */
+    @Override
+    public <A, B> void publishEvent(EventTranslatorTwoArg<E, A, B> translator, A arg0, B arg1)
+    {
+        final long sequence = next();
+        translateAndPublish(translator, sequence, arg0, arg1);
+    }
+
+    /**
+     * @see com.lmax.disruptor.EventSink#tryPublishEvent(com.lmax.disruptor.EventTranslatorTwoArg, Object, Object)
+     *      com.lmax.disruptor.EventSink#tryPublishEvent(com.lmax.disruptor.EventTranslatorTwoArg, A, B)
+     */
+    @Override
+    public <A, B> boolean tryPublishEvent(EventTranslatorTwoArg<E, A, B> translator, A arg0, B arg1)
+    {
+        try
+        {
+            final long sequence = tryNext();
+            translateAndPublish(translator, sequence, arg0, arg1);
+            return true;
+        }
+        catch (InsufficientCapacityException e)
+        {
+            return false;
+        }
+    }
+
+    /**
+     * @see com.lmax.disruptor.EventSink#publishEvent(com.lmax.disruptor.EventTranslatorThreeArg, Object, Object, Object)
+     *      com.lmax.disruptor.EventSink#publishEvent(com.lmax.disruptor.EventTranslatorThreeArg, A, B, C)
+     */
+    @Override
+    public <A, B, C> void publishEvent(EventTranslatorThreeArg<E, A, B, C> translator, A arg0, B arg1, C arg2)
+    {
+        final long sequence = next();
+        translateAndPublish(translator, sequence, arg0, arg1, arg2);
+    }
+
+    /**
+     * @see com.lmax.disruptor.EventSink#tryPublishEvent(com.lmax.disruptor.EventTranslatorThreeArg, Object, Object, Object)
+     *      com.lmax.disruptor.EventSink#tryPublishEvent(com.lmax.disruptor.EventTranslatorThreeArg, A, B, C)
+     */
+    @Override
+    public <A, B, C> boolean tryPublishEvent(EventTranslatorThreeArg<E, A, B, C> translator, A arg0, B arg1, C arg2)
+    {
+        try
+        {
+            final long sequence = tryNext();
+            translateAndPublish(translator, sequence, arg0, arg1, arg2);
+            return true;
+        }
+        catch (InsufficientCapacityException e)
+        {
+            return false;
+        }
+    }
+
+    /**
+     * @see com.lmax.disruptor.EventSink#publishEvent(com.lmax.disruptor.EventTranslatorVararg, java.lang.Object...)
+     */
+    @Override
+    public void publishEvent(EventTranslatorVararg<E> translator, Object...args)
+    {
+        final long sequence = next();
+        translateAndPublish(translator, sequence, args);
+    }
+
+    /**
+     * @see com.lmax.disruptor.EventSink#tryPublishEvent(com.lmax.disruptor.EventTranslatorVararg, java.lang.Object...)
+     */
+    @Override
+    public boolean tryPublishEvent(EventTranslatorVararg<E> translator, Object...args)
+    {
+        try
+        {
+            final long sequence = tryNext();
+            translateAndPublish(translator, sequence, args);
+            return true;
+        }
+        catch (InsufficientCapacityException e)
+        {
+            return false;
+        }
+    }
+
+    /**
+     * @see com.lmax.disruptor.EventSink#tryPublishEvent(com.lmax.disruptor.EventTranslator, long, TimeUnit)
+     */
+    @Override
+    public boolean tryPublishEvent(EventTranslator<E> translator, long timeout, TimeUnit unit)
+    {
+        final long sequence = next(1, timeout, unit);
+        if (CLAIM_TIMED_OUT == sequence)
+        {
+            return false;
+        }
+
+        translateAndPublish(translator, sequence);
+        return true;
+    }
+
+    /**
+     * @see com.lmax.disruptor.EventSink#tryPublishEvent(com.lmax.disruptor.EventTranslatorOneArg, long, TimeUnit, Object)
+     *      com.lmax.disruptor.EventSink#tryPublishEvent(com.lmax.disruptor.EventTranslatorOneArg, long, TimeUnit, A)
+     */
+    @Override
+    public <A> boolean tryPublishEvent(EventTranslatorOneArg<E, A> translator, long timeout, TimeUnit unit, A arg0)
+    {
+        final long sequence = next(1, timeout, unit);
+        if (CLAIM_TIMED_OUT == sequence)
+        {
+            return false;
+        }
+
+        translateAndPublish(translator, sequence, arg0);
+        return true;
+    }
+
+    /**
+     * @see com.lmax.disruptor.EventSink#tryPublishEvent(com.lmax.disruptor.EventTranslatorTwoArg, long, TimeUnit, Object, Object)
+     *      com.lmax.disruptor.EventSink#tryPublishEvent(com.lmax.disruptor.EventTranslatorTwoArg, long, TimeUnit, A, B)
+     */
+    @Override
+    public <A, B> boolean tryPublishEvent(EventTranslatorTwoArg<E, A, B> translator, long timeout, TimeUnit unit,
+                                          A arg0, B arg1)
+    {
+        final long sequence = next(1, timeout, unit);
+        if (CLAIM_TIMED_OUT == sequence)
+        {
+            return false;
+        }
+
+        translateAndPublish(translator, sequence, arg0, arg1);
+        return true;
+    }
+
+    /**
+     * @see com.lmax.disruptor.EventSink#tryPublishEvent(com.lmax.disruptor.EventTranslatorThreeArg, long, TimeUnit, Object, Object, Object)
+     *      com.lmax.disruptor.EventSink#tryPublishEvent(com.lmax.disruptor.EventTranslatorThreeArg, long, TimeUnit, A, B, C)
+     */
+    @Override
+    public <A, B, C> boolean tryPublishEvent(EventTranslatorThreeArg<E, A, B, C> translator, long timeout, TimeUnit unit,
+                                             A arg0, B arg1, C arg2)
+    {
+        final long sequence = next(1, timeout, unit);
+        if (CLAIM_TIMED_OUT == sequence)
+        {
+            return false;
+        }
+
+        translateAndPublish(translator, sequence, arg0, arg1, arg2);
+        return true;
+    }
+
+
+    /**
+     * @see com.lmax.disruptor.EventSink#publishEvents(com.lmax.disruptor.EventTranslator[])
+     */
+    @Override
+    public void publishEvents(EventTranslator<E>[] translators)
+    {
+        publishEvents(translators, 0, translators.length);
+    }
+
+    /**
+     * @see com.lmax.disruptor.EventSink#publishEvents(com.lmax.disruptor.EventTranslator[], int, int)
+     */
+    @Override
+    public void publishEvents(EventTranslator<E>[] translators, int batchStartsAt, int batchSize)
+    {
+        checkBounds(translators, batchStartsAt, batchSize);
+        final long finalSequence = next(batchSize);
+        translateAndPublishBatch(translators, batchStartsAt, batchSize, finalSequence);
+    }
+
+    /**
+     * @see com.lmax.disruptor.EventSink#tryPublishEvents(com.lmax.disruptor.EventTranslator[])
+     */
+    @Override
+    public boolean tryPublishEvents(EventTranslator<E>[] translators)
+    {
+        return tryPublishEvents(translators, 0, translators.length);
+    }
+
+    /**
+     * @see com.lmax.disruptor.EventSink#tryPublishEvents(com.lmax.disruptor.EventTranslator[], int, int)
+     */
+    @Override
+    public boolean tryPublishEvents(EventTranslator<E>[] translators, int batchStartsAt, int batchSize)
+    {
+        checkBounds(translators, batchStartsAt, batchSize);
+        try
+        {
+            final long finalSequence = tryNext(batchSize);
+            translateAndPublishBatch(translators, batchStartsAt, batchSize, finalSequence);
+            return true;
+        }
+        catch (InsufficientCapacityException e)
+        {
+            return false;
+        }
+    }
+
+    /**
+     * @see com.lmax.disruptor.EventSink#publishEvents(com.lmax.disruptor.EventTranslatorOneArg, Object[])
+     *      com.lmax.disruptor.EventSink#publishEvents(com.lmax.disruptor.EventTranslatorOneArg, A[])
+     */
+    @Override
+    public <A> void publishEvents(EventTranslatorOneArg<E, A> translator, A[] arg0)
+    {
+        publishEvents(translator, 0, arg0.length, arg0);
+    }
+
+    /**
+     * @see com.lmax.disruptor.EventSink#publishEvents(com.lmax.disruptor.EventTranslatorOneArg, int, int, Object[])
+     *      com.lmax.disruptor.EventSink#publishEvents(com.lmax.disruptor.EventTranslatorOneArg, int, int, A[])
+     */
+    @Override
+    public <A> void publishEvents(EventTranslatorOneArg<E, A> translator, int batchStartsAt, int batchSize, A[] arg0)
+    {
+        checkBounds(arg0, batchStartsAt, batchSize);
+        final long finalSequence = next(batchSize);
+        translateAndPublishBatch(translator, arg0, batchStartsAt, batchSize, finalSequence);
+    }
+
+    /**
+     * @see com.lmax.disruptor.EventSink#tryPublishEvents(com.lmax.disruptor.EventTranslatorOneArg, Object[])
+     *      com.lmax.disruptor.EventSink#tryPublishEvents(com.lmax.disruptor.EventTranslatorOneArg, A[])
+     */
+    @Override
+    public <A> boolean tryPublishEvents(EventTranslatorOneArg<E, A> translator, A[] arg0)
+    {
+        return tryPublishEvents(translator, 0, arg0.length, arg0);
+    }
+
+    /**
+     * @see com.lmax.disruptor.EventSink#tryPublishEvents(com.lmax.disruptor.EventTranslatorOneArg, int, int, Object[])
+     *      com.lmax.disruptor.EventSink#tryPublishEvents(com.lmax.disruptor.EventTranslatorOneArg, int, int, A[])
+     */
+    @Override
+    public <A> boolean tryPublishEvents(EventTranslatorOneArg<E, A> translator, int batchStartsAt, int batchSize, A[] arg0)
+    {
+        checkBounds(arg0, batchStartsAt, batchSize);
+        try
+        {
+            final long finalSequence = tryNext(batchSize);
+            translateAndPublishBatch(translator, arg0, batchStartsAt, batchSize, finalSequence);
+            return true;
+        }
+        catch (InsufficientCapacityException e)
+        {
+            return false;
+        }
+    }
+
+    /**
+     * @see com.lmax.disruptor.EventSink#publishEvents(com.lmax.disruptor.EventTranslatorTwoArg, Object[], Object[])
+     *      com.lmax.disruptor.EventSink#publishEvents(com.lmax.disruptor.EventTranslatorTwoArg, A[], B[])
+     */
+    @Override
+    public <A, B> void publishEvents(EventTranslatorTwoArg<E, A, B> translator, A[] arg0, B[] arg1)
+    {
+        publishEvents(translator, 0, arg0.length, arg0, arg1);
+    }
+
+    /**
+     * @see com.lmax.disruptor.EventSink#publishEvents(com.lmax.disruptor.EventTranslatorTwoArg, int, int, Object[], Object[])
+     *      com.lmax.disruptor.EventSink#publishEvents(com.lmax.disruptor.EventTranslatorTwoArg, int, int, A[], B[])
+     */
+    @Override
+    public <A, B> void publishEvents(EventTranslatorTwoArg<E, A, B> translator, int batchStartsAt, int batchSize, A[] arg0, B[] arg1)
+    {
+        checkBounds(arg0, arg1, batchStartsAt, batchSize);
+        final long finalSequence = next(batchSize);
+        translateAndPublishBatch(translator, arg0, arg1, batchStartsAt, batchSize, finalSequence);
+    }
+
+    /**
+     * @see com.lmax.disruptor.EventSink#tryPublishEvents(com.lmax.disruptor.EventTranslatorTwoArg, Object[], Object[])
+     *      com.lmax.disruptor.EventSink#tryPublishEvents(com.lmax.disruptor.EventTranslatorTwoArg, A[], B[])
+     */
+    @Override
+    public <A, B> boolean tryPublishEvents(EventTranslatorTwoArg<E, A, B> translator, A[] arg0, B[] arg1)
+    {
+        return tryPublishEvents(translator, 0, arg0.length, arg0, arg1);
+    }
+
+    /**
+     * @see com.lmax.disruptor.EventSink#tryPublishEvents(com.lmax.disruptor.EventTranslatorTwoArg, int, int, Object[], Object[])
+     *      com.lmax.disruptor.EventSink#tryPublishEvents(com.lmax.disruptor.EventTranslatorTwoArg, int, int, A[], B[])
+     */
+    @Override
+    public <A, B> boolean tryPublishEvents(EventTranslatorTwoArg<E, A, B> translator, int batchStartsAt, int batchSize, A[] arg0, B[] arg1)
+    {
+        checkBounds(arg0, arg1, batchStartsAt, batchSize);
+        try
+        {
+            final long finalSequence = tryNext(batchSize);
+            translateAndPublishBatch(translator, arg0, arg1, batchStartsAt, batchSize, finalSequence);
+            return true;
+        }
+        catch (InsufficientCapacityException e)
+        {
+            return false;
+        }
+    }
+
+    /**
+     * @see com.lmax.disruptor.EventSink#publishEvents(com.lmax.disruptor.EventTranslatorThreeArg, Object[], Object[], Object[])
+     *      com.lmax.disruptor.EventSink#publishEvents(com.lmax.disruptor.EventTranslatorThreeArg, A[], B[], C[])
+     */
+    @Override
+    public <A, B, C> void publishEvents(EventTranslatorThreeArg<E, A, B, C> translator, A[] arg0, B[] arg1, C[] arg2)
+    {
+        publishEvents(translator, 0, arg0.length, arg0, arg1, arg2);
+    }
+
+    /**
+     * @see com.lmax.disruptor.EventSink#publishEvents(com.lmax.disruptor.EventTranslatorThreeArg, int, int, Object[], Object[], Object[])
+     *      com.lmax.disruptor.EventSink#publishEvents(com.lmax.disruptor.EventTranslatorThreeArg, int, int, A[], B[], C[])
+     */
+    @Override
+    public <A, B, C> void publishEvents(EventTranslatorThreeArg<E, A, B, C> translator, int batchStartsAt, int batchSize, A[] arg0, B[] arg1, C[] arg2)
+    {
+        checkBounds(arg0, arg1, arg2, batchStartsAt, batchSize);
+        final long finalSequence = next(batchSize);
+        translateAndPublishBatch(translator, arg0, arg1, arg2, batchStartsAt, batchSize, finalSequence);
+    }
+
+    /**
+     * @see com.lmax.disruptor.EventSink#tryPublishEvents(com.lmax.disruptor.EventTranslatorThreeArg, Object[], Object[], Object[])
+     *      com.lmax.disruptor.EventSink#tryPublishEvents(com.lmax.disruptor.EventTranslatorThreeArg, A[], B[], C[])
+     */
+    @Override
+    public <A, B, C> boolean tryPublishEvents(EventTranslatorThreeArg<E, A, B, C> translator, A[] arg0, B[] arg1, C[] arg2)
+    {
+        return tryPublishEvents(translator, 0, arg0.length, arg0, arg1, arg2);
+    }
+
+    /**
+     * @see com.lmax.disruptor.EventSink#tryPublishEvents(com.lmax.disruptor.EventTranslatorThreeArg, int, int, Object[], Object[], Object[])
+     *      com.lmax.disruptor.EventSink#tryPublishEvents(com.lmax.disruptor.EventTranslatorThreeArg, int, int, A[], B[], C[])
+     */
+    @Override
+    public <A, B, C> boolean tryPublishEvents(EventTranslatorThreeArg<E, A, B, C> translator, int batchStartsAt, int batchSize, A[] arg0, B[] arg1, C[] arg2)
+    {
+        checkBounds(arg0, arg1, arg2, batchStartsAt, batchSize);
+        try
+        {
+            final long finalSequence = tryNext(batchSize);
+            translateAndPublishBatch(translator, arg0, arg1, arg2, batchStartsAt, batchSize, finalSequence);
+            return true;
+        }
+        catch (InsufficientCapacityException e)
+        {
+            return false;
+        }
+    }
+
+    /**
+     * @see com.lmax.disruptor.EventSink#publishEvents(com.lmax.disruptor.EventTranslatorVararg, java.lang.Object[][])
+     */
+    @Override
+    public void publishEvents(EventTranslatorVararg<E> translator, Object[]... args)
+    {
+        publishEvents(translator, 0, args.length, args);
+    }
+
+    /**
+     * @see com.lmax.disruptor.EventSink#publishEvents(com.lmax.disruptor.EventTranslatorVararg, int, int, java.lang.Object[][])
+     */
+    @Override
+    public void publishEvents(EventTranslatorVararg<E> translator, int batchStartsAt, int batchSize, Object[]... args)
+    {
+        checkBounds(batchStartsAt, batchSize, args);
+        final long finalSequence = next(batchSize);
+        translateAndPublishBatch(translator, batchStartsAt, batchSize, finalSequence, args);
+    }
+
+    /**
+     * @see com.lmax.disruptor.EventSink#tryPublishEvents(com.lmax.disruptor.EventTranslatorVararg, java.lang.Object[][])
+     */
+    @Override
+    public boolean tryPublishEvents(EventTranslatorVararg<E> translator, Object[]... args)
+    {
+        return tryPublishEvents(translator, 0, args.length, args);
+    }
+
+    /**
+     * @see com.lmax.disruptor.EventSink#tryPublishEvents(com.lmax.disruptor.EventTranslatorVararg, int, int, java.lang.Object[][])
+     */
+    @Override
+    public boolean tryPublishEvents(EventTranslatorVararg<E> translator, int batchStartsAt, int batchSize, Object[]... args)
+    {
+        checkBounds(args, batchStartsAt, batchSize);
+        try
+        {
+            final long finalSequence = tryNext(batchSize);
+            translateAndPublishBatch(translator, batchStartsAt, batchSize, finalSequence, args);
+            return true;
+        }
+        catch (InsufficientCapacityException e)
+        {
+            return false;
+        }
+    }
+
+    /**
+     * @see com.lmax.disruptor.EventSink#publishLongEvent(com.lmax.disruptor.EventTranslatorLong, long)
+     */
+    @Override
+    public void publishLongEvent(EventTranslatorLong<E> translator, long arg0)
+    {
+        final long sequence = next();
+        translateAndPublishLong(translator, sequence, arg0);
+    }
+
+    /**
+     * @see com.lmax.disruptor.EventSink#tryPublishLongEvent(com.lmax.disruptor.EventTranslatorLong, long)
+     */
+    @Override
+    public boolean tryPublishLongEvent(EventTranslatorLong<E> translator, long arg0)
+    {
+        try
+        {
+            final long sequence = tryNext();
+            translateAndPublishLong(translator, sequence, arg0);
+            return true;
+        }
+        catch (InsufficientCapacityException e)
+        {
+            return false;
+        }
+    }
+
+    /**
+     * @see com.lmax.disruptor.EventSink#publishLongEvents(com.lmax.disruptor.EventTranslatorLong, long[])
+     */
+    @Override
+    public void publishLongEvents(EventTranslatorLong<E> translator, long[] arg0)
+    {
+        publishLongEvents(translator, 0, arg0.length, arg0);
+    }
+
+    /**
+     * @see com.lmax.disruptor.EventSink#publishLongEvents(com.lmax.disruptor.EventTranslatorLong, int, int, long[])
+     */
+    @Override
+    public void publishLongEvents(EventTranslatorLong<E> translator, int batchStartsAt, int batchSize, long[] arg0)
+    {
+        checkBounds(arg0, batchStartsAt, batchSize);
+        final long finalSequence = next(batchSize);
+        translateAndPublishBatch(translator, arg0, batchStartsAt, batchSize, finalSequence);
+    }
+
+    /**
+     * @see com.lmax.disruptor.EventSink#tryPublishLongEvents(com.lmax.disruptor.EventTranslatorLong, long[])
+     */
+    @Override
+    public boolean tryPublishLongEvents(EventTranslatorLong<E> translator, long[] arg0)
+    {
+        return tryPublishLongEvents(translator, 0, arg0.length, arg0);
+    }
+
+    /**
+     * @see com.lmax.disruptor.EventSink#tryPublishLongEvents(com.lmax.disruptor.EventTranslatorLong, int, int, long[])
+     */
+    @Override
+    public boolean tryPublishLongEvents(EventTranslatorLong<E> translator, int batchStartsAt, int batchSize, long[] arg0)
+    {
+        checkBounds(arg0, batchStartsAt, batchSize);
+        try
+        {
+            final long finalSequence = tryNext(batchSize);
+            translateAndPublishBatch(translator, arg0, batchStartsAt, batchSize, finalSequence);
+            return true;
+        }
+        catch (InsufficientCapacityException e)
+        {
+            return false;
+        }
+    }
+
+    /**
+     * @see com.lmax.disruptor.EventSink#publishEvent(com.lmax.disruptor.EventTranslatorLongLong, long, long)
+     */
+    @Override
+    public void publishEvent(EventTranslatorLongLong<E> translator, long arg0, long arg1)
+    {
+        final long sequence = next();
+        translateAndPublish(translator, sequence, arg0, arg1);
+    }
+
+    /**
+     * @see com.lmax.disruptor.EventSink#tryPublishEvent(com.lmax.disruptor.EventTranslatorLongLong, long, long)
+     */
+    @Override
+    public boolean tryPublishEvent(EventTranslatorLongLong<E> translator, long arg0, long arg1)
+    {
+        try
+        {
+            final long sequence = tryNext();
+            translateAndPublish(translator, sequence, arg0, arg1);
+            return true;
+        }
+        catch (InsufficientCapacityException e)
+        {
+            return false;
+        }
+    }
+
+    /**
+     * @see com.lmax.disruptor.EventSink#publishEvents(com.lmax.disruptor.EventTranslatorLongLong, long[], long[])
+     */
+    @Override
+    public void publishEvents(EventTranslatorLongLong<E> translator, long[] arg0, long[] arg1)
+    {
+        publishEvents(translator, 0, arg0.length, arg0, arg1);
+    }
+
+    /**
+     * @see com.lmax.disruptor.EventSink#publishEvents(com.lmax.disruptor.EventTranslatorLongLong, int, int, long[], long[])
+     */
+    @Override
+    public void publishEvents(EventTranslatorLongLong<E> translator, int batchStartsAt, int batchSize, long[] arg0, long[] arg1)
+    {
+        checkBounds(arg0, arg1, batchStartsAt, batchSize);
+        final long finalSequence = next(batchSize);
+        translateAndPublishBatch(translator, arg0, arg1, batchStartsAt, batchSize, finalSequence);
+    }
+
+    /**
+     * @see com.lmax.disruptor.EventSink#tryPublishEvents(com.lmax.disruptor.EventTranslatorLongLong, long[], long[])
+     */
+    @Override
+    public boolean tryPublishEvents(EventTranslatorLongLong<E> translator, long[] arg0, long[] arg1)
+    {
+        return tryPublishEvents(translator, 0, arg0.length, arg0, arg1);
+    }
+
+    /**
+     * @see com.lmax.disruptor.EventSink#tryPublishEvents(com.lmax.disruptor.EventTranslatorLongLong, int, int, long[], long[])
+     */
+    @Override
+    public boolean tryPublishEvents(EventTranslatorLongLong<E> translator, int batchStartsAt, int batchSize, long[] arg0, long[] arg1)
+    {
+        checkBounds(arg0, arg1, batchStartsAt, batchSize);
+        try
+        {
+            final long finalSequence = tryNext(batchSize);
+            translateAndPublishBatch(translator, arg0, arg1, batchStartsAt, batchSize, finalSequence);
+            return true;
+        }
+        catch (InsufficientCapacityException e)
+        {
+            return false;
+        }
+    }
+
+    /**
+     * @see com.lmax.disruptor.EventSink#publishDoubleEvent(com.lmax.disruptor.EventTranslatorDouble, double)
+     */
+    @Override
+    public void publishDoubleEvent(EventTranslatorDouble<E> translator, double arg0)
+    {
+        final long sequence = next();
+        translateAndPublishDouble(translator, sequence, arg0);
+    }
+
+    /**
+     * @see com.lmax.disruptor.EventSink#tryPublishDoubleEvent(com.lmax.disruptor.EventTranslatorDouble, double)
+     */
+    @Override
+    public boolean tryPublishDoubleEvent(EventTranslatorDouble<E> translator, double arg0)
+    {
+        try
+        {
+            final long sequence = tryNext();
+            translateAndPublishDouble(translator, sequence, arg0);
+            return true;
+        }
+        catch (InsufficientCapacityException e)
+        {
+            return false;
+        }
+    }
+
+    /**
+     * @see com.lmax.disruptor.EventSink#publishDoubleEvents(com.lmax.disruptor.EventTranslatorDouble, double[])
+     */
+    @Override
+    public void publishDoubleEvents(EventTranslatorDouble<E> translator, double[] arg0)
+    {
+        publishDoubleEvents(translator, 0, arg0.length, arg0);
+    }
+
+    /**
+     * @see com.lmax.disruptor.EventSink#publishDoubleEvents(com.lmax.disruptor.EventTranslatorDouble, int, int, double[])
+     */
+    @Override
+    public void publishDoubleEvents(EventTranslatorDouble<E> translator, int batchStartsAt, int batchSize, double[] arg0)
+    {
+        checkBounds(arg0, batchStartsAt, batchSize);
+        final long finalSequence = next(batchSize);
+        translateAndPublishBatch(translator, arg0, batchStartsAt, batchSize, finalSequence);
+    }
+
+    /**
+     * @see com.lmax.disruptor.EventSink#tryPublishDoubleEvents(com.lmax.disruptor.EventTranslatorDouble, double[])
+     */
+    @Override
+    public boolean tryPublishDoubleEvents(EventTranslatorDouble<E> translator, double[] arg0)
+    {
+        return tryPublishDoubleEvents(translator, 0, arg0.length, arg0);
+    }
+
+    /**
+     * @see com.lmax.disruptor.EventSink#tryPublishDoubleEvents(com.lmax.disruptor.EventTranslatorDouble, int, int, double[])
+     */
+    @Override
+    public boolean tryPublishDoubleEvents(EventTranslatorDouble<E> translator, int batchStartsAt, int batchSize, double[] arg0)
+    {
+        checkBounds(arg0, batchStartsAt, batchSize);
+        try
+        {
+            final long finalSequence = tryNext(batchSize);
+            translateAndPublishBatch(translator, arg0, batchStartsAt, batchSize, finalSequence);
+            return true;
+        }
+        catch (InsufficientCapacityException e)
+        {
+            return false;
+        }
+    }
+
+    /**
+     * @see com.lmax.disruptor.EventSink#publishEvent(com.lmax.disruptor.EventTranslatorLongObj, long, Object)
+     */
+    @Override
+    public <A> void publishEvent(EventTranslatorLongObj<E, A> translator, long arg0, A arg1)
+    {
+        final long sequence = next();
+        translateAndPublish(translator, sequence, arg0, arg1);
+    }
+
+    /**
+     * @see com.lmax.disruptor.EventSink#tryPublishEvent(com.lmax.disruptor.EventTranslatorLongObj, long, Object)
+     */
+    @Override
+    public <A> boolean tryPublishEvent(EventTranslatorLongObj<E, A> translator, long arg0, A arg1)
+    {
+        try
+        {
+            final long sequence = tryNext();
+            translateAndPublish(translator, sequence, arg0, arg1);
+            return true;
+        }
+        catch (InsufficientCapacityException e)
+        {
+            return false;
+        }
+    }
+
+    /**
+     * @see com.lmax.disruptor.EventSink#publishEvents(com.lmax.disruptor.EventTranslatorLongObj, long[], Object[])
+     */
+    @Override
+    public <A> void publishEvents(EventTranslatorLongObj<E, A> translator, long[] arg0, A[] arg1)
+    {
+        publishEvents(translator, 0, arg0.length, arg0, arg1);
+    }
+
+    /**
+     * @see com.lmax.disruptor.EventSink#publishEvents(com.lmax.disruptor.EventTranslatorLongObj, int, int, long[], Object[])
+     */
+    @Override
+    public <A> void publishEvents(EventTranslatorLongObj<E, A> translator, int batchStartsAt, int batchSize, long[] arg0, A[] arg1)
+    {
+        checkBounds(arg0, arg1, batchStartsAt, batchSize);
+        final long finalSequence = next(batchSize);
+        translateAndPublishBatch(translator, arg0, arg1, batchStartsAt, batchSize, finalSequence);
+    }
+
+    /**
+     * @see com.lmax.disruptor.EventSink#tryPublishEvents(com.lmax.disruptor.EventTranslatorLongObj, long[], Object[])
+     */
+    @Override
+    public <A> boolean tryPublishEvents(EventTranslatorLongObj<E, A> translator, long[] arg0, A[] arg1)
+    {
+        return tryPublishEvents(translator, 0, arg0.length, arg0, arg1);
+    }
+
+    /**
+     * @see com.lmax.disruptor.EventSink#tryPublishEvents(com.lmax.disruptor.EventTranslatorLongObj, int, int, long[], Object[])
+     */
+    @Override
+    public <A> boolean tryPublishEvents(EventTranslatorLongObj<E, A> translator, int batchStartsAt, int batchSize, long[] arg0, A[] arg1)
+    {
+        checkBounds(arg0, arg1, batchStartsAt, batchSize);
+        try
+        {
+            final long finalSequence = tryNext(batchSize);
+            translateAndPublishBatch(translator, arg0, arg1, batchStartsAt, batchSize, finalSequence);
+            return true;
+        }
+        catch (InsufficientCapacityException e)
+        {
+            return false;
+        }
+    }
+
+
+    private void checkBounds(final EventTranslator<E>[] translators, final int batchStartsAt, final int batchSize)
+    {
+        checkBatchSizing(batchStartsAt, batchSize);
+        batchOverRuns(translators, batchStartsAt, batchSize);
+    }
+
+    private void checkBatchSizing(int batchStartsAt, int batchSize)
+    {
+        if(batchStartsAt < 0 || batchSize < 0)
+        {
+            throw new IllegalArgumentException("Both batchStartsAt and batchSize must be positive but got: batchStartsAt " + batchStartsAt + " and batchSize " + batchSize);
+        }
+        else if(batchSize > getBufferSize())
+        {
+            throw new IllegalArgumentException("The ring buffer cannot accommodate " + batchSize + " it only has space for " + getBufferSize() + " entities.");
+        }
+    }
+
+    private <A> void checkBounds(final A[] arg0, final int batchStartsAt, final int batchSize)
+    {
+        checkBatchSizing(batchStartsAt, batchSize);
+        batchOverRuns(arg0, batchStartsAt, batchSize);
+    }
+
+    private <A, B> void checkBounds(final A[] arg0, final B[] arg1, final int batchStartsAt, final int batchSize)
+    {
+        checkBatchSizing(batchStartsAt, batchSize);
+        batchOverRuns(arg0, batchStartsAt, batchSize);
+        batchOverRuns(arg1, batchStartsAt, batchSize);
+    }
+
+    private <A, B, C> void checkBounds(final A[] arg0, final B[] arg1, final C[] arg2, final int batchStartsAt, final int batchSize)
+    {
+        checkBatchSizing(batchStartsAt, batchSize);
+        batchOverRuns(arg0, batchStartsAt, batchSize);
+        batchOverRuns(arg1, batchStartsAt, batchSize);
+        batchOverRuns(arg2, batchStartsAt, batchSize);
+    }
+
+    private void checkBounds(final int batchStartsAt, final int batchSize, final Object[][] args)
+    {
+        checkBatchSizing(batchStartsAt, batchSize);
+        batchOverRuns(args, batchStartsAt, batchSize);
+    }
+
+    private <A> void batchOverRuns(final A[] arg0, final int batchStartsAt, final int batchSize)
+    {
+        if(batchStartsAt + batchSize > arg0.length)
+        {
+            throw new IllegalArgumentException("A batchSize of: " + batchSize +
+                                               " with batchStatsAt of: " + batchStartsAt +
+                                               " will overrun the available number of arguments: " + (arg0.length - batchStartsAt));
+        }
+    }
+
+    private void translateAndPublish(EventTranslator<E> translator, long sequence)
+    {
+        try
+        {
+            translator.translateTo(get(sequence), sequence);
+        }
+        finally
+        {
+            publish(sequence);
+        }
+    }
+
+    private <A> void translateAndPublish(EventTranslatorOneArg<E, A> translator, long sequence, A arg0)
+    {
+        try
+        {
+            translator.translateTo(get(sequence), sequence, arg0);
+        }
+        finally
+        {
+            publish(sequence);
+        }
+    }
+
+    private <A, B> void translateAndPublish(EventTranslatorTwoArg<E, A, B> translator, long sequence, A arg0, B arg1)
+    {
+        try
+        {
+            translator.translateTo(get(sequence), sequence, arg0, arg1);
+        }
+        finally
+        {
+            publish(sequence);
+        }
+    }
+
+    private <A, B, C> void translateAndPublish(EventTranslatorThreeArg<E, A, B, C> translator, long sequence,
+                                               A arg0, B arg1, C arg2)
+    {
+        try
+        {
+            translator.translateTo(get(sequence), sequence, arg0, arg1, arg2);
+        }
+        finally
+        {
+            publish(sequence);
+        }
+    }
+
+    private void translateAndPublish(EventTranslatorVararg<E> translator, long sequence, Object...args)
+    {
+        try
+        {
+            translator.translateTo(get(sequence), sequence, args);
+        }
+        finally
+        {
+            publish(sequence);
+        }
+    }
+
+    private void checkBounds(final long[] arg0, final int batchStartsAt, final int batchSize)
+    {
+        checkBatchSizing(batchStartsAt, batchSize);
+        batchOverRuns(arg0.length, batchStartsAt, batchSize);
+    }
+
+    private void checkBounds(final long[] arg0, final long[] arg1, final int batchStartsAt, final int batchSize)
+    {
+        checkBatchSizing(batchStartsAt, batchSize);
+        batchOverRuns(arg0.length, batchStartsAt, batchSize);
+        batchOverRuns(arg1.length, batchStartsAt, batchSize);
+    }
+
+    private void checkBounds(final double[] arg0, final int batchStartsAt, final int batchSize)
+    {
+        checkBatchSizing(batchStartsAt, batchSize);
+        batchOverRuns(arg0.length, batchStartsAt, batchSize);
+    }
+
+    private <A> void checkBounds(final long[] arg0, final A[] arg1, final int batchStartsAt, final int batchSize)
+    {
+        checkBatchSizing(batchStartsAt, batchSize);
+        batchOverRuns(arg0.length, batchStartsAt, batchSize);
+        batchOverRuns(arg1, batchStartsAt, batchSize);
+    }
+
+    private void batchOverRuns(final int length, final int batchStartsAt, final int batchSize)
+    {
+        if(batchStartsAt + batchSize > length)
+        {
+            throw new IllegalArgumentException("A batchSize of: " + batchSize +
+                                               " with batchStatsAt of: " + batchStartsAt +
+                                               " will overrun the available number of arguments: " + (length - batchStartsAt));
+        }
+    }
+
+    private void translateAndPublishLong(EventTranslatorLong<E> translator, long sequence, final long arg0)
+    {
+        try
+        {
+            translator.translateTo(get(sequence), sequence, arg0);
+        }
+        finally
+        {
+            publish(sequence);
+        }
+    }
+
+    private void translateAndPublish(EventTranslatorLongLong<E> translator, long sequence, final long arg0, final long arg1)
+    {
+        try
+        {
+            translator.translateTo(get(sequence), sequence, arg0, arg1);
+        }
+        finally
+        {
+            publish(sequence);
+        }
+    }
+
+    private void translateAndPublishDouble(EventTranslatorDouble<E> translator, long sequence, final double arg0)
+    {
+        try
+        {
+            translator.translateTo(get(sequence), sequence, arg0);
+        }
+        finally
+        {
+            publish(sequence);
+        }
+    }
+
+    private <A> void translateAndPublish(EventTranslatorLongObj<E, A> translator, long sequence, final long arg0, final A arg1)
+    {
+        try
+        {
+            translator.translateTo(get(sequence), sequence, arg0, arg1);
+        }
+        finally
+        {
+            publish(sequence);
+        }
+    }
+
+    private void translateAndPublishBatch(final EventTranslatorLong<E> translator, final long[] arg0,
+                                          int batchStartsAt, final int batchSize, final long finalSequence)
+    {
+        final long initialSequence = finalSequence - (batchSize - 1);
+        try
+        {
+            long sequence = initialSequence;
+            final int batchEndsAt = batchStartsAt + batchSize;
+            for (int i = batchStartsAt; i < batchEndsAt; i++)
+            {
+                translator.translateTo(get(sequence), sequence++, arg0[i]);
+            }
+        }
+        finally
+        {
+            publish(initialSequence, finalSequence);
+        }
+    }
+
+    private void translateAndPublishBatch(final EventTranslatorLongLong<E> translator, final long[] arg0, final long[] arg1,
+                                          int batchStartsAt, final int batchSize, final long finalSequence)
+    {
+        final long initialSequence = finalSequence - (batchSize - 1);
+        try
+        {
+            long sequence = initialSequence;
+            final int batchEndsAt = batchStartsAt + batchSize;
+            for (int i = batchStartsAt; i < batchEndsAt; i++)
+            {
+                translator.translateTo(get(sequence), sequence++, arg0[i], arg1[i]);
+            }
+        }
+        finally
+        {
+            publish(initialSequence, finalSequence);
+        }
+    }
+
+    private void translateAndPublishBatch(final EventTranslatorDouble<E> translator, final double[] arg0,
+                                          int batchStartsAt, final int batchSize, final long finalSequence)
+    {
+        final long initialSequence = finalSequence - (batchSize - 1);
+        try
+        {
+            long sequence = initialSequence;
+            final int batchEndsAt = batchStartsAt + batchSize;
+            for (int i = batchStartsAt; i < batchEndsAt; i++)
+            {
+                translator.translateTo(get(sequence), sequence++, arg0[i]);
+            }
+        }
+        finally
+        {
+            publish(initialSequence, finalSequence);
+        }
+    }
+
+    private <A> void translateAndPublishBatch(final EventTranslatorLongObj<E, A> translator, final long[] arg0, final A[] arg1,
+                                          int batchStartsAt, final int batchSize, final long finalSequence)
+    {
+        final long initialSequence = finalSequence - (batchSize - 1);
+        try
+        {
+            long sequence = initialSequence;
+            final int batchEndsAt = batchStartsAt + batchSize;
+            for (int i = batchStartsAt; i < batchEndsAt; i++)
+            {
+                translator.translateTo(get(sequence), sequence++, arg0[i], arg1[i]);
+            }
+        }
+        finally
+        {
+            publish(initialSequence, finalSequence);
+        }
+    }
+
+    private void translateAndPublishBatch(final EventTranslator<E>[] translators, int batchStartsAt,
+                                          final int batchSize, final long finalSequence)
+    {
+        final long initialSequence = finalSequence - (batchSize - 1);
+        try
+        {
+            long sequence = initialSequence;
+            final int batchEndsAt = batchStartsAt + batchSize;
+            for (int i = batchStartsAt; i < batchEndsAt; i++)
+            {
+                final EventTranslator<E> translator = translators[i];
+                translator.translateTo(get(sequence), sequence++);
+            }
+        }
+        finally
+        {
+            publish(initialSequence, finalSequence);
+        }
+    }
+
+    private <A> void translateAndPublishBatch(final EventTranslatorOneArg<E, A> translator, final A[] arg0,
+                                              int batchStartsAt, final int batchSize, final long finalSequence)
+    {
+        final long initialSequence = finalSequence - (batchSize - 1);
+        try
+        {
+            long sequence = initialSequence;
+            final int batchEndsAt = batchStartsAt + batchSize;
+            for (int i = batchStartsAt; i < batchEndsAt; i++)
+            {
+                translator.translateTo(get(sequence), sequence++, arg0[i]);
+            }
+        }
+        finally
+        {
+            publish(initialSequence, finalSequence);
+        }
+    }
+
+    private <A, B> void translateAndPublishBatch(final EventTranslatorTwoArg<E, A, B> translator, final A[] arg0,
+                                                 final B[] arg1, int batchStartsAt, int batchSize,
+                                                 final long finalSequence)
+    {
+        final long initialSequence = finalSequence - (batchSize - 1);
+        try
+        {
+            long sequence = initialSequence;
+            final int batchEndsAt = batchStartsAt + batchSize;
+            for (int i = batchStartsAt; i < batchEndsAt; i++)
+            {
+                translator.translateTo(get(sequence), sequence++, arg0[i], arg1[i]);
+            }
+        }
+        finally
+        {
+            publish(initialSequence, finalSequence);
+        }
+    }
+
+    private <A, B, C> void translateAndPublishBatch(final EventTranslatorThreeArg<E, A, B, C> translator,
+                                                    final A[] arg0, final B[] arg1, final C[] arg2, int batchStartsAt,
+                                                    final int batchSize, final long finalSequence)
+    {
+        final long initialSequence = finalSequence - (batchSize - 1);
+        try
+        {
+            long sequence = initialSequence;
+            final int batchEndsAt = batchStartsAt + batchSize;
+            for (int i = batchStartsAt; i < batchEndsAt; i++)
+            {
+                translator.translateTo(get(sequence), sequence++, arg0[i], arg1[i], arg2[i]);
+            }
+        }
+        finally
+        {
+            publish(initialSequence, finalSequence);
+        }
+    }
+
+    private void translateAndPublishBatch(final EventTranslatorVararg<E> translator, int batchStartsAt,
+                                          final int batchSize, final long finalSequence, final Object[][] args)
+    {
+        final long initialSequence = finalSequence - (batchSize - 1);
+        try
+        {
+            long sequence = initialSequence;
+            final int batchEndsAt = batchStartsAt + batchSize;
+            for (int i = batchStartsAt; i < batchEndsAt; i++)
+            {
+                translator.translateTo(get(sequence), sequence++, args[i]);
+            }
+        }
+        finally
+        {
+            publish(initialSequence, finalSequence);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+/**
+ * Base for the rings holding their values in a single primitive array, such as the {@link LongRingBuffer}.  Handles
+ * the flyweight events exposing the values to the rest of the Disruptor and the publishing of runs of values, the
+ * subclasses only access their typed array.
+ *
+ * @param <E> type of the flyweight event over a single value.
+ */
+abstract class AbstractPrimitiveRing<E> extends AbstractEventRing<E>
+{
+    protected final int indexMask;
+    private final ThreadLocal<E> events = new ThreadLocal<E>()
+    {
+        @Override
+        protected E initialValue()
+        {
+            return newEvent();
+        }
+    };
+
+    /**
+     * @param sequencer sequencer to handle the ordering of values moving through the ring.
+     * @throws IllegalArgumentException if the buffer size is less than 1 or not a power of 2.
+     */
+    AbstractPrimitiveRing(final Sequencer sequencer)
+    {
+        super(sequencer);
+        this.indexMask = bufferSize - 1;
+    }
+
+    /**
+     * @return a new flyweight event over the values of this ring.
+     */
+    protected abstract E newEvent();
+
+    /**
+     * Position a flyweight event on a sequence.
+     *
+     * @param event to position.
+     * @param sequence of the value the event is over.
+     */
+    protected abstract void moveTo(E event, long sequence);
+
+    /**
+     * Get the calling thread's flyweight event, positioned on the given sequence.  The event is only valid until the
+     * calling thread next calls this method.
+     *
+     * @param sequence for the event
+     * @return the event for the given sequence
+     */
+    @Override
+    public final E get(final long sequence)
+    {
+        final E event = events.get();
+        moveTo(event, sequence);
+        return event;
+    }
+
+    /**
+     * Create an event processor with its own flyweight event, gated on the cursor and the supplied sequences.  The
+     * processor's sequence must be added as a gating sequence before publishing.
+     *
+     * @param handler to receive the events.
+     * @param sequencesToTrack the additional sequences to track.
+     * @return the event processor.
+     */
+    protected final BatchEventProcessor<E> createProcessor(final EventHandler<? super E> handler,
+                                                           final Sequence... sequencesToTrack)
+    {
+        final E event = newEvent();
+        return new BatchEventProcessor<E>(
+            new DataProvider<E>()
+            {
+                @Override
+                public E get(final long sequence)
+                {
+                    moveTo(event, sequence);
+                    return event;
+                }
+            },
+            newBarrier(sequencesToTrack),
+            handler);
+    }
+
+    /**
+     * Publish a run of values, copying them into the entries and publishing them with a single claim.  Runs longer
+     * than the ring are published a buffer's worth at a time.
+     *
+     * @param src the array holding the values, of the same type as the entries.
+     * @param srcLength the length of the source array.
+     * @param off the index in the array of the first value.
+     * @param len the number of values to publish.
+     * @param entries the array holding the values of the ring.
+     * @param pad the index in the entries of the value of the first slot.
+     * @throws IndexOutOfBoundsException if the range is outside of the array.
+     */
+    protected final void putRun(final Object src, final int srcLength, final int off, final int len,
+                                final Object entries, final int pad)
+    {
+        if (off < 0 || len < 0 || off > srcLength - len)
+        {
+            throw new IndexOutOfBoundsException("off: " + off + ", len: " + len + ", length: " + srcLength);
+        }
+
+        int published = 0;
+        while (published < len)
+        {
+            final int n = Math.min(len - published, bufferSize);
+            final long hi = sequencer.next(n);
+            final long lo = hi - (n - 1);
+
+            final int index = (int) lo & indexMask;
+            final int first = Math.min(n, bufferSize - index);
+            System.arraycopy(src, off + published, entries, pad + index, first);
+            System.arraycopy(src, off + published + first, entries, pad, n - first);
+
+            sequencer.publish(lo, hi);
+            published += n;
+        }
+    }
+}
@@ -15,6 +15,7 @@
  */
 package com.lmax.disruptor;
 
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 
 import com.lmax.disruptor.util.Util;
@@ -31,8 +32,10 @@ public abstract class AbstractSequencer implements Sequencer
 
     protected final int bufferSize;
     protected final WaitStrategy waitStrategy;
-    protected final Sequence cursor = new Sequence(Sequencer.INITIAL_CURSOR_VALUE);
+    protected final ProducerWaitStrategy producerWaitStrategy;
+    protected final Sequence cursor;
     protected volatile Sequence[] gatingSequences = new Sequence[0];
+    private volatile GatingSequenceTree gatingSequenceTree;
 
     /**
      * Create with the specified buffer size and wait strategy.
@@ -41,6 +44,32 @@ public abstract class AbstractSequencer implements Sequencer
      * @param waitStrategy
      */
     public AbstractSequencer(int bufferSize, WaitStrategy waitStrategy)
+    {
+        this(bufferSize, waitStrategy, new SleepingProducerWaitStrategy());
+    }
+
+    /**
+     * Create with the specified buffer size, wait strategy and producer wait strategy.
+     *
+     * @param bufferSize The total number of entries, must be a positive power of 2.
+     * @param waitStrategy
+     * @param producerWaitStrategy for publishers waiting on the gating sequences when the buffer is full.
+     */
+    public AbstractSequencer(int bufferSize, WaitStrategy waitStrategy, ProducerWaitStrategy producerWaitStrategy)
+    {
+        this(bufferSize, waitStrategy, producerWaitStrategy, new Sequence(Sequencer.INITIAL_CURSOR_VALUE));
+    }
+
+    /**
+     * Create with the specified buffer size, wait strategies and an existing cursor, for sequencers whose
+     * state is held outside of the heap.
+     *
+     * @param bufferSize The total number of entries, must be a positive power of 2.
+     * @param waitStrategy
+     * @param producerWaitStrategy for publishers waiting on the gating sequences when the buffer is full.
+     * @param cursor the sequence to hold the cursor in.
+     */
+    AbstractSequencer(int bufferSize, WaitStrategy waitStrategy, ProducerWaitStrategy producerWaitStrategy, Sequence cursor)
     {
         if (bufferSize < 1)
         {
@@ -53,6 +82,8 @@ public abstract class AbstractSequencer implements Sequencer
 
         this.bufferSize = bufferSize;
         this.waitStrategy = waitStrategy;
+        this.producerWaitStrategy = producerWaitStrategy;
+        this.cursor = cursor;
     }
 
     /**
@@ -80,6 +111,17 @@ public abstract class AbstractSequencer implements Sequencer
     public final void addGatingSequences(Sequence... gatingSequences)
     {
         SequenceGroups.addSequences(this, SEQUENCE_UPDATER, this, gatingSequences);
+        updateGatingSequenceTree(this.gatingSequences);
+    }
+
+    /**
+     * @see Sequencer#addGatingSequencesWithoutReset(Sequence...)
+     */
+    @Override
+    public final void addGatingSequencesWithoutReset(Sequence... gatingSequences)
+    {
+        SequenceGroups.addSequences(this, SEQUENCE_UPDATER, gatingSequences);
+        updateGatingSequenceTree(this.gatingSequences);
     }
 
     /**
@@ -88,7 +130,9 @@ public abstract class AbstractSequencer implements Sequencer
     @Override
     public boolean removeGatingSequence(Sequence sequence)
     {
-        return SequenceGroups.removeSequence(this, SEQUENCE_UPDATER, sequence);
+        final boolean removed = SequenceGroups.removeSequence(this, SEQUENCE_UPDATER, sequence);
+        updateGatingSequenceTree(gatingSequences);
+        return removed;
     }
 
     /**
@@ -97,7 +141,107 @@ public abstract class AbstractSequencer implements Sequencer
     @Override
     public long getMinimumSequence()
     {
-        return Util.getMinimumSequence(gatingSequences, cursor.get());
+        return getMinimumGatingSequence(cursor.get());
+    }
+
+    /**
+     * Get the minimum of the gating sequences, used by publishers to check for wrapping.
+     *
+     * With more than {@link GatingSequenceTree#FAN_OUT} gating sequences the minimum is taken from a
+     * {@link GatingSequenceTree}, which only rereads the gating sequences that could be holding the minimum back,
+     * otherwise all of the gating sequences are read.
+     *
+     * @param minimum the value to return if it is lower than all of the gating sequences.
+     * @return the smaller of the minimum gating sequence and the supplied minimum.
+     */
+    protected final long getMinimumGatingSequence(long minimum)
+    {
+        final Sequence[] sequences = gatingSequences;
+        if (sequences.length <= GatingSequenceTree.FAN_OUT)
+        {
+            return Util.getMinimumSequence(sequences, minimum);
+        }
+
+        GatingSequenceTree tree = gatingSequenceTree;
+        if (null == tree || !tree.isFor(sequences))
+        {
+            tree = updateGatingSequenceTree(sequences);
+        }
+
+        return tree.getMinimum(minimum);
+    }
+
+    /**
+     * Claim the next <code>n</code> sequences with a compare and set on the claim sequence, waiting at most the
+     * timeout for capacity with the producer wait strategy, for the sequencers shared by multiple publishers.
+     * Nothing is claimed if the timeout elapses first.
+     *
+     * @param claimSequence holding the highest sequence claimed so far.
+     * @param gatingSequenceCache holding the minimum gating sequence last seen.
+     * @param n the number of sequences to claim.
+     * @param timeout the longest time to wait for capacity.
+     * @param unit of the timeout.
+     * @return the highest claimed sequence, or {@link Sequenced#CLAIM_TIMED_OUT} if the timeout elapsed.
+     */
+    protected final long claimWithTimeout(final Sequence claimSequence,
+                                          final Sequence gatingSequenceCache,
+                                          final int n,
+                                          final long timeout,
+                                          final TimeUnit unit)
+    {
+        if (n < 1)
+        {
+            throw new IllegalArgumentException("n must be > 0");
+        }
+
+        long current;
+        long next;
+        long deadline = 0L;
+
+        do
+        {
+            current = claimSequence.get();
+            next = current + n;
+
+            long wrapPoint = next - bufferSize;
+            long cachedGatingSequence = gatingSequenceCache.get();
+
+            if (wrapPoint > cachedGatingSequence || cachedGatingSequence > current)
+            {
+                long gatingSequence = getMinimumGatingSequence(current);
+
+                if (wrapPoint > gatingSequence)
+                {
+                    if (0L == deadline)
+                    {
+                        deadline = System.nanoTime() + unit.toNanos(timeout);
+                    }
+
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0 || wrapPoint > producerWaitStrategy.waitFor(wrapPoint, this, remaining))
+                    {
+                        return CLAIM_TIMED_OUT;
+                    }
+                    continue;
+                }
+
+                gatingSequenceCache.set(gatingSequence);
+            }
+            else if (claimSequence.compareAndSet(current, next))
+            {
+                break;
+            }
+        }
+        while (true);
+
+        return next;
+    }
+
+    private GatingSequenceTree updateGatingSequenceTree(Sequence[] sequences)
+    {
+        final GatingSequenceTree tree = sequences.length > GatingSequenceTree.FAN_OUT ? new GatingSequenceTree(sequences) : null;
+        gatingSequenceTree = tree;
+        return tree;
     }
 
     /**
@@ -106,7 +250,7 @@ public abstract class AbstractSequencer implements Sequencer
     @Override
     public SequenceBarrier newBarrier(Sequence... sequencesToTrack)
     {
-        return new ProcessingSequenceBarrier(this, waitStrategy, cursor, sequencesToTrack);
+        return new ProcessingSequenceBarrier(this, waitStrategy, producerWaitStrategy, cursor, sequencesToTrack);
     }
 
     /**
@@ -23,7 +23,8 @@ import java.util.concurrent.atomic.AtomicBoolean;
  * and delegating the available events to an {@link EventHandler}.
  *
  * If the {@link EventHandler} also implements {@link LifecycleAware} it will be notified just after the thread
- * is started and just before the thread is shutdown.
+ * is started and just before the thread is shutdown.  If it implements {@link BatchStartAware} it will be notified
+ * before each batch of events.
  *
  * @param <T> event implementation storing the data for sharing during exchange or parallel coordination of an event.
  */
@@ -35,8 +36,11 @@ public final class BatchEventProcessor<T>
     private final DataProvider<T> dataProvider;
     private final SequenceBarrier sequenceBarrier;
     private final EventHandler<? super T> eventHandler;
-    private final Sequence sequence = new Sequence(Sequencer.INITIAL_CURSOR_VALUE);
+    private final Sequence sequence;
     private final TimeoutHandler timeoutHandler;
+    private final BatchStartAware batchStartAware;
+    private int batchLimitOffset = Integer.MAX_VALUE;
+    private int progressInterval = Integer.MAX_VALUE;
 
     /**
      * Construct a {@link EventProcessor} that will automatically track the progress by updating its sequence when
@@ -49,10 +53,28 @@ public final class BatchEventProcessor<T>
     public BatchEventProcessor(final DataProvider<T> dataProvider,
                                final SequenceBarrier sequenceBarrier,
                                final EventHandler<? super T> eventHandler)
+    {
+        this(dataProvider, sequenceBarrier, eventHandler, new Sequence(Sequencer.INITIAL_CURSOR_VALUE));
+    }
+
+    /**
+     * Construct a {@link EventProcessor} that tracks its progress in the supplied sequence, e.g. one of the
+     * sequences of a {@link SequenceArray} shared by a group of event processors.
+     *
+     * @param dataProvider to which events are published.
+     * @param sequenceBarrier on which it is waiting.
+     * @param eventHandler is the delegate to which events are dispatched.
+     * @param sequence to track the progress of this event processor.
+     */
+    public BatchEventProcessor(final DataProvider<T> dataProvider,
+                               final SequenceBarrier sequenceBarrier,
+                               final EventHandler<? super T> eventHandler,
+                               final Sequence sequence)
     {
         this.dataProvider = dataProvider;
         this.sequenceBarrier = sequenceBarrier;
         this.eventHandler = eventHandler;
+        this.sequence = sequence;
 
         if (eventHandler instanceof SequenceReportingEventHandler)
         {
@@ -60,6 +82,7 @@ public final class BatchEventProcessor<T>
         }
 
         timeoutHandler = (eventHandler instanceof TimeoutHandler) ? (TimeoutHandler) eventHandler : null;
+        batchStartAware = (eventHandler instanceof BatchStartAware) ? (BatchStartAware) eventHandler : null;
     }
 
     @Override
@@ -96,6 +119,49 @@ public final class BatchEventProcessor<T>
         this.exceptionHandler = exceptionHandler;
     }
 
+    /**
+     * Limit the number of events handled in a batch, so that a processor that has fallen behind releases the events
+     * it has handled, and reports the end of a batch to its handler, at least this often.  By default a batch runs
+     * to the highest available sequence.  Must be called before the processor is started.
+     *
+     * @param maxBatchSize the maximum number of events in a batch.
+     * @throws IllegalArgumentException if maxBatchSize is less than 1.
+     */
+    public void setMaxBatchSize(final int maxBatchSize)
+    {
+        if (maxBatchSize < 1)
+        {
+            throw new IllegalArgumentException("maxBatchSize must be at least 1");
+        }
+
+        this.batchLimitOffset = maxBatchSize - 1;
+    }
+
+    /**
+     * Update the sequence of this processor every <code>progressInterval</code> events within a batch, as well as
+     * at the end of the batch, so that publishers and dependent processors can proceed while a long batch is being
+     * handled, without the handler seeing the batch split.  By default the sequence is only updated at the end of
+     * each batch.  Must be called before the processor is started.  Not supported for a
+     * {@link PartitionedEventHandler}, which holds back an event until the end of the batch.
+     *
+     * @param progressInterval the number of events handled between updates of the sequence.
+     * @throws IllegalArgumentException if progressInterval is less than 1.
+     * @throws IllegalStateException if the handler is a {@link PartitionedEventHandler}.
+     */
+    public void setProgressInterval(final int progressInterval)
+    {
+        if (progressInterval < 1)
+        {
+            throw new IllegalArgumentException("progressInterval must be at least 1");
+        }
+        if (eventHandler instanceof PartitionedEventHandler)
+        {
+            throw new IllegalStateException("progressInterval is not supported for a PartitionedEventHandler");
+        }
+
+        this.progressInterval = progressInterval;
+    }
+
     /**
      * It is ok to have another thread rerun this method after a halt().
      *
@@ -121,15 +187,31 @@ public final class BatchEventProcessor<T>
                 try
                 {
                     final long availableSequence = sequenceBarrier.waitFor(nextSequence);
+                    final long endOfBatchSequence = Math.min(nextSequence + batchLimitOffset, availableSequence);
 
-                    while (nextSequence <= availableSequence)
+                    if (batchStartAware != null && endOfBatchSequence >= nextSequence)
+                    {
+                        batchStartAware.onBatchStart(endOfBatchSequence - nextSequence + 1,
+                                                     availableSequence - nextSequence + 1);
+                    }
+
+                    long progressSequence = nextSequence - 1 + progressInterval;
+                    while (nextSequence <= endOfBatchSequence)
                     {
                         event = dataProvider.get(nextSequence);
-                        eventHandler.onEvent(event, nextSequence, nextSequence == availableSequence);
+                        eventHandler.onEvent(event, nextSequence, nextSequence == endOfBatchSequence);
+
+                        if (nextSequence == progressSequence)
+                        {
+                            sequence.set(nextSequence);
+                            sequenceBarrier.signalProducers();
+                            progressSequence += progressInterval;
+                        }
                         nextSequence++;
                     }
 
-                    sequence.set(availableSequence);
+                    sequence.set(endOfBatchSequence);
+                    sequenceBarrier.signalProducers();
                 }
                 catch (final TimeoutException e)
                 {
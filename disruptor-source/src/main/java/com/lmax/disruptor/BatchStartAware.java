@@ -0,0 +1,34 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+/**
+ * Implement this interface in your {@link EventHandler}, or the {@link EventPoller.Handler} of an
+ * {@link EventPoller}, to be notified before each batch of events is handled, e.g. to size a buffer or start a
+ * transaction for the whole batch.
+ */
+public interface BatchStartAware
+{
+    /**
+     * Called before the first event of a batch is handled.
+     *
+     * @param batchSize the number of events in the batch, the last of which is handled with
+     *                  <code>endOfBatch</code> set.  A poller's handler may stop the batch early.
+     * @param queueDepth the number of events available to the handler when the batch starts, including those in
+     *                   the batch.
+     */
+    void onBatchStart(long batchSize, long queueDepth);
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+/**
+ * <p>Publishes events to a {@link RingBuffer} in blocks, claiming a whole block of sequences with a single call to
+ * {@link RingBuffer#next(int)} and making it visible with a single {@link RingBuffer#publish(long, long)}.  With many
+ * publisher threads this reduces the contention on the cursor of a multi producer ring buffer by the batch size.</p>
+ *
+ * <p>Each publishing thread has its own batch of staging events, created with the event factory.  Each event is
+ * translated into the next staging event as it is published, so the arguments are not held and may be reused
+ * straight away.  When the batch is full sequences are claimed for exactly the number of events staged and the copier
+ * copies each staging event into its slot of the ring buffer before they are published together.  As sequences are
+ * only claimed once the events are ready, a partial batch never holds up consumers.  Events published by one thread
+ * keep their order, events from different threads are interleaved a batch at a time.</p>
+ *
+ * <p>The translators are called before a sequence has been claimed for the event, so they are passed
+ * {@link Sequencer#INITIAL_CURSOR_VALUE} as the sequence, the copier is passed the sequence of the slot.</p>
+ *
+ * <p>A partial batch is only published by {@link #flush()}, called from the thread that published its events, so a
+ * thread must flush whenever it stops publishing, e.g. at the end of each burst of events, or its events may be
+ * held indefinitely.</p>
+ *
+ * @param <E> Class of the event stored in the ring buffer.
+ */
+public final class BatchingPublisher<E>
+{
+    private final RingBuffer<E> ringBuffer;
+    private final EventFactory<E> eventFactory;
+    private final EventTranslatorOneArg<E, E> copier;
+    private final int batchSize;
+    private final ThreadLocal<Batch> batches = new ThreadLocal<Batch>()
+    {
+        @Override
+        protected Batch initialValue()
+        {
+            return new Batch();
+        }
+    };
+
+    /**
+     * Construct a publisher that batches events for the given ring buffer.
+     *
+     * @param ringBuffer to publish the events to.
+     * @param eventFactory to create the staging events of each publishing thread.
+     * @param copier to copy a staging event, the argument, into the event of the ring buffer.
+     * @param batchSize the maximum number of events each thread collects before publishing them.
+     * @throws IllegalArgumentException if the batch size is less than 1 or larger than the ring buffer.
+     */
+    public BatchingPublisher(final RingBuffer<E> ringBuffer,
+                             final EventFactory<E> eventFactory,
+                             final EventTranslatorOneArg<E, E> copier,
+                             final int batchSize)
+    {
+        if (batchSize < 1)
+        {
+            throw new IllegalArgumentException("batchSize must not be less than 1");
+        }
+        if (batchSize > ringBuffer.getBufferSize())
+        {
+            throw new IllegalArgumentException("batchSize must not be larger than the ring buffer");
+        }
+
+        this.ringBuffer = ringBuffer;
+        this.eventFactory = eventFactory;
+        this.copier = copier;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Add an event to the calling thread's batch.
+     *
+     * @param translator The user specified translation for the event
+     */
+    public void publishEvent(final EventTranslator<E> translator)
+    {
+        final Batch batch = batches.get();
+        translator.translateTo(batch.next(), Sequencer.INITIAL_CURSOR_VALUE);
+        batch.added();
+    }
+
+    /**
+     * Add an event to the calling thread's batch.
+     *
+     * @param translator The user specified translation for the event
+     * @param arg0 A user supplied argument.
+     */
+    public <A> void publishEvent(final EventTranslatorOneArg<E, A> translator, final A arg0)
+    {
+        final Batch batch = batches.get();
+        translator.translateTo(batch.next(), Sequencer.INITIAL_CURSOR_VALUE, arg0);
+        batch.added();
+    }
+
+    /**
+     * Add an event to the calling thread's batch.
+     *
+     * @param translator The user specified translation for the event
+     * @param arg0 A user supplied argument.
+     * @param arg1 A user supplied argument.
+     */
+    public <A, B> void publishEvent(final EventTranslatorTwoArg<E, A, B> translator, final A arg0, final B arg1)
+    {
+        final Batch batch = batches.get();
+        translator.translateTo(batch.next(), Sequencer.INITIAL_CURSOR_VALUE, arg0, arg1);
+        batch.added();
+    }
+
+    /**
+     * Add an event to the calling thread's batch.
+     *
+     * @param translator The user specified translation for the event
+     * @param arg0 A user supplied argument.
+     * @param arg1 A user supplied argument.
+     * @param arg2 A user supplied argument.
+     */
+    public <A, B, C> void publishEvent(final EventTranslatorThreeArg<E, A, B, C> translator,
+                                       final A arg0, final B arg1, final C arg2)
+    {
+        final Batch batch = batches.get();
+        translator.translateTo(batch.next(), Sequencer.INITIAL_CURSOR_VALUE, arg0, arg1, arg2);
+        batch.added();
+    }
+
+    /**
+     * Publish any events held in the calling thread's batch.
+     */
+    public void flush()
+    {
+        batches.get().flush();
+    }
+
+    /**
+     * The staging events of a single thread.
+     */
+    private final class Batch
+    {
+        private final Object[] events = new Object[batchSize];
+        private int size = 0;
+
+        private Batch()
+        {
+            for (int i = 0; i < batchSize; i++)
+            {
+                events[i] = eventFactory.newInstance();
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        E next()
+        {
+            return (E) events[size];
+        }
+
+        void added()
+        {
+            if (batchSize == ++size)
+            {
+                flush();
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        void flush()
+        {
+            final int n = size;
+            if (0 == n)
+            {
+                return;
+            }
+
+            final long hi = ringBuffer.next(n);
+            final long lo = hi - (n - 1);
+            try
+            {
+                for (int i = 0; i < n; i++)
+                {
+                    copier.translateTo(ringBuffer.get(lo + i), lo + i, (E) events[i]);
+                }
+            }
+            finally
+            {
+                ringBuffer.publish(lo, hi);
+                size = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,358 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import java.util.concurrent.TimeUnit;
+
+import sun.misc.Unsafe;
+
+import com.lmax.disruptor.util.Util;
+
+
+/**
+ * <p>Coordinator for claiming sequences for access to a data structure while tracking dependent {@link Sequence}s.
+ * Suitable for use for sequencing across multiple publisher threads.</p>
+ *
+ * <p>Behaves the same as the {@link MultiProducerSequencer}, but tracks the availability of each slot as a single
+ * bit in a packed <code>long[]</code> rather than an <code>int</code> per slot.  This allows
+ * {@link Sequencer#getHighestPublishedSequence(long, long)} to examine 64 slots per read and
+ * {@link Sequencer#publish(long, long)} to mark a whole batch with a handful of word level writes.</p>
+ *
+ * <p>Note on {@link Sequencer#getCursor()}:  With this sequencer the cursor value is updated after the call
+ * to {@link Sequencer#next()}, to determine the highest available sequence that can be read, then
+ * {@link Sequencer#getHighestPublishedSequence(long, long)} should be used.
+ */
+public final class BitmapMultiProducerSequencer extends AbstractSequencer
+{
+    private static final Unsafe UNSAFE = Util.getUnsafe();
+    private static final long BASE  = UNSAFE.arrayBaseOffset(long[].class);
+    private static final long SCALE = UNSAFE.arrayIndexScale(long[].class);
+
+    private static final int BITS_PER_WORD = 64;
+    private static final int WORD_SHIFT = 6;
+    private static final int BIT_MASK = BITS_PER_WORD - 1;
+
+    private final Sequence gatingSequenceCache = new Sequence(Sequencer.INITIAL_CURSOR_VALUE);
+
+    // availableBuffer holds one bit per ringbuffer slot
+    // see below for more details on the approach
+    private final long[] availableBuffer;
+    private final int indexMask;
+    private final int indexShift;
+
+    /**
+     * Construct a Sequencer with the selected wait strategy and buffer size.
+     *
+     * @param bufferSize the size of the buffer that this will sequence over.
+     * @param waitStrategy for those waiting on sequences.
+     */
+    public BitmapMultiProducerSequencer(int bufferSize, final WaitStrategy waitStrategy)
+    {
+        this(bufferSize, waitStrategy, new SleepingProducerWaitStrategy());
+    }
+
+    /**
+     * Construct a Sequencer with the selected wait strategies and buffer size.
+     *
+     * @param bufferSize the size of the buffer that this will sequence over.
+     * @param waitStrategy for those waiting on sequences.
+     * @param producerWaitStrategy for publishers waiting on the gating sequences when the buffer is full.
+     */
+    public BitmapMultiProducerSequencer(int bufferSize,
+                                        final WaitStrategy waitStrategy,
+                                        final ProducerWaitStrategy producerWaitStrategy)
+    {
+        super(bufferSize, waitStrategy, producerWaitStrategy);
+        availableBuffer = new long[Math.max(1, bufferSize >>> WORD_SHIFT)];
+        indexMask = bufferSize - 1;
+        indexShift = Util.log2(bufferSize);
+    }
+
+    /**
+     * @see Sequencer#hasAvailableCapacity(int)
+     */
+    @Override
+    public boolean hasAvailableCapacity(final int requiredCapacity)
+    {
+        return hasAvailableCapacity(requiredCapacity, cursor.get());
+    }
+
+    private boolean hasAvailableCapacity(final int requiredCapacity, long cursorValue)
+    {
+        long wrapPoint = (cursorValue + requiredCapacity) - bufferSize;
+        long cachedGatingSequence = gatingSequenceCache.get();
+
+        if (wrapPoint > cachedGatingSequence || cachedGatingSequence > cursorValue)
+        {
+            long minSequence = getMinimumGatingSequence(cursorValue);
+            gatingSequenceCache.set(minSequence);
+
+            if (wrapPoint > minSequence)
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * @see Sequencer#claim(long)
+     */
+    @Override
+    public void claim(long sequence)
+    {
+        cursor.set(sequence);
+    }
+
+    /**
+     * @see Sequencer#next()
+     */
+    @Override
+    public long next()
+    {
+        return next(1);
+    }
+
+    /**
+     * @see Sequencer#next(int)
+     */
+    @Override
+    public long next(int n)
+    {
+        if (n < 1)
+        {
+            throw new IllegalArgumentException("n must be > 0");
+        }
+
+        long current;
+        long next;
+
+        do
+        {
+            current = cursor.get();
+            next = current + n;
+
+            long wrapPoint = next - bufferSize;
+            long cachedGatingSequence = gatingSequenceCache.get();
+
+            if (wrapPoint > cachedGatingSequence || cachedGatingSequence > current)
+            {
+                long gatingSequence = getMinimumGatingSequence(current);
+
+                if (wrapPoint > gatingSequence)
+                {
+                    producerWaitStrategy.waitFor(wrapPoint, this);
+                    continue;
+                }
+
+                gatingSequenceCache.set(gatingSequence);
+            }
+            else if (cursor.compareAndSet(current, next))
+            {
+                break;
+            }
+        }
+        while (true);
+
+        return next;
+    }
+
+    /**
+     * @see Sequencer#next(int, long, TimeUnit)
+     */
+    @Override
+    public long next(int n, long timeout, TimeUnit unit)
+    {
+        return claimWithTimeout(cursor, gatingSequenceCache, n, timeout, unit);
+    }
+
+    /**
+     * @see Sequencer#tryNext()
+     */
+    @Override
+    public long tryNext() throws InsufficientCapacityException
+    {
+        return tryNext(1);
+    }
+
+    /**
+     * @see Sequencer#tryNext(int)
+     */
+    @Override
+    public long tryNext(int n) throws InsufficientCapacityException
+    {
+        if (n < 1)
+        {
+            throw new IllegalArgumentException("n must be > 0");
+        }
+
+        long current;
+        long next;
+
+        do
+        {
+            current = cursor.get();
+            next = current + n;
+
+            if (!hasAvailableCapacity(n, current))
+            {
+                throw InsufficientCapacityException.INSTANCE;
+            }
+        }
+        while (!cursor.compareAndSet(current, next));
+
+        return next;
+    }
+
+    /**
+     * @see Sequencer#remainingCapacity()
+     */
+    @Override
+    public long remainingCapacity()
+    {
+        long consumed = getMinimumGatingSequence(cursor.get());
+        long produced = cursor.get();
+        return getBufferSize() - (produced - consumed);
+    }
+
+    /**
+     * @see Sequencer#publish(long)
+     */
+    @Override
+    public void publish(final long sequence)
+    {
+        setAvailable(sequence, 1);
+        waitStrategy.signalAllWhenBlocking();
+    }
+
+    /**
+     * @see Sequencer#publish(long, long)
+     */
+    @Override
+    public void publish(long lo, long hi)
+    {
+        long sequence = lo;
+        while (sequence <= hi)
+        {
+            int length = (int) Math.min(runLength(sequence), (hi - sequence) + 1);
+            setAvailable(sequence, length);
+            sequence += length;
+        }
+        waitStrategy.signalAllWhenBlocking();
+    }
+
+    /**
+     * The below methods work on the availableBuffer bitmap.
+     *
+     * The approach is the same as the int per slot flags used by the {@link MultiProducerSequencer},
+     * except that only the lowest bit of the lap count is kept.
+     *
+     * --  The delta between the cursor and minimum gating sequence will never be larger
+     * than the buffer size, so when a slot is inspected for a given sequence the bit can only
+     * hold the state for the current lap or the lap before it.
+     * -- The bit for a slot is set to 1 when published on an even lap and 0 when published
+     * on an odd lap, the polarity flipping each time around the ring buffer.  As the buffer
+     * starts zeroed every slot initially reads as published for lap -1.
+     * -- Slots are packed 64 to a word with the lower index in the lower bit, a word never
+     * spans the end of a lap (for buffers smaller than 64 the top bits are simply unused),
+     * so a contiguous run of sequences maps onto a contiguous run of bits.
+     * -- Multiple publishers may share a word, so bits are updated with a CAS on the whole word.
+     * Setting the bit to the lap polarity, rather than toggling it, keeps {@link #claim(long)}
+     * followed by publish correct for an arbitrary starting sequence.
+     */
+    private void setAvailable(final long sequence, final int length)
+    {
+        final int index = calculateIndex(sequence);
+        final long bufferAddress = calculateAddress(index);
+        final long mask = calculateMask(index & BIT_MASK, length);
+        final boolean evenLap = isEvenLap(sequence);
+
+        long current;
+        long next;
+        do
+        {
+            current = UNSAFE.getLongVolatile(availableBuffer, bufferAddress);
+            next = evenLap ? current | mask : current & ~mask;
+        }
+        while (!UNSAFE.compareAndSwapLong(availableBuffer, bufferAddress, current, next));
+    }
+
+    /**
+     * @see Sequencer#isAvailable(long)
+     */
+    @Override
+    public boolean isAvailable(long sequence)
+    {
+        final int index = calculateIndex(sequence);
+        final long word = UNSAFE.getLongVolatile(availableBuffer, calculateAddress(index));
+        return ((publishedBits(word, sequence) >>> (index & BIT_MASK)) & 1L) != 0;
+    }
+
+    @Override
+    public long getHighestPublishedSequence(long lowerBound, long availableSequence)
+    {
+        long sequence = lowerBound;
+        while (sequence <= availableSequence)
+        {
+            final int index = calculateIndex(sequence);
+            final long word = UNSAFE.getLongVolatile(availableBuffer, calculateAddress(index));
+            final long published = publishedBits(word, sequence) >>> (index & BIT_MASK);
+            final int run = runLength(sequence);
+            final int publishedRun = Long.numberOfTrailingZeros(~published);
+
+            if (publishedRun < run)
+            {
+                return Math.min(sequence + publishedRun - 1, availableSequence);
+            }
+
+            sequence += run;
+        }
+
+        return availableSequence;
+    }
+
+    private long publishedBits(final long word, final long sequence)
+    {
+        return isEvenLap(sequence) ? word : ~word;
+    }
+
+    private int runLength(final long sequence)
+    {
+        final int index = calculateIndex(sequence);
+        return Math.min(BITS_PER_WORD - (index & BIT_MASK), bufferSize - index);
+    }
+
+    private boolean isEvenLap(final long sequence)
+    {
+        return ((sequence >>> indexShift) & 1L) == 0;
+    }
+
+    private static long calculateMask(final int bit, final int length)
+    {
+        return (length == BITS_PER_WORD ? -1L : (1L << length) - 1) << bit;
+    }
+
+    private static long calculateAddress(final int index)
+    {
+        return ((index >>> WORD_SHIFT) * SCALE) + BASE;
+    }
+
+    private int calculateIndex(final long sequence)
+    {
+        return ((int) sequence) & indexMask;
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <p>Blocking strategy that uses a lock and condition variable for publishers waiting for capacity.</p>
+ *
+ * <p>Event processors signal the condition via {@link SequenceBarrier#signalProducers()} as they advance
+ * their sequences, eliding the lock when no publisher is waiting.  As gating sequences may also be advanced
+ * by code that does not signal, e.g. an {@link EventPoller}, the wait on the condition is bounded by
+ * a maximum wait after which the gating sequences are checked again.</p>
+ *
+ * <p>This strategy can be used when throughput and low-latency are not as important as CPU resource.</p>
+ */
+public final class BlockingProducerWaitStrategy implements ProducerWaitStrategy
+{
+    private static final long DEFAULT_MAX_WAIT_MILLIS = 1L;
+
+    private final Lock lock = new ReentrantLock();
+    private final Condition capacityAvailableCondition = lock.newCondition();
+    private final AtomicBoolean signalNeeded = new AtomicBoolean(false);
+    private final long maxWaitNanos;
+
+    public BlockingProducerWaitStrategy()
+    {
+        this(DEFAULT_MAX_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    public BlockingProducerWaitStrategy(final long maxWait, final TimeUnit units)
+    {
+        this.maxWaitNanos = units.toNanos(maxWait);
+    }
+
+    @Override
+    public long waitFor(final long wrapPoint, final Gated gated)
+    {
+        long minSequence;
+        if (wrapPoint > (minSequence = gated.getMinimumSequence()))
+        {
+            boolean interrupted = false;
+            lock.lock();
+            try
+            {
+                do
+                {
+                    signalNeeded.getAndSet(true);
+
+                    if (wrapPoint <= (minSequence = gated.getMinimumSequence()))
+                    {
+                        break;
+                    }
+
+                    try
+                    {
+                        capacityAvailableCondition.awaitNanos(maxWaitNanos);
+                    }
+                    catch (final InterruptedException e)
+                    {
+                        interrupted = true;
+                    }
+                }
+                while (wrapPoint > (minSequence = gated.getMinimumSequence()));
+            }
+            finally
+            {
+                lock.unlock();
+                if (interrupted)
+                {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        return minSequence;
+    }
+
+    @Override
+    public long waitFor(final long wrapPoint, final Gated gated, final long timeoutNanos)
+    {
+        long minSequence;
+        if (wrapPoint > (minSequence = gated.getMinimumSequence()))
+        {
+            final long deadline = System.nanoTime() + timeoutNanos;
+            boolean interrupted = false;
+            lock.lock();
+            try
+            {
+                do
+                {
+                    signalNeeded.getAndSet(true);
+
+                    if (wrapPoint <= (minSequence = gated.getMinimumSequence()))
+                    {
+                        break;
+                    }
+
+                    final long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0)
+                    {
+                        break;
+                    }
+
+                    try
+                    {
+                        capacityAvailableCondition.awaitNanos(Math.min(maxWaitNanos, remaining));
+                    }
+                    catch (final InterruptedException e)
+                    {
+                        interrupted = true;
+                    }
+                }
+                while (wrapPoint > (minSequence = gated.getMinimumSequence()));
+            }
+            finally
+            {
+                lock.unlock();
+                if (interrupted)
+                {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        return minSequence;
+    }
+
+    @Override
+    public void signalAllWhenBlocking()
+    {
+        if (signalNeeded.getAndSet(false))
+        {
+            lock.lock();
+            try
+            {
+                capacityAvailableCondition.signalAll();
+            }
+            finally
+            {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * <p>A run of claimed sequences that is published when closed, for use in a try-with-resources statement so that
+ * the sequences are published even if the events are not completely written, e.g.</p>
+ *
+ * <pre>
+ * try (Claim&lt;ValueEvent&gt; claim = ringBuffer.claim())
+ * {
+ *     claim.event().setValue(value);
+ * }
+ * </pre>
+ *
+ * <p>and for a batch</p>
+ *
+ * <pre>
+ * try (Claim&lt;ValueEvent&gt; claim = ringBuffer.claim(values.length))
+ * {
+ *     int i = 0;
+ *     for (ValueEvent event : claim)
+ *     {
+ *         event.setValue(values[i++]);
+ *     }
+ * }
+ * </pre>
+ *
+ * <p>Each thread has a single claim for a ring buffer, reused by every call to {@link RingBuffer#claim()} and
+ * {@link RingBuffer#claim(int)}, so publishing this way allocates nothing in the steady state.  A claim is its own
+ * {@link Iterator}, and must not be used once closed or passed to another thread.</p>
+ *
+ * @param <E> type of the events claimed.
+ */
+public final class Claim<E> implements AutoCloseable, Iterable<E>, Iterator<E>
+{
+    private final EventSequencer<E> sequencer;
+    private long lo;
+    private long hi;
+    private long next;
+    private boolean open;
+
+    Claim(final EventSequencer<E> sequencer)
+    {
+        this.sequencer = sequencer;
+    }
+
+    Claim<E> claim(final int n)
+    {
+        if (open)
+        {
+            throw new IllegalStateException("The previous claim of this thread has not been closed");
+        }
+
+        hi = sequencer.next(n);
+        lo = hi - (n - 1);
+        next = lo;
+        open = true;
+        return this;
+    }
+
+    /**
+     * Get the first event of the claim, the only one for a claim of a single sequence.
+     *
+     * @return the event for the first claimed sequence.
+     */
+    public E event()
+    {
+        return sequencer.get(lo);
+    }
+
+    /**
+     * Get an event of the claim.
+     *
+     * @param index of the event within the claim, from 0.
+     * @return the event for the sequence at the index.
+     * @throws IndexOutOfBoundsException if the index is not within the claim.
+     */
+    public E event(final int index)
+    {
+        if (index < 0 || index >= size())
+        {
+            throw new IndexOutOfBoundsException("index: " + index + ", size: " + size());
+        }
+        return sequencer.get(lo + index);
+    }
+
+    /**
+     * @return the first sequence of the claim.
+     */
+    public long sequence()
+    {
+        return lo;
+    }
+
+    /**
+     * @return the last sequence of the claim.
+     */
+    public long lastSequence()
+    {
+        return hi;
+    }
+
+    /**
+     * @return the number of sequences claimed.
+     */
+    public int size()
+    {
+        return (int) (hi - lo + 1);
+    }
+
+    /**
+     * Iterate over the events of the claim, in sequence order.  The claim is its own iterator, restarted by each
+     * call to this method.
+     *
+     * @return this claim.
+     */
+    @Override
+    public Iterator<E> iterator()
+    {
+        next = lo;
+        return this;
+    }
+
+    @Override
+    public boolean hasNext()
+    {
+        return next <= hi;
+    }
+
+    @Override
+    public E next()
+    {
+        if (next > hi)
+        {
+            throw new NoSuchElementException();
+        }
+        return sequencer.get(next++);
+    }
+
+    @Override
+    public void remove()
+    {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Publish the claimed sequences.  Calls after the first have no effect.
+     */
+    @Override
+    public void close()
+    {
+        if (open)
+        {
+            open = false;
+            sequencer.publish(lo, hi);
+        }
+    }
+}
@@ -0,0 +1,360 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.lmax.disruptor.dsl.ProducerType;
+
+/**
+ * <p>Ring buffer storing each field of its events in a separate primitive array, rather than as objects holding
+ * every field.  A handler reading a few fields of each event only touches the arrays of those fields, so every
+ * cache line it loads is full of values it reads, with no object headers or unrelated fields.</p>
+ *
+ * <p>The fields are declared by a {@link Schema}, and each is read and written through a column looked up by name,
+ * e.g.</p>
+ *
+ * <pre>
+ * ColumnarRingBuffer ringBuffer = ColumnarRingBuffer.create(ProducerType.SINGLE, 1024,
+ *     new ColumnarRingBuffer.Schema().addLong("price").addLong("quantity").addInt("side"),
+ *     new YieldingWaitStrategy());
+ * final ColumnarRingBuffer.LongColumn price = ringBuffer.getLongColumn("price");
+ * final ColumnarRingBuffer.LongColumn quantity = ringBuffer.getLongColumn("quantity");
+ *
+ * public void onEvent(ColumnarRingBuffer.Row row, long sequence, boolean endOfBatch)
+ * {
+ *     exposure += price.get(sequence) * quantity.get(sequence);
+ * }
+ * </pre>
+ *
+ * <p>Events are exposed to the rest of the Disruptor through a {@link Row} flyweight, so the ring buffer can be used
+ * with {@link BatchEventProcessor}s, translators through the {@link EventSink} methods and the
+ * {@link com.lmax.disruptor.dsl.Disruptor} DSL.</p>
+ */
+public final class ColumnarRingBuffer extends AbstractEventRing<ColumnarRingBuffer.Row>
+{
+    // pad either end of each column by at least 128 bytes so that its values do not share a cache line with other data
+    private static final int BUFFER_PAD = 128 / 4;
+
+    private final int indexMask;
+    private final Map<String, Object> columns = new LinkedHashMap<String, Object>();
+    private final ThreadLocal<Row> rows = new ThreadLocal<Row>()
+    {
+        @Override
+        protected Row initialValue()
+        {
+            return new Row();
+        }
+    };
+
+    /**
+     * Construct a ring buffer with a column for each field of the schema, holding a value for each sequence of the
+     * supplied sequencer.
+     *
+     * @param sequencer sequencer to handle the ordering of events moving through the ring buffer.
+     * @param schema declaring the fields of the events.
+     * @throws IllegalArgumentException if the buffer size is less than 1 or not a power of 2
+     */
+    public ColumnarRingBuffer(final Sequencer sequencer, final Schema schema)
+    {
+        super(sequencer);
+        this.indexMask = bufferSize - 1;
+
+        for (final Map.Entry<String, Class<?>> field : schema.fields.entrySet())
+        {
+            final Class<?> type = field.getValue();
+            final Object column;
+            if (long.class == type)
+            {
+                column = new LongColumn(field.getKey(), new long[bufferSize + 2 * BUFFER_PAD], indexMask);
+            }
+            else if (int.class == type)
+            {
+                column = new IntColumn(field.getKey(), new int[bufferSize + 2 * BUFFER_PAD], indexMask);
+            }
+            else
+            {
+                column = new DoubleColumn(field.getKey(), new double[bufferSize + 2 * BUFFER_PAD], indexMask);
+            }
+            columns.put(field.getKey(), column);
+        }
+    }
+
+    /**
+     * Create a new ring buffer with the specified producer type.
+     *
+     * @param producerType producer type to use {@link ProducerType}.
+     * @param bufferSize number of events held by the ring buffer.
+     * @param schema declaring the fields of the events.
+     * @param waitStrategy used to determine how to wait for new events to become available.
+     * @throws IllegalArgumentException if bufferSize is less than 1 or not a power of 2
+     */
+    public static ColumnarRingBuffer create(final ProducerType producerType,
+                                            final int bufferSize,
+                                            final Schema schema,
+                                            final WaitStrategy waitStrategy)
+    {
+        switch (producerType)
+        {
+        case SINGLE:
+            return new ColumnarRingBuffer(new SingleProducerSequencer(bufferSize, waitStrategy), schema);
+        case MULTI:
+            return new ColumnarRingBuffer(new MultiProducerSequencer(bufferSize, waitStrategy), schema);
+        case MULTI_FETCH_AND_ADD:
+            return new ColumnarRingBuffer(new FetchAndAddMultiProducerSequencer(bufferSize, waitStrategy), schema);
+        default:
+            throw new IllegalStateException(producerType.toString());
+        }
+    }
+
+    /**
+     * Get the calling thread's {@link Row} flyweight, positioned on the given sequence.  The row is only valid
+     * until the calling thread next calls this method.
+     *
+     * @param sequence for the event
+     * @return the row for the given sequence
+     */
+    @Override
+    public Row get(final long sequence)
+    {
+        final Row row = rows.get();
+        row.sequence = sequence;
+        return row;
+    }
+
+    /**
+     * Get the column holding a <code>long</code> field.
+     *
+     * @param name of the field.
+     * @return the column.
+     * @throws IllegalArgumentException if the schema has no <code>long</code> field of that name.
+     */
+    public LongColumn getLongColumn(final String name)
+    {
+        return getColumn(name, LongColumn.class);
+    }
+
+    /**
+     * Get the column holding an <code>int</code> field.
+     *
+     * @param name of the field.
+     * @return the column.
+     * @throws IllegalArgumentException if the schema has no <code>int</code> field of that name.
+     */
+    public IntColumn getIntColumn(final String name)
+    {
+        return getColumn(name, IntColumn.class);
+    }
+
+    /**
+     * Get the column holding a <code>double</code> field.
+     *
+     * @param name of the field.
+     * @return the column.
+     * @throws IllegalArgumentException if the schema has no <code>double</code> field of that name.
+     */
+    public DoubleColumn getDoubleColumn(final String name)
+    {
+        return getColumn(name, DoubleColumn.class);
+    }
+
+    private <C> C getColumn(final String name, final Class<C> columnType)
+    {
+        final Object column = columns.get(name);
+        if (!columnType.isInstance(column))
+        {
+            throw new IllegalArgumentException("No " + columnType.getSimpleName() + " named " + name);
+        }
+        return columnType.cast(column);
+    }
+
+    /**
+     * The fields of the events of a {@link ColumnarRingBuffer}, in the order they are added.
+     */
+    public static final class Schema
+    {
+        private final Map<String, Class<?>> fields = new LinkedHashMap<String, Class<?>>();
+
+        public Schema addLong(final String name)
+        {
+            return add(name, long.class);
+        }
+
+        public Schema addInt(final String name)
+        {
+            return add(name, int.class);
+        }
+
+        public Schema addDouble(final String name)
+        {
+            return add(name, double.class);
+        }
+
+        private Schema add(final String name, final Class<?> type)
+        {
+            if (fields.containsKey(name))
+            {
+                throw new IllegalArgumentException("Duplicate field: " + name);
+            }
+            fields.put(name, type);
+            return this;
+        }
+    }
+
+    /**
+     * Flyweight over the fields held for a single sequence.
+     */
+    public final class Row
+    {
+        private long sequence;
+
+        Row()
+        {
+        }
+
+        public long getSequence()
+        {
+            return sequence;
+        }
+
+        public long get(final LongColumn column)
+        {
+            return column.get(sequence);
+        }
+
+        public void set(final LongColumn column, final long value)
+        {
+            column.set(sequence, value);
+        }
+
+        public int get(final IntColumn column)
+        {
+            return column.get(sequence);
+        }
+
+        public void set(final IntColumn column, final int value)
+        {
+            column.set(sequence, value);
+        }
+
+        public double get(final DoubleColumn column)
+        {
+            return column.get(sequence);
+        }
+
+        public void set(final DoubleColumn column, final double value)
+        {
+            column.set(sequence, value);
+        }
+    }
+
+    /**
+     * The values of a <code>long</code> field, indexed by sequence.
+     */
+    public static final class LongColumn
+    {
+        private final String name;
+        private final long[] values;
+        private final int indexMask;
+
+        LongColumn(final String name, final long[] values, final int indexMask)
+        {
+            this.name = name;
+            this.values = values;
+            this.indexMask = indexMask;
+        }
+
+        public String getName()
+        {
+            return name;
+        }
+
+        public long get(final long sequence)
+        {
+            return values[BUFFER_PAD + ((int) sequence & indexMask)];
+        }
+
+        public void set(final long sequence, final long value)
+        {
+            values[BUFFER_PAD + ((int) sequence & indexMask)] = value;
+        }
+    }
+
+    /**
+     * The values of an <code>int</code> field, indexed by sequence.
+     */
+    public static final class IntColumn
+    {
+        private final String name;
+        private final int[] values;
+        private final int indexMask;
+
+        IntColumn(final String name, final int[] values, final int indexMask)
+        {
+            this.name = name;
+            this.values = values;
+            this.indexMask = indexMask;
+        }
+
+        public String getName()
+        {
+            return name;
+        }
+
+        public int get(final long sequence)
+        {
+            return values[BUFFER_PAD + ((int) sequence & indexMask)];
+        }
+
+        public void set(final long sequence, final int value)
+        {
+            values[BUFFER_PAD + ((int) sequence & indexMask)] = value;
+        }
+    }
+
+    /**
+     * The values of a <code>double</code> field, indexed by sequence.
+     */
+    public static final class DoubleColumn
+    {
+        private final String name;
+        private final double[] values;
+        private final int indexMask;
+
+        DoubleColumn(final String name, final double[] values, final int indexMask)
+        {
+            this.name = name;
+            this.values = values;
+            this.indexMask = indexMask;
+        }
+
+        public String getName()
+        {
+            return name;
+        }
+
+        public double get(final long sequence)
+        {
+            return values[BUFFER_PAD + ((int) sequence & indexMask)];
+        }
+
+        public void set(final long sequence, final double value)
+        {
+            values[BUFFER_PAD + ((int) sequence & indexMask)] = value;
+        }
+    }
+}
@@ -0,0 +1,296 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import com.lmax.disruptor.EventPoller.PollState;
+import com.lmax.disruptor.util.ThreadHints;
+
+/**
+ * <p>An {@link Executor} that runs many {@link PollingEventProcessor}s on a small, fixed number of threads, each
+ * thread polling its processors in turn and backing off once none of them has any events.  A processor with no
+ * events costs its thread a poll, and a scheduler thread with no events parks for up to the maximum idle wait,
+ * which bounds the latency of the first event after a quiet period.</p>
+ *
+ * <p>Any other {@link Runnable}, such as a {@link BatchEventProcessor} or {@link WorkProcessor}, is given a thread
+ * of its own, so busy handlers can keep their dedicated threads alongside the multiplexed ones:</p>
+ *
+ * <pre>
+ * CooperativeScheduler scheduler = new CooperativeScheduler(DaemonThreadFactory.INSTANCE, 2);
+ * Disruptor&lt;ValueEvent&gt; disruptor = new Disruptor&lt;ValueEvent&gt;(ValueEvent.EVENT_FACTORY, 1024, scheduler);
+ * RingBuffer&lt;ValueEvent&gt; ringBuffer = disruptor.getRingBuffer();
+ *
+ * disruptor.handleEventsWith(busyHandler);
+ * disruptor.handleEventsWith(new PollingEventProcessor&lt;ValueEvent&gt;(ringBuffer, auditHandler),
+ *                            new PollingEventProcessor&lt;ValueEvent&gt;(ringBuffer, metricsHandler));
+ * disruptor.start();
+ * </pre>
+ *
+ * <p>Processors are assigned to the scheduler thread running the fewest processors.  A halted processor is
+ * removed from its thread at its next turn.</p>
+ */
+public final class CooperativeScheduler implements Executor
+{
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 200;
+
+    private final ThreadFactory threadFactory;
+    private final Worker[] workers;
+    private final AtomicBoolean running = new AtomicBoolean(true);
+    private volatile long maxIdleNanos = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /**
+     * Create a scheduler, whose threads are started as processors are assigned to them.
+     *
+     * @param threadFactory to create the scheduler threads and the threads of other runnables.
+     * @param threads the number of threads polling processors.
+     * @throws IllegalArgumentException if threads is less than 1.
+     */
+    public CooperativeScheduler(final ThreadFactory threadFactory, final int threads)
+    {
+        if (threads < 1)
+        {
+            throw new IllegalArgumentException("threads must be at least 1");
+        }
+
+        this.threadFactory = threadFactory;
+        this.workers = new Worker[threads];
+        for (int i = 0; i < threads; i++)
+        {
+            workers[i] = new Worker();
+        }
+    }
+
+    /**
+     * Set the longest a scheduler thread parks for while none of its processors has any events, by default
+     * 1 millisecond.
+     *
+     * @param maxIdleWait the longest time to park for.
+     * @param unit of the time.
+     */
+    public void setMaxIdleWait(final long maxIdleWait, final TimeUnit unit)
+    {
+        this.maxIdleNanos = unit.toNanos(maxIdleWait);
+    }
+
+    /**
+     * Run a {@link PollingEventProcessor} on one of the scheduler threads, or any other runnable on a new thread.
+     *
+     * @param command to run.
+     * @throws IllegalStateException if the scheduler has been shut down, or the processor is already running.
+     */
+    @Override
+    public void execute(final Runnable command)
+    {
+        if (!running.get())
+        {
+            throw new IllegalStateException("CooperativeScheduler has been shut down");
+        }
+
+        if (command instanceof PollingEventProcessor)
+        {
+            final PollingEventProcessor<?> processor = (PollingEventProcessor<?>) command;
+            processor.start();
+            leastLoaded().assign(processor);
+        }
+        else
+        {
+            threadFactory.newThread(command).start();
+        }
+    }
+
+    /**
+     * Stop the scheduler threads, halting and shutting down the processors they run.  Threads given to other
+     * runnables are not affected.
+     */
+    public void shutdown()
+    {
+        running.set(false);
+        for (Worker worker : workers)
+        {
+            worker.wake();
+        }
+    }
+
+    /**
+     * @return the number of processors currently assigned to the scheduler threads.
+     */
+    public int getProcessorCount()
+    {
+        int count = 0;
+        for (Worker worker : workers)
+        {
+            count += worker.load.get();
+        }
+        return count;
+    }
+
+    /**
+     * Back off after a number of consecutive polls found no events, spinning, then yielding, then parking.
+     *
+     * @param idleCount the number of consecutive idle polls so far.
+     * @return the number of consecutive idle polls including this one.
+     */
+    static int backOff(final int idleCount)
+    {
+        return backOff(idleCount, TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    private static int backOff(final int idleCount, final long parkNanos)
+    {
+        if (idleCount < SPIN_TRIES)
+        {
+            ThreadHints.onSpinWait();
+        }
+        else if (idleCount < YIELD_TRIES)
+        {
+            Thread.yield();
+        }
+        else
+        {
+            LockSupport.parkNanos(parkNanos);
+            return idleCount;
+        }
+
+        return idleCount + 1;
+    }
+
+    private Worker leastLoaded()
+    {
+        Worker leastLoaded = workers[0];
+        for (int i = 1; i < workers.length; i++)
+        {
+            if (workers[i].load.get() < leastLoaded.load.get())
+            {
+                leastLoaded = workers[i];
+            }
+        }
+        return leastLoaded;
+    }
+
+    private final class Worker implements Runnable
+    {
+        private final Queue<PollingEventProcessor<?>> assigned = new ConcurrentLinkedQueue<PollingEventProcessor<?>>();
+        private final List<PollingEventProcessor<?>> processors = new ArrayList<PollingEventProcessor<?>>();
+        private final AtomicInteger load = new AtomicInteger();
+        private final AtomicBoolean started = new AtomicBoolean(false);
+        private volatile Thread thread;
+
+        void assign(final PollingEventProcessor<?> processor)
+        {
+            load.incrementAndGet();
+            assigned.add(processor);
+
+            if (started.compareAndSet(false, true))
+            {
+                thread = threadFactory.newThread(this);
+                thread.start();
+            }
+            else
+            {
+                wake();
+            }
+        }
+
+        void wake()
+        {
+            final Thread t = thread;
+            if (t != null)
+            {
+                LockSupport.unpark(t);
+            }
+        }
+
+        @Override
+        public void run()
+        {
+            int idleCount = 0;
+            try
+            {
+                while (running.get())
+                {
+                    PollingEventProcessor<?> processor;
+                    while ((processor = assigned.poll()) != null)
+                    {
+                        processor.notifyStart();
+                        processors.add(processor);
+                        idleCount = 0;
+                    }
+
+                    boolean processing = false;
+                    for (int i = processors.size() - 1; i >= 0; i--)
+                    {
+                        processor = processors.get(i);
+                        if (!processor.isRunning())
+                        {
+                            remove(i);
+                        }
+                        else if (poll(processor) == PollState.PROCESSING)
+                        {
+                            processing = true;
+                        }
+                    }
+
+                    idleCount = processing ? 0 : backOff(idleCount, maxIdleNanos);
+                }
+            }
+            finally
+            {
+                PollingEventProcessor<?> processor;
+                while ((processor = assigned.poll()) != null)
+                {
+                    processor.halt();
+                    load.decrementAndGet();
+                }
+                for (int i = processors.size() - 1; i >= 0; i--)
+                {
+                    processors.get(i).halt();
+                    remove(i);
+                }
+            }
+        }
+
+        private PollState poll(final PollingEventProcessor<?> processor)
+        {
+            try
+            {
+                return processor.poll();
+            }
+            catch (final RuntimeException ex)
+            {
+                // the exception handler rethrew, stop only the failed processor
+                processor.halt();
+                return PollState.IDLE;
+            }
+        }
+
+        private void remove(final int index)
+        {
+            load.decrementAndGet();
+            processors.remove(index).notifyShutdown();
+        }
+    }
+}
@@ -0,0 +1,345 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * <p>A pool of {@link WorkProcessor}s, like a {@link WorkerPool}, that adds workers while the events waiting to be
+ * worked on exceed a threshold and retires them again once the backlog has cleared, between a minimum and maximum
+ * number of workers.</p>
+ *
+ * <p>A monitor, run on the executor alongside the workers, checks the lag of the pool, the cursor less the minimum
+ * of the worker sequences, at a fixed interval.  A worker is added whenever the lag is above the scale up lag.  A
+ * worker is retired once the lag has been at or below the scale down lag for a number of consecutive checks, the
+ * gap between the two lags and the run of idle checks stopping the pool from adding and retiring workers on
+ * alternate checks.  At most one worker is added or retired at each check.</p>
+ *
+ * <p>The pool gates the ring buffer on a {@link SequenceGroup} of its worker sequences, see
+ * {@link #getWorkerSequence()}.  Added workers join the group with {@link SequenceGroup#addWhileRunning}, starting
+ * from the shared work sequence.  A retiring worker handles the events it has already claimed before its sequence is
+ * removed from the group, so no event is lost, which may wait for the event it has claimed to be published.  A
+ * retiring worker counts towards the maximum number of workers until it has stopped.</p>
+ *
+ * <p>Each worker has its own {@link SequenceBarrier}, so a worker can be halted without alerting the others, and a
+ * thread of the executor while it runs, as does the monitor, so the executor must be able to run the maximum number
+ * of workers plus one at once.</p>
+ *
+ * @param <T> event implementation storing the details for the work to processed.
+ */
+public final class ElasticWorkerPool<T>
+{
+    /**
+     * Creates the {@link WorkHandler} of each worker added to an {@link ElasticWorkerPool}.
+     *
+     * @param <T> event implementation storing the details for the work to processed.
+     */
+    public interface WorkHandlerFactory<T>
+    {
+        WorkHandler<? super T> newWorkHandler();
+    }
+
+    private final AtomicBoolean started = new AtomicBoolean(false);
+    private final RingBuffer<T> ringBuffer;
+    private final Sequence[] sequencesToTrack;
+    private final WorkHandlerFactory<T> workHandlerFactory;
+    private final ExceptionHandler<? super T> exceptionHandler;
+    private final int minWorkers;
+    private final int maxWorkers;
+    private final Sequence workSequence = new Sequence(Sequencer.INITIAL_CURSOR_VALUE);
+    private final SequenceGroup workerSequences = new SequenceGroup();
+    private final Cursored workCursor = new Cursored()
+    {
+        @Override
+        public long getCursor()
+        {
+            return workSequence.get();
+        }
+    };
+    // the running workers, most recently added first, guarded by this
+    private final Deque<WorkProcessor<T>> workers = new ArrayDeque<WorkProcessor<T>>();
+    // the workers retired but still to stop, guarded by this
+    private final Set<WorkProcessor<T>> retiringWorkers = new HashSet<WorkProcessor<T>>();
+
+    private long scaleUpLag;
+    private long scaleDownLag = 0;
+    private int idleChecksBeforeRetiring = 10;
+    private long checkIntervalNanos = TimeUnit.MILLISECONDS.toNanos(10);
+    private int idleChecks = 0;
+    private Executor executor;
+    private volatile Thread monitorThread;
+
+    /**
+     * Create an elastic pool of workers consuming the events of a ring buffer, and add the pool's workers as a gating
+     * sequence of the ring buffer.
+     *
+     * @param ringBuffer of events to be consumed.
+     * @param workHandlerFactory to create the work handler of each worker.
+     * @param exceptionHandler to callback when an error occurs which is not handled by the {@link WorkHandler}s.
+     * @param minWorkers the number of workers started with the pool, never retired.
+     * @param maxWorkers the greatest number of workers the pool adds.
+     * @param sequencesToTrack the sequences the workers depend on, as for {@link RingBuffer#newBarrier(Sequence...)}.
+     * @throws IllegalArgumentException if minWorkers is less than 1 or greater than maxWorkers.
+     */
+    public ElasticWorkerPool(final RingBuffer<T> ringBuffer,
+                             final WorkHandlerFactory<T> workHandlerFactory,
+                             final ExceptionHandler<? super T> exceptionHandler,
+                             final int minWorkers,
+                             final int maxWorkers,
+                             final Sequence... sequencesToTrack)
+    {
+        if (minWorkers < 1 || minWorkers > maxWorkers)
+        {
+            throw new IllegalArgumentException("minWorkers must be at least 1 and no more than maxWorkers");
+        }
+
+        this.ringBuffer = ringBuffer;
+        this.workHandlerFactory = workHandlerFactory;
+        this.exceptionHandler = exceptionHandler;
+        this.minWorkers = minWorkers;
+        this.maxWorkers = maxWorkers;
+        this.sequencesToTrack = Arrays.copyOf(sequencesToTrack, sequencesToTrack.length);
+        this.scaleUpLag = ringBuffer.getBufferSize() / 4;
+
+        for (int i = 0; i < minWorkers; i++)
+        {
+            final WorkProcessor<T> worker = newWorker();
+            workers.push(worker);
+            workerSequences.add(worker.getSequence());
+        }
+        ringBuffer.addGatingSequences(workerSequences);
+    }
+
+    /**
+     * Set the lag above which a worker is added, by default a quarter of the buffer size.
+     *
+     * @param scaleUpLag the number of events waiting to be worked on above which a worker is added.
+     */
+    public void setScaleUpLag(final long scaleUpLag)
+    {
+        this.scaleUpLag = scaleUpLag;
+    }
+
+    /**
+     * Set the lag at or below which workers are retired, by default 0.
+     *
+     * @param scaleDownLag the number of events waiting to be worked on at or below which the pool is idle.
+     * @param idleChecks the number of consecutive checks the pool must be idle for before a worker is retired.
+     */
+    public void setScaleDownLag(final long scaleDownLag, final int idleChecks)
+    {
+        this.scaleDownLag = scaleDownLag;
+        this.idleChecksBeforeRetiring = idleChecks;
+    }
+
+    /**
+     * Set the interval between checks of the lag, by default 10 milliseconds.
+     *
+     * @param interval between checks.
+     * @param unit of the interval.
+     */
+    public void setCheckInterval(final long interval, final TimeUnit unit)
+    {
+        this.checkIntervalNanos = unit.toNanos(interval);
+    }
+
+    /**
+     * Get the sequence of the pool, the minimum of the sequences of its workers, for event processors that depend on
+     * the pool.
+     *
+     * @return the sequence of the pool.
+     */
+    public Sequence getWorkerSequence()
+    {
+        return workerSequences;
+    }
+
+    /**
+     * @return the number of workers currently running, including any being retired.
+     */
+    public synchronized int getWorkerCount()
+    {
+        return workers.size() + retiringWorkers.size();
+    }
+
+    /**
+     * Start the minimum number of workers and the monitor.
+     *
+     * @param executor providing threads for running the workers and the monitor.
+     * @throws IllegalStateException if the pool has already been started and not halted yet
+     */
+    public synchronized void start(final Executor executor)
+    {
+        if (!started.compareAndSet(false, true))
+        {
+            throw new IllegalStateException("ElasticWorkerPool has already been started and cannot be restarted.");
+        }
+
+        this.executor = executor;
+        final long cursor = ringBuffer.getCursor();
+        workSequence.set(cursor);
+
+        for (WorkProcessor<T> worker : workers)
+        {
+            worker.getSequence().set(cursor);
+            executor.execute(worker);
+        }
+
+        executor.execute(new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                monitorThread = Thread.currentThread();
+                while (started.get())
+                {
+                    LockSupport.parkNanos(checkIntervalNanos);
+                    adjust();
+                }
+                monitorThread = null;
+            }
+        });
+    }
+
+    /**
+     * Check the lag of the pool once, adding or retiring a worker if necessary.  Called by the monitor at each check.
+     *
+     * @return the change in the number of workers, 1, -1 or 0.
+     */
+    public synchronized int adjust()
+    {
+        if (!started.get())
+        {
+            return 0;
+        }
+
+        final long lag = ringBuffer.getCursor() - workerSequences.get();
+        if (lag > scaleUpLag)
+        {
+            idleChecks = 0;
+            if (workers.size() + retiringWorkers.size() < maxWorkers)
+            {
+                addWorker();
+                return 1;
+            }
+        }
+        else if (lag <= scaleDownLag)
+        {
+            if (++idleChecks >= idleChecksBeforeRetiring && workers.size() > minWorkers)
+            {
+                idleChecks = 0;
+                final WorkProcessor<T> worker = workers.pop();
+                retiringWorkers.add(worker);
+                worker.retire();
+                return -1;
+            }
+        }
+        else
+        {
+            idleChecks = 0;
+        }
+
+        return 0;
+    }
+
+    /**
+     * Wait for the {@link RingBuffer} to drain of published events then halt the workers and the monitor.
+     */
+    public void drainAndHalt()
+    {
+        while (ringBuffer.getCursor() > workerSequences.get())
+        {
+            Thread.yield();
+        }
+
+        halt();
+    }
+
+    /**
+     * Halt the workers, including any still retiring, and the monitor immediately, regardless of any events still to
+     * be worked on.
+     */
+    public synchronized void halt()
+    {
+        started.set(false);
+        for (WorkProcessor<T> worker : workers)
+        {
+            worker.halt();
+        }
+        for (WorkProcessor<T> worker : retiringWorkers)
+        {
+            worker.halt();
+        }
+
+        final Thread monitor = monitorThread;
+        if (null != monitor)
+        {
+            LockSupport.unpark(monitor);
+        }
+    }
+
+    /**
+     * @return true if the pool has been started and not halted.
+     */
+    public boolean isRunning()
+    {
+        return started.get();
+    }
+
+    private WorkProcessor<T> newWorker()
+    {
+        return new WorkProcessor<T>(ringBuffer,
+                                    ringBuffer.newBarrier(sequencesToTrack),
+                                    workHandlerFactory.newWorkHandler(),
+                                    exceptionHandler,
+                                    workSequence,
+                                    new Sequence(Sequencer.INITIAL_CURSOR_VALUE));
+    }
+
+    private void addWorker()
+    {
+        final WorkProcessor<T> worker = newWorker();
+        workerSequences.addWhileRunning(workCursor, worker.getSequence());
+        workers.push(worker);
+
+        executor.execute(new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                worker.run();
+
+                final boolean retired;
+                synchronized (ElasticWorkerPool.this)
+                {
+                    retired = retiringWorkers.remove(worker);
+                }
+                if (retired)
+                {
+                    workerSequences.remove(worker.getSequence());
+                }
+            }
+        });
+    }
+}
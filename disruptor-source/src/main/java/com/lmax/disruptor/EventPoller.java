@@ -44,6 +44,12 @@ public class EventPoller<T>
 
             try
             {
+                if (eventHandler instanceof BatchStartAware)
+                {
+                    final long batchSize = availableSequence - nextSequence + 1;
+                    ((BatchStartAware) eventHandler).onBatchStart(batchSize, batchSize);
+                }
+
                 do
                 {
                     final T event = dataProvider.get(nextSequence);
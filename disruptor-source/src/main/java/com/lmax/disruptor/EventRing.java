@@ -0,0 +1,51 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+/**
+ * A ring of events coordinated by a {@link Sequencer}, able to be published to and consumed by
+ * {@link EventProcessor}s.  This is the part of a ring buffer used by the {@link com.lmax.disruptor.dsl.Disruptor},
+ * allowing it to be set up over stores other than the {@link RingBuffer} of preallocated objects.
+ *
+ * @param <E> type of the event read from and written to the ring.
+ */
+public interface EventRing<E> extends Cursored, EventSequencer<E>, EventSink<E>
+{
+    /**
+     * Add the specified gating sequences to this ring.  They will
+     * safely and atomically added to the list of gating sequences.
+     *
+     * @param gatingSequences The sequences to add.
+     */
+    void addGatingSequences(Sequence... gatingSequences);
+
+    /**
+     * Remove the specified sequence from this ring.
+     *
+     * @param sequence to be removed.
+     * @return <tt>true</tt> if this sequence was found, <tt>false</tt> otherwise.
+     */
+    boolean removeGatingSequence(Sequence sequence);
+
+    /**
+     * Create a new SequenceBarrier to be used by an EventProcessor to track which messages
+     * are available to be read from the ring given a list of sequences to track.
+     *
+     * @param sequencesToTrack the additional sequences to track
+     * @return A sequence barrier that will track the specified sequences.
+     */
+    SequenceBarrier newBarrier(Sequence... sequencesToTrack);
+}
@@ -1,5 +1,7 @@
 package com.lmax.disruptor;
 
+import java.util.concurrent.TimeUnit;
+
 public interface EventSink<E>
 {
     /**
@@ -111,6 +113,60 @@ public interface EventSink<E>
      */
     boolean tryPublishEvent(EventTranslatorVararg<E> translator, Object... args);
 
+    /**
+     * Attempts to publish an event to the ring buffer, waiting at most the given time
+     * for capacity to become available.  Will return false if the capacity did not become
+     * available within the timeout.
+     *
+     * @see #tryPublishEvent(EventTranslator)
+     * @param translator The user specified translation for the event
+     * @param timeout the maximum time to wait for capacity
+     * @param unit the unit of the timeout
+     * @return true if the value was published, false if the timeout elapsed first.
+     */
+    boolean tryPublishEvent(EventTranslator<E> translator, long timeout, TimeUnit unit);
+
+    /**
+     * Allows one user supplied argument.
+     *
+     * @see #tryPublishEvent(EventTranslator, long, TimeUnit)
+     * @param translator The user specified translation for the event
+     * @param timeout the maximum time to wait for capacity
+     * @param unit the unit of the timeout
+     * @param arg0 A user supplied argument.
+     * @return true if the value was published, false if the timeout elapsed first.
+     */
+    <A> boolean tryPublishEvent(EventTranslatorOneArg<E, A> translator, long timeout, TimeUnit unit, A arg0);
+
+    /**
+     * Allows two user supplied arguments.
+     *
+     * @see #tryPublishEvent(EventTranslator, long, TimeUnit)
+     * @param translator The user specified translation for the event
+     * @param timeout the maximum time to wait for capacity
+     * @param unit the unit of the timeout
+     * @param arg0 A user supplied argument.
+     * @param arg1 A user supplied argument.
+     * @return true if the value was published, false if the timeout elapsed first.
+     */
+    <A, B> boolean tryPublishEvent(EventTranslatorTwoArg<E, A, B> translator, long timeout, TimeUnit unit,
+                                   A arg0, B arg1);
+
+    /**
+     * Allows three user supplied arguments
+     *
+     * @see #tryPublishEvent(EventTranslator, long, TimeUnit)
+     * @param translator The user specified translation for the event
+     * @param timeout the maximum time to wait for capacity
+     * @param unit the unit of the timeout
+     * @param arg0 A user supplied argument.
+     * @param arg1 A user supplied argument.
+     * @param arg2 A user supplied argument.
+     * @return true if the value was published, false if the timeout elapsed first.
+     */
+    <A, B, C> boolean tryPublishEvent(EventTranslatorThreeArg<E, A, B, C> translator, long timeout, TimeUnit unit,
+                                      A arg0, B arg1, C arg2);
+
     /**
      * Publishes multiple events to the ring buffer.  It handles
      * claiming the next sequence, getting the current (uninitialised)
@@ -363,4 +419,260 @@ public interface EventSink<E>
      */
     boolean tryPublishEvents(EventTranslatorVararg<E> translator, int batchStartsAt, int batchSize, Object[]... args);
 
+    /**
+     * Allows one <code>long</code> argument without boxing.
+     *
+     * @param translator    The user specified translation for the event
+     * @param arg0          The first user specified argument to the translator
+     * @see #publishEvent(EventTranslatorOneArg, Object)
+     */
+    void publishLongEvent(EventTranslatorLong<E> translator, long arg0);
+
+    /**
+     * Allows one <code>long</code> argument without boxing.
+     *
+     * @param translator    The user specified translation for the event
+     * @param arg0          The first user specified argument to the translator
+     * @return true if the value was published, false if there was insufficient capacity.
+     * @see #tryPublishEvent(EventTranslatorOneArg, Object)
+     */
+    boolean tryPublishLongEvent(EventTranslatorLong<E> translator, long arg0);
+
+    /**
+     * Allows one <code>long</code> argument per event without boxing.
+     *
+     * @param translator    The user specified translation for each event
+     * @param arg0          An array of user supplied arguments, one element per event.
+     * @see #publishEvents(EventTranslator[])
+     */
+    void publishLongEvents(EventTranslatorLong<E> translator, long[] arg0);
+
+    /**
+     * Allows one <code>long</code> argument per event without boxing.
+     *
+     * @param translator    The user specified translation for each event
+     * @param batchStartsAt The first element of the arrays which is within the batch.
+     * @param batchSize     The actual size of the batch
+     * @param arg0          An array of user supplied arguments, one element per event.
+     * @see #publishEvents(EventTranslator[])
+     */
+    void publishLongEvents(EventTranslatorLong<E> translator, int batchStartsAt, int batchSize, long[] arg0);
+
+    /**
+     * Allows one <code>long</code> argument per event without boxing.
+     *
+     * @param translator    The user specified translation for each event
+     * @param arg0          An array of user supplied arguments, one element per event.
+     * @return true if the values were published, false if there was insufficient capacity.
+     * @see #tryPublishEvents(EventTranslator[])
+     */
+    boolean tryPublishLongEvents(EventTranslatorLong<E> translator, long[] arg0);
+
+    /**
+     * Allows one <code>long</code> argument per event without boxing.
+     *
+     * @param translator    The user specified translation for each event
+     * @param batchStartsAt The first element of the arrays which is within the batch.
+     * @param batchSize     The actual size of the batch
+     * @param arg0          An array of user supplied arguments, one element per event.
+     * @return true if the values were published, false if there was insufficient capacity.
+     * @see #tryPublishEvents(EventTranslator[])
+     */
+    boolean tryPublishLongEvents(EventTranslatorLong<E> translator, int batchStartsAt, int batchSize, long[] arg0);
+
+    /**
+     * Allows two <code>long</code> arguments without boxing.
+     *
+     * @param translator    The user specified translation for the event
+     * @param arg0          The first user specified argument to the translator
+     * @param arg1          The second user specified argument to the translator
+     * @see #publishEvent(EventTranslatorOneArg, Object)
+     */
+    void publishEvent(EventTranslatorLongLong<E> translator, long arg0, long arg1);
+
+    /**
+     * Allows two <code>long</code> arguments without boxing.
+     *
+     * @param translator    The user specified translation for the event
+     * @param arg0          The first user specified argument to the translator
+     * @param arg1          The second user specified argument to the translator
+     * @return true if the value was published, false if there was insufficient capacity.
+     * @see #tryPublishEvent(EventTranslatorOneArg, Object)
+     */
+    boolean tryPublishEvent(EventTranslatorLongLong<E> translator, long arg0, long arg1);
+
+    /**
+     * Allows two <code>long</code> arguments per event without boxing.
+     *
+     * @param translator    The user specified translation for each event
+     * @param arg0          An array of user supplied arguments, one element per event.
+     * @param arg1          An array of user supplied arguments, one element per event.
+     * @see #publishEvents(EventTranslator[])
+     */
+    void publishEvents(EventTranslatorLongLong<E> translator, long[] arg0, long[] arg1);
+
+    /**
+     * Allows two <code>long</code> arguments per event without boxing.
+     *
+     * @param translator    The user specified translation for each event
+     * @param batchStartsAt The first element of the arrays which is within the batch.
+     * @param batchSize     The actual size of the batch
+     * @param arg0          An array of user supplied arguments, one element per event.
+     * @param arg1          An array of user supplied arguments, one element per event.
+     * @see #publishEvents(EventTranslator[])
+     */
+    void publishEvents(EventTranslatorLongLong<E> translator, int batchStartsAt, int batchSize, long[] arg0, long[] arg1);
+
+    /**
+     * Allows two <code>long</code> arguments per event without boxing.
+     *
+     * @param translator    The user specified translation for each event
+     * @param arg0          An array of user supplied arguments, one element per event.
+     * @param arg1          An array of user supplied arguments, one element per event.
+     * @return true if the values were published, false if there was insufficient capacity.
+     * @see #tryPublishEvents(EventTranslator[])
+     */
+    boolean tryPublishEvents(EventTranslatorLongLong<E> translator, long[] arg0, long[] arg1);
+
+    /**
+     * Allows two <code>long</code> arguments per event without boxing.
+     *
+     * @param translator    The user specified translation for each event
+     * @param batchStartsAt The first element of the arrays which is within the batch.
+     * @param batchSize     The actual size of the batch
+     * @param arg0          An array of user supplied arguments, one element per event.
+     * @param arg1          An array of user supplied arguments, one element per event.
+     * @return true if the values were published, false if there was insufficient capacity.
+     * @see #tryPublishEvents(EventTranslator[])
+     */
+    boolean tryPublishEvents(EventTranslatorLongLong<E> translator, int batchStartsAt, int batchSize, long[] arg0, long[] arg1);
+
+    /**
+     * Allows one <code>double</code> argument without boxing.
+     *
+     * @param translator    The user specified translation for the event
+     * @param arg0          The first user specified argument to the translator
+     * @see #publishEvent(EventTranslatorOneArg, Object)
+     */
+    void publishDoubleEvent(EventTranslatorDouble<E> translator, double arg0);
+
+    /**
+     * Allows one <code>double</code> argument without boxing.
+     *
+     * @param translator    The user specified translation for the event
+     * @param arg0          The first user specified argument to the translator
+     * @return true if the value was published, false if there was insufficient capacity.
+     * @see #tryPublishEvent(EventTranslatorOneArg, Object)
+     */
+    boolean tryPublishDoubleEvent(EventTranslatorDouble<E> translator, double arg0);
+
+    /**
+     * Allows one <code>double</code> argument per event without boxing.
+     *
+     * @param translator    The user specified translation for each event
+     * @param arg0          An array of user supplied arguments, one element per event.
+     * @see #publishEvents(EventTranslator[])
+     */
+    void publishDoubleEvents(EventTranslatorDouble<E> translator, double[] arg0);
+
+    /**
+     * Allows one <code>double</code> argument per event without boxing.
+     *
+     * @param translator    The user specified translation for each event
+     * @param batchStartsAt The first element of the arrays which is within the batch.
+     * @param batchSize     The actual size of the batch
+     * @param arg0          An array of user supplied arguments, one element per event.
+     * @see #publishEvents(EventTranslator[])
+     */
+    void publishDoubleEvents(EventTranslatorDouble<E> translator, int batchStartsAt, int batchSize, double[] arg0);
+
+    /**
+     * Allows one <code>double</code> argument per event without boxing.
+     *
+     * @param translator    The user specified translation for each event
+     * @param arg0          An array of user supplied arguments, one element per event.
+     * @return true if the values were published, false if there was insufficient capacity.
+     * @see #tryPublishEvents(EventTranslator[])
+     */
+    boolean tryPublishDoubleEvents(EventTranslatorDouble<E> translator, double[] arg0);
+
+    /**
+     * Allows one <code>double</code> argument per event without boxing.
+     *
+     * @param translator    The user specified translation for each event
+     * @param batchStartsAt The first element of the arrays which is within the batch.
+     * @param batchSize     The actual size of the batch
+     * @param arg0          An array of user supplied arguments, one element per event.
+     * @return true if the values were published, false if there was insufficient capacity.
+     * @see #tryPublishEvents(EventTranslator[])
+     */
+    boolean tryPublishDoubleEvents(EventTranslatorDouble<E> translator, int batchStartsAt, int batchSize, double[] arg0);
+
+    /**
+     * Allows a <code>long</code> and an object argument without boxing.
+     *
+     * @param translator    The user specified translation for the event
+     * @param arg0          The first user specified argument to the translator
+     * @param arg1          The second user specified argument to the translator
+     * @see #publishEvent(EventTranslatorOneArg, Object)
+     */
+    <A> void publishEvent(EventTranslatorLongObj<E, A> translator, long arg0, A arg1);
+
+    /**
+     * Allows a <code>long</code> and an object argument without boxing.
+     *
+     * @param translator    The user specified translation for the event
+     * @param arg0          The first user specified argument to the translator
+     * @param arg1          The second user specified argument to the translator
+     * @return true if the value was published, false if there was insufficient capacity.
+     * @see #tryPublishEvent(EventTranslatorOneArg, Object)
+     */
+    <A> boolean tryPublishEvent(EventTranslatorLongObj<E, A> translator, long arg0, A arg1);
+
+    /**
+     * Allows a <code>long</code> and an object argument per event without boxing.
+     *
+     * @param translator    The user specified translation for each event
+     * @param arg0          An array of user supplied arguments, one element per event.
+     * @param arg1          An array of user supplied arguments, one element per event.
+     * @see #publishEvents(EventTranslator[])
+     */
+    <A> void publishEvents(EventTranslatorLongObj<E, A> translator, long[] arg0, A[] arg1);
+
+    /**
+     * Allows a <code>long</code> and an object argument per event without boxing.
+     *
+     * @param translator    The user specified translation for each event
+     * @param batchStartsAt The first element of the arrays which is within the batch.
+     * @param batchSize     The actual size of the batch
+     * @param arg0          An array of user supplied arguments, one element per event.
+     * @param arg1          An array of user supplied arguments, one element per event.
+     * @see #publishEvents(EventTranslator[])
+     */
+    <A> void publishEvents(EventTranslatorLongObj<E, A> translator, int batchStartsAt, int batchSize, long[] arg0, A[] arg1);
+
+    /**
+     * Allows a <code>long</code> and an object argument per event without boxing.
+     *
+     * @param translator    The user specified translation for each event
+     * @param arg0          An array of user supplied arguments, one element per event.
+     * @param arg1          An array of user supplied arguments, one element per event.
+     * @return true if the values were published, false if there was insufficient capacity.
+     * @see #tryPublishEvents(EventTranslator[])
+     */
+    <A> boolean tryPublishEvents(EventTranslatorLongObj<E, A> translator, long[] arg0, A[] arg1);
+
+    /**
+     * Allows a <code>long</code> and an object argument per event without boxing.
+     *
+     * @param translator    The user specified translation for each event
+     * @param batchStartsAt The first element of the arrays which is within the batch.
+     * @param batchSize     The actual size of the batch
+     * @param arg0          An array of user supplied arguments, one element per event.
+     * @param arg1          An array of user supplied arguments, one element per event.
+     * @return true if the values were published, false if there was insufficient capacity.
+     * @see #tryPublishEvents(EventTranslator[])
+     */
+    <A> boolean tryPublishEvents(EventTranslatorLongObj<E, A> translator, int batchStartsAt, int batchSize, long[] arg0, A[] arg1);
+
 }
\ No newline at end of file
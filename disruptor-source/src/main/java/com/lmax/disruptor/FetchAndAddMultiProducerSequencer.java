@@ -0,0 +1,344 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import java.util.concurrent.TimeUnit;
+
+import sun.misc.Unsafe;
+
+import com.lmax.disruptor.util.Util;
+
+
+/**
+ * <p>Coordinator for claiming sequences for access to a data structure while tracking dependent {@link Sequence}s.
+ * Suitable for use for sequencing across multiple publisher threads.</p>
+ *
+ * <p>Unlike the {@link MultiProducerSequencer}, which claims with a compare and set retry loop on the cursor,
+ * {@link #next(int)} claims with a single fetch-and-add on a separate claim sequence and only then waits for
+ * the claimed slots to stop wrapping the gating sequences.  Under heavy contention each claim therefore costs
+ * one atomic instruction regardless of the number of publishing threads.  The claim sequence may run further
+ * than one buffer ahead of the slowest gating sequence while publishers are waiting for space, but the cursor
+ * is only moved over a claim once its capacity has been secured, so as with the other sequencers it never
+ * wraps the gating sequences.</p>
+ *
+ * <p>Note on {@link Sequencer#getCursor()}:  With this sequencer the cursor value is updated after the call
+ * to {@link Sequencer#next()}, to determine the highest available sequence that can be read, then
+ * {@link Sequencer#getHighestPublishedSequence(long, long)} should be used.
+ */
+public final class FetchAndAddMultiProducerSequencer extends AbstractSequencer
+{
+    private static final Unsafe UNSAFE = Util.getUnsafe();
+    private static final long BASE  = UNSAFE.arrayBaseOffset(int[].class);
+    private static final long SCALE = UNSAFE.arrayIndexScale(int[].class);
+
+    private final Sequence claimSequence = new Sequence(Sequencer.INITIAL_CURSOR_VALUE);
+    private final Sequence gatingSequenceCache = new Sequence(Sequencer.INITIAL_CURSOR_VALUE);
+
+    // availableBuffer tracks the state of each ringbuffer slot
+    // see below for more details on the approach
+    private final int[] availableBuffer;
+    private final int indexMask;
+    private final int indexShift;
+
+    /**
+     * Construct a Sequencer with the selected wait strategy and buffer size.
+     *
+     * @param bufferSize the size of the buffer that this will sequence over.
+     * @param waitStrategy for those waiting on sequences.
+     */
+    public FetchAndAddMultiProducerSequencer(int bufferSize, final WaitStrategy waitStrategy)
+    {
+        this(bufferSize, waitStrategy, new SleepingProducerWaitStrategy());
+    }
+
+    /**
+     * Construct a Sequencer with the selected wait strategies and buffer size.
+     *
+     * @param bufferSize the size of the buffer that this will sequence over.
+     * @param waitStrategy for those waiting on sequences.
+     * @param producerWaitStrategy for publishers waiting on the gating sequences when the buffer is full.
+     */
+    public FetchAndAddMultiProducerSequencer(int bufferSize,
+                                             final WaitStrategy waitStrategy,
+                                             final ProducerWaitStrategy producerWaitStrategy)
+    {
+        super(bufferSize, waitStrategy, producerWaitStrategy);
+        availableBuffer = new int[bufferSize];
+        indexMask = bufferSize - 1;
+        indexShift = Util.log2(bufferSize);
+        initialiseAvailableBuffer();
+    }
+
+    /**
+     * @see Sequencer#hasAvailableCapacity(int)
+     */
+    @Override
+    public boolean hasAvailableCapacity(final int requiredCapacity)
+    {
+        return hasAvailableCapacity(requiredCapacity, claimSequence.get());
+    }
+
+    private boolean hasAvailableCapacity(final int requiredCapacity, long claimValue)
+    {
+        long wrapPoint = (claimValue + requiredCapacity) - bufferSize;
+        long cachedGatingSequence = gatingSequenceCache.get();
+
+        if (wrapPoint > cachedGatingSequence || cachedGatingSequence > claimValue)
+        {
+            long minSequence = getMinimumGatingSequence(claimValue);
+            gatingSequenceCache.set(minSequence);
+
+            if (wrapPoint > minSequence)
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * @see Sequencer#claim(long)
+     */
+    @Override
+    public void claim(long sequence)
+    {
+        claimSequence.set(sequence);
+        cursor.set(sequence);
+    }
+
+    /**
+     * @see Sequencer#next()
+     */
+    @Override
+    public long next()
+    {
+        return next(1);
+    }
+
+    /**
+     * @see Sequencer#next(int)
+     */
+    @Override
+    public long next(int n)
+    {
+        if (n < 1)
+        {
+            throw new IllegalArgumentException("n must be > 0");
+        }
+
+        final long next = claimSequence.addAndGet(n);
+        final long current = next - n;
+
+        long wrapPoint = next - bufferSize;
+        long cachedGatingSequence = gatingSequenceCache.get();
+
+        if (wrapPoint > cachedGatingSequence || cachedGatingSequence > current)
+        {
+            long gatingSequence = getMinimumGatingSequence(current);
+            if (wrapPoint > gatingSequence)
+            {
+                gatingSequence = producerWaitStrategy.waitFor(wrapPoint, this);
+            }
+
+            gatingSequenceCache.set(gatingSequence);
+        }
+
+        advanceCursor(next);
+        return next;
+    }
+
+    /**
+     * A fetch-and-add claim can not be abandoned once made, so timed claims fall back to a compare
+     * and set on the claim sequence, only claiming once the capacity is known to be available.
+     *
+     * @see Sequencer#next(int, long, TimeUnit)
+     */
+    @Override
+    public long next(int n, long timeout, TimeUnit unit)
+    {
+        final long next = claimWithTimeout(claimSequence, gatingSequenceCache, n, timeout, unit);
+        if (next != CLAIM_TIMED_OUT)
+        {
+            advanceCursor(next);
+        }
+        return next;
+    }
+
+    /**
+     * @see Sequencer#tryNext()
+     */
+    @Override
+    public long tryNext() throws InsufficientCapacityException
+    {
+        return tryNext(1);
+    }
+
+    /**
+     * @see Sequencer#tryNext(int)
+     */
+    @Override
+    public long tryNext(int n) throws InsufficientCapacityException
+    {
+        if (n < 1)
+        {
+            throw new IllegalArgumentException("n must be > 0");
+        }
+
+        long current;
+        long next;
+
+        do
+        {
+            current = claimSequence.get();
+            next = current + n;
+
+            if (!hasAvailableCapacity(n, current))
+            {
+                throw InsufficientCapacityException.INSTANCE;
+            }
+        }
+        while (!claimSequence.compareAndSet(current, next));
+
+        advanceCursor(next);
+        return next;
+    }
+
+    /**
+     * Move the cursor over a claim whose capacity has been secured.  Capacity is secured in sequence order, so
+     * every claim up to the cursor has its capacity even though the claims may complete out of order.
+     */
+    private void advanceCursor(final long claimed)
+    {
+        long current;
+        do
+        {
+            current = cursor.get();
+        }
+        while (current < claimed && !cursor.compareAndSet(current, claimed));
+    }
+
+    /**
+     * @see Sequencer#remainingCapacity()
+     */
+    @Override
+    public long remainingCapacity()
+    {
+        long produced = claimSequence.get();
+        long consumed = getMinimumGatingSequence(produced);
+        // publishers waiting for space have claimed beyond the buffer
+        return Math.max(0L, getBufferSize() - (produced - consumed));
+    }
+
+    private void initialiseAvailableBuffer()
+    {
+        for (int i = availableBuffer.length - 1; i != 0; i--)
+        {
+            setAvailableBufferValue(i, -1);
+        }
+
+        setAvailableBufferValue(0, -1);
+    }
+
+    /**
+     * @see Sequencer#publish(long)
+     */
+    @Override
+    public void publish(final long sequence)
+    {
+        setAvailable(sequence);
+        waitStrategy.signalAllWhenBlocking();
+    }
+
+    /**
+     * @see Sequencer#publish(long, long)
+     */
+    @Override
+    public void publish(long lo, long hi)
+    {
+        for (long l = lo; l <= hi; l++)
+        {
+            setAvailable(l);
+        }
+        waitStrategy.signalAllWhenBlocking();
+    }
+
+    /**
+     * The below methods work on the availableBuffer flag.
+     *
+     * The prime reason is to avoid a shared sequence object between publisher threads.
+     * (Keeping single pointers tracking start and end would require coordination
+     * between the threads).
+     *
+     * --  Firstly we have the constraint that the delta between the cursor and minimum
+     * gating sequence will never be larger than the buffer size (the code in
+     * next/tryNext in the Sequence takes care of that).
+     * -- Given that; take the sequence value and mask off the lower portion of the
+     * sequence as the index into the buffer (indexMask). (aka modulo operator)
+     * -- The upper portion of the sequence becomes the value to check for availability.
+     * ie: it tells us how many times around the ring buffer we've been (aka division)
+     * -- Because we can't wrap without the gating sequences moving forward (i.e. the
+     * minimum gating sequence is effectively our last available position in the
+     * buffer), when we have new data and successfully claimed a slot we can simply
+     * write over the top.
+     */
+    private void setAvailable(final long sequence)
+    {
+        setAvailableBufferValue(calculateIndex(sequence), calculateAvailabilityFlag(sequence));
+    }
+
+    private void setAvailableBufferValue(int index, int flag)
+    {
+        long bufferAddress = (index * SCALE) + BASE;
+        UNSAFE.putOrderedInt(availableBuffer, bufferAddress, flag);
+    }
+
+    /**
+     * @see Sequencer#isAvailable(long)
+     */
+    @Override
+    public boolean isAvailable(long sequence)
+    {
+        int index = calculateIndex(sequence);
+        int flag = calculateAvailabilityFlag(sequence);
+        long bufferAddress = (index * SCALE) + BASE;
+        return UNSAFE.getIntVolatile(availableBuffer, bufferAddress) == flag;
+    }
+
+    @Override
+    public long getHighestPublishedSequence(long lowerBound, long availableSequence)
+    {
+        for (long sequence = lowerBound; sequence <= availableSequence; sequence++)
+        {
+            if (!isAvailable(sequence))
+            {
+                return sequence - 1;
+            }
+        }
+
+        return availableSequence;
+    }
+
+    private int calculateAvailabilityFlag(final long sequence)
+    {
+        return (int) (sequence >>> indexShift);
+    }
+
+    private int calculateIndex(final long sequence)
+    {
+        return ((int) sequence) & indexMask;
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+/**
+ * How a {@link RingBuffer} creates its events with its {@link EventFactory}.
+ */
+public enum FillMode
+{
+    /**
+     * Create every event in the constructor of the ring buffer, on the constructing thread.
+     */
+    SERIAL,
+
+    /**
+     * Create every event in the constructor of the ring buffer, split across the threads of the
+     * {@link java.util.concurrent.ForkJoinPool#commonPool() common ForkJoinPool}.  The event factory must be
+     * safe to call from several threads at once.
+     */
+    PARALLEL,
+
+    /**
+     * Create each event the first time its slot is accessed, normally when its sequence is claimed during the first
+     * lap of the ring buffer.  Construction is immediate and the events are allocated gradually, rather than all
+     * surviving the first collection together, at the cost of a null check on each access of these ring buffers
+     * only.  The event factory may be called from producer and consumer threads, and may occasionally be called twice for a slot by racing threads,
+     * only one of the events being kept.
+     */
+    LAZY
+}
@@ -47,6 +47,18 @@ public final class FixedSequenceGroup extends Sequence
         return Util.getMinimumSequence(sequences);
     }
 
+    @Override
+    public long getAcquire()
+    {
+        return get();
+    }
+
+    @Override
+    public long getOpaque()
+    {
+        return get();
+    }
+
     @Override
     public String toString()
     {
@@ -62,6 +74,15 @@ public final class FixedSequenceGroup extends Sequence
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Not supported.
+     */
+    @Override
+    public void setRelease(long value)
+    {
+        throw new UnsupportedOperationException();
+    }
+
     /**
      * Not supported.
      */
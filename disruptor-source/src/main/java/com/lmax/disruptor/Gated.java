@@ -0,0 +1,31 @@
+/*
+ * Copyright 2012 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+/**
+ * Implementors of this interface hold back their publishers until the slowest of a set of gating sequences
+ * has moved past the slot being claimed.  Used by a {@link ProducerWaitStrategy} to wait for capacity.
+ */
+public interface Gated
+{
+    /**
+     * Get the minimum sequence value from all of the gating sequences.
+     *
+     * @return The minimum gating sequence or the cursor sequence if
+     * no sequences have been added.
+     */
+    long getMinimumSequence();
+}
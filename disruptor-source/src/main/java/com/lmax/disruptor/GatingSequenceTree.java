@@ -0,0 +1,150 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import java.util.Arrays;
+
+import sun.misc.Unsafe;
+
+import com.lmax.disruptor.util.Util;
+
+/**
+ * <p>Tournament tree of cached minima over a fixed set of gating {@link Sequence}s, used by the
+ * {@link AbstractSequencer} when a ring buffer has a large fan-out of consumers.</p>
+ *
+ * <p>Each leaf caches the last value read from its sequence and each node caches the minimum of its children,
+ * {@link #FAN_OUT} children to a node so that the caches of a node's children share a cache line.  As the gating
+ * sequences only ever move forward, every cached value remains a lower bound of the sequences beneath it.  When
+ * calculating the minimum a subtree whose cached minimum is above the current candidate cannot hold the minimum, so
+ * only the sequences that were holding back the previous minimum are read again rather than every sequence.  The
+ * caches are only ever written by publishers, the consumers advancing their sequences are unaffected.</p>
+ *
+ * <p>Instances are immutable in their set of sequences, the sequencer replaces the tree as gating sequences are
+ * added or removed.</p>
+ */
+final class GatingSequenceTree
+{
+    private static final Unsafe UNSAFE = Util.getUnsafe();
+    private static final long BASE  = UNSAFE.arrayBaseOffset(long[].class);
+    private static final long SCALE = UNSAFE.arrayIndexScale(long[].class);
+
+    static final int FAN_OUT = 8;
+
+    private final Sequence[] sequences;
+    // levels[0] holds the cached value of each sequence, the last level holds the single root
+    private final long[][] levels;
+
+    /**
+     * Create a tree over the supplied gating sequences.
+     *
+     * @param sequences the gating sequences, the tree keeps a reference to the array which must not be modified.
+     */
+    GatingSequenceTree(final Sequence[] sequences)
+    {
+        if (sequences.length < 1)
+        {
+            throw new IllegalArgumentException("At least one sequence is required");
+        }
+
+        this.sequences = sequences;
+
+        int depth = 1;
+        for (int size = sequences.length; size > 1; size = nodesAbove(size))
+        {
+            depth++;
+        }
+
+        levels = new long[depth][];
+        for (int level = 0, size = sequences.length; level < depth; level++, size = nodesAbove(size))
+        {
+            levels[level] = new long[size];
+            Arrays.fill(levels[level], Long.MIN_VALUE);
+        }
+    }
+
+    /**
+     * Confirm that this tree was built over the given array of sequences.
+     *
+     * @param sequences to check against.
+     * @return true if the tree tracks exactly this array.
+     */
+    boolean isFor(final Sequence[] sequences)
+    {
+        return this.sequences == sequences;
+    }
+
+    /**
+     * Get the minimum of the gating sequences, only reading those sequences that could be holding the minimum back.
+     *
+     * @param minimum the value to return if it is lower than all of the gating sequences.
+     * @return the smaller of the minimum gating sequence and the supplied minimum.
+     */
+    long getMinimum(final long minimum)
+    {
+        final int root = levels.length - 1;
+        long candidate = get(root, 0);
+        long refreshed;
+
+        while ((refreshed = refresh(root, 0, candidate)) > candidate)
+        {
+            candidate = refreshed;
+        }
+
+        return Math.min(minimum, refreshed);
+    }
+
+    private long refresh(final int level, final int index, final long candidate)
+    {
+        if (0 == level)
+        {
+            final long value = sequences[index].get();
+            put(0, index, value);
+            return value;
+        }
+
+        final int below = level - 1;
+        final int end = Math.min((index + 1) * FAN_OUT, levels[below].length);
+        long minimum = Long.MAX_VALUE;
+
+        for (int child = index * FAN_OUT; child < end; child++)
+        {
+            long value = get(below, child);
+            if (value <= candidate)
+            {
+                value = refresh(below, child, candidate);
+            }
+            minimum = Math.min(minimum, value);
+        }
+
+        put(level, index, minimum);
+        return minimum;
+    }
+
+    private long get(final int level, final int index)
+    {
+        return UNSAFE.getLongVolatile(levels[level], BASE + (index * SCALE));
+    }
+
+    private void put(final int level, final int index, final long value)
+    {
+        UNSAFE.putOrderedLong(levels[level], BASE + (index * SCALE), value);
+    }
+
+    private static int nodesAbove(final int size)
+    {
+        return (size + FAN_OUT - 1) / FAN_OUT;
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import java.util.Arrays;
+
+import com.lmax.disruptor.util.Util;
+
+/**
+ * <p>Keeps the most recently handled events of a {@link RingBuffer} from being overwritten, so that they can be
+ * replayed or handled again by a consumer that joins late, e.g. a monitoring tap or a handler warming its caches
+ * after a restart.</p>
+ *
+ * <p>The reader adds a gating sequence trailing the supplied consumer sequences by the history size, so publishers
+ * never overwrite the last <code>historySize</code> events those consumers have handled.  This costs the ring
+ * buffer <code>historySize</code> slots of capacity.  Events handled before the reader was created are not
+ * protected, so the history fills as the consumers advance.</p>
+ *
+ * <pre>
+ * HistoryReader&lt;ValueEvent&gt; history = new HistoryReader&lt;ValueEvent&gt;(ringBuffer, 1024, processor.getSequence());
+ *
+ * // replay up to the last 100 events to a monitoring handler
+ * history.replay(100, monitor);
+ *
+ * // start a new processor from up to 1024 events behind the cursor
+ * BatchEventProcessor&lt;ValueEvent&gt; restarted =
+ *     new BatchEventProcessor&lt;ValueEvent&gt;(ringBuffer, ringBuffer.newBarrier(), handler);
+ * history.join(restarted.getSequence(), 1024);
+ * executor.execute(restarted);
+ * </pre>
+ *
+ * @param <E> type of the events in the ring buffer.
+ */
+public final class HistoryReader<E>
+{
+    private final RingBuffer<E> ringBuffer;
+    private final Sequencer sequencer;
+    private final int historySize;
+    private final Sequence retention;
+    private final long retainedFrom;
+
+    /**
+     * Start retaining the history of a ring buffer.
+     *
+     * @param ringBuffer to retain the history of.
+     * @param historySize number of handled events to retain, must be less than the buffer size.
+     * @param sequencesToTrail the sequences of the consumers whose handled events are retained, which must be gating
+     *                         sequences of the ring buffer.
+     * @throws IllegalArgumentException if the history size is less than 1 or not less than the buffer size, or no
+     *                                  sequences are supplied.
+     */
+    public HistoryReader(final RingBuffer<E> ringBuffer, final int historySize, final Sequence... sequencesToTrail)
+    {
+        if (historySize < 1 || historySize >= ringBuffer.getBufferSize())
+        {
+            throw new IllegalArgumentException("historySize must be at least 1 and less than the buffer size");
+        }
+        if (sequencesToTrail.length == 0)
+        {
+            throw new IllegalArgumentException("At least one sequence to trail is required");
+        }
+
+        this.ringBuffer = ringBuffer;
+        this.sequencer = ringBuffer.sequencer;
+        this.historySize = historySize;
+        this.retention = new TrailingSequence(sequencesToTrail, historySize);
+
+        sequencer.addGatingSequencesWithoutReset(retention);
+        // publishers may have claimed as far as a lap beyond the consumers before the retention was added
+        this.retainedFrom = Util.getMinimumSequence(sequencesToTrail);
+    }
+
+    /**
+     * @return the number of handled events retained.
+     */
+    public int getHistorySize()
+    {
+        return historySize;
+    }
+
+    /**
+     * Get the sequence before the oldest event currently retained.  Older events may already have been overwritten.
+     *
+     * @return the sequence before the oldest retained event.
+     */
+    public long getRetainedSequence()
+    {
+        return Math.max(retention.get(), retainedFrom);
+    }
+
+    /**
+     * <p>Add a sequence as a gating sequence of the ring buffer, starting up to <code>count</code> events behind the
+     * cursor, so that a consumer using the sequence handles the events already in the ring buffer.  The start is
+     * moved forward to the oldest retained event if necessary, so it may be fewer than <code>count</code>
+     * events behind.</p>
+     *
+     * <p>The consumer must not have been started, nor its sequence added as a gating sequence.</p>
+     *
+     * @param sequence of the consumer joining the ring buffer.
+     * @param count number of events behind the cursor to start from.
+     * @return the value of the sequence, i.e. the sequence before the first event the consumer will handle.
+     */
+    public long join(final Sequence sequence, final int count)
+    {
+        final long start = Math.max(sequencer.getCursor() - count, getRetainedSequence());
+        sequence.set(start);
+        sequencer.addGatingSequencesWithoutReset(sequence);
+
+        // events retained when the start was chosen may have been released before the sequence was added
+        final long retained = getRetainedSequence();
+        if (retained > start)
+        {
+            sequence.set(retained);
+            return retained;
+        }
+
+        return start;
+    }
+
+    /**
+     * Replay up to the last <code>count</code> published events to a handler on the calling thread.  The events are
+     * protected from being overwritten until the handler returns from each of them, which holds up publishers if the
+     * handler is slow.
+     *
+     * @param count maximum number of events to replay.
+     * @param handler to pass the events to.
+     * @return the number of events replayed.
+     * @throws Exception if the handler throws.
+     */
+    public int replay(final int count, final EventHandler<? super E> handler) throws Exception
+    {
+        final Sequence pin = new Sequence();
+        long sequence = join(pin, count);
+        try
+        {
+            final long available = sequencer.getHighestPublishedSequence(sequence + 1, sequencer.getCursor());
+            final long first = sequence + 1;
+            while (sequence < available)
+            {
+                sequence++;
+                handler.onEvent(ringBuffer.get(sequence), sequence, sequence == available);
+                pin.set(sequence);
+            }
+            return (int) (sequence - first + 1);
+        }
+        finally
+        {
+            sequencer.removeGatingSequence(pin);
+        }
+    }
+
+    /**
+     * Stop retaining history, releasing the retained events to publishers.
+     */
+    public void close()
+    {
+        sequencer.removeGatingSequence(retention);
+    }
+
+    /**
+     * Gating sequence whose value is derived from the sequences it trails, any value set is ignored.
+     */
+    private static final class TrailingSequence extends Sequence
+    {
+        private final Sequence[] sequences;
+        private final int distance;
+
+        TrailingSequence(final Sequence[] sequences, final int distance)
+        {
+            this.sequences = Arrays.copyOf(sequences, sequences.length);
+            this.distance = distance;
+        }
+
+        @Override
+        public long get()
+        {
+            return Util.getMinimumSequence(sequences) - distance;
+        }
+
+        @Override
+        public long getAcquire()
+        {
+            return get();
+        }
+
+        @Override
+        public long getOpaque()
+        {
+            return get();
+        }
+
+        @Override
+        public String toString()
+        {
+            return Arrays.toString(sequences) + " - " + distance;
+        }
+    }
+}
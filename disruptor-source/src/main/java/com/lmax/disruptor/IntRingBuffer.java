@@ -0,0 +1,243 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import com.lmax.disruptor.dsl.ProducerType;
+
+/**
+ * <p>Ring buffer of <code>int</code> values held in a single <code>int[]</code>, for exchanging primitive values
+ * without an event object per entry.  Values are published with {@link #put(int)} and
+ * {@link #put(int[], int, int)} and consumed through a {@link IntHandler}, neither of which allocate or box.</p>
+ *
+ * <p>Events are exposed to the rest of the Disruptor through a {@link IntEvent} flyweight, so the ring buffer can
+ * also be used with {@link BatchEventProcessor}s, the {@link EventSink} methods and the
+ * {@link com.lmax.disruptor.dsl.Disruptor} DSL, e.g.</p>
+ *
+ * <pre>
+ * Disruptor&lt;IntRingBuffer.IntEvent&gt; disruptor = new Disruptor&lt;IntRingBuffer.IntEvent&gt;(ringBuffer, executor);
+ * disruptor.handleEventsWith(IntRingBuffer.asEventHandler(handler));
+ * </pre>
+ */
+public final class IntRingBuffer extends AbstractPrimitiveRing<IntRingBuffer.IntEvent>
+{
+    // pad either end of the array so that the values do not share a cache line with other data
+    private static final int BUFFER_PAD = 128 / 4;
+
+    private final int[] entries;
+
+    /**
+     * Construct a ring buffer holding a value for each sequence of the supplied sequencer.
+     *
+     * @param sequencer sequencer to handle the ordering of values moving through the ring buffer.
+     * @throws IllegalArgumentException if the buffer size is less than 1 or not a power of 2
+     */
+    public IntRingBuffer(final Sequencer sequencer)
+    {
+        super(sequencer);
+        this.entries = new int[bufferSize + 2 * BUFFER_PAD];
+    }
+
+    /**
+     * Create a new single producer ring buffer.
+     *
+     * @param bufferSize number of values held by the ring buffer.
+     * @param waitStrategy used to determine how to wait for new values to become available.
+     * @throws IllegalArgumentException if bufferSize is less than 1 or not a power of 2
+     */
+    public static IntRingBuffer createSingleProducer(final int bufferSize, final WaitStrategy waitStrategy)
+    {
+        return create(ProducerType.SINGLE, bufferSize, waitStrategy);
+    }
+
+    /**
+     * Create a new multiple producer ring buffer.
+     *
+     * @param bufferSize number of values held by the ring buffer.
+     * @param waitStrategy used to determine how to wait for new values to become available.
+     * @throws IllegalArgumentException if bufferSize is less than 1 or not a power of 2
+     */
+    public static IntRingBuffer createMultiProducer(final int bufferSize, final WaitStrategy waitStrategy)
+    {
+        return create(ProducerType.MULTI, bufferSize, waitStrategy);
+    }
+
+    /**
+     * Create a new ring buffer with the specified producer type.
+     *
+     * @param producerType producer type to use {@link ProducerType}.
+     * @param bufferSize number of values held by the ring buffer.
+     * @param waitStrategy used to determine how to wait for new values to become available.
+     * @throws IllegalArgumentException if bufferSize is less than 1 or not a power of 2
+     */
+    public static IntRingBuffer create(final ProducerType producerType, final int bufferSize, final WaitStrategy waitStrategy)
+    {
+        return new IntRingBuffer(newSequencer(producerType, bufferSize, waitStrategy));
+    }
+
+    /**
+     * Get the value held for a sequence.
+     *
+     * @param sequence of the value.
+     * @return the value.
+     */
+    public int getValue(final long sequence)
+    {
+        return entries[BUFFER_PAD + ((int) sequence & indexMask)];
+    }
+
+    /**
+     * Set the value for a claimed sequence, before publishing it.
+     *
+     * @param sequence of the value.
+     * @param value to hold for the sequence.
+     */
+    public void setValue(final long sequence, final int value)
+    {
+        entries[BUFFER_PAD + ((int) sequence & indexMask)] = value;
+    }
+
+    /**
+     * Publish a single value, waiting for capacity if the ring buffer is full.
+     *
+     * @param value to publish.
+     */
+    public void put(final int value)
+    {
+        final long sequence = sequencer.next();
+        setValue(sequence, value);
+        sequencer.publish(sequence);
+    }
+
+    /**
+     * Attempt to publish a single value.
+     *
+     * @param value to publish.
+     * @return true if the value was published, false if there was insufficient capacity.
+     */
+    public boolean tryPut(final int value)
+    {
+        final long sequence = tryClaim();
+        if (Sequencer.INITIAL_CURSOR_VALUE == sequence)
+        {
+            return false;
+        }
+
+        setValue(sequence, value);
+        sequencer.publish(sequence);
+        return true;
+    }
+
+    /**
+     * Publish a run of values, copying them into the ring buffer and publishing them with a single claim.  Runs longer
+     * than the ring buffer are published a buffer's worth at a time.
+     *
+     * @param src the array holding the values.
+     * @param off the index in the array of the first value.
+     * @param len the number of values to publish.
+     * @throws IndexOutOfBoundsException if the range is outside of the array.
+     */
+    public void put(final int[] src, final int off, final int len)
+    {
+        putRun(src, src.length, off, len, entries, BUFFER_PAD);
+    }
+
+    /**
+     * Create an event processor that passes each value to the handler, gated on the cursor and the supplied
+     * sequences.  The processor's sequence must be added as a gating sequence before publishing.
+     *
+     * @param handler to receive the values.
+     * @param sequencesToTrack the additional sequences to track.
+     * @return the event processor.
+     */
+    public BatchEventProcessor<IntEvent> createProcessor(final IntHandler handler, final Sequence... sequencesToTrack)
+    {
+        return createProcessor(asEventHandler(handler), sequencesToTrack);
+    }
+
+    /**
+     * Adapt a {@link IntHandler} to handle the {@link IntEvent}s of the ring buffer, e.g. when setting up the
+     * ring buffer with the {@link com.lmax.disruptor.dsl.Disruptor} DSL.
+     *
+     * @param handler to receive the values.
+     * @return an event handler passing the value of each event to the handler.
+     */
+    public static EventHandler<IntEvent> asEventHandler(final IntHandler handler)
+    {
+        return new EventHandler<IntEvent>()
+        {
+            @Override
+            public void onEvent(final IntEvent event, final long sequence, final boolean endOfBatch) throws Exception
+            {
+                handler.onEvent(event.get(), sequence, endOfBatch);
+            }
+        };
+    }
+
+    @Override
+    protected IntEvent newEvent()
+    {
+        return new IntEvent();
+    }
+
+    @Override
+    protected void moveTo(final IntEvent event, final long sequence)
+    {
+        event.sequence = sequence;
+    }
+
+    /**
+     * Callback interface to be implemented for processing the values of a {@link IntRingBuffer}.
+     */
+    public interface IntHandler
+    {
+        /**
+         * Called when a publisher has published a value to the ring buffer.
+         *
+         * @param value published to the ring buffer.
+         * @param sequence of the value being processed.
+         * @param endOfBatch flag to indicate if this is the last value in a batch from the ring buffer.
+         * @throws Exception if the handler wants the exception handled further up the chain.
+         */
+        void onEvent(int value, long sequence, boolean endOfBatch) throws Exception;
+    }
+
+    /**
+     * Flyweight over the value held for a single sequence.
+     */
+    public final class IntEvent
+    {
+        private long sequence;
+
+        IntEvent()
+        {
+        }
+
+        public int get()
+        {
+            return entries[BUFFER_PAD + ((int) sequence & indexMask)];
+        }
+
+        public void set(final int value)
+        {
+            entries[BUFFER_PAD + ((int) sequence & indexMask)] = value;
+        }
+
+        public long getSequence()
+        {
+            return sequence;
+        }
+    }
+}
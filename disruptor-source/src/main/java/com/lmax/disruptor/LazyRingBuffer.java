@@ -0,0 +1,45 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+/**
+ * Ring buffer of {@link FillMode#LAZY}, creating each event the first time its slot is accessed.  Kept apart from
+ * the {@link RingBuffer} so that only this fill mode pays for the null check on each access.
+ *
+ * @param <E> implementation storing the data for sharing during exchange or parallel coordination of an event.
+ */
+final class LazyRingBuffer<E> extends RingBuffer<E>
+{
+    private final EventFactory<E> eventFactory;
+
+    /**
+     * @param eventFactory to create the events as their slots are first accessed.
+     * @param sequencer sequencer to handle the ordering of events moving through the RingBuffer.
+     * @throws IllegalArgumentException if bufferSize is less than 1 or not a power of 2
+     */
+    LazyRingBuffer(EventFactory<E> eventFactory,
+                   Sequencer       sequencer)
+    {
+        super(eventFactory, sequencer, FillMode.LAZY);
+        this.eventFactory = eventFactory;
+    }
+
+    @Override
+    public E get(long sequence)
+    {
+        return lazyElementAt(sequence, eventFactory);
+    }
+}
@@ -0,0 +1,288 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+import sun.misc.Unsafe;
+
+import com.lmax.disruptor.dsl.ProducerType;
+import com.lmax.disruptor.util.Util;
+
+/**
+ * <p>An {@link OffHeapRingBuffer} held entirely in a memory mapped file, so that it can be shared between
+ * processes on the same host, e.g. with a file under <code>/dev/shm</code>.  The slots, the producer cursor, the
+ * availability flags of a multi producer ring and the sequences of the consumers all live in the file, and the
+ * {@link SingleProducerSequencer} and {@link MultiProducerSequencer} algorithms run directly over them.</p>
+ *
+ * <p>One process {@link #create(File, ProducerType, int, int, int, WaitStrategy) creates} the file, fixing the
+ * number of consumer sequences, and the others {@link #open(File, WaitStrategy) open} it.  Every consumer sequence
+ * gates the producers, so each must be advanced by an event processor in one of the processes, e.g.</p>
+ *
+ * <pre>
+ * MappedRingBuffer mapped = MappedRingBuffer.open(file, new YieldingWaitStrategy());
+ * OffHeapRingBuffer ringBuffer = mapped.getRingBuffer();
+ * BatchEventProcessor&lt;Slot&gt; processor =
+ *     new BatchEventProcessor&lt;Slot&gt;(ringBuffer, ringBuffer.newBarrier(), handler, mapped.getConsumerSequence(0));
+ * </pre>
+ *
+ * <p>Only the state held in the file is shared, so the wait strategy must not rely on being signalled by a
+ * publisher in the same process.  {@link BusySpinWaitStrategy}, {@link YieldingWaitStrategy} and
+ * {@link SleepingWaitStrategy} work across processes, the blocking strategies do not.</p>
+ */
+public final class MappedRingBuffer
+{
+    private static final Unsafe UNSAFE = Util.getUnsafe();
+
+    private static final long MAGIC = 0x4C4D41584D524231L;
+    // each value on its own pair of cache lines
+    private static final int ALIGNMENT = 128;
+    private static final int MAGIC_OFFSET = 0;
+    private static final int BUFFER_SIZE_OFFSET = 8;
+    private static final int SLOT_SIZE_OFFSET = 12;
+    private static final int CONSUMER_COUNT_OFFSET = 16;
+    private static final int PRODUCER_TYPE_OFFSET = 20;
+    private static final int CURSOR_OFFSET = ALIGNMENT;
+    private static final int CONSUMER_SEQUENCES_OFFSET = 2 * ALIGNMENT;
+
+    private final MappedByteBuffer mappedBuffer;
+    private final OffHeapRingBuffer ringBuffer;
+    private final Sequence[] consumerSequences;
+
+    private MappedRingBuffer(final MappedByteBuffer mappedBuffer,
+                             final ProducerType producerType,
+                             final int bufferSize,
+                             final int slotSize,
+                             final int consumerCount,
+                             final WaitStrategy waitStrategy)
+    {
+        final long address = Util.getAddressFromDirectByteBuffer(mappedBuffer);
+        final Sequence cursor = new NativeSequence(address + CURSOR_OFFSET);
+        final Sequencer sequencer;
+        if (ProducerType.SINGLE == producerType)
+        {
+            sequencer = new SingleProducerSequencer(bufferSize, waitStrategy, new SleepingProducerWaitStrategy(), cursor);
+        }
+        else
+        {
+            sequencer = new MultiProducerSequencer(bufferSize, waitStrategy, new SleepingProducerWaitStrategy(), cursor,
+                                                   address + availableBufferOffset(consumerCount));
+        }
+
+        this.mappedBuffer = mappedBuffer;
+        this.ringBuffer = new OffHeapRingBuffer(sequencer, slotSize,
+                                                address + slotsOffset(bufferSize, consumerCount), mappedBuffer);
+        this.consumerSequences = new Sequence[consumerCount];
+        for (int i = 0; i < consumerCount; i++)
+        {
+            consumerSequences[i] = new NativeSequence(address + CONSUMER_SEQUENCES_OFFSET + ((long) i * ALIGNMENT));
+        }
+        ringBuffer.addGatingSequences(consumerSequences);
+    }
+
+    /**
+     * Create, or overwrite, a ring buffer file and map it.
+     *
+     * @param file to hold the ring buffer.
+     * @param producerType either {@link ProducerType#SINGLE} or {@link ProducerType#MULTI}.
+     * @param bufferSize number of slots in the ring buffer, must be a power of 2.
+     * @param slotSize the minimum number of bytes in each slot.
+     * @param consumerCount the number of consumer sequences gating the producers.
+     * @param waitStrategy used to determine how to wait for new elements to become available.
+     * @return the mapped ring buffer.
+     * @throws IOException if the file can not be created or mapped.
+     * @throws IllegalArgumentException if the producer type is not supported or the file would be larger than 2GB.
+     */
+    public static MappedRingBuffer create(final File file,
+                                          final ProducerType producerType,
+                                          final int bufferSize,
+                                          final int slotSize,
+                                          final int consumerCount,
+                                          final WaitStrategy waitStrategy) throws IOException
+    {
+        if (ProducerType.SINGLE != producerType && ProducerType.MULTI != producerType)
+        {
+            throw new IllegalArgumentException("Unsupported producer type: " + producerType);
+        }
+        if (bufferSize < 1 || Integer.bitCount(bufferSize) != 1)
+        {
+            throw new IllegalArgumentException("bufferSize must be a power of 2");
+        }
+        if (slotSize < 1 || slotSize > Integer.MAX_VALUE - OffHeapRingBuffer.CACHE_LINE_SIZE)
+        {
+            throw new IllegalArgumentException("slotSize must be between 1 and " +
+                                               (Integer.MAX_VALUE - OffHeapRingBuffer.CACHE_LINE_SIZE));
+        }
+        if (consumerCount < 1)
+        {
+            throw new IllegalArgumentException("consumerCount must not be less than 1");
+        }
+
+        final long length = slotsOffset(bufferSize, consumerCount) + ((long) bufferSize * alignedSlotSize(slotSize));
+        if (length > Integer.MAX_VALUE)
+        {
+            throw new IllegalArgumentException("A ring buffer of " + length + " bytes is too large to map");
+        }
+
+        final MappedByteBuffer mappedBuffer = map(file, length);
+        final long address = Util.getAddressFromDirectByteBuffer(mappedBuffer);
+
+        UNSAFE.setMemory(address, length, (byte) 0);
+        UNSAFE.putInt(address + BUFFER_SIZE_OFFSET, bufferSize);
+        UNSAFE.putInt(address + SLOT_SIZE_OFFSET, slotSize);
+        UNSAFE.putInt(address + CONSUMER_COUNT_OFFSET, consumerCount);
+        UNSAFE.putInt(address + PRODUCER_TYPE_OFFSET, producerType.ordinal());
+        UNSAFE.putLong(address + CURSOR_OFFSET, Sequencer.INITIAL_CURSOR_VALUE);
+        for (int i = 0; i < consumerCount; i++)
+        {
+            UNSAFE.putLong(address + CONSUMER_SEQUENCES_OFFSET + ((long) i * ALIGNMENT), Sequence.INITIAL_VALUE);
+        }
+        // every availability flag starts at -1
+        UNSAFE.setMemory(address + availableBufferOffset(consumerCount), (long) bufferSize * 4, (byte) -1);
+        UNSAFE.putLongVolatile(null, address + MAGIC_OFFSET, MAGIC);
+
+        return new MappedRingBuffer(mappedBuffer, producerType, bufferSize, slotSize, consumerCount, waitStrategy);
+    }
+
+    /**
+     * Map a ring buffer file previously created by {@link #create(File, ProducerType, int, int, int, WaitStrategy)}.
+     *
+     * @param file holding the ring buffer.
+     * @param waitStrategy used to determine how to wait for new elements to become available.
+     * @return the mapped ring buffer.
+     * @throws IOException if the file can not be mapped, does not hold a ring buffer or its header does not match
+     * its length.
+     */
+    public static MappedRingBuffer open(final File file, final WaitStrategy waitStrategy) throws IOException
+    {
+        final long fileLength = file.length();
+        if (fileLength < CONSUMER_SEQUENCES_OFFSET || fileLength > Integer.MAX_VALUE)
+        {
+            throw new IOException("Not a ring buffer file: " + file);
+        }
+
+        final MappedByteBuffer mappedBuffer = map(file, fileLength);
+        final long address = Util.getAddressFromDirectByteBuffer(mappedBuffer);
+        if (MAGIC != UNSAFE.getLongVolatile(null, address + MAGIC_OFFSET))
+        {
+            throw new IOException("Not a ring buffer file: " + file);
+        }
+
+        final int bufferSize = UNSAFE.getInt(address + BUFFER_SIZE_OFFSET);
+        final int slotSize = UNSAFE.getInt(address + SLOT_SIZE_OFFSET);
+        final int consumerCount = UNSAFE.getInt(address + CONSUMER_COUNT_OFFSET);
+        final int producerTypeOrdinal = UNSAFE.getInt(address + PRODUCER_TYPE_OFFSET);
+
+        if (ProducerType.SINGLE.ordinal() != producerTypeOrdinal && ProducerType.MULTI.ordinal() != producerTypeOrdinal)
+        {
+            throw new IOException("Unsupported producer type " + producerTypeOrdinal + " in ring buffer file: " + file);
+        }
+        if (bufferSize < 1 || Integer.bitCount(bufferSize) != 1)
+        {
+            throw new IOException("Buffer size " + bufferSize + " is not a power of 2 in ring buffer file: " + file);
+        }
+        if (slotSize < 1 || slotSize > Integer.MAX_VALUE - OffHeapRingBuffer.CACHE_LINE_SIZE || consumerCount < 1)
+        {
+            throw new IOException("Corrupt header in ring buffer file: " + file);
+        }
+        final long length = slotsOffset(bufferSize, consumerCount) + ((long) bufferSize * alignedSlotSize(slotSize));
+        if (fileLength < length)
+        {
+            throw new IOException("Ring buffer file is " + fileLength + " bytes, expected " + length + ": " + file);
+        }
+
+        final ProducerType producerType = ProducerType.values()[producerTypeOrdinal];
+        return new MappedRingBuffer(mappedBuffer, producerType, bufferSize, slotSize, consumerCount, waitStrategy);
+    }
+
+    /**
+     * The ring buffer held in the file.  Slots written by a publisher in any process are visible to the
+     * consumers in every process once published.
+     *
+     * @return the shared ring buffer.
+     */
+    public OffHeapRingBuffer getRingBuffer()
+    {
+        return ringBuffer;
+    }
+
+    /**
+     * The number of consumer sequences held in the file.
+     *
+     * @return the number of consumer sequences.
+     */
+    public int getConsumerCount()
+    {
+        return consumerSequences.length;
+    }
+
+    /**
+     * Get the consumer sequence at the given index, to be advanced by an event processor.
+     *
+     * @param index of the consumer.
+     * @return a sequence held in the file.
+     */
+    public Sequence getConsumerSequence(final int index)
+    {
+        return consumerSequences[index];
+    }
+
+    /**
+     * Write any changes held in the file's pages back to the storage device.  Not needed for sharing between
+     * processes, which see each other's changes directly.
+     */
+    public void force()
+    {
+        mappedBuffer.force();
+    }
+
+    private static MappedByteBuffer map(final File file, final long length) throws IOException
+    {
+        final RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+        try
+        {
+            if (randomAccessFile.length() != length)
+            {
+                randomAccessFile.setLength(length);
+            }
+            return randomAccessFile.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, length);
+        }
+        finally
+        {
+            randomAccessFile.close();
+        }
+    }
+
+    private static int alignedSlotSize(final int slotSize)
+    {
+        return (slotSize + OffHeapRingBuffer.CACHE_LINE_SIZE - 1) & -OffHeapRingBuffer.CACHE_LINE_SIZE;
+    }
+
+    private static long availableBufferOffset(final int consumerCount)
+    {
+        return CONSUMER_SEQUENCES_OFFSET + ((long) consumerCount * ALIGNMENT);
+    }
+
+    private static long slotsOffset(final int bufferSize, final int consumerCount)
+    {
+        final long end = availableBufferOffset(consumerCount) + ((long) bufferSize * 4);
+        return (end + ALIGNMENT - 1) & -ALIGNMENT;
+    }
+}
@@ -15,7 +15,7 @@
  */
 package com.lmax.disruptor;
 
-import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.TimeUnit;
 
 import sun.misc.Unsafe;
 
@@ -40,7 +40,9 @@ public final class MultiProducerSequencer extends AbstractSequencer
 
     // availableBuffer tracks the state of each ringbuffer slot
     // see below for more details on the approach
-    private final int[] availableBuffer;
+    // it is either an int[] or null, with availableBufferBase the absolute address of native memory
+    private final Object availableBuffer;
+    private final long availableBufferBase;
     private final int indexMask;
     private final int indexShift;
 
@@ -52,30 +54,69 @@ public final class MultiProducerSequencer extends AbstractSequencer
      */
     public MultiProducerSequencer(int bufferSize, final WaitStrategy waitStrategy)
     {
-        super(bufferSize, waitStrategy);
+        this(bufferSize, waitStrategy, new SleepingProducerWaitStrategy());
+    }
+
+    /**
+     * Construct a Sequencer with the selected wait strategies and buffer size.
+     *
+     * @param bufferSize the size of the buffer that this will sequence over.
+     * @param waitStrategy for those waiting on sequences.
+     * @param producerWaitStrategy for publishers waiting on the gating sequences when the buffer is full.
+     */
+    public MultiProducerSequencer(int bufferSize,
+                                  final WaitStrategy waitStrategy,
+                                  final ProducerWaitStrategy producerWaitStrategy)
+    {
+        super(bufferSize, waitStrategy, producerWaitStrategy);
         availableBuffer = new int[bufferSize];
+        availableBufferBase = BASE;
         indexMask = bufferSize - 1;
         indexShift = Util.log2(bufferSize);
         initialiseAvailableBuffer();
     }
 
+    /**
+     * Construct a Sequencer over an existing cursor and an availability buffer of <code>bufferSize</code> ints
+     * held in native memory.  The availability buffer is used as it is, so must already have been
+     * initialised to -1 for a new buffer.
+     *
+     * @param bufferSize the size of the buffer that this will sequence over.
+     * @param waitStrategy for those waiting on sequences.
+     * @param producerWaitStrategy for publishers waiting on the gating sequences when the buffer is full.
+     * @param cursor the sequence to hold the cursor in.
+     * @param availableBufferAddress the address of the availability buffer.
+     */
+    MultiProducerSequencer(int bufferSize,
+                           final WaitStrategy waitStrategy,
+                           final ProducerWaitStrategy producerWaitStrategy,
+                           final Sequence cursor,
+                           final long availableBufferAddress)
+    {
+        super(bufferSize, waitStrategy, producerWaitStrategy, cursor);
+        availableBuffer = null;
+        availableBufferBase = availableBufferAddress;
+        indexMask = bufferSize - 1;
+        indexShift = Util.log2(bufferSize);
+    }
+
     /**
      * @see Sequencer#hasAvailableCapacity(int)
      */
     @Override
     public boolean hasAvailableCapacity(final int requiredCapacity)
     {
-        return hasAvailableCapacity(gatingSequences, requiredCapacity, cursor.get());
+        return hasAvailableCapacity(requiredCapacity, cursor.get());
     }
 
-    private boolean hasAvailableCapacity(Sequence[] gatingSequences, final int requiredCapacity, long cursorValue)
+    private boolean hasAvailableCapacity(final int requiredCapacity, long cursorValue)
     {
         long wrapPoint = (cursorValue + requiredCapacity) - bufferSize;
         long cachedGatingSequence = gatingSequenceCache.get();
 
         if (wrapPoint > cachedGatingSequence || cachedGatingSequence > cursorValue)
         {
-            long minSequence = Util.getMinimumSequence(gatingSequences, cursorValue);
+            long minSequence = getMinimumGatingSequence(cursorValue);
             gatingSequenceCache.set(minSequence);
 
             if (wrapPoint > minSequence)
@@ -129,11 +170,11 @@ public final class MultiProducerSequencer extends AbstractSequencer
 
             if (wrapPoint > cachedGatingSequence || cachedGatingSequence > current)
             {
-                long gatingSequence = Util.getMinimumSequence(gatingSequences, current);
+                long gatingSequence = getMinimumGatingSequence(current);
 
                 if (wrapPoint > gatingSequence)
                 {
-                    LockSupport.parkNanos(1); // TODO, should we spin based on the wait strategy?
+                    producerWaitStrategy.waitFor(wrapPoint, this);
                     continue;
                 }
 
@@ -149,6 +190,15 @@ public final class MultiProducerSequencer extends AbstractSequencer
         return next;
     }
 
+    /**
+     * @see Sequencer#next(int, long, TimeUnit)
+     */
+    @Override
+    public long next(int n, long timeout, TimeUnit unit)
+    {
+        return claimWithTimeout(cursor, gatingSequenceCache, n, timeout, unit);
+    }
+
     /**
      * @see Sequencer#tryNext()
      */
@@ -177,7 +227,7 @@ public final class MultiProducerSequencer extends AbstractSequencer
             current = cursor.get();
             next = current + n;
 
-            if (!hasAvailableCapacity(gatingSequences, n, current))
+            if (!hasAvailableCapacity(n, current))
             {
                 throw InsufficientCapacityException.INSTANCE;
             }
@@ -193,14 +243,14 @@ public final class MultiProducerSequencer extends AbstractSequencer
     @Override
     public long remainingCapacity()
     {
-        long consumed = Util.getMinimumSequence(gatingSequences, cursor.get());
+        long consumed = getMinimumGatingSequence(cursor.get());
         long produced = cursor.get();
         return getBufferSize() - (produced - consumed);
     }
 
     private void initialiseAvailableBuffer()
     {
-        for (int i = availableBuffer.length - 1; i != 0; i--)
+        for (int i = bufferSize - 1; i != 0; i--)
         {
             setAvailableBufferValue(i, -1);
         }
@@ -257,7 +307,7 @@ public final class MultiProducerSequencer extends AbstractSequencer
 
     private void setAvailableBufferValue(int index, int flag)
     {
-        long bufferAddress = (index * SCALE) + BASE;
+        long bufferAddress = (index * SCALE) + availableBufferBase;
         UNSAFE.putOrderedInt(availableBuffer, bufferAddress, flag);
     }
 
@@ -269,7 +319,7 @@ public final class MultiProducerSequencer extends AbstractSequencer
     {
         int index = calculateIndex(sequence);
         int flag = calculateAvailabilityFlag(sequence);
-        long bufferAddress = (index * SCALE) + BASE;
+        long bufferAddress = (index * SCALE) + availableBufferBase;
         return UNSAFE.getIntVolatile(availableBuffer, bufferAddress) == flag;
     }
 
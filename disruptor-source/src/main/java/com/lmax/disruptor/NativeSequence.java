@@ -0,0 +1,84 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import sun.misc.Unsafe;
+
+import com.lmax.disruptor.util.Util;
+
+/**
+ * {@link Sequence} whose value lives at an address in native memory, such as a file mapped by several processes.
+ * The memory must be 8 byte aligned and must outlive the sequence.
+ */
+final class NativeSequence extends Sequence
+{
+    private static final Unsafe UNSAFE = Util.getUnsafe();
+
+    private final long address;
+
+    NativeSequence(final long address)
+    {
+        this.address = address;
+    }
+
+    @Override
+    public long get()
+    {
+        return UNSAFE.getLongVolatile(null, address);
+    }
+
+    @Override
+    public void set(final long value)
+    {
+        UNSAFE.putOrderedLong(null, address, value);
+    }
+
+    @Override
+    public long getAcquire()
+    {
+        return UNSAFE.getLongVolatile(null, address);
+    }
+
+    @Override
+    public long getOpaque()
+    {
+        return UNSAFE.getLongVolatile(null, address);
+    }
+
+    @Override
+    public void setRelease(final long value)
+    {
+        UNSAFE.putOrderedLong(null, address, value);
+    }
+
+    @Override
+    public void setVolatile(final long value)
+    {
+        UNSAFE.putLongVolatile(null, address, value);
+    }
+
+    @Override
+    public boolean compareAndSet(final long expectedValue, final long newValue)
+    {
+        return UNSAFE.compareAndSwapLong(null, address, expectedValue, newValue);
+    }
+
+    @Override
+    public long getAndAdd(final long increment)
+    {
+        return UNSAFE.getAndAddLong(null, address, increment);
+    }
+}
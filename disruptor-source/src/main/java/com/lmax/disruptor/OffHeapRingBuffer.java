@@ -0,0 +1,355 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import sun.misc.Unsafe;
+
+import com.lmax.disruptor.dsl.ProducerType;
+import com.lmax.disruptor.util.Util;
+
+/**
+ * <p>Ring buffer of fixed size binary slots held in a single block of native memory, rather than of preallocated
+ * objects on the heap.  The whole ring is one allocation, so rings of many gigabytes add nothing for the garbage
+ * collector to trace and carry no object header per entry.  Each slot is rounded up to a whole number of cache lines
+ * and the block is aligned to a cache line, so adjacent slots never share a line.</p>
+ *
+ * <p>Slots are read and written in place through a {@link Slot} flyweight.  Each thread has a single flyweight that
+ * {@link #get(long)} moves onto the slot for the sequence and returns, so no bytes are copied and nothing is
+ * allocated.  The flyweight returned is only valid until the same thread next calls {@link #get(long)}, and must
+ * not be handed to another thread.</p>
+ *
+ * <p>Claiming and publishing is the same as for a {@link RingBuffer}, using any {@link Sequencer}, so the ring can
+ * be consumed by {@link BatchEventProcessor}s or set up with the {@link com.lmax.disruptor.dsl.Disruptor} DSL.</p>
+ *
+ * <p>The memory is not released by the garbage collector, call {@link #close()} once all of the publishers and
+ * event processors using the ring have stopped.</p>
+ */
+public final class OffHeapRingBuffer extends AbstractEventRing<OffHeapRingBuffer.Slot>
+{
+    /** The size in bytes that slots are rounded up to and the memory is aligned to. */
+    public static final int CACHE_LINE_SIZE = 64;
+
+    private static final Unsafe UNSAFE = Util.getUnsafe();
+    private static final long BYTE_ARRAY_BASE = UNSAFE.arrayBaseOffset(byte[].class);
+
+    private final long indexMask;
+    private final int slotSize;
+    private final long allocatedAddress;
+    private final long baseAddress;
+    private final Object memory;
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+    private final ThreadLocal<Slot> slots = new ThreadLocal<Slot>()
+    {
+        @Override
+        protected Slot initialValue()
+        {
+            return new Slot(slotSize);
+        }
+    };
+
+    /**
+     * Construct an off heap ring buffer using the supplied sequencer, allocating a slot of at least
+     * <code>slotSize</code> bytes for each sequence of the sequencer's buffer.
+     *
+     * @param sequencer sequencer to handle the ordering of events moving through the ring buffer.
+     * @param slotSize the minimum number of bytes in each slot, rounded up to a multiple of {@link #CACHE_LINE_SIZE}.
+     * @throws IllegalArgumentException if the buffer size is less than 1 or not a power of 2, or if the slot size
+     * is less than 1.
+     */
+    public OffHeapRingBuffer(final Sequencer sequencer, final int slotSize)
+    {
+        this(sequencer, slotSize, 0L, null);
+    }
+
+    /**
+     * Construct an off heap ring buffer over memory that is owned elsewhere, such as a mapped file.  The memory
+     * must hold a slot for each sequence, with slots of <code>slotSize</code> rounded up to a multiple of
+     * {@link #CACHE_LINE_SIZE}, and is not cleared or freed by this ring buffer.
+     *
+     * @param sequencer sequencer to handle the ordering of events moving through the ring buffer.
+     * @param slotSize the minimum number of bytes in each slot.
+     * @param address the address of the first slot, or 0 to allocate and own the memory.
+     * @param memory the object owning the memory, held to keep it reachable for as long as this ring buffer is.
+     */
+    OffHeapRingBuffer(final Sequencer sequencer, final int slotSize, final long address, final Object memory)
+    {
+        super(sequencer);
+
+        if (slotSize < 1 || slotSize > Integer.MAX_VALUE - CACHE_LINE_SIZE)
+        {
+            throw new IllegalArgumentException("slotSize must be between 1 and " + (Integer.MAX_VALUE - CACHE_LINE_SIZE));
+        }
+
+        this.indexMask = bufferSize - 1;
+        this.slotSize = (slotSize + CACHE_LINE_SIZE - 1) & -CACHE_LINE_SIZE;
+
+        this.memory = memory;
+
+        if (0L != address)
+        {
+            this.allocatedAddress = 0L;
+            this.baseAddress = address;
+        }
+        else
+        {
+            final long length = (long) bufferSize * this.slotSize;
+            this.allocatedAddress = UNSAFE.allocateMemory(length + CACHE_LINE_SIZE);
+            this.baseAddress = (allocatedAddress + CACHE_LINE_SIZE - 1) & -CACHE_LINE_SIZE;
+            UNSAFE.setMemory(baseAddress, length, (byte) 0);
+        }
+    }
+
+    /**
+     * Create a new off heap ring buffer with the specified producer type.
+     *
+     * @param producerType producer type to use {@link ProducerType}.
+     * @param bufferSize number of slots in the ring buffer.
+     * @param slotSize the minimum number of bytes in each slot.
+     * @param waitStrategy used to determine how to wait for new elements to become available.
+     * @throws IllegalArgumentException if bufferSize is less than 1 or not a power of 2
+     */
+    public static OffHeapRingBuffer create(final ProducerType producerType,
+                                           final int          bufferSize,
+                                           final int          slotSize,
+                                           final WaitStrategy waitStrategy)
+    {
+        return create(producerType, bufferSize, slotSize, waitStrategy, new SleepingProducerWaitStrategy());
+    }
+
+    /**
+     * Create a new off heap ring buffer with the specified producer type and the strategy publishers use to wait
+     * for capacity when the ring buffer is full.
+     *
+     * @param producerType producer type to use {@link ProducerType}.
+     * @param bufferSize number of slots in the ring buffer.
+     * @param slotSize the minimum number of bytes in each slot.
+     * @param waitStrategy used to determine how to wait for new elements to become available.
+     * @param producerWaitStrategy used to determine how publishers wait for capacity when the ring buffer is full.
+     * @throws IllegalArgumentException if bufferSize is less than 1 or not a power of 2
+     */
+    public static OffHeapRingBuffer create(final ProducerType         producerType,
+                                           final int                  bufferSize,
+                                           final int                  slotSize,
+                                           final WaitStrategy         waitStrategy,
+                                           final ProducerWaitStrategy producerWaitStrategy)
+    {
+        switch (producerType)
+        {
+        case SINGLE:
+            return new OffHeapRingBuffer(new SingleProducerSequencer(bufferSize, waitStrategy, producerWaitStrategy),
+                                         slotSize);
+        case MULTI:
+            return new OffHeapRingBuffer(new MultiProducerSequencer(bufferSize, waitStrategy, producerWaitStrategy),
+                                         slotSize);
+        case MULTI_FETCH_AND_ADD:
+            return new OffHeapRingBuffer(new FetchAndAddMultiProducerSequencer(bufferSize, waitStrategy, producerWaitStrategy),
+                                         slotSize);
+        default:
+            throw new IllegalStateException(producerType.toString());
+        }
+    }
+
+    /**
+     * <p>Get the slot for a given sequence, through the calling thread's flyweight.</p>
+     *
+     * <p>As for {@link RingBuffer#get(long)} this is used by publishers between claiming and publishing a sequence,
+     * and by consumers for sequences up to the value returned from {@link SequenceBarrier#waitFor(long)}.  The slot
+     * returned is only valid until the calling thread next calls this method.</p>
+     *
+     * @param sequence for the slot
+     * @return the calling thread's flyweight, positioned on the slot for the given sequence
+     */
+    @Override
+    public Slot get(final long sequence)
+    {
+        final Slot slot = slots.get();
+        slot.address = baseAddress + ((sequence & indexMask) * slotSize);
+        return slot;
+    }
+
+    /**
+     * The number of bytes in each slot, after rounding up to a whole number of cache lines.
+     *
+     * @return the size of a slot in bytes.
+     */
+    public int getSlotSize()
+    {
+        return slotSize;
+    }
+
+    /**
+     * Release the native memory held by the ring buffer.  Must only be called once nothing is publishing to or
+     * consuming from the ring buffer, any later access to a slot reads or writes memory that has been freed.
+     * Calls after the first, or for a ring buffer over memory owned elsewhere, have no effect.
+     */
+    public void close()
+    {
+        if (0L != allocatedAddress && closed.compareAndSet(false, true))
+        {
+            UNSAFE.freeMemory(allocatedAddress);
+        }
+    }
+
+    /**
+     * <p>Flyweight over a single slot of an {@link OffHeapRingBuffer}.  Values are read and written in place at a
+     * byte offset from the start of the slot, in the native byte order, and every access is checked against the
+     * size of the slot.</p>
+     *
+     * <p>Reads and writes are plain, the slot's contents are made visible to consumers by publishing its
+     * sequence.</p>
+     */
+    public static final class Slot
+    {
+        private final int size;
+        private long address;
+
+        Slot(final int size)
+        {
+            this.size = size;
+        }
+
+        /**
+         * The number of bytes in the slot.
+         *
+         * @return the size of the slot in bytes.
+         */
+        public int getSize()
+        {
+            return size;
+        }
+
+        /**
+         * The native address of the start of the slot, for passing to code that works with raw memory.
+         *
+         * @return the address of the first byte of the slot.
+         */
+        public long getAddress()
+        {
+            return address;
+        }
+
+        public byte getByte(final int offset)
+        {
+            return UNSAFE.getByte(addressOf(offset, 1));
+        }
+
+        public void putByte(final int offset, final byte value)
+        {
+            UNSAFE.putByte(addressOf(offset, 1), value);
+        }
+
+        public short getShort(final int offset)
+        {
+            return UNSAFE.getShort(addressOf(offset, 2));
+        }
+
+        public void putShort(final int offset, final short value)
+        {
+            UNSAFE.putShort(addressOf(offset, 2), value);
+        }
+
+        public int getInt(final int offset)
+        {
+            return UNSAFE.getInt(addressOf(offset, 4));
+        }
+
+        public void putInt(final int offset, final int value)
+        {
+            UNSAFE.putInt(addressOf(offset, 4), value);
+        }
+
+        public long getLong(final int offset)
+        {
+            return UNSAFE.getLong(addressOf(offset, 8));
+        }
+
+        public void putLong(final int offset, final long value)
+        {
+            UNSAFE.putLong(addressOf(offset, 8), value);
+        }
+
+        public double getDouble(final int offset)
+        {
+            return UNSAFE.getDouble(addressOf(offset, 8));
+        }
+
+        public void putDouble(final int offset, final double value)
+        {
+            UNSAFE.putDouble(addressOf(offset, 8), value);
+        }
+
+        /**
+         * Copy bytes out of the slot.
+         *
+         * @param offset in the slot of the first byte to copy.
+         * @param dst the array to copy into.
+         * @param dstOffset in the array of the first byte to write.
+         * @param length the number of bytes to copy.
+         */
+        public void getBytes(final int offset, final byte[] dst, final int dstOffset, final int length)
+        {
+            final long from = addressOf(offset, length);
+            checkArray(dst, dstOffset, length);
+            UNSAFE.copyMemory(null, from, dst, BYTE_ARRAY_BASE + dstOffset, length);
+        }
+
+        /**
+         * Copy bytes into the slot.
+         *
+         * @param offset in the slot of the first byte to write.
+         * @param src the array to copy from.
+         * @param srcOffset in the array of the first byte to copy.
+         * @param length the number of bytes to copy.
+         */
+        public void putBytes(final int offset, final byte[] src, final int srcOffset, final int length)
+        {
+            final long to = addressOf(offset, length);
+            checkArray(src, srcOffset, length);
+            UNSAFE.copyMemory(src, BYTE_ARRAY_BASE + srcOffset, null, to, length);
+        }
+
+        /**
+         * Set a range of bytes in the slot to the given value.
+         *
+         * @param offset in the slot of the first byte to set.
+         * @param length the number of bytes to set.
+         * @param value to set each byte to.
+         */
+        public void setMemory(final int offset, final int length, final byte value)
+        {
+            UNSAFE.setMemory(addressOf(offset, length), length, value);
+        }
+
+        private long addressOf(final int offset, final int length)
+        {
+            if (offset < 0 || length < 0 || offset > size - length)
+            {
+                throw new IndexOutOfBoundsException("offset: " + offset + ", length: " + length + ", slot size: " + size);
+            }
+            return address + offset;
+        }
+
+        private static void checkArray(final byte[] array, final int offset, final int length)
+        {
+            if (offset < 0 || offset > array.length - length)
+            {
+                throw new IndexOutOfBoundsException("offset: " + offset + ", length: " + length + ", array length: " + array.length);
+            }
+        }
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import com.lmax.disruptor.util.ThreadHints;
+import com.lmax.disruptor.util.Util;
+
+import sun.misc.Unsafe;
+
+/**
+ * <p>Blocking strategy that parks each waiting {@link EventProcessor} thread with <code>LockSupport.park()</code>
+ * and has publishers unpark the registered waiters, without a lock or condition.  A virtual thread parked this way
+ * releases its carrier thread, so this strategy suits many processors run on virtual threads, see
+ * {@link com.lmax.disruptor.util.VirtualThreads}.</p>
+ *
+ * <p>A waiter first yields a few times, so that a processor woken by a publish finds a batch of events rather than
+ * parking again after each one.  Each waiting thread registers once in a slot of an array of waiters, which is only
+ * reallocated when more threads wait than it has slots.  Publishing does not read the waiters while none is parked,
+ * and otherwise unparks only those whose sequence is now available or whose barrier is alerted, each once however
+ * many events are published before it runs, so it suits many mostly idle processors.</p>
+ */
+public final class ParkingWaitStrategy implements WaitStrategy
+{
+    private static final Unsafe UNSAFE = Util.getUnsafe();
+
+    private static final int DEFAULT_SPIN_TRIES = 10;
+    private static final int INITIAL_WAITER_SLOTS = 16;
+
+    private final int spinTries;
+    private final AtomicInteger parkedCount = new AtomicInteger();
+    private volatile Waiter[] waiters = new Waiter[INITIAL_WAITER_SLOTS];
+    private final ThreadLocal<Waiter> threadWaiter = new ThreadLocal<Waiter>()
+    {
+        @Override
+        protected Waiter initialValue()
+        {
+            return register(Thread.currentThread());
+        }
+    };
+
+    public ParkingWaitStrategy()
+    {
+        this(DEFAULT_SPIN_TRIES);
+    }
+
+    /**
+     * @param spinTries the number of times a waiter yields, checking the cursor, before parking.
+     */
+    public ParkingWaitStrategy(final int spinTries)
+    {
+        this.spinTries = spinTries;
+    }
+
+    @Override
+    public long waitFor(final long sequence, final Sequence cursorSequence, final Sequence dependentSequence, final SequenceBarrier barrier)
+        throws AlertException, InterruptedException
+    {
+        long availableSequence;
+        int counter = spinTries;
+        while ((availableSequence = cursorSequence.get()) < sequence && counter > 0)
+        {
+            barrier.checkAlert();
+            Thread.yield();
+            counter--;
+        }
+
+        if (availableSequence < sequence)
+        {
+            final Waiter waiter = threadWaiter.get();
+            waiter.sequence = sequence;
+            waiter.cursorSequence = cursorSequence;
+            waiter.barrier = barrier;
+            parkedCount.getAndIncrement();
+            try
+            {
+                while (true)
+                {
+                    // flagged before checking the cursor, so a publish after the check unparks this thread
+                    waiter.set(true);
+                    if ((availableSequence = cursorSequence.get()) >= sequence)
+                    {
+                        break;
+                    }
+
+                    barrier.checkAlert();
+                    LockSupport.park(this);
+                    if (Thread.interrupted())
+                    {
+                        throw new InterruptedException();
+                    }
+                }
+            }
+            finally
+            {
+                waiter.lazySet(false);
+                parkedCount.getAndDecrement();
+            }
+        }
+
+        while ((availableSequence = dependentSequence.get()) < sequence)
+        {
+            barrier.checkAlert();
+            ThreadHints.onSpinWait();
+        }
+
+        return availableSequence;
+    }
+
+    @Override
+    public void signalAllWhenBlocking()
+    {
+        // order the preceding cursor or alert update before reading the waiters
+        UNSAFE.fullFence();
+        if (0 == parkedCount.get())
+        {
+            return;
+        }
+
+        for (final Waiter waiter : waiters)
+        {
+            if (null != waiter && waiter.get() && waiter.isReleased() && waiter.compareAndSet(true, false))
+            {
+                LockSupport.unpark(waiter.thread);
+            }
+        }
+    }
+
+    /**
+     * Give a thread a slot in the waiters, reusing the slot of a thread that has terminated, and growing the array
+     * only when every slot is taken.  Called once by each thread the first time it parks.
+     */
+    private synchronized Waiter register(final Thread thread)
+    {
+        final Waiter waiter = new Waiter(thread);
+        final Waiter[] current = waiters;
+        for (int i = 0; i < current.length; i++)
+        {
+            if (null == current[i] || !current[i].thread.isAlive())
+            {
+                current[i] = waiter;
+                // republish the array so that the slot is visible to publishers
+                waiters = current;
+                return waiter;
+            }
+        }
+
+        final Waiter[] grown = new Waiter[current.length * 2];
+        System.arraycopy(current, 0, grown, 0, current.length);
+        grown[current.length] = waiter;
+        waiters = grown;
+        return waiter;
+    }
+
+    /**
+     * A registered waiter, set while it may be parked and cleared by the publisher that unparks it, so each park is
+     * matched by at most one unpark however many events are published meanwhile.  The sequence waited for, cursor
+     * and barrier are written before the flag is set, so a publisher seeing the flag set sees them.
+     */
+    @SuppressWarnings("serial")
+    private static final class Waiter extends AtomicBoolean
+    {
+        private final Thread thread;
+        private long sequence;
+        private Sequence cursorSequence;
+        private SequenceBarrier barrier;
+
+        Waiter(final Thread thread)
+        {
+            this.thread = thread;
+        }
+
+        boolean isReleased()
+        {
+            return cursorSequence.get() >= sequence || barrier.isAlerted();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+/**
+ * Extracts the key used to assign an event to one of a group of {@link PartitionedEventHandler}s.  Events with
+ * equal keys are handled by the same handler, in sequence order.  A convenience for keys that are not primitive,
+ * a {@link LongPartitionKeyExtractor} avoids boxing and hashing the key in every handler of the group.
+ *
+ * @param <T> event implementation storing the data for sharing during exchange or parallel coordination of an event.
+ */
+public interface PartitionKeyExtractor<T>
+{
+    /**
+     * Get the key of an event.  Called once for each event by every handler of the group, so should be cheap,
+     * e.g. reading a field.
+     *
+     * @param event to get the key of.
+     * @return the key, whose {@link Object#hashCode()} selects the partition of the event.
+     */
+    Object extractKey(T event);
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+/**
+ * <p>Passes on to its delegate only the events of one partition, so that a group of {@link BatchEventProcessor}s,
+ * one for each partition, divides the events between them by key.  Unlike a {@link WorkerPool} the processors do
+ * not contend on a shared work sequence, and every event with a given key is handled by the same delegate, in
+ * sequence order, so the delegates need no locking between them.</p>
+ *
+ * <p>Each processor still reads every event to extract its key.  To tell the delegate which of its events ends a
+ * batch, when the last event of a batch is in another partition, the handler holds back the sequence of each of its
+ * events until it sees the next event of its partition or the end of the batch.  The held event is read again from
+ * the {@link DataProvider} when it is passed on, as rings such as the {@link LongRingBuffer} reuse one flyweight
+ * for every sequence.  It is always passed on before the processor's sequence is updated at the end of the batch,
+ * so the processor can not be given a progress interval, see {@link BatchEventProcessor#setProgressInterval(int)}.</p>
+ *
+ * <p>A delegate that is {@link LifecycleAware}, {@link BatchStartAware}, a {@link TimeoutHandler} or a
+ * {@link SequenceReportingEventHandler} is called as it would be by its own processor, a batch start giving the size
+ * of the whole batch, including the events of the other partitions.</p>
+ *
+ * <p>See {@link com.lmax.disruptor.dsl.Disruptor#handleEventsWithPartitioned(LongPartitionKeyExtractor, EventHandler[])}
+ * to set up a group of partitioned handlers.</p>
+ *
+ * @param <T> event implementation storing the data for sharing during exchange or parallel coordination of an event.
+ */
+public final class PartitionedEventHandler<T>
+    implements SequenceReportingEventHandler<T>, LifecycleAware, BatchStartAware, TimeoutHandler
+{
+    private final DataProvider<T> dataProvider;
+    private final LongPartitionKeyExtractor<? super T> keyExtractor;
+    private final int partition;
+    private final int partitionCount;
+    private final EventHandler<? super T> delegate;
+    private long heldSequence;
+    private boolean holding;
+
+    /**
+     * Construct a handler for one partition of a group, partitioning by the hash code of the keys.
+     *
+     * @param dataProvider the events are read from, the same as that of the processor.
+     * @param keyExtractor to get the key of each event.
+     * @param partition of the events passed on to the delegate, from 0.
+     * @param partitionCount the number of partitions in the group.
+     * @param delegate to pass on the events of the partition to.
+     * @throws IllegalArgumentException if the partition is not between 0 and the partition count.
+     */
+    public PartitionedEventHandler(final DataProvider<T> dataProvider,
+                                   final PartitionKeyExtractor<? super T> keyExtractor,
+                                   final int partition,
+                                   final int partitionCount,
+                                   final EventHandler<? super T> delegate)
+    {
+        this(dataProvider, PartitionedEventHandler.<T>byHashCode(keyExtractor), partition, partitionCount, delegate);
+    }
+
+    /**
+     * Construct a handler for one partition of a group.
+     *
+     * @param dataProvider the events are read from, the same as that of the processor.
+     * @param keyExtractor to get the primitive key of each event.
+     * @param partition of the events passed on to the delegate, from 0.
+     * @param partitionCount the number of partitions in the group.
+     * @param delegate to pass on the events of the partition to.
+     * @throws IllegalArgumentException if the partition is not between 0 and the partition count.
+     */
+    public PartitionedEventHandler(final DataProvider<T> dataProvider,
+                                   final LongPartitionKeyExtractor<? super T> keyExtractor,
+                                   final int partition,
+                                   final int partitionCount,
+                                   final EventHandler<? super T> delegate)
+    {
+        if (partition < 0 || partition >= partitionCount)
+        {
+            throw new IllegalArgumentException("partition must be at least 0 and less than " + partitionCount);
+        }
+
+        this.dataProvider = dataProvider;
+        this.keyExtractor = keyExtractor;
+        this.partition = partition;
+        this.partitionCount = partitionCount;
+        this.delegate = delegate;
+    }
+
+    /**
+     * Adapt an extractor of object keys to the primitive keys of the group, the key being the hash code of the object.
+     *
+     * @param keyExtractor to get the object key of each event.
+     * @param <T> event implementation storing the data for sharing during exchange or parallel coordination of an event.
+     * @return an extractor of the hash codes of the keys.
+     * @throws NullPointerException if the key extractor is null.
+     */
+    public static <T> LongPartitionKeyExtractor<T> byHashCode(final PartitionKeyExtractor<? super T> keyExtractor)
+    {
+        if (null == keyExtractor)
+        {
+            throw new NullPointerException();
+        }
+
+        return new LongPartitionKeyExtractor<T>()
+        {
+            @Override
+            public long extractKey(final T event)
+            {
+                return keyExtractor.extractKey(event).hashCode();
+            }
+        };
+    }
+
+    /**
+     * Get the partition of a primitive key, spreading the bits of the key so that runs of keys, such as ids, are
+     * divided evenly between the partitions.
+     *
+     * @param key of an event.
+     * @param partitionCount the number of partitions.
+     * @return the partition, from 0 to one less than the partition count.
+     */
+    public static int partitionOf(final long key, final int partitionCount)
+    {
+        final long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) ((hash >>> 32) % partitionCount);
+    }
+
+    /**
+     * Get the partition of an object key, from its hash code.
+     *
+     * @param key of an event.
+     * @param partitionCount the number of partitions.
+     * @return the partition, from 0 to one less than the partition count.
+     */
+    public static int partitionOf(final Object key, final int partitionCount)
+    {
+        return partitionOf(key.hashCode(), partitionCount);
+    }
+
+    @Override
+    public void onEvent(final T event, final long sequence, final boolean endOfBatch) throws Exception
+    {
+        if (partitionOf(keyExtractor.extractKey(event), partitionCount) == partition)
+        {
+            if (endOfBatch)
+            {
+                if (holding)
+                {
+                    release(false);
+                    delegate.onEvent(dataProvider.get(sequence), sequence, true);
+                }
+                else
+                {
+                    delegate.onEvent(event, sequence, true);
+                }
+            }
+            else
+            {
+                if (holding)
+                {
+                    release(false);
+                }
+                heldSequence = sequence;
+                holding = true;
+            }
+        }
+        else if (endOfBatch && holding)
+        {
+            release(true);
+        }
+    }
+
+    private void release(final boolean endOfBatch) throws Exception
+    {
+        holding = false;
+        delegate.onEvent(dataProvider.get(heldSequence), heldSequence, endOfBatch);
+    }
+
+    @Override
+    public void setSequenceCallback(final Sequence sequenceCallback)
+    {
+        if (delegate instanceof SequenceReportingEventHandler)
+        {
+            ((SequenceReportingEventHandler<?>) delegate).setSequenceCallback(sequenceCallback);
+        }
+    }
+
+    @Override
+    public void onBatchStart(final long batchSize, final long queueDepth)
+    {
+        if (delegate instanceof BatchStartAware)
+        {
+            ((BatchStartAware) delegate).onBatchStart(batchSize, queueDepth);
+        }
+    }
+
+    @Override
+    public void onTimeout(final long sequence) throws Exception
+    {
+        if (delegate instanceof TimeoutHandler)
+        {
+            ((TimeoutHandler) delegate).onTimeout(sequence);
+        }
+    }
+
+    @Override
+    public void onStart()
+    {
+        if (delegate instanceof LifecycleAware)
+        {
+            ((LifecycleAware) delegate).onStart();
+        }
+    }
+
+    @Override
+    public void onShutdown()
+    {
+        if (delegate instanceof LifecycleAware)
+        {
+            ((LifecycleAware) delegate).onShutdown();
+        }
+    }
+}
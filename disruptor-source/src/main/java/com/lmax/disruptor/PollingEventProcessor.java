@@ -0,0 +1,253 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.lmax.disruptor.EventPoller.PollState;
+
+/**
+ * <p>An {@link EventProcessor} that delivers events to an {@link EventHandler} by polling an {@link EventPoller}
+ * rather than waiting on a {@link SequenceBarrier}, so that it never blocks.  Run by a {@link CooperativeScheduler}
+ * it shares a thread with other polling processors, run by any other {@link java.util.concurrent.Executor} it has
+ * a thread of its own, backing off while there are no events.</p>
+ *
+ * <p>Each poll hands the handler at most the maximum batch size of events, ending the batch early if necessary,
+ * so that a busy processor cannot starve the others sharing its thread.</p>
+ *
+ * If the {@link EventHandler} also implements {@link LifecycleAware} it will be notified on the thread running the
+ * processor just after it is started and just before it is shutdown.  If it implements {@link BatchStartAware} it
+ * will be notified before each batch of events.
+ *
+ * @param <T> event implementation storing the data for sharing during exchange or parallel coordination of an event.
+ */
+public final class PollingEventProcessor<T>
+    implements EventProcessor
+{
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private ExceptionHandler<? super T> exceptionHandler = new FatalExceptionHandler();
+    private final EventPoller<T> poller;
+    private final SequenceBarrier sequenceBarrier;
+    private final EventHandler<? super T> eventHandler;
+    private final BatchLimitingHandler batchHandler;
+
+    /**
+     * Construct a processor polling a ring buffer for the events the supplied sequences have processed.
+     *
+     * @param ringBuffer to which events are published.
+     * @param eventHandler is the delegate to which events are dispatched.
+     * @param sequencesToTrack the sequences the processor depends on, the cursor if none are supplied.
+     */
+    public PollingEventProcessor(final RingBuffer<T> ringBuffer,
+                                 final EventHandler<? super T> eventHandler,
+                                 final Sequence... sequencesToTrack)
+    {
+        this.poller = ringBuffer.newPoller(sequencesToTrack);
+        this.sequenceBarrier = ringBuffer.newBarrier(sequencesToTrack);
+        this.eventHandler = eventHandler;
+        this.batchHandler = new BatchLimitingHandler();
+
+        if (eventHandler instanceof SequenceReportingEventHandler)
+        {
+            ((SequenceReportingEventHandler<?>)eventHandler).setSequenceCallback(poller.getSequence());
+        }
+    }
+
+    @Override
+    public Sequence getSequence()
+    {
+        return poller.getSequence();
+    }
+
+    /**
+     * Stop polling after the current batch.
+     */
+    @Override
+    public void halt()
+    {
+        running.set(false);
+    }
+
+    @Override
+    public boolean isRunning()
+    {
+        return running.get();
+    }
+
+    /**
+     * Set a new {@link ExceptionHandler} for handling exceptions propagated out of the {@link EventHandler}.
+     *
+     * @param exceptionHandler to replace the existing exceptionHandler.
+     */
+    public void setExceptionHandler(final ExceptionHandler<? super T> exceptionHandler)
+    {
+        if (null == exceptionHandler)
+        {
+            throw new NullPointerException();
+        }
+
+        this.exceptionHandler = exceptionHandler;
+    }
+
+    /**
+     * Limit the number of events handled by each poll, by default 1024.  Must be called before the processor is
+     * started.
+     *
+     * @param maxBatchSize the maximum number of events in a batch.
+     * @throws IllegalArgumentException if maxBatchSize is less than 1.
+     */
+    public void setMaxBatchSize(final int maxBatchSize)
+    {
+        if (maxBatchSize < 1)
+        {
+            throw new IllegalArgumentException("maxBatchSize must be at least 1");
+        }
+
+        batchHandler.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Poll for events once, handling up to the maximum batch size of them.  An exception thrown by the handler is
+     * passed to the exception handler and the event skipped.
+     *
+     * @return {@link PollState#PROCESSING} if any events were handled, otherwise whether the processor is gated by
+     * the sequences it depends on or there are no events published.
+     */
+    public PollState poll()
+    {
+        try
+        {
+            final PollState state = poller.poll(batchHandler);
+            if (state == PollState.PROCESSING)
+            {
+                sequenceBarrier.signalProducers();
+            }
+            return state;
+        }
+        catch (final Throwable ex)
+        {
+            final long failedSequence = batchHandler.sequence;
+            exceptionHandler.handleEventException(ex, failedSequence, batchHandler.event);
+            poller.getSequence().set(failedSequence);
+            sequenceBarrier.signalProducers();
+            return PollState.PROCESSING;
+        }
+    }
+
+    /**
+     * Poll on the calling thread until halted, backing off while there are no events.
+     *
+     * It is ok to have another thread rerun this method after a halt().
+     *
+     * @throws IllegalStateException if this object instance is already running in a thread
+     */
+    @Override
+    public void run()
+    {
+        start();
+        notifyStart();
+        try
+        {
+            int idleCount = 0;
+            while (running.get())
+            {
+                idleCount = poll() == PollState.PROCESSING ? 0 : CooperativeScheduler.backOff(idleCount);
+            }
+        }
+        finally
+        {
+            notifyShutdown();
+            running.set(false);
+        }
+    }
+
+    void start()
+    {
+        if (!running.compareAndSet(false, true))
+        {
+            throw new IllegalStateException("Thread is already running");
+        }
+    }
+
+    /**
+     * Notifies the EventHandler when this processor is starting up
+     */
+    void notifyStart()
+    {
+        if (eventHandler instanceof LifecycleAware)
+        {
+            try
+            {
+                ((LifecycleAware)eventHandler).onStart();
+            }
+            catch (final Throwable ex)
+            {
+                exceptionHandler.handleOnStartException(ex);
+            }
+        }
+    }
+
+    /**
+     * Notifies the EventHandler immediately prior to this processor shutting down
+     */
+    void notifyShutdown()
+    {
+        if (eventHandler instanceof LifecycleAware)
+        {
+            try
+            {
+                ((LifecycleAware)eventHandler).onShutdown();
+            }
+            catch (final Throwable ex)
+            {
+                exceptionHandler.handleOnShutdownException(ex);
+            }
+        }
+    }
+
+    /**
+     * Passes events to the handler, ending the batch once the maximum batch size has been handled and remembering
+     * the event being handled in case the handler throws.
+     */
+    private final class BatchLimitingHandler implements EventPoller.Handler<T>, BatchStartAware
+    {
+        private int maxBatchSize = 1024;
+        private int remaining;
+        private long sequence;
+        private T event;
+
+        @Override
+        public void onBatchStart(final long batchSize, final long queueDepth)
+        {
+            remaining = maxBatchSize;
+            if (eventHandler instanceof BatchStartAware)
+            {
+                ((BatchStartAware)eventHandler).onBatchStart(Math.min(batchSize, maxBatchSize), queueDepth);
+            }
+        }
+
+        @Override
+        public boolean onEvent(final T event, final long sequence, final boolean endOfBatch) throws Exception
+        {
+            this.sequence = sequence;
+            this.event = event;
+
+            final boolean more = --remaining > 0;
+            eventHandler.onEvent(event, sequence, endOfBatch || !more);
+            return more;
+        }
+    }
+}
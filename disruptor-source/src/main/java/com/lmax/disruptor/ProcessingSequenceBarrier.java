@@ -23,6 +23,7 @@ package com.lmax.disruptor;
 final class ProcessingSequenceBarrier implements SequenceBarrier
 {
     private final WaitStrategy waitStrategy;
+    private final ProducerWaitStrategy producerWaitStrategy;
     private final Sequence dependentSequence;
     private volatile boolean alerted = false;
     private final Sequence cursorSequence;
@@ -30,11 +31,13 @@ final class ProcessingSequenceBarrier implements SequenceBarrier
 
     public ProcessingSequenceBarrier(final Sequencer sequencer,
                                      final WaitStrategy waitStrategy,
+                                     final ProducerWaitStrategy producerWaitStrategy,
                                      final Sequence cursorSequence,
                                      final Sequence[] dependentSequences)
     {
         this.sequencer = sequencer;
         this.waitStrategy = waitStrategy;
+        this.producerWaitStrategy = producerWaitStrategy;
         this.cursorSequence = cursorSequence;
         if (0 == dependentSequences.length)
         {
@@ -95,4 +98,10 @@ final class ProcessingSequenceBarrier implements SequenceBarrier
             throw AlertException.INSTANCE;
         }
     }
+
+    @Override
+    public void signalProducers()
+    {
+        producerWaitStrategy.signalAllWhenBlocking();
+    }
 }
\ No newline at end of file
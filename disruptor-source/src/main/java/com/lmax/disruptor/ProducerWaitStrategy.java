@@ -0,0 +1,49 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+
+/**
+ * Strategy employed by publishers waiting for capacity when a {@link Sequencer}, or any other {@link Gated} ring, is full,
+ * i.e. waiting for the gating sequences to move past the slot being claimed.
+ */
+public interface ProducerWaitStrategy
+{
+    /**
+     * Wait for the minimum gating sequence to reach the given wrap point.
+     *
+     * @param wrapPoint the sequence the slowest gating sequence must reach before the claim can proceed.
+     * @param gated whose gating sequences are waited on, see {@link Gated#getMinimumSequence()}.
+     * @return the minimum gating sequence observed, which will be at least the wrap point.
+     */
+    long waitFor(long wrapPoint, Gated gated);
+
+    /**
+     * Wait for the minimum gating sequence to reach the given wrap point, giving up
+     * once the timeout has elapsed.
+     *
+     * @param wrapPoint the sequence the slowest gating sequence must reach before the claim can proceed.
+     * @param gated whose gating sequences are waited on, see {@link Gated#getMinimumSequence()}.
+     * @param timeoutNanos the maximum time to wait in nanoseconds.
+     * @return the minimum gating sequence observed, which will be less than the wrap point if the wait timed out.
+     */
+    long waitFor(long wrapPoint, Gated gated, long timeoutNanos);
+
+    /**
+     * Implementations should signal the waiting publishers that a gating sequence has advanced.
+     */
+    void signalAllWhenBlocking();
+}
@@ -0,0 +1,799 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+import sun.misc.Unsafe;
+
+import com.lmax.disruptor.dsl.ProducerType;
+import com.lmax.disruptor.util.Util;
+
+/**
+ * <p>Ring buffer of variable length binary records held in a single block of native memory.  Rather than a fixed
+ * number of equally sized slots the ring is a number of bytes, and each record takes only the space of its
+ * {@link #HEADER_LENGTH} byte header, holding its length and type, and its payload, rounded up to
+ * {@link #RECORD_ALIGNMENT}.  Small and large messages can be carried by one ring without sizing every entry for
+ * the largest.</p>
+ *
+ * <p>Publishers {@link #claim(int, int) claim} space for a record by its length, write the payload in place through
+ * the returned {@link Record} flyweight and then {@link #publish(Record) publish} it.  A record that does not fit
+ * before the end of the ring is preceded by a padding record, skipped by consumers, so that every record is
+ * contiguous.  With multiple producers, records are published in the order they were claimed.</p>
+ *
+ * <p>Progress through the ring is tracked with {@link Sequence}s holding byte positions: the cursor is the end of
+ * the last record published, and the sequence of each consumer the end of the last record it has processed.
+ * Consumers are run by a {@link RecordProcessor}, which waits on the cursor with any {@link WaitStrategy} and
+ * reads each record in place.  As for a {@link RingBuffer}, the sequences of the last consumers must be added as
+ * gating sequences so that publishers do not overwrite records they have not processed.  A publisher waits for
+ * them to make space with a {@link ProducerWaitStrategy}, as with a {@link Sequencer}.</p>
+ *
+ * <p>The memory is not released by the garbage collector, call {@link #close()} once all of the publishers and
+ * processors using the ring have stopped.</p>
+ */
+public final class RecordRingBuffer implements Cursored, Gated
+{
+    /** The number of bytes before the payload of each record, holding its length and type. */
+    public static final int HEADER_LENGTH = 8;
+    /** The number of bytes that the space taken by each record is rounded up to. */
+    public static final int RECORD_ALIGNMENT = 8;
+    /** The largest capacity that can be allocated. */
+    public static final int MAX_CAPACITY = 1 << 30;
+
+    private static final int PADDING_TYPE = -1;
+    private static final int TYPE_OFFSET = 4;
+
+    private static final Unsafe UNSAFE = Util.getUnsafe();
+    private static final long BYTE_ARRAY_BASE = UNSAFE.arrayBaseOffset(byte[].class);
+    private static final AtomicReferenceFieldUpdater<RecordRingBuffer, Sequence[]> SEQUENCE_UPDATER =
+        AtomicReferenceFieldUpdater.newUpdater(RecordRingBuffer.class, Sequence[].class, "gatingSequences");
+
+    private final int capacity;
+    private final long mask;
+    private final boolean multiProducer;
+    private final WaitStrategy waitStrategy;
+    private final ProducerWaitStrategy producerWaitStrategy;
+    private final long allocatedAddress;
+    private final long baseAddress;
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+
+    private final Sequence cursor = new Sequence(0L);
+    private final Sequence claimSequence = new Sequence(0L);
+    private final Sequence gatingSequenceCache = new Sequence(0L);
+    private final ThreadLocal<Record> claims = new ThreadLocal<Record>()
+    {
+        @Override
+        protected Record initialValue()
+        {
+            return new Record();
+        }
+    };
+    private volatile Sequence[] gatingSequences = new Sequence[0];
+
+    /**
+     * Construct a ring buffer of <code>capacity</code> bytes.
+     *
+     * @param producerType either {@link ProducerType#SINGLE} or {@link ProducerType#MULTI}.
+     * @param capacity the number of bytes in the ring buffer, a power of 2 of at least {@link #HEADER_LENGTH}.
+     * @param waitStrategy used by consumers to wait for new records to become available.
+     * @throws IllegalArgumentException if the producer type is not supported or the capacity is not a power of 2
+     * between {@link #HEADER_LENGTH} and {@link #MAX_CAPACITY}.
+     */
+    public RecordRingBuffer(final ProducerType producerType, final int capacity, final WaitStrategy waitStrategy)
+    {
+        this(producerType, capacity, waitStrategy, new SleepingProducerWaitStrategy());
+    }
+
+    /**
+     * Construct a ring buffer of <code>capacity</code> bytes.
+     *
+     * @param producerType either {@link ProducerType#SINGLE} or {@link ProducerType#MULTI}.
+     * @param capacity the number of bytes in the ring buffer, a power of 2 of at least {@link #HEADER_LENGTH}.
+     * @param waitStrategy used by consumers to wait for new records to become available.
+     * @param producerWaitStrategy used by publishers to wait for consumers when the ring buffer is full.
+     * @throws IllegalArgumentException if the producer type is not supported or the capacity is not a power of 2
+     * between {@link #HEADER_LENGTH} and {@link #MAX_CAPACITY}.
+     */
+    public RecordRingBuffer(final ProducerType producerType,
+                            final int capacity,
+                            final WaitStrategy waitStrategy,
+                            final ProducerWaitStrategy producerWaitStrategy)
+    {
+        if (ProducerType.SINGLE != producerType && ProducerType.MULTI != producerType)
+        {
+            throw new IllegalArgumentException("Unsupported producer type: " + producerType);
+        }
+        if (capacity < HEADER_LENGTH || capacity > MAX_CAPACITY || Integer.bitCount(capacity) != 1)
+        {
+            throw new IllegalArgumentException("capacity must be a power of 2 between " + HEADER_LENGTH +
+                                               " and " + MAX_CAPACITY);
+        }
+
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.multiProducer = ProducerType.MULTI == producerType;
+        this.waitStrategy = waitStrategy;
+        this.producerWaitStrategy = producerWaitStrategy;
+
+        this.allocatedAddress = UNSAFE.allocateMemory(capacity + OffHeapRingBuffer.CACHE_LINE_SIZE);
+        this.baseAddress = (allocatedAddress + OffHeapRingBuffer.CACHE_LINE_SIZE - 1) & -OffHeapRingBuffer.CACHE_LINE_SIZE;
+        UNSAFE.setMemory(baseAddress, capacity, (byte) 0);
+    }
+
+    /**
+     * The number of bytes in the ring buffer.
+     *
+     * @return the capacity in bytes.
+     */
+    public int getCapacity()
+    {
+        return capacity;
+    }
+
+    /**
+     * The largest payload that a single record can carry.
+     *
+     * @return the maximum record length in bytes.
+     */
+    public int getMaxRecordLength()
+    {
+        return capacity - HEADER_LENGTH;
+    }
+
+    /**
+     * Get the position of the end of the last record published.
+     *
+     * @return the cursor byte position.
+     */
+    @Override
+    public long getCursor()
+    {
+        return cursor.get();
+    }
+
+    /**
+     * Get the minimum byte position of the gating sequences.
+     *
+     * @return The minimum gating sequence or the end of the last record claimed if
+     * no sequences have been added.
+     */
+    @Override
+    public long getMinimumSequence()
+    {
+        return Util.getMinimumSequence(gatingSequences, claimSequence.get());
+    }
+
+    /**
+     * Get the number of bytes that can be claimed without waiting for consumers.
+     *
+     * @return the number of bytes free.
+     */
+    public long remainingCapacity()
+    {
+        final long produced = claimSequence.get();
+        return capacity - (produced - Util.getMinimumSequence(gatingSequences, produced));
+    }
+
+    /**
+     * Add the specified gating sequences to this ring buffer, positioned at the cursor.
+     *
+     * @param gatingSequences The sequences to add.
+     */
+    public void addGatingSequences(final Sequence... gatingSequences)
+    {
+        SequenceGroups.addSequences(this, SEQUENCE_UPDATER, this, gatingSequences);
+    }
+
+    /**
+     * Remove the specified sequence from this ring buffer.
+     *
+     * @param sequence to be removed.
+     * @return <tt>true</tt> if this sequence was found, <tt>false</tt> otherwise.
+     */
+    public boolean removeGatingSequence(final Sequence sequence)
+    {
+        return SequenceGroups.removeSequence(this, SEQUENCE_UPDATER, sequence);
+    }
+
+    /**
+     * Claim space for a record, waiting for consumers to free enough of the ring if it is full.  The payload
+     * is written through the returned flyweight, which must then be passed to {@link #publish(Record)}.  The
+     * flyweight belongs to the calling thread and is reused by its next claim.
+     *
+     * @param type of the record, which must not be negative.
+     * @param length of the payload in bytes.
+     * @return the calling thread's flyweight, positioned on the claimed record.
+     * @throws IllegalArgumentException if the type is negative or the length is more than
+     * {@link #getMaxRecordLength()}.
+     */
+    public Record claim(final int type, final int length)
+    {
+        checkRecord(type, length);
+        final long position = claim(align(HEADER_LENGTH + length), true);
+        return claims.get().wrap(position, type, length);
+    }
+
+    /**
+     * Attempt to claim space for a record without waiting.
+     *
+     * @param type of the record, which must not be negative.
+     * @param length of the payload in bytes.
+     * @return the calling thread's flyweight, positioned on the claimed record, or null if there was insufficient
+     * capacity.
+     * @throws IllegalArgumentException if the type is negative or the length is more than
+     * {@link #getMaxRecordLength()}.
+     * @see #claim(int, int)
+     */
+    public Record tryClaim(final int type, final int length)
+    {
+        checkRecord(type, length);
+        final long position = claim(align(HEADER_LENGTH + length), false);
+        return -1L == position ? null : claims.get().wrap(position, type, length);
+    }
+
+    /**
+     * Publish a claimed record, making it available to consumers.
+     *
+     * @param record returned by {@link #claim(int, int)} or {@link #tryClaim(int, int)}.
+     */
+    public void publish(final Record record)
+    {
+        final long address = record.address - HEADER_LENGTH;
+        UNSAFE.putInt(address, record.length);
+        UNSAFE.putInt(address + TYPE_OFFSET, record.type);
+        publish(record.position, record.position + align(HEADER_LENGTH + record.length));
+    }
+
+    /**
+     * Copy a payload into a new record and publish it, waiting for capacity if the ring buffer is full.
+     *
+     * @param type of the record, which must not be negative.
+     * @param src the array holding the payload.
+     * @param off the index in the array of the first byte.
+     * @param len the number of bytes in the payload.
+     */
+    public void write(final int type, final byte[] src, final int off, final int len)
+    {
+        final Record record = claim(type, len);
+        record.putBytes(0, src, off, len);
+        publish(record);
+    }
+
+    /**
+     * Attempt to copy a payload into a new record and publish it without waiting.
+     *
+     * @param type of the record, which must not be negative.
+     * @param src the array holding the payload.
+     * @param off the index in the array of the first byte.
+     * @param len the number of bytes in the payload.
+     * @return true if the record was published, false if there was insufficient capacity.
+     */
+    public boolean tryWrite(final int type, final byte[] src, final int off, final int len)
+    {
+        final Record record = tryClaim(type, len);
+        if (null == record)
+        {
+            return false;
+        }
+
+        record.putBytes(0, src, off, len);
+        publish(record);
+        return true;
+    }
+
+    /**
+     * Create a processor that passes each record to the handler, gated on the cursor and the supplied sequences.
+     * The processor's sequence must be added as a gating sequence before publishing.
+     *
+     * @param handler to receive the records.
+     * @param sequencesToTrack the sequences of processors that must process each record first.
+     * @return the record processor.
+     */
+    public RecordProcessor createProcessor(final RecordHandler handler, final Sequence... sequencesToTrack)
+    {
+        return new RecordProcessor(handler, sequencesToTrack);
+    }
+
+    /**
+     * Release the native memory held by the ring buffer.  Must only be called once nothing is publishing to or
+     * consuming from the ring buffer.  Calls after the first have no effect.
+     */
+    public void close()
+    {
+        if (closed.compareAndSet(false, true))
+        {
+            UNSAFE.freeMemory(allocatedAddress);
+        }
+    }
+
+    private void checkRecord(final int type, final int length)
+    {
+        if (type < 0)
+        {
+            throw new IllegalArgumentException("type must not be negative");
+        }
+        if (length < 0 || length > capacity - HEADER_LENGTH)
+        {
+            throw new IllegalArgumentException("length must be between 0 and " + (capacity - HEADER_LENGTH));
+        }
+    }
+
+    private long claim(final int recordLength, final boolean wait)
+    {
+        while (true)
+        {
+            final long current = claimSequence.get();
+            final int toEnd = capacity - (int) (current & mask);
+            // a record that would run past the end of the ring is moved to the start, after a padding record
+            final boolean padding = recordLength > toEnd;
+            final long next = current + (padding ? toEnd : recordLength);
+            final long wrapPoint = next - capacity;
+
+            if (wrapPoint > gatingSequenceCache.get())
+            {
+                final long minSequence = Util.getMinimumSequence(gatingSequences, current);
+                if (wrapPoint > minSequence)
+                {
+                    if (!wait)
+                    {
+                        return -1L;
+                    }
+                    producerWaitStrategy.waitFor(wrapPoint, this);
+                    continue;
+                }
+                gatingSequenceCache.set(minSequence);
+            }
+
+            if (multiProducer)
+            {
+                if (!claimSequence.compareAndSet(current, next))
+                {
+                    continue;
+                }
+            }
+            else
+            {
+                claimSequence.set(next);
+            }
+
+            if (!padding)
+            {
+                return current;
+            }
+
+            final long address = baseAddress + (current & mask);
+            UNSAFE.putInt(address, toEnd - HEADER_LENGTH);
+            UNSAFE.putInt(address + TYPE_OFFSET, PADDING_TYPE);
+            publish(current, next);
+        }
+    }
+
+    private void publish(final long position, final long end)
+    {
+        if (multiProducer)
+        {
+            // records are published in the order they were claimed
+            while (cursor.get() != position)
+            {
+                Thread.yield();
+            }
+        }
+        cursor.set(end);
+        waitStrategy.signalAllWhenBlocking();
+    }
+
+    private static int align(final int length)
+    {
+        return (length + RECORD_ALIGNMENT - 1) & -RECORD_ALIGNMENT;
+    }
+
+    /**
+     * Callback interface to be implemented for processing the records of a {@link RecordRingBuffer}.
+     */
+    public interface RecordHandler
+    {
+        /**
+         * Called when a publisher has published a record to the ring buffer.  The record is read in place, and is
+         * only valid until this method returns.
+         *
+         * @param record published to the ring buffer.
+         * @param endOfBatch flag to indicate if this is the last record in a batch from the ring buffer.
+         * @throws Exception if the handler wants the exception handled further up the chain.
+         */
+        void onRecord(Record record, boolean endOfBatch) throws Exception;
+    }
+
+    /**
+     * <p>Flyweight over a single record of a {@link RecordRingBuffer}.  Values are read and written in place at a
+     * byte offset from the start of the payload, in the native byte order, and every access is checked against
+     * the length of the record.</p>
+     *
+     * <p>Reads and writes are plain, the payload is made visible to consumers by publishing the record.</p>
+     */
+    public final class Record
+    {
+        private long position;
+        private long address;
+        private int length;
+        private int type;
+
+        Record()
+        {
+        }
+
+        Record wrap(final long position, final int type, final int length)
+        {
+            this.position = position;
+            this.address = baseAddress + (position & mask) + HEADER_LENGTH;
+            this.type = type;
+            this.length = length;
+            return this;
+        }
+
+        /**
+         * The byte position of the record in the ring buffer.
+         *
+         * @return the position of the start of the record's header.
+         */
+        public long getPosition()
+        {
+            return position;
+        }
+
+        public int getType()
+        {
+            return type;
+        }
+
+        /**
+         * The number of bytes in the payload.
+         *
+         * @return the length of the record.
+         */
+        public int getLength()
+        {
+            return length;
+        }
+
+        /**
+         * The native address of the start of the payload, for passing to code that works with raw memory.
+         *
+         * @return the address of the first byte of the payload.
+         */
+        public long getAddress()
+        {
+            return address;
+        }
+
+        public byte getByte(final int offset)
+        {
+            return UNSAFE.getByte(addressOf(offset, 1));
+        }
+
+        public void putByte(final int offset, final byte value)
+        {
+            UNSAFE.putByte(addressOf(offset, 1), value);
+        }
+
+        public short getShort(final int offset)
+        {
+            return UNSAFE.getShort(addressOf(offset, 2));
+        }
+
+        public void putShort(final int offset, final short value)
+        {
+            UNSAFE.putShort(addressOf(offset, 2), value);
+        }
+
+        public int getInt(final int offset)
+        {
+            return UNSAFE.getInt(addressOf(offset, 4));
+        }
+
+        public void putInt(final int offset, final int value)
+        {
+            UNSAFE.putInt(addressOf(offset, 4), value);
+        }
+
+        public long getLong(final int offset)
+        {
+            return UNSAFE.getLong(addressOf(offset, 8));
+        }
+
+        public void putLong(final int offset, final long value)
+        {
+            UNSAFE.putLong(addressOf(offset, 8), value);
+        }
+
+        public double getDouble(final int offset)
+        {
+            return UNSAFE.getDouble(addressOf(offset, 8));
+        }
+
+        public void putDouble(final int offset, final double value)
+        {
+            UNSAFE.putDouble(addressOf(offset, 8), value);
+        }
+
+        /**
+         * Copy bytes out of the record.
+         *
+         * @param offset in the payload of the first byte to copy.
+         * @param dst the array to copy into.
+         * @param dstOffset in the array of the first byte to write.
+         * @param length the number of bytes to copy.
+         */
+        public void getBytes(final int offset, final byte[] dst, final int dstOffset, final int length)
+        {
+            final long from = addressOf(offset, length);
+            checkArray(dst, dstOffset, length);
+            UNSAFE.copyMemory(null, from, dst, BYTE_ARRAY_BASE + dstOffset, length);
+        }
+
+        /**
+         * Copy bytes into the record.
+         *
+         * @param offset in the payload of the first byte to write.
+         * @param src the array to copy from.
+         * @param srcOffset in the array of the first byte to copy.
+         * @param length the number of bytes to copy.
+         */
+        public void putBytes(final int offset, final byte[] src, final int srcOffset, final int length)
+        {
+            final long to = addressOf(offset, length);
+            checkArray(src, srcOffset, length);
+            UNSAFE.copyMemory(src, BYTE_ARRAY_BASE + srcOffset, null, to, length);
+        }
+
+        private long addressOf(final int offset, final int size)
+        {
+            if (offset < 0 || size < 0 || offset > length - size)
+            {
+                throw new IndexOutOfBoundsException("offset: " + offset + ", length: " + size + ", record length: " + length);
+            }
+            return address + offset;
+        }
+
+        private void checkArray(final byte[] array, final int offset, final int size)
+        {
+            if (offset < 0 || offset > array.length - size)
+            {
+                throw new IndexOutOfBoundsException("offset: " + offset + ", length: " + size + ", array length: " + array.length);
+            }
+        }
+    }
+
+    /**
+     * {@link EventProcessor} passing the records of a {@link RecordRingBuffer} to a {@link RecordHandler}, in
+     * batches of everything published since the last batch.  The sequence of the processor is the byte position
+     * of the end of the last record processed.
+     */
+    public final class RecordProcessor implements EventProcessor
+    {
+        private final AtomicBoolean running = new AtomicBoolean(false);
+        private final Sequence sequence = new Sequence(0L);
+        private final Record record = new Record();
+        private final RecordHandler handler;
+        private final Sequence dependentSequence;
+        private final Barrier barrier = new Barrier();
+        private ExceptionHandler<? super Record> exceptionHandler = new FatalExceptionHandler();
+
+        RecordProcessor(final RecordHandler handler, final Sequence[] sequencesToTrack)
+        {
+            this.handler = handler;
+            this.dependentSequence = 0 == sequencesToTrack.length ? cursor : new FixedSequenceGroup(sequencesToTrack);
+        }
+
+        @Override
+        public Sequence getSequence()
+        {
+            return sequence;
+        }
+
+        @Override
+        public void halt()
+        {
+            running.set(false);
+            barrier.alert();
+        }
+
+        @Override
+        public boolean isRunning()
+        {
+            return running.get();
+        }
+
+        /**
+         * Set a new {@link ExceptionHandler} for handling exceptions propagated out of the {@link RecordHandler}.
+         *
+         * @param exceptionHandler to replace the existing exceptionHandler.
+         */
+        public void setExceptionHandler(final ExceptionHandler<? super Record> exceptionHandler)
+        {
+            if (null == exceptionHandler)
+            {
+                throw new NullPointerException();
+            }
+
+            this.exceptionHandler = exceptionHandler;
+        }
+
+        /**
+         * It is ok to have another thread rerun this method after a halt().
+         *
+         * @throws IllegalStateException if this object instance is already running in a thread
+         */
+        @Override
+        public void run()
+        {
+            if (!running.compareAndSet(false, true))
+            {
+                throw new IllegalStateException("Thread is already running");
+            }
+            barrier.clearAlert();
+
+            notifyStart();
+
+            long position = sequence.get();
+            long end = position;
+            try
+            {
+                while (true)
+                {
+                    try
+                    {
+                        final long available = barrier.waitFor(position + 1L);
+
+                        while (position < available)
+                        {
+                            final long address = baseAddress + (position & mask);
+                            final int length = UNSAFE.getInt(address);
+                            final int type = UNSAFE.getInt(address + TYPE_OFFSET);
+                            end = position + align(HEADER_LENGTH + length);
+
+                            if (PADDING_TYPE != type)
+                            {
+                                handler.onRecord(record.wrap(position, type, length), isEndOfBatch(end, available));
+                            }
+                            position = end;
+                        }
+
+                        sequence.set(position);
+                        barrier.signalProducers();
+                    }
+                    catch (final TimeoutException e)
+                    {
+                        // no timeout handler, wait again
+                    }
+                    catch (final AlertException ex)
+                    {
+                        if (!running.get())
+                        {
+                            break;
+                        }
+                    }
+                    catch (final Throwable ex)
+                    {
+                        exceptionHandler.handleEventException(ex, position, record);
+                        sequence.set(end);
+                        barrier.signalProducers();
+                        position = end;
+                    }
+                }
+            }
+            finally
+            {
+                notifyShutdown();
+                running.set(false);
+            }
+        }
+
+        private boolean isEndOfBatch(final long end, final long available)
+        {
+            if (end == available)
+            {
+                return true;
+            }
+
+            final long address = baseAddress + (end & mask);
+            return PADDING_TYPE == UNSAFE.getInt(address + TYPE_OFFSET) &&
+                end + HEADER_LENGTH + UNSAFE.getInt(address) == available;
+        }
+
+        private void notifyStart()
+        {
+            if (handler instanceof LifecycleAware)
+            {
+                try
+                {
+                    ((LifecycleAware) handler).onStart();
+                }
+                catch (final Throwable ex)
+                {
+                    exceptionHandler.handleOnStartException(ex);
+                }
+            }
+        }
+
+        private void notifyShutdown()
+        {
+            if (handler instanceof LifecycleAware)
+            {
+                try
+                {
+                    ((LifecycleAware) handler).onShutdown();
+                }
+                catch (final Throwable ex)
+                {
+                    exceptionHandler.handleOnShutdownException(ex);
+                }
+            }
+        }
+
+        private final class Barrier implements SequenceBarrier
+        {
+            private volatile boolean alerted = false;
+
+            @Override
+            public long waitFor(final long position) throws AlertException, InterruptedException, TimeoutException
+            {
+                checkAlert();
+                return waitStrategy.waitFor(position, cursor, dependentSequence, this);
+            }
+
+            @Override
+            public long getCursor()
+            {
+                return dependentSequence.get();
+            }
+
+            @Override
+            public boolean isAlerted()
+            {
+                return alerted;
+            }
+
+            @Override
+            public void alert()
+            {
+                alerted = true;
+                waitStrategy.signalAllWhenBlocking();
+            }
+
+            @Override
+            public void clearAlert()
+            {
+                alerted = false;
+            }
+
+            @Override
+            public void checkAlert() throws AlertException
+            {
+                if (alerted)
+                {
+                    throw AlertException.INSTANCE;
+                }
+            }
+
+            @Override
+            public void signalProducers()
+            {
+                producerWaitStrategy.signalAllWhenBlocking();
+            }
+        }
+    }
+}
@@ -16,17 +16,21 @@
 package com.lmax.disruptor;
 
 
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+
 import sun.misc.Unsafe;
 
 import com.lmax.disruptor.dsl.ProducerType;
 import com.lmax.disruptor.util.Util;
 
-abstract class RingBufferPad
+abstract class RingBufferPad<E> extends AbstractEventSink<E>
 {
     protected long p1, p2, p3, p4, p5, p6, p7;
 }
 
-abstract class RingBufferFields<E> extends RingBufferPad
+abstract class RingBufferFields<E> extends RingBufferPad<E>
 {
     private static final int BUFFER_PAD;
     private static final long REF_ARRAY_BASE;
@@ -52,13 +56,16 @@ abstract class RingBufferFields<E> extends RingBufferPad
         REF_ARRAY_BASE = UNSAFE.arrayBaseOffset(Object[].class) + (BUFFER_PAD << REF_ELEMENT_SHIFT);
     }
 
+    private static final int PARALLEL_FILL_THRESHOLD = 1 << 14;
+
     private final long indexMask;
     private final Object[] entries;
     protected final int bufferSize;
     protected final Sequencer sequencer;
 
     RingBufferFields(EventFactory<E> eventFactory,
-                     Sequencer       sequencer)
+                     Sequencer       sequencer,
+                     FillMode        fillMode)
     {
         this.sequencer  = sequencer;
         this.bufferSize = sequencer.getBufferSize();
@@ -74,14 +81,28 @@ abstract class RingBufferFields<E> extends RingBufferPad
 
         this.indexMask = bufferSize - 1;
         this.entries   = new Object[sequencer.getBufferSize() + 2 * BUFFER_PAD];
-        fill(eventFactory);
+
+        switch (fillMode)
+        {
+        case SERIAL:
+            fill(entries, eventFactory, BUFFER_PAD, BUFFER_PAD + bufferSize);
+            break;
+        case PARALLEL:
+            ForkJoinPool.commonPool().invoke(new FillTask(entries, eventFactory, BUFFER_PAD, BUFFER_PAD + bufferSize));
+            break;
+        case LAZY:
+            // filled as each slot is first accessed, see LazyRingBuffer
+            break;
+        default:
+            throw new IllegalStateException(fillMode.toString());
+        }
     }
 
-    private void fill(EventFactory<E> eventFactory)
+    private static void fill(Object[] entries, EventFactory<?> eventFactory, int from, int to)
     {
-        for (int i = 0; i < bufferSize; i++)
+        for (int i = from; i < to; i++)
         {
-            entries[BUFFER_PAD + i] = eventFactory.newInstance();
+            entries[i] = eventFactory.newInstance();
         }
     }
 
@@ -90,19 +111,86 @@ abstract class RingBufferFields<E> extends RingBufferPad
     {
         return (E) UNSAFE.getObject(entries, REF_ARRAY_BASE + ((sequence & indexMask) << REF_ELEMENT_SHIFT));
     }
+
+    /**
+     * Get the element for a sequence, creating it with the event factory if its slot is still empty.  Used only by
+     * the {@link LazyRingBuffer}, so that the other ring buffers read their slots without a null check.
+     */
+    @SuppressWarnings("unchecked")
+    protected final E lazyElementAt(long sequence, EventFactory<E> eventFactory)
+    {
+        final long offset = REF_ARRAY_BASE + ((sequence & indexMask) << REF_ELEMENT_SHIFT);
+        final Object entry = UNSAFE.getObject(entries, offset);
+        if (null != entry)
+        {
+            return (E) entry;
+        }
+
+        final Object created = eventFactory.newInstance();
+        if (UNSAFE.compareAndSwapObject(entries, offset, null, created))
+        {
+            return (E) created;
+        }
+        return (E) UNSAFE.getObjectVolatile(entries, offset);
+    }
+
+    private static final class FillTask extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+
+        private final Object[] entries;
+        private final EventFactory<?> eventFactory;
+        private final int from;
+        private final int to;
+
+        FillTask(Object[] entries, EventFactory<?> eventFactory, int from, int to)
+        {
+            this.entries = entries;
+            this.eventFactory = eventFactory;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if (to - from <= PARALLEL_FILL_THRESHOLD)
+            {
+                fill(entries, eventFactory, from, to);
+            }
+            else
+            {
+                final int middle = (from + to) >>> 1;
+                invokeAll(new FillTask(entries, eventFactory, from, middle),
+                          new FillTask(entries, eventFactory, middle, to));
+            }
+        }
+    }
 }
 
 /**
  * Ring based store of reusable entries containing the data representing
  * an event being exchanged between event producer and {@link EventProcessor}s.
  *
+ * <p>Not final only so that the {@link LazyRingBuffer} of {@link FillMode#LAZY} can create its events in
+ * {@link #get(long)}, the constructors are package private so it can not be extended outside of the Disruptor.</p>
+ *
  * @param <E> implementation storing the data for sharing during exchange or parallel coordination of an event.
  */
-public final class RingBuffer<E> extends RingBufferFields<E> implements Cursored, EventSequencer<E>, EventSink<E>
+public class RingBuffer<E> extends RingBufferFields<E> implements EventRing<E>
 {
     public static final long INITIAL_CURSOR_VALUE = Sequence.INITIAL_VALUE;
     protected long p1, p2, p3, p4, p5, p6, p7;
 
+    private final ThreadLocal<Claim<E>> claims = new ThreadLocal<Claim<E>>()
+    {
+        @Override
+        protected Claim<E> initialValue()
+        {
+            return new Claim<E>(RingBuffer.this);
+        }
+    };
+
     /**
      * Construct a RingBuffer with the full option set.
      *
@@ -113,7 +201,22 @@ public final class RingBuffer<E> extends RingBufferFields<E> implements Cursored
     RingBuffer(EventFactory<E> eventFactory,
                Sequencer       sequencer)
     {
-        super(eventFactory, sequencer);
+        this(eventFactory, sequencer, FillMode.SERIAL);
+    }
+
+    /**
+     * Construct a RingBuffer with the full option set.
+     *
+     * @param eventFactory to newInstance entries for filling the RingBuffer
+     * @param sequencer sequencer to handle the ordering of events moving through the RingBuffer.
+     * @param fillMode how the entries are created with the event factory.
+     * @throws IllegalArgumentException if bufferSize is less than 1 or not a power of 2
+     */
+    RingBuffer(EventFactory<E> eventFactory,
+               Sequencer       sequencer,
+               FillMode        fillMode)
+    {
+        super(eventFactory, sequencer, fillMode);
     }
 
     /**
@@ -129,7 +232,25 @@ public final class RingBuffer<E> extends RingBufferFields<E> implements Cursored
                                                         int             bufferSize,
                                                         WaitStrategy    waitStrategy)
     {
-        MultiProducerSequencer sequencer = new MultiProducerSequencer(bufferSize, waitStrategy);
+        return createMultiProducer(factory, bufferSize, waitStrategy, new SleepingProducerWaitStrategy());
+    }
+
+    /**
+     * Create a new multiple producer RingBuffer with the specified wait strategies.
+     *
+     * @see MultiProducerSequencer
+     * @param factory used to create the events within the ring buffer.
+     * @param bufferSize number of elements to create within the ring buffer.
+     * @param waitStrategy used to determine how to wait for new elements to become available.
+     * @param producerWaitStrategy used to determine how publishers wait for capacity when the ring buffer is full.
+     * @throws IllegalArgumentException if bufferSize is less than 1 or not a power of 2
+     */
+    public static <E> RingBuffer<E> createMultiProducer(EventFactory<E>      factory,
+                                                        int                  bufferSize,
+                                                        WaitStrategy         waitStrategy,
+                                                        ProducerWaitStrategy producerWaitStrategy)
+    {
+        MultiProducerSequencer sequencer = new MultiProducerSequencer(bufferSize, waitStrategy, producerWaitStrategy);
 
         return new RingBuffer<E>(factory, sequencer);
     }
@@ -147,6 +268,82 @@ public final class RingBuffer<E> extends RingBufferFields<E> implements Cursored
         return createMultiProducer(factory, bufferSize, new BlockingWaitStrategy());
     }
 
+    /**
+     * Create a new multiple producer RingBuffer with the specified wait strategy, claiming
+     * sequences with a fetch-and-add rather than a compare and set retry loop.
+     *
+     * @see FetchAndAddMultiProducerSequencer
+     * @param factory used to create the events within the ring buffer.
+     * @param bufferSize number of elements to create within the ring buffer.
+     * @param waitStrategy used to determine how to wait for new elements to become available.
+     * @throws IllegalArgumentException if bufferSize is less than 1 or not a power of 2
+     */
+    public static <E> RingBuffer<E> createFetchAndAddMultiProducer(EventFactory<E> factory,
+                                                                   int             bufferSize,
+                                                                   WaitStrategy    waitStrategy)
+    {
+        return createFetchAndAddMultiProducer(factory, bufferSize, waitStrategy, new SleepingProducerWaitStrategy());
+    }
+
+    /**
+     * Create a new multiple producer RingBuffer with the specified wait strategies, claiming
+     * sequences with a fetch-and-add rather than a compare and set retry loop.
+     *
+     * @see FetchAndAddMultiProducerSequencer
+     * @param factory used to create the events within the ring buffer.
+     * @param bufferSize number of elements to create within the ring buffer.
+     * @param waitStrategy used to determine how to wait for new elements to become available.
+     * @param producerWaitStrategy used to determine how publishers wait for capacity when the ring buffer is full.
+     * @throws IllegalArgumentException if bufferSize is less than 1 or not a power of 2
+     */
+    public static <E> RingBuffer<E> createFetchAndAddMultiProducer(EventFactory<E>      factory,
+                                                                   int                  bufferSize,
+                                                                   WaitStrategy         waitStrategy,
+                                                                   ProducerWaitStrategy producerWaitStrategy)
+    {
+        FetchAndAddMultiProducerSequencer sequencer = new FetchAndAddMultiProducerSequencer(bufferSize, waitStrategy, producerWaitStrategy);
+
+        return new RingBuffer<E>(factory, sequencer);
+    }
+
+    /**
+     * Create a new multiple producer RingBuffer with the specified wait strategy, tracking
+     * published slots in a bitmap rather than one flag per slot.
+     *
+     * @see BitmapMultiProducerSequencer
+     * @param factory used to create the events within the ring buffer.
+     * @param bufferSize number of elements to create within the ring buffer.
+     * @param waitStrategy used to determine how to wait for new elements to become available.
+     * @throws IllegalArgumentException if bufferSize is less than 1 or not a power of 2
+     */
+    public static <E> RingBuffer<E> createBitmapMultiProducer(EventFactory<E> factory,
+                                                              int             bufferSize,
+                                                              WaitStrategy    waitStrategy)
+    {
+        return createBitmapMultiProducer(factory, bufferSize, waitStrategy, new SleepingProducerWaitStrategy());
+    }
+
+    /**
+     * Create a new multiple producer RingBuffer with the specified wait strategies, tracking
+     * published slots in a bitmap rather than one flag per slot.
+     *
+     * @see BitmapMultiProducerSequencer
+     * @param factory used to create the events within the ring buffer.
+     * @param bufferSize number of elements to create within the ring buffer.
+     * @param waitStrategy used to determine how to wait for new elements to become available.
+     * @param producerWaitStrategy used to determine how publishers wait for capacity when the ring buffer is full.
+     * @throws IllegalArgumentException if bufferSize is less than 1 or not a power of 2
+     */
+    public static <E> RingBuffer<E> createBitmapMultiProducer(EventFactory<E>      factory,
+                                                              int                  bufferSize,
+                                                              WaitStrategy         waitStrategy,
+                                                              ProducerWaitStrategy producerWaitStrategy)
+    {
+        BitmapMultiProducerSequencer sequencer = new BitmapMultiProducerSequencer(bufferSize, waitStrategy, producerWaitStrategy);
+
+        return new RingBuffer<E>(factory, sequencer);
+    }
+
     /**
      * Create a new single producer RingBuffer with the specified wait strategy.
      *
@@ -160,7 +357,25 @@ public final class RingBuffer<E> extends RingBufferFields<E> implements Cursored
                                                          int             bufferSize,
                                                          WaitStrategy    waitStrategy)
     {
-        SingleProducerSequencer sequencer = new SingleProducerSequencer(bufferSize, waitStrategy);
+        return createSingleProducer(factory, bufferSize, waitStrategy, new SleepingProducerWaitStrategy());
+    }
+
+    /**
+     * Create a new single producer RingBuffer with the specified wait strategies.
+     *
+     * @see SingleProducerSequencer
+     * @param factory used to create the events within the ring buffer.
+     * @param bufferSize number of elements to create within the ring buffer.
+     * @param waitStrategy used to determine how to wait for new elements to become available.
+     * @param producerWaitStrategy used to determine how publishers wait for capacity when the ring buffer is full.
+     * @throws IllegalArgumentException if bufferSize is less than 1 or not a power of 2
+     */
+    public static <E> RingBuffer<E> createSingleProducer(EventFactory<E>      factory,
+                                                         int                  bufferSize,
+                                                         WaitStrategy         waitStrategy,
+                                                         ProducerWaitStrategy producerWaitStrategy)
+    {
+        SingleProducerSequencer sequencer = new SingleProducerSequencer(bufferSize, waitStrategy, producerWaitStrategy);
 
         return new RingBuffer<E>(factory, sequencer);
     }
@@ -179,7 +394,7 @@ public final class RingBuffer<E> extends RingBufferFields<E> implements Cursored
     }
 
     /**
-     * Create a new Ring Buffer with the specified producer type (SINGLE or MULTI)
+     * Create a new Ring Buffer with the specified producer type (SINGLE, MULTI or MULTI_FETCH_AND_ADD)
      *
      * @param producerType producer type to use {@link ProducerType}.
      * @param factory used to create events within the ring buffer.
@@ -192,15 +407,68 @@ public final class RingBuffer<E> extends RingBufferFields<E> implements Cursored
                                            int             bufferSize,
                                            WaitStrategy    waitStrategy)
     {
+        return create(producerType, factory, bufferSize, waitStrategy, new SleepingProducerWaitStrategy());
+    }
+
+    /**
+     * Create a new Ring Buffer with the specified producer type (SINGLE, MULTI or MULTI_FETCH_AND_ADD)
+     * and the strategy publishers use to wait for capacity when the ring buffer is full.
+     *
+     * @param producerType producer type to use {@link ProducerType}.
+     * @param factory used to create events within the ring buffer.
+     * @param bufferSize number of elements to create within the ring buffer.
+     * @param waitStrategy used to determine how to wait for new elements to become available.
+     * @param producerWaitStrategy used to determine how publishers wait for capacity when the ring buffer is full.
+     * @throws IllegalArgumentException if bufferSize is less than 1 or not a power of 2
+     */
+    public static <E> RingBuffer<E> create(ProducerType         producerType,
+                                           EventFactory<E>      factory,
+                                           int                  bufferSize,
+                                           WaitStrategy         waitStrategy,
+                                           ProducerWaitStrategy producerWaitStrategy)
+    {
+        return create(producerType, factory, bufferSize, waitStrategy, producerWaitStrategy, FillMode.SERIAL);
+    }
+
+    /**
+     * Create a new Ring Buffer with the specified producer type (SINGLE, MULTI or MULTI_FETCH_AND_ADD),
+     * the strategy publishers use to wait for capacity when the ring buffer is full and how its events are created.
+     * {@link FillMode#PARALLEL} and {@link FillMode#LAZY} shorten the construction of large ring buffers.
+     *
+     * @param producerType producer type to use {@link ProducerType}.
+     * @param factory used to create events within the ring buffer.
+     * @param bufferSize number of elements to create within the ring buffer.
+     * @param waitStrategy used to determine how to wait for new elements to become available.
+     * @param producerWaitStrategy used to determine how publishers wait for capacity when the ring buffer is full.
+     * @param fillMode how the events are created with the factory.
+     * @throws IllegalArgumentException if bufferSize is less than 1 or not a power of 2
+     */
+    public static <E> RingBuffer<E> create(ProducerType         producerType,
+                                           EventFactory<E>      factory,
+                                           int                  bufferSize,
+                                           WaitStrategy         waitStrategy,
+                                           ProducerWaitStrategy producerWaitStrategy,
+                                           FillMode             fillMode)
+    {
+        final Sequencer sequencer;
         switch (producerType)
         {
         case SINGLE:
-            return createSingleProducer(factory, bufferSize, waitStrategy);
+            sequencer = new SingleProducerSequencer(bufferSize, waitStrategy, producerWaitStrategy);
+            break;
         case MULTI:
-            return createMultiProducer(factory, bufferSize, waitStrategy);
+            sequencer = new MultiProducerSequencer(bufferSize, waitStrategy, producerWaitStrategy);
+            break;
+        case MULTI_FETCH_AND_ADD:
+            sequencer = new FetchAndAddMultiProducerSequencer(bufferSize, waitStrategy, producerWaitStrategy);
+            break;
         default:
             throw new IllegalStateException(producerType.toString());
         }
+
+        return FillMode.LAZY == fillMode ?
+            new LazyRingBuffer<E>(factory, sequencer) :
+            new RingBuffer<E>(factory, sequencer, fillMode);
     }
 
     /**
@@ -260,6 +528,67 @@ public final class RingBuffer<E> extends RingBufferFields<E> implements Cursored
         return sequencer.next(n);
     }
 
+    /**
+     * Claim the next sequence, returning the calling thread's {@link Claim} to be closed, publishing the sequence,
+     * once the event is written.  Intended for a try-with-resources statement:
+     * <pre>
+     * try (Claim&lt;ValueEvent&gt; claim = ringBuffer.claim())
+     * {
+     *     claim.event().setValue(value);
+     * }
+     * </pre>
+     *
+     * @return the calling thread's claim, holding the next sequence.
+     * @throws IllegalStateException if the calling thread's previous claim has not been closed.
+     * @see Claim
+     */
+    public Claim<E> claim()
+    {
+        return claims.get().claim(1);
+    }
+
+    /**
+     * Claim the next n sequences, returning the calling thread's {@link Claim} to be closed, publishing the
+     * sequences, once the events are written.
+     *
+     * @param n number of slots to claim
+     * @return the calling thread's claim, holding the next n sequences.
+     * @throws IllegalStateException if the calling thread's previous claim has not been closed.
+     * @see Claim
+     */
+    public Claim<E> claim(int n)
+    {
+        return claims.get().claim(n);
+    }
+
+    /**
+     * The same functionality as {@link RingBuffer#next(int)}, but waits at most the given time
+     * for capacity to become available.  Returns {@link Sequenced#CLAIM_TIMED_OUT} rather than
+     * throwing if the timeout elapses, in which case nothing has been claimed.  E.g.
+     * <pre>
+     * long hi = ringBuffer.next(n, 100, TimeUnit.MICROSECONDS);
+     * if (hi != Sequenced.CLAIM_TIMED_OUT) {
+     *     long lo = hi - (n - 1);
+     *     try {
+     *         // Do some work with the events.
+     *     } finally {
+     *         ringBuffer.publish(lo, hi);
+     *     }
+     * }
+     * </pre>
+     *
+     * @see Sequencer#next(int, long, TimeUnit)
+     * @param n number of slots to claim
+     * @param timeout the maximum time to wait for capacity
+     * @param unit the unit of the timeout
+     * @return sequence number of the highest slot claimed, or {@link Sequenced#CLAIM_TIMED_OUT}
+     */
+    @Override
+    public long next(int n, long timeout, TimeUnit unit)
+    {
+        return sequencer.next(n, timeout, unit);
+    }
+
     /**
      * <p>Increment and return the next sequence for the ring buffer.  Calls of this
      * method should ensure that they always publish the sequence afterward.  E.g.
@@ -346,6 +675,7 @@ public final class RingBuffer<E> extends RingBufferFields<E> implements Cursored
      *
      * @param gatingSequences The sequences to add.
      */
+    @Override
     public void addGatingSequences(Sequence... gatingSequences)
     {
         sequencer.addGatingSequences(gatingSequences);
@@ -369,6 +699,7 @@ public final class RingBuffer<E> extends RingBufferFields<E> implements Cursored
      * @param sequence to be removed.
      * @return <tt>true</tt> if this sequence was found, <tt>false</tt> otherwise.
      */
+    @Override
     public boolean removeGatingSequence(Sequence sequence)
     {
         return sequencer.removeGatingSequence(sequence);
@@ -382,6 +713,7 @@ public final class RingBuffer<E> extends RingBufferFields<E> implements Cursored
      * @param sequencesToTrack the additional sequences to track
      * @return A sequence barrier that will track the specified sequences.
      */
+    @Override
     public SequenceBarrier newBarrier(Sequence... sequencesToTrack)
     {
         return sequencer.newBarrier(sequencesToTrack);
@@ -434,406 +766,6 @@ public final class RingBuffer<E> extends RingBufferFields<E> implements Cursored
         return sequencer.hasAvailableCapacity(requiredCapacity);
     }
 
-
-    /**
-     * @see com.lmax.disruptor.EventSink#publishEvent(com.lmax.disruptor.EventTranslator)
-     */
-    @Override
-    public void publishEvent(EventTranslator<E> translator)
-    {
-        final long sequence = sequencer.next();
-        translateAndPublish(translator, sequence);
-    }
-
-    /**
-     * @see com.lmax.disruptor.EventSink#tryPublishEvent(com.lmax.disruptor.EventTranslator)
-     */
-    @Override
-    public boolean tryPublishEvent(EventTranslator<E> translator)
-    {
-        try
-        {
-            final long sequence = sequencer.tryNext();
-            translateAndPublish(translator, sequence);
-            return true;
-        }
-        catch (InsufficientCapacityException e)
-        {
-            return false;
-        }
-    }
-
-    /**
-     * @see com.lmax.disruptor.EventSink#publishEvent(com.lmax.disruptor.EventTranslatorOneArg, Object)
-     *      com.lmax.disruptor.EventSink#publishEvent(com.lmax.disruptor.EventTranslatorOneArg, A)
-     */
-    @Override
-    public <A> void publishEvent(EventTranslatorOneArg<E, A> translator, A arg0)
-    {
-        final long sequence = sequencer.next();
-        translateAndPublish(translator, sequence, arg0);
-    }
-
-    /**
-     * @see com.lmax.disruptor.EventSink#tryPublishEvent(com.lmax.disruptor.EventTranslatorOneArg, Object)
-     *      com.lmax.disruptor.EventSink#tryPublishEvent(com.lmax.disruptor.EventTranslatorOneArg, A)
-     */
-    @Override
-    public <A> boolean tryPublishEvent(EventTranslatorOneArg<E, A> translator, A arg0)
-    {
-        try
-        {
-            final long sequence = sequencer.tryNext();
-            translateAndPublish(translator, sequence, arg0);
-            return true;
-        }
-        catch (InsufficientCapacityException e)
-        {
-            return false;
-        }
-    }
-
-    /**
-     * @see com.lmax.disruptor.EventSink#publishEvent(com.lmax.disruptor.EventTranslatorTwoArg, Object, Object)
-     *      com.lmax.disruptor.EventSink#publishEvent(com.lmax.disruptor.EventTranslatorTwoArg, A, B)
-     */
-    @Override
-    public <A, B> void publishEvent(EventTranslatorTwoArg<E, A, B> translator, A arg0, B arg1)
-    {
-        final long sequence = sequencer.next();
-        translateAndPublish(translator, sequence, arg0, arg1);
-    }
-
-    /**
-     * @see com.lmax.disruptor.EventSink#tryPublishEvent(com.lmax.disruptor.EventTranslatorTwoArg, Object, Object)
-     *      com.lmax.disruptor.EventSink#tryPublishEvent(com.lmax.disruptor.EventTranslatorTwoArg, A, B)
-     */
-    @Override
-    public <A, B> boolean tryPublishEvent(EventTranslatorTwoArg<E, A, B> translator, A arg0, B arg1)
-    {
-        try
-        {
-            final long sequence = sequencer.tryNext();
-            translateAndPublish(translator, sequence, arg0, arg1);
-            return true;
-        }
-        catch (InsufficientCapacityException e)
-        {
-            return false;
-        }
-    }
-
-    /**
-     * @see com.lmax.disruptor.EventSink#publishEvent(com.lmax.disruptor.EventTranslatorThreeArg, Object, Object, Object)
-     *      com.lmax.disruptor.EventSink#publishEvent(com.lmax.disruptor.EventTranslatorThreeArg, A, B, C)
-     */
-    @Override
-    public <A, B, C> void publishEvent(EventTranslatorThreeArg<E, A, B, C> translator, A arg0, B arg1, C arg2)
-    {
-        final long sequence = sequencer.next();
-        translateAndPublish(translator, sequence, arg0, arg1, arg2);
-    }
-
-    /**
-     * @see com.lmax.disruptor.EventSink#tryPublishEvent(com.lmax.disruptor.EventTranslatorThreeArg, Object, Object, Object)
-     *      com.lmax.disruptor.EventSink#tryPublishEvent(com.lmax.disruptor.EventTranslatorThreeArg, A, B, C)
-     */
-    @Override
-    public <A, B, C> boolean tryPublishEvent(EventTranslatorThreeArg<E, A, B, C> translator, A arg0, B arg1, C arg2)
-    {
-        try
-        {
-            final long sequence = sequencer.tryNext();
-            translateAndPublish(translator, sequence, arg0, arg1, arg2);
-            return true;
-        }
-        catch (InsufficientCapacityException e)
-        {
-            return false;
-        }
-    }
-
-    /**
-     * @see com.lmax.disruptor.EventSink#publishEvent(com.lmax.disruptor.EventTranslatorVararg, java.lang.Object...)
-     */
-    @Override
-    public void publishEvent(EventTranslatorVararg<E> translator, Object...args)
-    {
-        final long sequence = sequencer.next();
-        translateAndPublish(translator, sequence, args);
-    }
-
-    /**
-     * @see com.lmax.disruptor.EventSink#tryPublishEvent(com.lmax.disruptor.EventTranslatorVararg, java.lang.Object...)
-     */
-    @Override
-    public boolean tryPublishEvent(EventTranslatorVararg<E> translator, Object...args)
-    {
-        try
-        {
-            final long sequence = sequencer.tryNext();
-            translateAndPublish(translator, sequence, args);
-            return true;
-        }
-        catch (InsufficientCapacityException e)
-        {
-            return false;
-        }
-    }
-
-
-    /**
-     * @see com.lmax.disruptor.EventSink#publishEvents(com.lmax.disruptor.EventTranslator[])
-     */
-    @Override
-    public void publishEvents(EventTranslator<E>[] translators)
-    {
-        publishEvents(translators, 0, translators.length);
-    }
-
-    /**
-     * @see com.lmax.disruptor.EventSink#publishEvents(com.lmax.disruptor.EventTranslator[], int, int)
-     */
-    @Override
-    public void publishEvents(EventTranslator<E>[] translators, int batchStartsAt, int batchSize)
-    {
-        checkBounds(translators, batchStartsAt, batchSize);
-        final long finalSequence = sequencer.next(batchSize);
-        translateAndPublishBatch(translators, batchStartsAt, batchSize, finalSequence);
-    }
-
-    /**
-     * @see com.lmax.disruptor.EventSink#tryPublishEvents(com.lmax.disruptor.EventTranslator[])
-     */
-    @Override
-    public boolean tryPublishEvents(EventTranslator<E>[] translators)
-    {
-        return tryPublishEvents(translators, 0, translators.length);
-    }
-
-    /**
-     * @see com.lmax.disruptor.EventSink#tryPublishEvents(com.lmax.disruptor.EventTranslator[], int, int)
-     */
-    @Override
-    public boolean tryPublishEvents(EventTranslator<E>[] translators, int batchStartsAt, int batchSize)
-    {
-        checkBounds(translators, batchStartsAt, batchSize);
-        try
-        {
-            final long finalSequence = sequencer.tryNext(batchSize);
-            translateAndPublishBatch(translators, batchStartsAt, batchSize, finalSequence);
-            return true;
-        }
-        catch (InsufficientCapacityException e)
-        {
-            return false;
-        }
-    }
-
-    /**
-     * @see com.lmax.disruptor.EventSink#publishEvents(com.lmax.disruptor.EventTranslatorOneArg, Object[])
-     *      com.lmax.disruptor.EventSink#publishEvents(com.lmax.disruptor.EventTranslatorOneArg, A[])
-     */
-    @Override
-    public <A> void publishEvents(EventTranslatorOneArg<E, A> translator, A[] arg0)
-    {
-        publishEvents(translator, 0, arg0.length, arg0);
-    }
-
-    /**
-     * @see com.lmax.disruptor.EventSink#publishEvents(com.lmax.disruptor.EventTranslatorOneArg, int, int, Object[])
-     *      com.lmax.disruptor.EventSink#publishEvents(com.lmax.disruptor.EventTranslatorOneArg, int, int, A[])
-     */
-    @Override
-    public <A> void publishEvents(EventTranslatorOneArg<E, A> translator, int batchStartsAt, int batchSize, A[] arg0)
-    {
-        checkBounds(arg0, batchStartsAt, batchSize);
-        final long finalSequence = sequencer.next(batchSize);
-        translateAndPublishBatch(translator, arg0, batchStartsAt, batchSize, finalSequence);
-    }
-
-    /**
-     * @see com.lmax.disruptor.EventSink#tryPublishEvents(com.lmax.disruptor.EventTranslatorOneArg, Object[])
-     *      com.lmax.disruptor.EventSink#tryPublishEvents(com.lmax.disruptor.EventTranslatorOneArg, A[])
-     */
-    @Override
-    public <A> boolean tryPublishEvents(EventTranslatorOneArg<E, A> translator, A[] arg0)
-    {
-        return tryPublishEvents(translator, 0, arg0.length, arg0);
-    }
-
-    /**
-     * @see com.lmax.disruptor.EventSink#tryPublishEvents(com.lmax.disruptor.EventTranslatorOneArg, int, int, Object[])
-     *      com.lmax.disruptor.EventSink#tryPublishEvents(com.lmax.disruptor.EventTranslatorOneArg, int, int, A[])
-     */
-    @Override
-    public <A> boolean tryPublishEvents(EventTranslatorOneArg<E, A> translator, int batchStartsAt, int batchSize, A[] arg0)
-    {
-        checkBounds(arg0, batchStartsAt, batchSize);
-        try
-        {
-            final long finalSequence = sequencer.tryNext(batchSize);
-            translateAndPublishBatch(translator, arg0, batchStartsAt, batchSize, finalSequence);
-            return true;
-        }
-        catch (InsufficientCapacityException e)
-        {
-            return false;
-        }
-    }
-
-    /**
-     * @see com.lmax.disruptor.EventSink#publishEvents(com.lmax.disruptor.EventTranslatorTwoArg, Object[], Object[])
-     *      com.lmax.disruptor.EventSink#publishEvents(com.lmax.disruptor.EventTranslatorTwoArg, A[], B[])
-     */
-    @Override
-    public <A, B> void publishEvents(EventTranslatorTwoArg<E, A, B> translator, A[] arg0, B[] arg1)
-    {
-        publishEvents(translator, 0, arg0.length, arg0, arg1);
-    }
-
-    /**
-     * @see com.lmax.disruptor.EventSink#publishEvents(com.lmax.disruptor.EventTranslatorTwoArg, int, int, Object[], Object[])
-     *      com.lmax.disruptor.EventSink#publishEvents(com.lmax.disruptor.EventTranslatorTwoArg, int, int, A[], B[])
-     */
-    @Override
-    public <A, B> void publishEvents(EventTranslatorTwoArg<E, A, B> translator, int batchStartsAt, int batchSize, A[] arg0, B[] arg1)
-    {
-        checkBounds(arg0, arg1, batchStartsAt, batchSize);
-        final long finalSequence = sequencer.next(batchSize);
-        translateAndPublishBatch(translator, arg0, arg1, batchStartsAt, batchSize, finalSequence);
-    }
-
-    /**
-     * @see com.lmax.disruptor.EventSink#tryPublishEvents(com.lmax.disruptor.EventTranslatorTwoArg, Object[], Object[])
-     *      com.lmax.disruptor.EventSink#tryPublishEvents(com.lmax.disruptor.EventTranslatorTwoArg, A[], B[])
-     */
-    @Override
-    public <A, B> boolean tryPublishEvents(EventTranslatorTwoArg<E, A, B> translator, A[] arg0, B[] arg1)
-    {
-        return tryPublishEvents(translator, 0, arg0.length, arg0, arg1);
-    }
-
-    /**
-     * @see com.lmax.disruptor.EventSink#tryPublishEvents(com.lmax.disruptor.EventTranslatorTwoArg, int, int, Object[], Object[])
-     *      com.lmax.disruptor.EventSink#tryPublishEvents(com.lmax.disruptor.EventTranslatorTwoArg, int, int, A[], B[])
-     */
-    @Override
-    public <A, B> boolean tryPublishEvents(EventTranslatorTwoArg<E, A, B> translator, int batchStartsAt, int batchSize, A[] arg0, B[] arg1)
-    {
-        checkBounds(arg0, arg1, batchStartsAt, batchSize);
-        try
-        {
-            final long finalSequence = sequencer.tryNext(batchSize);
-            translateAndPublishBatch(translator, arg0, arg1, batchStartsAt, batchSize, finalSequence);
-            return true;
-        }
-        catch (InsufficientCapacityException e)
-        {
-            return false;
-        }
-    }
-
-    /**
-     * @see com.lmax.disruptor.EventSink#publishEvents(com.lmax.disruptor.EventTranslatorThreeArg, Object[], Object[], Object[])
-     *      com.lmax.disruptor.EventSink#publishEvents(com.lmax.disruptor.EventTranslatorThreeArg, A[], B[], C[])
-     */
-    @Override
-    public <A, B, C> void publishEvents(EventTranslatorThreeArg<E, A, B, C> translator, A[] arg0, B[] arg1, C[] arg2)
-    {
-        publishEvents(translator, 0, arg0.length, arg0, arg1, arg2);
-    }
-
-    /**
-     * @see com.lmax.disruptor.EventSink#publishEvents(com.lmax.disruptor.EventTranslatorThreeArg, int, int, Object[], Object[], Object[])
-     *      com.lmax.disruptor.EventSink#publishEvents(com.lmax.disruptor.EventTranslatorThreeArg, int, int, A[], B[], C[])
-     */
-    @Override
-    public <A, B, C> void publishEvents(EventTranslatorThreeArg<E, A, B, C> translator, int batchStartsAt, int batchSize, A[] arg0, B[] arg1, C[] arg2)
-    {
-        checkBounds(arg0, arg1, arg2, batchStartsAt, batchSize);
-        final long finalSequence = sequencer.next(batchSize);
-        translateAndPublishBatch(translator, arg0, arg1, arg2, batchStartsAt, batchSize, finalSequence);
-    }
-
-    /**
-     * @see com.lmax.disruptor.EventSink#tryPublishEvents(com.lmax.disruptor.EventTranslatorThreeArg, Object[], Object[], Object[])
-     *      com.lmax.disruptor.EventSink#tryPublishEvents(com.lmax.disruptor.EventTranslatorThreeArg, A[], B[], C[])
-     */
-    @Override
-    public <A, B, C> boolean tryPublishEvents(EventTranslatorThreeArg<E, A, B, C> translator, A[] arg0, B[] arg1, C[] arg2)
-    {
-        return tryPublishEvents(translator, 0, arg0.length, arg0, arg1, arg2);
-    }
-
-    /**
-     * @see com.lmax.disruptor.EventSink#tryPublishEvents(com.lmax.disruptor.EventTranslatorThreeArg, int, int, Object[], Object[], Object[])
-     *      com.lmax.disruptor.EventSink#tryPublishEvents(com.lmax.disruptor.EventTranslatorThreeArg, int, int, A[], B[], C[])
-     */
-    @Override
-    public <A, B, C> boolean tryPublishEvents(EventTranslatorThreeArg<E, A, B, C> translator, int batchStartsAt, int batchSize, A[] arg0, B[] arg1, C[] arg2)
-    {
-        checkBounds(arg0, arg1, arg2, batchStartsAt, batchSize);
-        try
-        {
-            final long finalSequence = sequencer.tryNext(batchSize);
-            translateAndPublishBatch(translator, arg0, arg1, arg2, batchStartsAt, batchSize, finalSequence);
-            return true;
-        }
-        catch (InsufficientCapacityException e)
-        {
-            return false;
-        }
-    }
-
-    /**
-     * @see com.lmax.disruptor.EventSink#publishEvents(com.lmax.disruptor.EventTranslatorVararg, java.lang.Object[][])
-     */
-    @Override
-    public void publishEvents(EventTranslatorVararg<E> translator, Object[]... args)
-    {
-        publishEvents(translator, 0, args.length, args);
-    }
-
-    /**
-     * @see com.lmax.disruptor.EventSink#publishEvents(com.lmax.disruptor.EventTranslatorVararg, int, int, java.lang.Object[][])
-     */
-    @Override
-    public void publishEvents(EventTranslatorVararg<E> translator, int batchStartsAt, int batchSize, Object[]... args)
-    {
-        checkBounds(batchStartsAt, batchSize, args);
-        final long finalSequence = sequencer.next(batchSize);
-        translateAndPublishBatch(translator, batchStartsAt, batchSize, finalSequence, args);
-    }
-
-    /**
-     * @see com.lmax.disruptor.EventSink#tryPublishEvents(com.lmax.disruptor.EventTranslatorVararg, java.lang.Object[][])
-     */
-    @Override
-    public boolean tryPublishEvents(EventTranslatorVararg<E> translator, Object[]... args)
-    {
-        return tryPublishEvents(translator, 0, args.length, args);
-    }
-
-    /**
-     * @see com.lmax.disruptor.EventSink#tryPublishEvents(com.lmax.disruptor.EventTranslatorVararg, int, int, java.lang.Object[][])
-     */
-    @Override
-    public boolean tryPublishEvents(EventTranslatorVararg<E> translator, int batchStartsAt, int batchSize, Object[]... args)
-    {
-        checkBounds(args, batchStartsAt, batchSize);
-        try
-        {
-            final long finalSequence = sequencer.tryNext(batchSize);
-            translateAndPublishBatch(translator, batchStartsAt, batchSize, finalSequence, args);
-            return true;
-        }
-        catch (InsufficientCapacityException e)
-        {
-            return false;
-        }
-    }
-
     /**
      * Publish the specified sequence.  This action marks this particular
      * message as being available to be read.
@@ -868,218 +800,4 @@ public final class RingBuffer<E> extends RingBufferFields<E> implements Cursored
     {
         return sequencer.remainingCapacity();
     }
-
-    private void checkBounds(final EventTranslator<E>[] translators, final int batchStartsAt, final int batchSize)
-    {
-        checkBatchSizing(batchStartsAt, batchSize);
-        batchOverRuns(translators, batchStartsAt, batchSize);
-    }
-
-    private void checkBatchSizing(int batchStartsAt, int batchSize)
-    {
-        if(batchStartsAt < 0 || batchSize < 0)
-        {
-            throw new IllegalArgumentException("Both batchStartsAt and batchSize must be positive but got: batchStartsAt " + batchStartsAt + " and batchSize " + batchSize);
-        }
-        else if(batchSize > bufferSize)
-        {
-            throw new IllegalArgumentException("The ring buffer cannot accommodate " + batchSize + " it only has space for " + bufferSize + " entities.");
-        }
-    }
-
-    private <A> void checkBounds(final A[] arg0, final int batchStartsAt, final int batchSize)
-    {
-        checkBatchSizing(batchStartsAt, batchSize);
-        batchOverRuns(arg0, batchStartsAt, batchSize);
-    }
-
-    private <A, B> void checkBounds(final A[] arg0, final B[] arg1, final int batchStartsAt, final int batchSize)
-    {
-        checkBatchSizing(batchStartsAt, batchSize);
-        batchOverRuns(arg0, batchStartsAt, batchSize);
-        batchOverRuns(arg1, batchStartsAt, batchSize);
-    }
-
-    private <A, B, C> void checkBounds(final A[] arg0, final B[] arg1, final C[] arg2, final int batchStartsAt, final int batchSize)
-    {
-        checkBatchSizing(batchStartsAt, batchSize);
-        batchOverRuns(arg0, batchStartsAt, batchSize);
-        batchOverRuns(arg1, batchStartsAt, batchSize);
-        batchOverRuns(arg2, batchStartsAt, batchSize);
-    }
-
-    private void checkBounds(final int batchStartsAt, final int batchSize, final Object[][] args)
-    {
-        checkBatchSizing(batchStartsAt, batchSize);
-        batchOverRuns(args, batchStartsAt, batchSize);
-    }
-
-    private <A> void batchOverRuns(final A[] arg0, final int batchStartsAt, final int batchSize)
-    {
-        if(batchStartsAt + batchSize > arg0.length)
-        {
-            throw new IllegalArgumentException("A batchSize of: " + batchSize +
-                                               " with batchStatsAt of: " + batchStartsAt +
-                                               " will overrun the available number of arguments: " + (arg0.length - batchStartsAt));
-        }
-    }
-
-    private void translateAndPublish(EventTranslator<E> translator, long sequence)
-    {
-        try
-        {
-            translator.translateTo(get(sequence), sequence);
-        }
-        finally
-        {
-            sequencer.publish(sequence);
-        }
-    }
-
-    private <A> void translateAndPublish(EventTranslatorOneArg<E, A> translator, long sequence, A arg0)
-    {
-        try
-        {
-            translator.translateTo(get(sequence), sequence, arg0);
-        }
-        finally
-        {
-            sequencer.publish(sequence);
-        }
-    }
-
-    private <A, B> void translateAndPublish(EventTranslatorTwoArg<E, A, B> translator, long sequence, A arg0, B arg1)
-    {
-        try
-        {
-            translator.translateTo(get(sequence), sequence, arg0, arg1);
-        }
-        finally
-        {
-            sequencer.publish(sequence);
-        }
-    }
-
-    private <A, B, C> void translateAndPublish(EventTranslatorThreeArg<E, A, B, C> translator, long sequence,
-                                               A arg0, B arg1, C arg2)
-    {
-        try
-        {
-            translator.translateTo(get(sequence), sequence, arg0, arg1, arg2);
-        }
-        finally
-        {
-            sequencer.publish(sequence);
-        }
-    }
-
-    private void translateAndPublish(EventTranslatorVararg<E> translator, long sequence, Object...args)
-    {
-        try
-        {
-            translator.translateTo(get(sequence), sequence, args);
-        }
-        finally
-        {
-            sequencer.publish(sequence);
-        }
-    }
-
-    private void translateAndPublishBatch(final EventTranslator<E>[] translators, int batchStartsAt,
-                                          final int batchSize, final long finalSequence)
-    {
-        final long initialSequence = finalSequence - (batchSize - 1);
-        try
-        {
-            long sequence = initialSequence;
-            final int batchEndsAt = batchStartsAt + batchSize;
-            for (int i = batchStartsAt; i < batchEndsAt; i++)
-            {
-                final EventTranslator<E> translator = translators[i];
-                translator.translateTo(get(sequence), sequence++);
-            }
-        }
-        finally
-        {
-            sequencer.publish(initialSequence, finalSequence);
-        }
-    }
-
-    private <A> void translateAndPublishBatch(final EventTranslatorOneArg<E, A> translator, final A[] arg0,
-                                              int batchStartsAt, final int batchSize, final long finalSequence)
-    {
-        final long initialSequence = finalSequence - (batchSize - 1);
-        try
-        {
-            long sequence = initialSequence;
-            final int batchEndsAt = batchStartsAt + batchSize;
-            for (int i = batchStartsAt; i < batchEndsAt; i++)
-            {
-                translator.translateTo(get(sequence), sequence++, arg0[i]);
-            }
-        }
-        finally
-        {
-            sequencer.publish(initialSequence, finalSequence);
-        }
-    }
-
-    private <A, B> void translateAndPublishBatch(final EventTranslatorTwoArg<E, A, B> translator, final A[] arg0,
-                                                 final B[] arg1, int batchStartsAt, int batchSize,
-                                                 final long finalSequence)
-    {
-        final long initialSequence = finalSequence - (batchSize - 1);
-        try
-        {
-            long sequence = initialSequence;
-            final int batchEndsAt = batchStartsAt + batchSize;
-            for (int i = batchStartsAt; i < batchEndsAt; i++)
-            {
-                translator.translateTo(get(sequence), sequence++, arg0[i], arg1[i]);
-            }
-        }
-        finally
-        {
-            sequencer.publish(initialSequence, finalSequence);
-        }
-    }
-
-    private <A, B, C> void translateAndPublishBatch(final EventTranslatorThreeArg<E, A, B, C> translator,
-                                                    final A[] arg0, final B[] arg1, final C[] arg2, int batchStartsAt,
-                                                    final int batchSize, final long finalSequence)
-    {
-        final long initialSequence = finalSequence - (batchSize - 1);
-        try
-        {
-            long sequence = initialSequence;
-            final int batchEndsAt = batchStartsAt + batchSize;
-            for (int i = batchStartsAt; i < batchEndsAt; i++)
-            {
-                translator.translateTo(get(sequence), sequence++, arg0[i], arg1[i], arg2[i]);
-            }
-        }
-        finally
-        {
-            sequencer.publish(initialSequence, finalSequence);
-        }
-    }
-
-    private void translateAndPublishBatch(final EventTranslatorVararg<E> translator, int batchStartsAt,
-                                          final int batchSize, final long finalSequence, final Object[][] args)
-    {
-        final long initialSequence = finalSequence - (batchSize - 1);
-        try
-        {
-            long sequence = initialSequence;
-            final int batchEndsAt = batchStartsAt + batchSize;
-            for (int i = batchStartsAt; i < batchEndsAt; i++)
-            {
-                translator.translateTo(get(sequence), sequence++, args[i]);
-            }
-        }
-        finally
-        {
-            sequencer.publish(initialSequence, finalSequence);
-        }
-    }
 }
@@ -115,6 +115,42 @@ public class Sequence extends RhsPadding
         UNSAFE.putLongVolatile(this, VALUE_OFFSET, value);
     }
 
+    /**
+     * Perform a read of this sequence's value with acquire semantics, no subsequent
+     * load or store may be reordered before it.  On this version of the Java platform
+     * this is a volatile read.
+     *
+     * @return The current value of the sequence.
+     */
+    public long getAcquire()
+    {
+        return get();
+    }
+
+    /**
+     * Perform a read of this sequence's value that is atomic and will eventually observe
+     * writes from other threads, but imposes no ordering on other memory accesses.  On
+     * this version of the Java platform this is a volatile read.
+     *
+     * @return The current value of the sequence.
+     */
+    public long getOpaque()
+    {
+        return get();
+    }
+
+    /**
+     * Perform a write of this sequence with release semantics, no previous load or
+     * store may be reordered after it.  On this version of the Java platform this is
+     * the same ordered write as {@link #set(long)}.
+     *
+     * @param value The new value for the sequence.
+     */
+    public void setRelease(final long value)
+    {
+        set(value);
+    }
+
     /**
      * Perform a compare and set operation on the sequence.
      *
@@ -145,17 +181,19 @@ public class Sequence extends RhsPadding
      */
     public long addAndGet(final long increment)
     {
-        long currentValue;
-        long newValue;
-
-        do
-        {
-            currentValue = get();
-            newValue = currentValue + increment;
-        }
-        while (!compareAndSet(currentValue, newValue));
+        return getAndAdd(increment) + increment;
+    }
 
-        return newValue;
+    /**
+     * Atomically add the supplied value, using a single fetch-and-add rather
+     * than a compare and set retry loop.
+     *
+     * @param increment The value to add to the sequence.
+     * @return The value before the increment.
+     */
+    public long getAndAdd(final long increment)
+    {
+        return UNSAFE.getAndAddLong(this, VALUE_OFFSET, increment);
     }
 
     @Override
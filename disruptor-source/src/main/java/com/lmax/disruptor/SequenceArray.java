@@ -0,0 +1,246 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import java.util.Arrays;
+
+import sun.misc.Unsafe;
+
+import com.lmax.disruptor.util.Util;
+
+/**
+ * <p>A fixed number of sequences packed into a single <code>long[]</code>, each value padded onto its own
+ * pair of cache lines in the same way as a {@link Sequence}.</p>
+ *
+ * <p>Each element is exposed as a {@link Sequence} view so it can be handed to an event processor or used as a gating
+ * sequence, while the values of a group of consumers sit next to each other in memory rather than scattered across
+ * the heap.  {@link #minimum()} reads all of the values with a single strided scan over the array.</p>
+ *
+ * <p>The layout is opt in, the DSL and {@link WorkerPool} give each processor a plain {@link Sequence}.  To use it,
+ * pass the views to {@link BatchEventProcessor#BatchEventProcessor(DataProvider, SequenceBarrier, EventHandler, Sequence)}
+ * or {@link WorkProcessor#WorkProcessor(RingBuffer, SequenceBarrier, WorkHandler, ExceptionHandler, Sequence, Sequence)}
+ * when constructing the processors by hand.</p>
+ *
+ * <p>The array improves the locality of the values only, it does not save objects or memory.  A view is still a
+ * {@link Sequence}, so it carries the padding fields every sequence inherits, in addition to its padded slot in the
+ * array.</p>
+ */
+public final class SequenceArray
+{
+    private static final Unsafe UNSAFE = Util.getUnsafe();
+    private static final long BASE  = UNSAFE.arrayBaseOffset(long[].class);
+    private static final long SCALE = UNSAFE.arrayIndexScale(long[].class);
+
+    // one value every 128 bytes, padding either side as for the fields around Sequence.value
+    private static final int STRIDE = 16;
+    private static final int PAD = STRIDE - 1;
+
+    private final long[] values;
+    private final Sequence[] sequences;
+
+    /**
+     * Create an array of sequences each initialised to -1.
+     *
+     * @param size the number of sequences.
+     */
+    public SequenceArray(final int size)
+    {
+        this(size, Sequence.INITIAL_VALUE);
+    }
+
+    /**
+     * Create an array of sequences each initialised to the supplied value.
+     *
+     * @param size the number of sequences.
+     * @param initialValue The initial value for each sequence.
+     */
+    public SequenceArray(final int size, final long initialValue)
+    {
+        if (size < 0)
+        {
+            throw new IllegalArgumentException("size must not be negative");
+        }
+
+        values = new long[PAD + (size * STRIDE)];
+        sequences = new Sequence[size];
+        for (int i = 0; i < size; i++)
+        {
+            sequences[i] = new ArraySequence(values, offset(i), initialValue);
+        }
+    }
+
+    /**
+     * The number of sequences held.
+     *
+     * @return the number of sequences.
+     */
+    public int size()
+    {
+        return sequences.length;
+    }
+
+    /**
+     * Get the {@link Sequence} view of the value at the given index.
+     *
+     * @param index of the sequence.
+     * @return a sequence that reads and writes the value held in this array.
+     */
+    public Sequence getSequence(final int index)
+    {
+        return sequences[index];
+    }
+
+    /**
+     * Get the {@link Sequence} views of all of the values, in index order.
+     *
+     * @return a new array holding a sequence for each value.
+     */
+    public Sequence[] getSequences()
+    {
+        return Arrays.copyOf(sequences, sequences.length);
+    }
+
+    /**
+     * Perform a volatile read of the value at the given index.
+     *
+     * @param index of the sequence.
+     * @return The current value of the sequence.
+     */
+    public long get(final int index)
+    {
+        return UNSAFE.getLongVolatile(values, offset(index));
+    }
+
+    /**
+     * Perform an ordered write of the value at the given index.
+     *
+     * @param index of the sequence.
+     * @param value The new value for the sequence.
+     */
+    public void set(final int index, final long value)
+    {
+        UNSAFE.putOrderedLong(values, offset(index), value);
+    }
+
+    /**
+     * Get the minimum of all of the values.
+     *
+     * @return the minimum value held, or {@link Long#MAX_VALUE} if the array is empty.
+     */
+    public long minimum()
+    {
+        return minimum(Long.MAX_VALUE);
+    }
+
+    /**
+     * Get the minimum of all of the values and the supplied minimum.
+     *
+     * A single load fence orders the scan after any earlier reads, the values are then read plainly so that the loop
+     * over the array can be unrolled by the compiler.
+     *
+     * @param minimum the value to return if it is lower than all of the sequences.
+     * @return the smaller of the minimum value held and the supplied minimum.
+     */
+    public long minimum(final long minimum)
+    {
+        UNSAFE.loadFence();
+
+        final long[] values = this.values;
+        long min = minimum;
+        for (int i = PAD, end = values.length; i < end; i += STRIDE)
+        {
+            min = Math.min(min, values[i]);
+        }
+
+        return min;
+    }
+
+    @Override
+    public String toString()
+    {
+        return Arrays.toString(sequences);
+    }
+
+    private static long offset(final int index)
+    {
+        return BASE + ((PAD + ((long) index * STRIDE)) * SCALE);
+    }
+
+    /**
+     * {@link Sequence} whose value lives in the packed array of a {@link SequenceArray}.  The inherited value and
+     * padding fields are never used.
+     */
+    private static final class ArraySequence extends Sequence
+    {
+        private final long[] values;
+        private final long offset;
+
+        ArraySequence(final long[] values, final long offset, final long initialValue)
+        {
+            this.values = values;
+            this.offset = offset;
+            UNSAFE.putOrderedLong(values, offset, initialValue);
+        }
+
+        @Override
+        public long get()
+        {
+            return UNSAFE.getLongVolatile(values, offset);
+        }
+
+        @Override
+        public void set(final long value)
+        {
+            UNSAFE.putOrderedLong(values, offset, value);
+        }
+
+        @Override
+        public long getAcquire()
+        {
+            return UNSAFE.getLongVolatile(values, offset);
+        }
+
+        @Override
+        public long getOpaque()
+        {
+            return UNSAFE.getLongVolatile(values, offset);
+        }
+
+        @Override
+        public void setRelease(final long value)
+        {
+            UNSAFE.putOrderedLong(values, offset, value);
+        }
+
+        @Override
+        public void setVolatile(final long value)
+        {
+            UNSAFE.putLongVolatile(values, offset, value);
+        }
+
+        @Override
+        public boolean compareAndSet(final long expectedValue, final long newValue)
+        {
+            return UNSAFE.compareAndSwapLong(values, offset, expectedValue, newValue);
+        }
+
+        @Override
+        public long getAndAdd(final long increment)
+        {
+            return UNSAFE.getAndAddLong(values, offset, increment);
+        }
+    }
+}
@@ -63,4 +63,13 @@ public interface SequenceBarrier
      * @throws AlertException if alert has been raised.
      */
     void checkAlert() throws AlertException;
+
+    /**
+     * Signal any publishers waiting for capacity that the sequence of the {@link EventProcessor}
+     * using this barrier has advanced.  Does nothing by default, for barriers whose publishers
+     * do not block.
+     */
+    default void signalProducers()
+    {
+    }
 }
@@ -51,6 +51,24 @@ public final class SequenceGroup extends Sequence
         return Util.getMinimumSequence(sequences);
     }
 
+    @Override
+    public long getAcquire()
+    {
+        return get();
+    }
+
+    @Override
+    public long getOpaque()
+    {
+        return get();
+    }
+
+    @Override
+    public void setRelease(final long value)
+    {
+        set(value);
+    }
+
     /**
      * Set all {@link Sequence}s in the group to a given value.
      *
@@ -55,6 +55,22 @@ class SequenceGroups
         }
     }
 
+    static <T> void addSequences(final T holder,
+                                 final AtomicReferenceFieldUpdater<T, Sequence[]> updater,
+                                 final Sequence... sequencesToAdd)
+    {
+        Sequence[] updatedSequences;
+        Sequence[] currentSequences;
+
+        do
+        {
+            currentSequences = updater.get(holder);
+            updatedSequences = copyOf(currentSequences, currentSequences.length + sequencesToAdd.length);
+            System.arraycopy(sequencesToAdd, 0, updatedSequences, currentSequences.length, sequencesToAdd.length);
+        }
+        while (!updater.compareAndSet(holder, currentSequences, updatedSequences));
+    }
+
     static <T> boolean removeSequence(final T holder,
                                       final AtomicReferenceFieldUpdater<T, Sequence[]> sequenceUpdater,
                                       final Sequence sequence)
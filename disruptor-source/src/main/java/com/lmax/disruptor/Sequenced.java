@@ -1,7 +1,12 @@
 package com.lmax.disruptor;
 
+import java.util.concurrent.TimeUnit;
+
 public interface Sequenced
 {
+    /** Returned by {@link #next(int, long, TimeUnit)} when the sequences could not be claimed within the timeout */
+    long CLAIM_TIMED_OUT = Long.MIN_VALUE;
+
     /**
      * The capacity of the data structure to hold entries.
      *
@@ -47,6 +52,24 @@ public interface Sequenced
      */
     long next(int n);
 
+    /**
+     * Claim the next n events in sequence for publishing, waiting at most the given time for capacity
+     * to become available.  Rather than throwing, {@link #CLAIM_TIMED_OUT} is returned if the timeout
+     * elapses, in which case nothing has been claimed and nothing should be published.
+     * <pre>
+     * long hi = sequencer.next(n, 100, TimeUnit.MICROSECONDS);
+     * if (hi != Sequenced.CLAIM_TIMED_OUT) {
+     *     // Do work and publish, as for {@link #next(int)}.
+     * }
+     * </pre>
+     *
+     * @param n the number of sequences to claim
+     * @param timeout the maximum time to wait for capacity
+     * @param unit the unit of the timeout
+     * @return the highest claimed sequence value, or {@link #CLAIM_TIMED_OUT}
+     */
+    long next(int n, long timeout, TimeUnit unit);
+
     /**
      * Attempt to claim the next event in sequence for publishing.  Will return the
      * number of the slot if there is at least <code>requiredCapacity</code> slots
@@ -18,7 +18,7 @@ package com.lmax.disruptor;
 /**
  * Coordinates claiming sequences for access to a data structure while tracking dependent {@link Sequence}s
  */
-public interface Sequencer extends Cursored, Sequenced
+public interface Sequencer extends Cursored, Sequenced, Gated
 {
     /** Set to -1 as sequence starting point */
     long INITIAL_CURSOR_VALUE = -1L;
@@ -47,6 +47,15 @@ public interface Sequencer extends Cursored, Sequenced
      */
     void addGatingSequences(Sequence... gatingSequences);
 
+    /**
+     * Add the specified gating sequences without first setting them to the cursor, so that they gate from their
+     * current values.  The caller must ensure that the events after those values have not already been overwritten,
+     * see {@link HistoryReader}.
+     *
+     * @param gatingSequences The sequences to add.
+     */
+    void addGatingSequencesWithoutReset(Sequence... gatingSequences);
+
     /**
      * Remove the specified sequence from this sequencer.
      *
@@ -15,24 +15,32 @@
  */
 package com.lmax.disruptor;
 
-import java.util.concurrent.locks.LockSupport;
-
-import com.lmax.disruptor.util.Util;
+import java.util.concurrent.TimeUnit;
 
 abstract class SingleProducerSequencerPad extends AbstractSequencer
 {
     protected long p1, p2, p3, p4, p5, p6, p7;
-    public SingleProducerSequencerPad(int bufferSize, WaitStrategy waitStrategy)
+    public SingleProducerSequencerPad(int bufferSize, WaitStrategy waitStrategy, ProducerWaitStrategy producerWaitStrategy)
+    {
+        super(bufferSize, waitStrategy, producerWaitStrategy);
+    }
+
+    SingleProducerSequencerPad(int bufferSize, WaitStrategy waitStrategy, ProducerWaitStrategy producerWaitStrategy, Sequence cursor)
     {
-        super(bufferSize, waitStrategy);
+        super(bufferSize, waitStrategy, producerWaitStrategy, cursor);
     }
 }
 
 abstract class SingleProducerSequencerFields extends SingleProducerSequencerPad
 {
-    public SingleProducerSequencerFields(int bufferSize, WaitStrategy waitStrategy)
+    public SingleProducerSequencerFields(int bufferSize, WaitStrategy waitStrategy, ProducerWaitStrategy producerWaitStrategy)
+    {
+        super(bufferSize, waitStrategy, producerWaitStrategy);
+    }
+
+    SingleProducerSequencerFields(int bufferSize, WaitStrategy waitStrategy, ProducerWaitStrategy producerWaitStrategy, Sequence cursor)
     {
-        super(bufferSize, waitStrategy);
+        super(bufferSize, waitStrategy, producerWaitStrategy, cursor);
     }
 
     /** Set to -1 as sequence starting point */
@@ -60,7 +68,38 @@ public final class SingleProducerSequencer extends SingleProducerSequencerFields
      */
     public SingleProducerSequencer(int bufferSize, final WaitStrategy waitStrategy)
     {
-        super(bufferSize, waitStrategy);
+        this(bufferSize, waitStrategy, new SleepingProducerWaitStrategy());
+    }
+
+    /**
+     * Construct a Sequencer with the selected wait strategies and buffer size.
+     *
+     * @param bufferSize the size of the buffer that this will sequence over.
+     * @param waitStrategy for those waiting on sequences.
+     * @param producerWaitStrategy for the publisher waiting on the gating sequences when the buffer is full.
+     */
+    public SingleProducerSequencer(int bufferSize,
+                                   final WaitStrategy waitStrategy,
+                                   final ProducerWaitStrategy producerWaitStrategy)
+    {
+        super(bufferSize, waitStrategy, producerWaitStrategy);
+    }
+
+    /**
+     * Construct a Sequencer over an existing cursor, continuing to claim from the cursor's current value.
+     *
+     * @param bufferSize the size of the buffer that this will sequence over.
+     * @param waitStrategy for those waiting on sequences.
+     * @param producerWaitStrategy for the publisher waiting on the gating sequences when the buffer is full.
+     * @param cursor the sequence to hold the cursor in.
+     */
+    SingleProducerSequencer(int bufferSize,
+                            final WaitStrategy waitStrategy,
+                            final ProducerWaitStrategy producerWaitStrategy,
+                            final Sequence cursor)
+    {
+        super(bufferSize, waitStrategy, producerWaitStrategy, cursor);
+        this.nextValue = cursor.get();
     }
 
     /**
@@ -76,7 +115,7 @@ public final class SingleProducerSequencer extends SingleProducerSequencerFields
 
         if (wrapPoint > cachedGatingSequence || cachedGatingSequence > nextValue)
         {
-            long minSequence = Util.getMinimumSequence(gatingSequences, nextValue);
+            long minSequence = getMinimumGatingSequence(nextValue);
             this.cachedValue = minSequence;
 
             if (wrapPoint > minSequence)
@@ -116,10 +155,47 @@ public final class SingleProducerSequencer extends SingleProducerSequencerFields
 
         if (wrapPoint > cachedGatingSequence || cachedGatingSequence > nextValue)
         {
-            long minSequence;
-            while (wrapPoint > (minSequence = Util.getMinimumSequence(gatingSequences, nextValue)))
+            long minSequence = getMinimumGatingSequence(nextValue);
+            if (wrapPoint > minSequence)
+            {
+                minSequence = producerWaitStrategy.waitFor(wrapPoint, this);
+            }
+
+            this.cachedValue = minSequence;
+        }
+
+        this.nextValue = nextSequence;
+
+        return nextSequence;
+    }
+
+    /**
+     * @see Sequencer#next(int, long, TimeUnit)
+     */
+    @Override
+    public long next(int n, long timeout, TimeUnit unit)
+    {
+        if (n < 1)
+        {
+            throw new IllegalArgumentException("n must be > 0");
+        }
+
+        long nextValue = this.nextValue;
+
+        long nextSequence = nextValue + n;
+        long wrapPoint = nextSequence - bufferSize;
+        long cachedGatingSequence = this.cachedValue;
+
+        if (wrapPoint > cachedGatingSequence || cachedGatingSequence > nextValue)
+        {
+            long minSequence = getMinimumGatingSequence(nextValue);
+            if (wrapPoint > minSequence)
             {
-                LockSupport.parkNanos(1L); // TODO: Use waitStrategy to spin?
+                minSequence = producerWaitStrategy.waitFor(wrapPoint, this, unit.toNanos(timeout));
+                if (wrapPoint > minSequence)
+                {
+                    return CLAIM_TIMED_OUT;
+                }
             }
 
             this.cachedValue = minSequence;
@@ -168,7 +244,7 @@ public final class SingleProducerSequencer extends SingleProducerSequencerFields
     {
         long nextValue = this.nextValue;
 
-        long consumed = Util.getMinimumSequence(gatingSequences, nextValue);
+        long consumed = getMinimumGatingSequence(nextValue);
         long produced = nextValue;
         return getBufferSize() - (produced - consumed);
     }
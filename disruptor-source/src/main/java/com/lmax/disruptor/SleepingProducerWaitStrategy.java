@@ -0,0 +1,80 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sleeping strategy for publishers waiting for capacity, parking the thread for the configured
+ * time between checks of the gating sequences.
+ *
+ * This is the default strategy of the {@link Sequencer}s and parks for a single nanosecond, the actual
+ * pause being determined by the timer slack of the operating system.
+ */
+public final class SleepingProducerWaitStrategy implements ProducerWaitStrategy
+{
+    private static final long DEFAULT_SLEEP = 1L;
+
+    private final long sleepTimeNs;
+
+    public SleepingProducerWaitStrategy()
+    {
+        this(DEFAULT_SLEEP);
+    }
+
+    public SleepingProducerWaitStrategy(long sleepTimeNs)
+    {
+        this.sleepTimeNs = sleepTimeNs;
+    }
+
+    @Override
+    public long waitFor(final long wrapPoint, final Gated gated)
+    {
+        long minSequence;
+
+        while (wrapPoint > (minSequence = gated.getMinimumSequence()))
+        {
+            LockSupport.parkNanos(sleepTimeNs);
+        }
+
+        return minSequence;
+    }
+
+    @Override
+    public long waitFor(final long wrapPoint, final Gated gated, final long timeoutNanos)
+    {
+        long minSequence;
+        final long deadline = System.nanoTime() + timeoutNanos;
+
+        while (wrapPoint > (minSequence = gated.getMinimumSequence()))
+        {
+            final long remaining = deadline - System.nanoTime();
+            if (remaining <= 0)
+            {
+                break;
+            }
+
+            LockSupport.parkNanos(Math.min(sleepTimeNs, remaining));
+        }
+
+        return minSequence;
+    }
+
+    @Override
+    public void signalAllWhenBlocking()
+    {
+    }
+}
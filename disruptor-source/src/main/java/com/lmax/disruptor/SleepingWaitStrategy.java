@@ -17,6 +17,8 @@ package com.lmax.disruptor;
 
 import java.util.concurrent.locks.LockSupport;
 
+import com.lmax.disruptor.util.ThreadHints;
+
 /**
  * Sleeping strategy that initially spins, then uses a Thread.yield(), and
  * eventually sleep (<code>LockSupport.parkNanos(1)</code>) for the minimum
@@ -70,6 +72,7 @@ public final class SleepingWaitStrategy implements WaitStrategy
         if (counter > 100)
         {
             --counter;
+            ThreadHints.onSpinWait();
         }
         else if (counter > 0)
         {
@@ -0,0 +1,465 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import static java.util.Arrays.copyOf;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+import com.lmax.disruptor.dsl.ProducerType;
+import com.lmax.disruptor.util.Util;
+
+/**
+ * <p>Ring buffer holding references to values, for exchanging immutable objects without copying them into
+ * preallocated events.  Values are published with {@link #put(Object)} and {@link #putAll(Object[])} and consumed
+ * by {@link EventHandler}s of the value type, adapted with {@link #asEventHandler(EventHandler)} or
+ * {@link #createProcessor(EventHandler, Sequence...)}.</p>
+ *
+ * <p>So that a ring buffer does not keep its values alive for a lap after they have been consumed, the slots are
+ * cleared as the handlers it has adapted pass them.  At the end of each batch an adapted handler announces the
+ * sequence it has handled up to, then clears the slots every other gating consumer has also handled, before its
+ * own sequence is advanced.  As the announcement is made before the other consumers are read, the last of the
+ * consumers to handle a slot always sees that the others have handled it and clears it, and as that consumer's
+ * sequence still gates the slot it can never be cleared while a consumer may still read it or after a producer has
+ * reused it.  A slot last passed by a consumer not adapted by this ring buffer is left to be overwritten on the next
+ * lap.</p>
+ *
+ * <pre>
+ * Disruptor&lt;ValueRingBuffer.ValueEvent&lt;Trade&gt;&gt; disruptor =
+ *     new Disruptor&lt;ValueRingBuffer.ValueEvent&lt;Trade&gt;&gt;(ringBuffer, executor);
+ * disruptor.handleEventsWith(ringBuffer.asEventHandler(tradeHandler));
+ * </pre>
+ *
+ * @param <T> type of the values held by the ring buffer.
+ */
+public final class ValueRingBuffer<T> extends AbstractEventRing<ValueRingBuffer.ValueEvent<T>>
+{
+    // pad either end of the array so that the references do not share a cache line with other data
+    private static final int BUFFER_PAD = 128 / Util.getUnsafe().arrayIndexScale(Object[].class);
+
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<ValueRingBuffer, Sequence[]> CONSUMERS_UPDATER =
+        AtomicReferenceFieldUpdater.newUpdater(ValueRingBuffer.class, Sequence[].class, "consumers");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<ValueRingBuffer, ValueEventHandler[]> HANDLERS_UPDATER =
+        AtomicReferenceFieldUpdater.newUpdater(ValueRingBuffer.class, ValueEventHandler[].class, "handlers");
+
+    private final Object[] entries;
+    private final int indexMask;
+    private final ThreadLocal<ValueEvent<T>> events = new ThreadLocal<ValueEvent<T>>()
+    {
+        @Override
+        protected ValueEvent<T> initialValue()
+        {
+            return new ValueEvent<T>(ValueRingBuffer.this);
+        }
+    };
+    private volatile Sequence[] consumers = new Sequence[0];
+    // the adapted handlers that have been given the sequence of their processor
+    private volatile ValueEventHandler<?>[] handlers = new ValueEventHandler<?>[0];
+
+    /**
+     * Construct a ring buffer holding a value for each sequence of the supplied sequencer.
+     *
+     * @param sequencer sequencer to handle the ordering of values moving through the ring buffer.
+     * @throws IllegalArgumentException if the buffer size is less than 1 or not a power of 2
+     */
+    public ValueRingBuffer(final Sequencer sequencer)
+    {
+        super(sequencer);
+        this.entries = new Object[bufferSize + 2 * BUFFER_PAD];
+        this.indexMask = bufferSize - 1;
+    }
+
+    /**
+     * Create a new single producer ring buffer.
+     *
+     * @param <T> type of the values held by the ring buffer.
+     * @param bufferSize number of values held by the ring buffer.
+     * @param waitStrategy used to determine how to wait for new values to become available.
+     * @throws IllegalArgumentException if bufferSize is less than 1 or not a power of 2
+     */
+    public static <T> ValueRingBuffer<T> createSingleProducer(final int bufferSize, final WaitStrategy waitStrategy)
+    {
+        return new ValueRingBuffer<T>(new SingleProducerSequencer(bufferSize, waitStrategy));
+    }
+
+    /**
+     * Create a new multiple producer ring buffer.
+     *
+     * @param <T> type of the values held by the ring buffer.
+     * @param bufferSize number of values held by the ring buffer.
+     * @param waitStrategy used to determine how to wait for new values to become available.
+     * @throws IllegalArgumentException if bufferSize is less than 1 or not a power of 2
+     */
+    public static <T> ValueRingBuffer<T> createMultiProducer(final int bufferSize, final WaitStrategy waitStrategy)
+    {
+        return new ValueRingBuffer<T>(new MultiProducerSequencer(bufferSize, waitStrategy));
+    }
+
+    /**
+     * Create a new ring buffer with the specified producer type.
+     *
+     * @param <T> type of the values held by the ring buffer.
+     * @param producerType producer type to use {@link ProducerType}.
+     * @param bufferSize number of values held by the ring buffer.
+     * @param waitStrategy used to determine how to wait for new values to become available.
+     * @throws IllegalArgumentException if bufferSize is less than 1 or not a power of 2
+     */
+    public static <T> ValueRingBuffer<T> create(final ProducerType producerType,
+                                                final int bufferSize,
+                                                final WaitStrategy waitStrategy)
+    {
+        switch (producerType)
+        {
+        case SINGLE:
+            return createSingleProducer(bufferSize, waitStrategy);
+        case MULTI:
+            return createMultiProducer(bufferSize, waitStrategy);
+        case MULTI_FETCH_AND_ADD:
+            return new ValueRingBuffer<T>(new FetchAndAddMultiProducerSequencer(bufferSize, waitStrategy));
+        default:
+            throw new IllegalStateException(producerType.toString());
+        }
+    }
+
+    /**
+     * Get the calling thread's {@link ValueEvent} flyweight, positioned on the given sequence.  The event is only
+     * valid until the calling thread next calls this method.
+     *
+     * @param sequence for the event
+     * @return the event for the given sequence
+     */
+    @Override
+    public ValueEvent<T> get(final long sequence)
+    {
+        final ValueEvent<T> event = events.get();
+        event.sequence = sequence;
+        return event;
+    }
+
+    /**
+     * Get the value held for a sequence, or null if its slot has been cleared.
+     *
+     * @param sequence of the value.
+     * @return the value.
+     */
+    @SuppressWarnings("unchecked")
+    public T getValue(final long sequence)
+    {
+        return (T) entries[BUFFER_PAD + ((int) sequence & indexMask)];
+    }
+
+    /**
+     * Set the value for a claimed sequence, before publishing it.
+     *
+     * @param sequence of the value.
+     * @param value to hold for the sequence.
+     */
+    public void setValue(final long sequence, final T value)
+    {
+        entries[BUFFER_PAD + ((int) sequence & indexMask)] = value;
+    }
+
+    /**
+     * Publish a single value, waiting for capacity if the ring buffer is full.
+     *
+     * @param value to publish.
+     */
+    public void put(final T value)
+    {
+        final long sequence = sequencer.next();
+        setValue(sequence, value);
+        sequencer.publish(sequence);
+    }
+
+    /**
+     * Attempt to publish a single value.
+     *
+     * @param value to publish.
+     * @return true if the value was published, false if there was insufficient capacity.
+     */
+    public boolean tryPut(final T value)
+    {
+        try
+        {
+            final long sequence = sequencer.tryNext();
+            setValue(sequence, value);
+            sequencer.publish(sequence);
+            return true;
+        }
+        catch (InsufficientCapacityException e)
+        {
+            return false;
+        }
+    }
+
+    /**
+     * Publish all of the values in an array.
+     *
+     * @param values to publish.
+     * @see #putAll(Object[], int, int)
+     */
+    public void putAll(final T[] values)
+    {
+        putAll(values, 0, values.length);
+    }
+
+    /**
+     * Publish a run of values, copying the references into the ring buffer and publishing them with a single claim.
+     * Runs longer than the ring buffer are published a buffer's worth at a time.
+     *
+     * @param values the array holding the values.
+     * @param off the index in the array of the first value.
+     * @param len the number of values to publish.
+     * @throws IndexOutOfBoundsException if the range is outside of the array.
+     */
+    public void putAll(final T[] values, final int off, final int len)
+    {
+        if (off < 0 || len < 0 || off > values.length - len)
+        {
+            throw new IndexOutOfBoundsException("off: " + off + ", len: " + len + ", length: " + values.length);
+        }
+
+        int published = 0;
+        while (published < len)
+        {
+            final int n = Math.min(len - published, bufferSize);
+            final long hi = sequencer.next(n);
+            final long lo = hi - (n - 1);
+
+            final int index = (int) lo & indexMask;
+            final int first = Math.min(n, bufferSize - index);
+            System.arraycopy(values, off + published, entries, BUFFER_PAD + index, first);
+            System.arraycopy(values, off + published + first, entries, BUFFER_PAD, n - first);
+
+            sequencer.publish(lo, hi);
+            published += n;
+        }
+    }
+
+    @Override
+    public void addGatingSequences(final Sequence... gatingSequences)
+    {
+        super.addGatingSequences(gatingSequences);
+
+        Sequence[] currentConsumers;
+        Sequence[] updatedConsumers;
+        do
+        {
+            currentConsumers = consumers;
+            updatedConsumers = copyOf(currentConsumers, currentConsumers.length + gatingSequences.length);
+            System.arraycopy(gatingSequences, 0, updatedConsumers, currentConsumers.length, gatingSequences.length);
+        }
+        while (!CONSUMERS_UPDATER.compareAndSet(this, currentConsumers, updatedConsumers));
+    }
+
+    @Override
+    public boolean removeGatingSequence(final Sequence sequence)
+    {
+        // stop clearing slots for the sequence before it stops gating the producers
+        SequenceGroups.removeSequence(this, CONSUMERS_UPDATER, sequence);
+        return super.removeGatingSequence(sequence);
+    }
+
+    /**
+     * Create an event processor that passes each value to the handler, gated on the cursor and the supplied
+     * sequences.  The processor's sequence must be added as a gating sequence before publishing.
+     *
+     * @param handler to receive the values.
+     * @param sequencesToTrack the additional sequences to track.
+     * @return the event processor.
+     */
+    public BatchEventProcessor<ValueEvent<T>> createProcessor(final EventHandler<T> handler,
+                                                              final Sequence... sequencesToTrack)
+    {
+        final ValueEvent<T> event = new ValueEvent<T>(this);
+        return new BatchEventProcessor<ValueEvent<T>>(
+            new DataProvider<ValueEvent<T>>()
+            {
+                @Override
+                public ValueEvent<T> get(final long sequence)
+                {
+                    event.sequence = sequence;
+                    return event;
+                }
+            },
+            newBarrier(sequencesToTrack),
+            asEventHandler(handler));
+    }
+
+    /**
+     * Adapt an {@link EventHandler} of values to handle the {@link ValueEvent}s of this ring buffer, e.g. when
+     * setting up the ring buffer with the {@link com.lmax.disruptor.dsl.Disruptor} DSL.  When run by a
+     * {@link BatchEventProcessor} whose sequence gates the ring buffer, the adapted handler clears the slots it is
+     * the last consumer to pass at the end of each batch.
+     *
+     * @param handler to receive the values.
+     * @return an event handler passing the value of each event to the handler.
+     */
+    public EventHandler<ValueEvent<T>> asEventHandler(final EventHandler<T> handler)
+    {
+        return new ValueEventHandler<T>(this, handler);
+    }
+
+    private void register(final ValueEventHandler<?> handler)
+    {
+        ValueEventHandler<?>[] currentHandlers;
+        ValueEventHandler<?>[] updatedHandlers;
+        do
+        {
+            currentHandlers = handlers;
+            updatedHandlers = copyOf(currentHandlers, currentHandlers.length + 1);
+            updatedHandlers[currentHandlers.length] = handler;
+        }
+        while (!HANDLERS_UPDATER.compareAndSet(this, currentHandlers, updatedHandlers));
+    }
+
+    /**
+     * Announce that the handler has handled the slots up to the sequence its consumer is about to advance to, then
+     * clear the slots from the consumer's sequence up to that sequence, as far as every other gating consumer has
+     * handled them.  Must be called by the consumer before it advances its sequence.
+     */
+    private void release(final ValueEventHandler<?> releasing, final long nextSequence)
+    {
+        final Sequence consumer = releasing.sequence;
+        // a volatile store, so the announcement is visible before the other consumers are read
+        releasing.handled.setVolatile(nextSequence);
+
+        final ValueEventHandler<?>[] adapted = handlers;
+        long minimum = nextSequence;
+        boolean gating = false;
+        for (final Sequence sequence : consumers)
+        {
+            if (sequence == consumer)
+            {
+                gating = true;
+            }
+            else
+            {
+                minimum = Math.min(minimum, handledBy(sequence, adapted));
+            }
+        }
+
+        final long from = consumer.get() + 1;
+        if (!gating || minimum < from)
+        {
+            return;
+        }
+
+        final int n = (int) Math.min(minimum - from + 1, bufferSize);
+        final int index = (int) from & indexMask;
+        final int first = Math.min(n, bufferSize - index);
+        Arrays.fill(entries, BUFFER_PAD + index, BUFFER_PAD + index + first, null);
+        Arrays.fill(entries, BUFFER_PAD, BUFFER_PAD + n - first, null);
+    }
+
+    private static long handledBy(final Sequence sequence, final ValueEventHandler<?>[] adapted)
+    {
+        for (final ValueEventHandler<?> handler : adapted)
+        {
+            if (handler.sequence == sequence)
+            {
+                return Math.max(sequence.get(), handler.handled.get());
+            }
+        }
+
+        return sequence.get();
+    }
+
+    private static final class ValueEventHandler<T>
+        implements SequenceReportingEventHandler<ValueEvent<T>>, LifecycleAware
+    {
+        private final ValueRingBuffer<T> ringBuffer;
+        private final EventHandler<T> handler;
+        private final Sequence handled = new Sequence(Sequencer.INITIAL_CURSOR_VALUE);
+        private Sequence sequence;
+
+        ValueEventHandler(final ValueRingBuffer<T> ringBuffer, final EventHandler<T> handler)
+        {
+            this.ringBuffer = ringBuffer;
+            this.handler = handler;
+        }
+
+        @Override
+        public void setSequenceCallback(final Sequence sequenceCallback)
+        {
+            this.sequence = sequenceCallback;
+            ringBuffer.register(this);
+        }
+
+        @Override
+        public void onEvent(final ValueEvent<T> event, final long sequence, final boolean endOfBatch) throws Exception
+        {
+            handler.onEvent(event.get(), sequence, endOfBatch);
+
+            if (endOfBatch && null != this.sequence)
+            {
+                ringBuffer.release(this, sequence);
+            }
+        }
+
+        @Override
+        public void onStart()
+        {
+            if (handler instanceof LifecycleAware)
+            {
+                ((LifecycleAware) handler).onStart();
+            }
+        }
+
+        @Override
+        public void onShutdown()
+        {
+            if (handler instanceof LifecycleAware)
+            {
+                ((LifecycleAware) handler).onShutdown();
+            }
+        }
+    }
+
+    /**
+     * Flyweight over the value held for a single sequence.
+     *
+     * @param <T> type of the value.
+     */
+    public static final class ValueEvent<T>
+    {
+        private final ValueRingBuffer<T> ringBuffer;
+        private long sequence;
+
+        ValueEvent(final ValueRingBuffer<T> ringBuffer)
+        {
+            this.ringBuffer = ringBuffer;
+        }
+
+        public T get()
+        {
+            return ringBuffer.getValue(sequence);
+        }
+
+        public void set(final T value)
+        {
+            ringBuffer.setValue(sequence, value);
+        }
+
+        public long getSequence()
+        {
+            return sequence;
+        }
+    }
+}
@@ -29,12 +29,14 @@ public final class WorkProcessor<T>
     implements EventProcessor
 {
     private final AtomicBoolean running = new AtomicBoolean(false);
-    private final Sequence sequence = new Sequence(Sequencer.INITIAL_CURSOR_VALUE);
+    private volatile boolean retiring = false;
+    private final Sequence sequence;
     private final RingBuffer<T> ringBuffer;
     private final SequenceBarrier sequenceBarrier;
     private final WorkHandler<? super T> workHandler;
     private final ExceptionHandler<? super T> exceptionHandler;
     private final Sequence workSequence;
+    private int claimBatchSize = 1;
 
     private final EventReleaser eventReleaser = new EventReleaser()
     {
@@ -61,6 +63,29 @@ public final class WorkProcessor<T>
                          final ExceptionHandler<? super T> exceptionHandler,
                          final Sequence workSequence)
     {
+        this(ringBuffer, sequenceBarrier, workHandler, exceptionHandler, workSequence,
+             new Sequence(Sequencer.INITIAL_CURSOR_VALUE));
+    }
+
+    /**
+     * Construct a {@link WorkProcessor} that tracks its progress in the supplied sequence.
+     *
+     * @param ringBuffer to which events are published.
+     * @param sequenceBarrier on which it is waiting.
+     * @param workHandler is the delegate to which events are dispatched.
+     * @param exceptionHandler to be called back when an error occurs
+     * @param workSequence from which to claim the next event to be worked on.  It should always be initialised
+     * as {@link Sequencer#INITIAL_CURSOR_VALUE}
+     * @param sequence to track the progress of this processor, e.g. one of the sequences of a {@link SequenceArray}.
+     */
+    public WorkProcessor(final RingBuffer<T> ringBuffer,
+                         final SequenceBarrier sequenceBarrier,
+                         final WorkHandler<? super T> workHandler,
+                         final ExceptionHandler<? super T> exceptionHandler,
+                         final Sequence workSequence,
+                         final Sequence sequence)
+    {
+        this.sequence = sequence;
         this.ringBuffer = ringBuffer;
         this.sequenceBarrier = sequenceBarrier;
         this.workHandler = workHandler;
@@ -73,6 +98,25 @@ public final class WorkProcessor<T>
         }
     }
 
+    /**
+     * Claim this many sequences from the shared work sequence at a time, rather than one, so that the processors of a
+     * pool contend on the work sequence less often.  The processor still updates its own sequence as it handles each
+     * event, but holds the events it has claimed and not yet handled, so a larger batch can leave other processors
+     * idle while this one works through its batch.  Must be called before the processor is started.
+     *
+     * @param claimBatchSize the number of sequences to claim at a time.
+     * @throws IllegalArgumentException if claimBatchSize is less than 1.
+     */
+    public void setClaimBatchSize(final int claimBatchSize)
+    {
+        if (claimBatchSize < 1)
+        {
+            throw new IllegalArgumentException("claimBatchSize must be at least 1");
+        }
+
+        this.claimBatchSize = claimBatchSize;
+    }
+
     @Override
     public Sequence getSequence()
     {
@@ -86,6 +130,16 @@ public final class WorkProcessor<T>
         sequenceBarrier.alert();
     }
 
+    /**
+     * Stop once the events already claimed from the work sequence have been handled, without claiming any more,
+     * so that no event is lost.  A claimed event may not have been published yet, in which case the processor
+     * stops after it has been published and handled.  A retired processor does not claim any events if run again.
+     */
+    void retire()
+    {
+        retiring = true;
+    }
+
     @Override
     public boolean isRunning()
     {
@@ -111,6 +165,8 @@ public final class WorkProcessor<T>
         boolean processedSequence = true;
         long cachedAvailableSequence = Long.MIN_VALUE;
         long nextSequence = sequence.get();
+        long claimedSequence = nextSequence;
+        final int batchSize = claimBatchSize;
         T event = null;
         while (true)
         {
@@ -124,12 +180,27 @@ public final class WorkProcessor<T>
                 if (processedSequence)
                 {
                     processedSequence = false;
-                    do
+                    if (nextSequence < claimedSequence)
+                    {
+                        // still working through a batch claimed earlier
+                        sequence.set(nextSequence);
+                        nextSequence++;
+                    }
+                    else if (retiring)
+                    {
+                        break;
+                    }
+                    else
                     {
-                        nextSequence = workSequence.get() + 1L;
-                        sequence.set(nextSequence - 1L);
+                        do
+                        {
+                            nextSequence = workSequence.get() + 1L;
+                            sequence.set(nextSequence - 1L);
+                            claimedSequence = nextSequence + batchSize - 1L;
+                        }
+                        while (!workSequence.compareAndSet(nextSequence - 1L, claimedSequence));
                     }
-                    while (!workSequence.compareAndSet(nextSequence - 1L, nextSequence));
+                    sequenceBarrier.signalProducers();
                 }
 
                 if (cachedAvailableSequence >= nextSequence)
@@ -111,6 +111,27 @@ public final class WorkerPool<T>
         return sequences;
     }
 
+    /**
+     * Have each worker claim this many sequences at a time from the shared work sequence.
+     *
+     * @param claimBatchSize the number of sequences each worker claims at a time.
+     * @throws IllegalArgumentException if claimBatchSize is less than 1.
+     * @throws IllegalStateException if the pool has been started.
+     * @see WorkProcessor#setClaimBatchSize(int)
+     */
+    public void setClaimBatchSize(final int claimBatchSize)
+    {
+        if (started.get())
+        {
+            throw new IllegalStateException("WorkerPool has already been started");
+        }
+
+        for (WorkProcessor<?> processor : workProcessors)
+        {
+            processor.setClaimBatchSize(claimBatchSize);
+        }
+    }
+
     /**
      * Start the worker pool processing events in sequence.
      *
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import com.lmax.disruptor.util.ThreadHints;
+
+/**
+ * Yielding strategy that uses a Thread.yield() for publishers waiting for capacity after an initially spinning.
+ *
+ * This strategy is a good compromise between performance and CPU resource without incurring significant latency spikes.
+ */
+public final class YieldingProducerWaitStrategy implements ProducerWaitStrategy
+{
+    private static final int SPIN_TRIES = 100;
+
+    @Override
+    public long waitFor(final long wrapPoint, final Gated gated)
+    {
+        long minSequence;
+        int counter = SPIN_TRIES;
+
+        while (wrapPoint > (minSequence = gated.getMinimumSequence()))
+        {
+            if (0 == counter)
+            {
+                Thread.yield();
+            }
+            else
+            {
+                --counter;
+                ThreadHints.onSpinWait();
+            }
+        }
+
+        return minSequence;
+    }
+
+    @Override
+    public long waitFor(final long wrapPoint, final Gated gated, final long timeoutNanos)
+    {
+        long minSequence;
+        int counter = SPIN_TRIES;
+        final long deadline = System.nanoTime() + timeoutNanos;
+
+        while (wrapPoint > (minSequence = gated.getMinimumSequence()))
+        {
+            if (System.nanoTime() - deadline >= 0)
+            {
+                break;
+            }
+
+            if (0 == counter)
+            {
+                Thread.yield();
+            }
+            else
+            {
+                --counter;
+                ThreadHints.onSpinWait();
+            }
+        }
+
+        return minSequence;
+    }
+
+    @Override
+    public void signalAllWhenBlocking()
+    {
+    }
+}
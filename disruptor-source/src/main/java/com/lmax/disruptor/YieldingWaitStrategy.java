@@ -15,6 +15,7 @@
  */
 package com.lmax.disruptor;
 
+import com.lmax.disruptor.util.ThreadHints;
 
 /**
  * Yielding strategy that uses a Thread.yield() for {@link com.lmax.disruptor.EventProcessor}s waiting on a barrier
@@ -58,6 +59,7 @@ public final class YieldingWaitStrategy implements WaitStrategy
         else
         {
             --counter;
+            ThreadHints.onSpinWait();
         }
 
         return counter;
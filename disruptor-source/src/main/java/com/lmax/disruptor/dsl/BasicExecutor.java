@@ -0,0 +1,45 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor.dsl;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Runs each task on a new thread from a {@link ThreadFactory}, so every event processor has a thread of its own
+ * however many there are.
+ */
+final class BasicExecutor implements Executor
+{
+    private final ThreadFactory factory;
+
+    BasicExecutor(final ThreadFactory factory)
+    {
+        this.factory = factory;
+    }
+
+    @Override
+    public void execute(final Runnable command)
+    {
+        final Thread thread = factory.newThread(command);
+        if (null == thread)
+        {
+            throw new RuntimeException("Failed to create thread to run: " + command);
+        }
+
+        thread.start();
+    }
+}
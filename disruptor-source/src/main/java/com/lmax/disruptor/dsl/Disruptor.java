@@ -16,6 +16,7 @@
 package com.lmax.disruptor.dsl;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -23,9 +24,18 @@ import com.lmax.disruptor.BatchEventProcessor;
 import com.lmax.disruptor.EventFactory;
 import com.lmax.disruptor.EventHandler;
 import com.lmax.disruptor.EventProcessor;
+import com.lmax.disruptor.EventRing;
 import com.lmax.disruptor.EventTranslator;
+import com.lmax.disruptor.EventTranslatorDouble;
+import com.lmax.disruptor.EventTranslatorLong;
+import com.lmax.disruptor.EventTranslatorLongLong;
+import com.lmax.disruptor.EventTranslatorLongObj;
 import com.lmax.disruptor.EventTranslatorOneArg;
 import com.lmax.disruptor.ExceptionHandler;
+import com.lmax.disruptor.LongPartitionKeyExtractor;
+import com.lmax.disruptor.PartitionKeyExtractor;
+import com.lmax.disruptor.PartitionedEventHandler;
+import com.lmax.disruptor.ProducerWaitStrategy;
 import com.lmax.disruptor.RingBuffer;
 import com.lmax.disruptor.Sequence;
 import com.lmax.disruptor.SequenceBarrier;
@@ -54,11 +64,17 @@ import com.lmax.disruptor.util.Util;
  * RingBuffer ringBuffer = disruptor.start();</code>
  * </pre>
  *
+ * <p>
+ * The disruptor can also be set up around any other {@link EventRing}, such as an
+ * {@link com.lmax.disruptor.OffHeapRingBuffer}, with {@link #Disruptor(EventRing, Executor)}.  Such a disruptor
+ * is started with {@link #startEventRing()} and its ring is returned by {@link #getEventRing()}.
+ * </p>
+ *
  * @param <T> the type of event used.
  */
 public class Disruptor<T>
 {
-    private final RingBuffer<T> ringBuffer;
+    private final EventRing<T> ringBuffer;
     private final Executor executor;
     private final ConsumerRepository<T> consumerRepository = new ConsumerRepository<T>();
     private final AtomicBoolean started = new AtomicBoolean(false);
@@ -100,9 +116,60 @@ public class Disruptor<T>
     }
 
     /**
-     * Private constructor helper
+     * Create a new Disruptor.
+     *
+     * @param eventFactory         the factory to create events in the ring buffer.
+     * @param ringBufferSize       the size of the ring buffer, must be power of 2.
+     * @param executor             an {@link Executor} to execute event processors.
+     * @param producerType         the claim strategy to use for the ring buffer.
+     * @param waitStrategy         the wait strategy to use for the ring buffer.
+     * @param producerWaitStrategy the wait strategy publishers use when the ring buffer is full.
+     */
+    public Disruptor(final EventFactory<T> eventFactory,
+                     final int ringBufferSize,
+                     final Executor executor,
+                     final ProducerType producerType,
+                     final WaitStrategy waitStrategy,
+                     final ProducerWaitStrategy producerWaitStrategy)
+    {
+        this(RingBuffer.create(producerType, eventFactory, ringBufferSize, waitStrategy, producerWaitStrategy),
+             executor);
+    }
+
+    /**
+     * Create a new Disruptor that starts each event processor on a new thread from <code>threadFactory</code>, so a
+     * topology can never have more processors than threads.  With
+     * {@link com.lmax.disruptor.util.VirtualThreads#threadFactory()} each processor runs on a virtual thread, which
+     * is best combined with a wait strategy that parks, such as {@link com.lmax.disruptor.ParkingWaitStrategy}.
+     *
+     * @param eventFactory   the factory to create events in the ring buffer.
+     * @param ringBufferSize the size of the ring buffer, must be power of 2.
+     * @param threadFactory  a {@link ThreadFactory} to create a thread for each event processor.
+     * @param producerType   the claim strategy to use for the ring buffer.
+     * @param waitStrategy   the wait strategy to use for the ring buffer.
+     */
+    public Disruptor(final EventFactory<T> eventFactory,
+                     final int ringBufferSize,
+                     final ThreadFactory threadFactory,
+                     final ProducerType producerType,
+                     final WaitStrategy waitStrategy)
+    {
+        this(RingBuffer.create(producerType, eventFactory, ringBufferSize, waitStrategy),
+             new BasicExecutor(threadFactory));
+    }
+
+    /**
+     * Create a new Disruptor around an existing ring, for example an {@link com.lmax.disruptor.OffHeapRingBuffer}.
+     * Event processors created by the disruptor read events from the ring with {@link EventRing#get(long)}.
+     *
+     * <p>Worker pools and {@link EventProcessorFactory}s work with a {@link RingBuffer} and can only be used
+     * if the ring is one, as can {@link #start()} and {@link #getRingBuffer()}, otherwise the disruptor is started
+     * with {@link #startEventRing()}.</p>
+     *
+     * @param ringBuffer the ring to publish events to and process events from.
+     * @param executor   an {@link Executor} to execute event processors.
      */
-    private Disruptor(final RingBuffer<T> ringBuffer, final Executor executor)
+    public Disruptor(final EventRing<T> ringBuffer, final Executor executor)
     {
         this.ringBuffer = ringBuffer;
         this.executor = executor;
@@ -168,6 +235,43 @@ public class Disruptor<T>
     }
 
 
+    /**
+     * <p>Set up event handlers that divide the events between them by key, each handling the events of one partition
+     * in sequence order.  Unlike a worker pool there is no shared work sequence, and as every event with a given key
+     * is handled by the same handler the handlers need no locking between them.  Each handler runs in its own
+     * {@link BatchEventProcessor}, which reads every event to get its key.</p>
+     *
+     * <pre><code>dw.handleEventsWithPartitioned(accountIdExtractor, A, B, C).then(D);</code></pre>
+     *
+     * @param keyExtractor to get the primitive key of each event, which selects the handler.
+     * @param handlers the event handlers, one for each partition.
+     * @return a {@link EventHandlerGroup} that can be used to chain dependencies.
+     * @see PartitionedEventHandler
+     */
+    @SuppressWarnings("varargs")
+    public EventHandlerGroup<T> handleEventsWithPartitioned(final LongPartitionKeyExtractor<? super T> keyExtractor,
+                                                            final EventHandler<? super T>... handlers)
+    {
+        return createPartitionedEventProcessors(new Sequence[0], keyExtractor, handlers);
+    }
+
+    /**
+     * Set up event handlers that divide the events between them by the hash code of an object key, a convenience
+     * for keys that are not primitive.  The key is extracted and hashed by every handler, see
+     * {@link #handleEventsWithPartitioned(LongPartitionKeyExtractor, EventHandler[])}.
+     *
+     * @param keyExtractor to get the key of each event, whose hash selects the handler.
+     * @param handlers the event handlers, one for each partition.
+     * @return a {@link EventHandlerGroup} that can be used to chain dependencies.
+     * @see PartitionedEventHandler
+     */
+    @SuppressWarnings("varargs")
+    public EventHandlerGroup<T> handleEventsWithPartitioned(final PartitionKeyExtractor<? super T> keyExtractor,
+                                                            final EventHandler<? super T>... handlers)
+    {
+        return createPartitionedEventProcessors(new Sequence[0], PartitionedEventHandler.<T>byHashCode(keyExtractor), handlers);
+    }
+
     /**
      * Set up a {@link WorkerPool} to distribute an event to one of a pool of work handler threads.
      * Each event will only be processed by one of the work handlers.
@@ -278,6 +382,98 @@ public class Disruptor<T>
         ringBuffer.publishEvents(eventTranslator, arg);
     }
 
+    /**
+     * Publish an event to the ring buffer without boxing the argument.
+     *
+     * @param eventTranslator the translator that will load data into the event.
+     * @param arg A single argument to load into the event
+     */
+    public void publishLongEvent(final EventTranslatorLong<T> eventTranslator, final long arg)
+    {
+        ringBuffer.publishLongEvent(eventTranslator, arg);
+    }
+
+    /**
+     * Publish a batch of events to the ring buffer without boxing the arguments.
+     *
+     * @param eventTranslator the translator that will load data into the event.
+     * @param arg An array single arguments to load into the events. One Per event.
+     */
+    public void publishLongEvents(final EventTranslatorLong<T> eventTranslator, final long[] arg)
+    {
+        ringBuffer.publishLongEvents(eventTranslator, arg);
+    }
+
+    /**
+     * Publish an event to the ring buffer without boxing the arguments.
+     *
+     * @param eventTranslator the translator that will load data into the event.
+     * @param arg0 The first argument to load into the event
+     * @param arg1 The second argument to load into the event
+     */
+    public void publishEvent(final EventTranslatorLongLong<T> eventTranslator, final long arg0, final long arg1)
+    {
+        ringBuffer.publishEvent(eventTranslator, arg0, arg1);
+    }
+
+    /**
+     * Publish a batch of events to the ring buffer without boxing the arguments.
+     *
+     * @param eventTranslator the translator that will load data into the event.
+     * @param arg0 An array of the first arguments to load into the events. One Per event.
+     * @param arg1 An array of the second arguments to load into the events. One Per event.
+     */
+    public void publishEvents(final EventTranslatorLongLong<T> eventTranslator, final long[] arg0, final long[] arg1)
+    {
+        ringBuffer.publishEvents(eventTranslator, arg0, arg1);
+    }
+
+    /**
+     * Publish an event to the ring buffer without boxing the argument.
+     *
+     * @param eventTranslator the translator that will load data into the event.
+     * @param arg A single argument to load into the event
+     */
+    public void publishDoubleEvent(final EventTranslatorDouble<T> eventTranslator, final double arg)
+    {
+        ringBuffer.publishDoubleEvent(eventTranslator, arg);
+    }
+
+    /**
+     * Publish a batch of events to the ring buffer without boxing the arguments.
+     *
+     * @param eventTranslator the translator that will load data into the event.
+     * @param arg An array single arguments to load into the events. One Per event.
+     */
+    public void publishDoubleEvents(final EventTranslatorDouble<T> eventTranslator, final double[] arg)
+    {
+        ringBuffer.publishDoubleEvents(eventTranslator, arg);
+    }
+
+    /**
+     * Publish an event to the ring buffer without boxing the <code>long</code> argument.
+     *
+     * @param eventTranslator the translator that will load data into the event.
+     * @param arg0 The <code>long</code> argument to load into the event
+     * @param arg1 The object argument to load into the event
+     */
+    public <A> void publishEvent(final EventTranslatorLongObj<T, A> eventTranslator, final long arg0, final A arg1)
+    {
+        ringBuffer.publishEvent(eventTranslator, arg0, arg1);
+    }
+
+    /**
+     * Publish a batch of events to the ring buffer without boxing the <code>long</code> arguments.
+     *
+     * @param eventTranslator the translator that will load data into the event.
+     * @param arg0 An array of the <code>long</code> arguments to load into the events. One Per event.
+     * @param arg1 An array of the object arguments to load into the events. One Per event.
+     */
+    public <A> void publishEvents(final EventTranslatorLongObj<T, A> eventTranslator, final long[] arg0, final A[] arg1)
+    {
+        ringBuffer.publishEvents(eventTranslator, arg0, arg1);
+    }
+
     /**
      * <p>Starts the event processors and returns the fully configured ring buffer.</p>
      *
@@ -287,8 +483,25 @@ public class Disruptor<T>
      * <p>This method must only be called once after all event processors have been added.</p>
      *
      * @return the configured ring buffer.
+     * @throws IllegalStateException if the disruptor was created around an {@link EventRing} that is not a
+     * {@link RingBuffer}, in which case {@link #startEventRing()} must be used, nothing is started.
      */
     public RingBuffer<T> start()
+    {
+        final RingBuffer<T> buffer = getRingBuffer();
+        startEventRing();
+        return buffer;
+    }
+
+    /**
+     * <p>Starts the event processors and returns the fully configured ring, as {@link #start()} does, for a
+     * disruptor created around any {@link EventRing}.</p>
+     *
+     * <p>This method must only be called once after all event processors have been added.</p>
+     *
+     * @return the configured ring.
+     */
+    public EventRing<T> startEventRing()
     {
         final Sequence[] gatingSequences = consumerRepository.getLastSequenceInChain(true);
         ringBuffer.addGatingSequences(gatingSequences);
@@ -362,8 +575,24 @@ public class Disruptor<T>
      * event processors if the behaviour of {@link BatchEventProcessor} is not suitable.
      *
      * @return the ring buffer used by this Disruptor.
+     * @throws IllegalStateException if the disruptor was created around an {@link EventRing} that is not a
+     * {@link RingBuffer}, use {@link #getEventRing()} instead.
      */
     public RingBuffer<T> getRingBuffer()
+    {
+        if (!(ringBuffer instanceof RingBuffer))
+        {
+            throw new IllegalStateException("Disruptor was created around an EventRing that is not a RingBuffer, use getEventRing()");
+        }
+        return (RingBuffer<T>) ringBuffer;
+    }
+
+    /**
+     * The {@link EventRing} used by this Disruptor, whether or not it is a {@link RingBuffer}.
+     *
+     * @return the ring used by this Disruptor.
+     */
+    public EventRing<T> getEventRing()
     {
         return ringBuffer;
     }
@@ -431,6 +660,25 @@ public class Disruptor<T>
 
     EventHandlerGroup<T> createEventProcessors(final Sequence[] barrierSequences,
                                                final EventHandler<? super T>[] eventHandlers)
+    {
+        return createEventProcessors(barrierSequences, eventHandlers, null);
+    }
+
+    EventHandlerGroup<T> createPartitionedEventProcessors(final Sequence[] barrierSequences,
+                                                          final LongPartitionKeyExtractor<? super T> keyExtractor,
+                                                          final EventHandler<? super T>[] eventHandlers)
+    {
+        if (null == keyExtractor)
+        {
+            throw new NullPointerException();
+        }
+
+        return createEventProcessors(barrierSequences, eventHandlers, keyExtractor);
+    }
+
+    private EventHandlerGroup<T> createEventProcessors(final Sequence[] barrierSequences,
+                                                       final EventHandler<? super T>[] eventHandlers,
+                                                       final LongPartitionKeyExtractor<? super T> keyExtractor)
     {
         checkNotStarted();
 
@@ -441,7 +689,11 @@ public class Disruptor<T>
         {
             final EventHandler<? super T> eventHandler = eventHandlers[i];
 
-            final BatchEventProcessor<T> batchEventProcessor = new BatchEventProcessor<T>(ringBuffer, barrier, eventHandler);
+            final EventHandler<? super T> processorHandler = null == keyExtractor ?
+                eventHandler :
+                new PartitionedEventHandler<T>(ringBuffer, keyExtractor, i, eventHandlersLength, eventHandler);
+            final BatchEventProcessor<T> batchEventProcessor =
+                new BatchEventProcessor<T>(ringBuffer, barrier, processorHandler);
 
             if (exceptionHandler != null)
             {
@@ -465,7 +717,7 @@ public class Disruptor<T>
         final EventProcessor[] eventProcessors = new EventProcessor[processorFactories.length];
         for (int i = 0; i < processorFactories.length; i++)
         {
-            eventProcessors[i] = processorFactories[i].createEventProcessor(ringBuffer, barrierSequences);
+            eventProcessors[i] = processorFactories[i].createEventProcessor(requireRingBuffer(), barrierSequences);
         }
         return handleEventsWith(eventProcessors);
     }
@@ -473,11 +725,25 @@ public class Disruptor<T>
     EventHandlerGroup<T> createWorkerPool(final Sequence[] barrierSequences, final WorkHandler<? super T>[] workHandlers)
     {
         final SequenceBarrier sequenceBarrier = ringBuffer.newBarrier(barrierSequences);
-        final WorkerPool<T> workerPool = new WorkerPool<T>(ringBuffer, sequenceBarrier, exceptionHandler, workHandlers);
+        final WorkerPool<T> workerPool = new WorkerPool<T>(requireRingBuffer(), sequenceBarrier, exceptionHandler, workHandlers);
         consumerRepository.add(workerPool, sequenceBarrier);
         return new EventHandlerGroup<T>(this, consumerRepository, workerPool.getWorkerSequences());
     }
 
+    SequenceBarrier newBarrier(final Sequence[] sequencesToTrack)
+    {
+        return ringBuffer.newBarrier(sequencesToTrack);
+    }
+
+    private RingBuffer<T> requireRingBuffer()
+    {
+        if (!(ringBuffer instanceof RingBuffer))
+        {
+            throw new IllegalStateException("Worker pools and event processor factories require a RingBuffer");
+        }
+        return (RingBuffer<T>) ringBuffer;
+    }
+
     private void checkNotStarted()
     {
         if (started.get())
@@ -17,6 +17,9 @@ package com.lmax.disruptor.dsl;
 
 import com.lmax.disruptor.EventHandler;
 import com.lmax.disruptor.EventProcessor;
+import com.lmax.disruptor.LongPartitionKeyExtractor;
+import com.lmax.disruptor.PartitionKeyExtractor;
+import com.lmax.disruptor.PartitionedEventHandler;
 import com.lmax.disruptor.Sequence;
 import com.lmax.disruptor.SequenceBarrier;
 import com.lmax.disruptor.WorkHandler;
@@ -94,6 +97,40 @@ public class EventHandlerGroup<T>
         return handleEventsWith(handlers);
     }
 
+    /**
+     * Set up event handlers that divide the events between them by key, each handling the events of one partition
+     * after every {@link EventProcessor} in this group has processed them.
+     *
+     * <pre><code>dw.after(A).handleEventsWithPartitioned(accountIdExtractor, B, C);</code></pre>
+     *
+     * @param keyExtractor to get the primitive key of each event, which selects the handler.
+     * @param handlers the event handlers, one for each partition.
+     * @return a {@link EventHandlerGroup} that can be used to set up a event processor barrier over the created event processors.
+     * @see Disruptor#handleEventsWithPartitioned(LongPartitionKeyExtractor, EventHandler[])
+     */
+    @SuppressWarnings("varargs")
+    public EventHandlerGroup<T> handleEventsWithPartitioned(final LongPartitionKeyExtractor<? super T> keyExtractor,
+                                                            final EventHandler<? super T>... handlers)
+    {
+        return disruptor.createPartitionedEventProcessors(sequences, keyExtractor, handlers);
+    }
+
+    /**
+     * Set up event handlers that divide the events between them by the hash code of an object key, each handling
+     * the events of one partition after every {@link EventProcessor} in this group has processed them.
+     *
+     * @param keyExtractor to get the key of each event, whose hash selects the handler.
+     * @param handlers the event handlers, one for each partition.
+     * @return a {@link EventHandlerGroup} that can be used to set up a event processor barrier over the created event processors.
+     * @see Disruptor#handleEventsWithPartitioned(PartitionKeyExtractor, EventHandler[])
+     */
+    @SuppressWarnings("varargs")
+    public EventHandlerGroup<T> handleEventsWithPartitioned(final PartitionKeyExtractor<? super T> keyExtractor,
+                                                            final EventHandler<? super T>... handlers)
+    {
+        return disruptor.createPartitionedEventProcessors(sequences, PartitionedEventHandler.<T>byHashCode(keyExtractor), handlers);
+    }
+
     /**
      * <p>Set up custom event processors to handle events from the ring buffer. The Disruptor will
      * automatically start these processors when {@link Disruptor#start()} is called.</p>
@@ -188,6 +225,6 @@ public class EventHandlerGroup<T>
      */
     public SequenceBarrier asSequenceBarrier()
     {
-        return disruptor.getRingBuffer().newBarrier(sequences);
+        return disruptor.newBarrier(sequences);
     }
 }
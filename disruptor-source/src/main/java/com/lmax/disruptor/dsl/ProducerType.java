@@ -24,5 +24,11 @@ public enum ProducerType
     SINGLE,
 
     /** Create a RingBuffer supporting multiple event publishers to the one RingBuffer */
-    MULTI
+    MULTI,
+
+    /**
+     * Create a RingBuffer supporting multiple event publishers to the one RingBuffer, claiming
+     * with a fetch-and-add rather than a compare and set retry loop
+     */
+    MULTI_FETCH_AND_ADD
 }
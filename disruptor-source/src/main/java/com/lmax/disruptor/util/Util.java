@@ -133,8 +133,7 @@ public final class Util
         try
         {
             Field addressField = Buffer.class.getDeclaredField("address");
-            addressField.setAccessible(true);
-            return addressField.getLong(buffer);
+            return THE_UNSAFE.getLong(buffer, THE_UNSAFE.objectFieldOffset(addressField));
         }
         catch (Exception e)
         {
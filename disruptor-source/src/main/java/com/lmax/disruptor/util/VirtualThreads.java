@@ -0,0 +1,69 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor.util;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Access to a ThreadFactory creating virtual threads, when the runtime supports them.  The factory is looked up
+ * reflectively so that the library still runs on runtimes without virtual threads.
+ */
+public final class VirtualThreads
+{
+    private static final ThreadFactory FACTORY = lookupFactory();
+
+    private VirtualThreads()
+    {
+    }
+
+    /**
+     * @return true if the runtime can create virtual threads, i.e. Java 21 or later.
+     */
+    public static boolean isSupported()
+    {
+        return FACTORY != null;
+    }
+
+    /**
+     * Get a factory creating a new, unnamed virtual thread for each runnable.
+     *
+     * @return a factory of virtual threads.
+     * @throws UnsupportedOperationException if the runtime does not support virtual threads.
+     */
+    public static ThreadFactory threadFactory()
+    {
+        if (FACTORY == null)
+        {
+            throw new UnsupportedOperationException("Virtual threads are not supported by this runtime");
+        }
+
+        return FACTORY;
+    }
+
+    private static ThreadFactory lookupFactory()
+    {
+        try
+        {
+            final Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            return (ThreadFactory) Class.forName("java.lang.Thread$Builder").getMethod("factory").invoke(builder);
+        }
+        catch (final Exception e)
+        {
+            // before Java 21, or a preview release run without --enable-preview
+            return null;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor.columnar;
+
+import static com.lmax.disruptor.support.PerfTestUtil.failIfNot;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.lmax.disruptor.AbstractPerfTestDisruptor;
+import com.lmax.disruptor.BatchEventProcessor;
+import com.lmax.disruptor.ColumnarRingBuffer;
+import com.lmax.disruptor.ColumnarRingBuffer.LongColumn;
+import com.lmax.disruptor.ColumnarRingBuffer.Row;
+import com.lmax.disruptor.EventHandler;
+import com.lmax.disruptor.YieldingWaitStrategy;
+import com.lmax.disruptor.dsl.ProducerType;
+import com.lmax.disruptor.util.DaemonThreadFactory;
+
+/**
+ * <pre>
+ * UniCast events of 20 long fields between 1 publisher and 1 handler through a {@link ColumnarRingBuffer}, the
+ * handler aggregating the product of two of the fields, as a risk calculation would.
+ *
+ * +----+    +-----+
+ * | P1 |--->| EP1 |
+ * +----+    +-----+
+ * </pre>
+ */
+public final class OneToOneColumnarThroughputTest extends AbstractPerfTestDisruptor
+{
+    private static final int BUFFER_SIZE = 1024 * 64;
+    private static final int FIELD_COUNT = 20;
+    private static final long ITERATIONS = 1000L * 1000L * 100L;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(DaemonThreadFactory.INSTANCE);
+
+    ///////////////////////////////////////////////////////////////////////////////////////////////
+
+    private final ColumnarRingBuffer ringBuffer =
+        ColumnarRingBuffer.create(ProducerType.SINGLE, BUFFER_SIZE, schema(), new YieldingWaitStrategy());
+    private final LongColumn[] fields = new LongColumn[FIELD_COUNT];
+    {
+        for (int i = 0; i < FIELD_COUNT; i++)
+        {
+            fields[i] = ringBuffer.getLongColumn("field" + i);
+        }
+    }
+    private final ExposureHandler handler = new ExposureHandler(fields[0], fields[1]);
+    private final BatchEventProcessor<Row> batchEventProcessor =
+        new BatchEventProcessor<Row>(ringBuffer, ringBuffer.newBarrier(), handler);
+    {
+        ringBuffer.addGatingSequences(batchEventProcessor.getSequence());
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////////////
+
+    private static ColumnarRingBuffer.Schema schema()
+    {
+        final ColumnarRingBuffer.Schema schema = new ColumnarRingBuffer.Schema();
+        for (int i = 0; i < FIELD_COUNT; i++)
+        {
+            schema.addLong("field" + i);
+        }
+        return schema;
+    }
+
+    @Override
+    protected int getRequiredProcessorCount()
+    {
+        return 2;
+    }
+
+    @Override
+    protected long runDisruptorPass() throws InterruptedException
+    {
+        final CountDownLatch latch = new CountDownLatch(1);
+        long expectedCount = batchEventProcessor.getSequence().get() + ITERATIONS;
+        handler.reset(latch, expectedCount);
+        executor.submit(batchEventProcessor);
+        long start = System.currentTimeMillis();
+
+        final ColumnarRingBuffer rb = ringBuffer;
+        final LongColumn[] fields = this.fields;
+
+        for (long i = 0; i < ITERATIONS; i++)
+        {
+            long next = rb.next();
+            for (int f = 0; f < FIELD_COUNT; f++)
+            {
+                fields[f].set(next, f == 1 ? 2L : i);
+            }
+            rb.publish(next);
+        }
+
+        latch.await();
+        long opsPerSecond = (ITERATIONS * 1000L) / (System.currentTimeMillis() - start);
+        batchEventProcessor.halt();
+
+        failIfNot(ITERATIONS * (ITERATIONS - 1), handler.getExposure());
+
+        return opsPerSecond;
+    }
+
+    public static void main(String[] args) throws Exception
+    {
+        OneToOneColumnarThroughputTest test = new OneToOneColumnarThroughputTest();
+        test.testImplementations();
+    }
+
+    private static final class ExposureHandler implements EventHandler<Row>
+    {
+        private final LongColumn price;
+        private final LongColumn quantity;
+        private long exposure;
+        private long count;
+        private CountDownLatch latch;
+
+        ExposureHandler(final LongColumn price, final LongColumn quantity)
+        {
+            this.price = price;
+            this.quantity = quantity;
+        }
+
+        public long getExposure()
+        {
+            return exposure;
+        }
+
+        public void reset(final CountDownLatch latch, final long expectedCount)
+        {
+            exposure = 0;
+            this.latch = latch;
+            count = expectedCount;
+        }
+
+        @Override
+        public void onEvent(final Row row, final long sequence, final boolean endOfBatch) throws Exception
+        {
+            exposure += price.get(sequence) * quantity.get(sequence);
+
+            if (count == sequence)
+            {
+                latch.countDown();
+            }
+        }
+    }
+}
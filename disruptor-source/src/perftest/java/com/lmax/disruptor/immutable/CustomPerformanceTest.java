@@ -4,15 +4,16 @@ import java.util.concurrent.locks.LockSupport;
 
 import com.lmax.disruptor.BatchEventProcessor;
 import com.lmax.disruptor.SingleProducerSequencer;
+import com.lmax.disruptor.ValueRingBuffer;
 import com.lmax.disruptor.YieldingWaitStrategy;
 
 public class CustomPerformanceTest
 {
-    private final CustomRingBuffer<SimpleEvent> ringBuffer;
+    private final ValueRingBuffer<SimpleEvent> ringBuffer;
 
     public CustomPerformanceTest()
     {
-        ringBuffer = new CustomRingBuffer<SimpleEvent>(new SingleProducerSequencer(Constants.SIZE, new YieldingWaitStrategy()));
+        ringBuffer = new ValueRingBuffer<SimpleEvent>(new SingleProducerSequencer(Constants.SIZE, new YieldingWaitStrategy()));
     }
 
     public void run()
@@ -29,7 +30,8 @@ public class CustomPerformanceTest
 
     private void doRun() throws InterruptedException
     {
-        BatchEventProcessor<?> batchEventProcessor = ringBuffer.createHandler(new SimpleEventHandler());
+        BatchEventProcessor<?> batchEventProcessor = ringBuffer.createProcessor(new SimpleEventHandler());
+        ringBuffer.addGatingSequences(batchEventProcessor.getSequence());
 
         Thread t = new Thread(batchEventProcessor);
         t.start();
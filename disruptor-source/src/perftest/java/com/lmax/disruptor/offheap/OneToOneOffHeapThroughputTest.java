@@ -1,6 +1,5 @@
 package com.lmax.disruptor.offheap;
 
-import java.nio.ByteBuffer;
 import java.util.Random;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
@@ -9,11 +8,9 @@ import java.util.concurrent.locks.LockSupport;
 
 import com.lmax.disruptor.AbstractPerfTestDisruptor;
 import com.lmax.disruptor.BatchEventProcessor;
-import com.lmax.disruptor.DataProvider;
 import com.lmax.disruptor.EventHandler;
-import com.lmax.disruptor.Sequence;
-import com.lmax.disruptor.SequenceBarrier;
-import com.lmax.disruptor.Sequencer;
+import com.lmax.disruptor.OffHeapRingBuffer;
+import com.lmax.disruptor.OffHeapRingBuffer.Slot;
 import com.lmax.disruptor.SingleProducerSequencer;
 import com.lmax.disruptor.WaitStrategy;
 import com.lmax.disruptor.YieldingWaitStrategy;
@@ -29,9 +26,9 @@ public class OneToOneOffHeapThroughputTest extends AbstractPerfTestDisruptor
     private final WaitStrategy waitStrategy = new YieldingWaitStrategy();
     private final OffHeapRingBuffer buffer =
             new OffHeapRingBuffer(new SingleProducerSequencer(BUFFER_SIZE, waitStrategy), BLOCK_SIZE);
-    private final ByteBufferHandler handler = new ByteBufferHandler();
-    private final BatchEventProcessor<ByteBuffer> processor =
-            new BatchEventProcessor<ByteBuffer>(buffer, buffer.newBarrier(), handler);
+    private final SlotHandler handler = new SlotHandler();
+    private final BatchEventProcessor<Slot> processor =
+            new BatchEventProcessor<Slot>(buffer, buffer.newBarrier(), handler);
     {
         buffer.addGatingSequences(processor.getSequence());
     }
@@ -64,7 +61,15 @@ public class OneToOneOffHeapThroughputTest extends AbstractPerfTestDisruptor
 
         for (long i = 0; i < ITERATIONS; i++)
         {
-            rb.put(data);
+            long next = rb.next();
+            try
+            {
+                rb.get(next).putBytes(0, data, 0, BLOCK_SIZE);
+            }
+            finally
+            {
+                rb.publish(next);
+            }
         }
 
         latch.await();
@@ -88,18 +93,18 @@ public class OneToOneOffHeapThroughputTest extends AbstractPerfTestDisruptor
         new OneToOneOffHeapThroughputTest().testImplementations();
     }
 
-    public static class ByteBufferHandler implements EventHandler<ByteBuffer>
+    public static class SlotHandler implements EventHandler<Slot>
     {
         private long total = 0;
         private long expectedCount;
         private CountDownLatch latch;
 
         @Override
-        public void onEvent(ByteBuffer event, long sequence, boolean endOfBatch) throws Exception
+        public void onEvent(Slot event, long sequence, boolean endOfBatch) throws Exception
         {
             for (int i = 0; i < BLOCK_SIZE; i += 8)
             {
-                total += event.getLong();
+                total += event.getLong(i);
             }
 
             if (--expectedCount == 0)
@@ -119,70 +124,4 @@ public class OneToOneOffHeapThroughputTest extends AbstractPerfTestDisruptor
             this.expectedCount = expectedCount;
         }
     }
-
-    public static class OffHeapRingBuffer implements DataProvider<ByteBuffer>
-    {
-        private final Sequencer sequencer;
-        private final int entrySize;
-        private final ByteBuffer buffer;
-        private final int mask;
-
-        private final ThreadLocal<ByteBuffer> perThreadBuffer = new ThreadLocal<ByteBuffer>()
-        {
-            @Override
-            protected ByteBuffer initialValue()
-            {
-                return buffer.duplicate();
-            }
-        };
-
-        public OffHeapRingBuffer(Sequencer sequencer, int entrySize)
-        {
-            this.sequencer = sequencer;
-            this.entrySize = entrySize;
-            this.mask = sequencer.getBufferSize() - 1;
-            buffer = ByteBuffer.allocateDirect(sequencer.getBufferSize() * entrySize);
-        }
-
-        public void addGatingSequences(Sequence sequence)
-        {
-            sequencer.addGatingSequences(sequence);
-        }
-
-        public SequenceBarrier newBarrier()
-        {
-            return sequencer.newBarrier();
-        }
-
-        @Override
-        public ByteBuffer get(long sequence)
-        {
-            int index = index(sequence);
-            int position = index * entrySize;
-            int limit = position + entrySize;
-
-            ByteBuffer byteBuffer = perThreadBuffer.get();
-            byteBuffer.position(position).limit(limit);
-
-            return byteBuffer;
-        }
-
-        public void put(byte[] data)
-        {
-            long next = sequencer.next();
-            try
-            {
-                get(next).put(data);
-            }
-            finally
-            {
-                sequencer.publish(next);
-            }
-        }
-
-        private int index(long next)
-        {
-            return (int) (next & mask);
-        }
-    }
 }
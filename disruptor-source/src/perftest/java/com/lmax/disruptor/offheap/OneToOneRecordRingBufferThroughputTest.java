@@ -0,0 +1,121 @@
+package com.lmax.disruptor.offheap;
+
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.LockSupport;
+
+import com.lmax.disruptor.AbstractPerfTestDisruptor;
+import com.lmax.disruptor.RecordRingBuffer;
+import com.lmax.disruptor.RecordRingBuffer.Record;
+import com.lmax.disruptor.RecordRingBuffer.RecordHandler;
+import com.lmax.disruptor.RecordRingBuffer.RecordProcessor;
+import com.lmax.disruptor.YieldingWaitStrategy;
+import com.lmax.disruptor.dsl.ProducerType;
+import com.lmax.disruptor.util.DaemonThreadFactory;
+
+/**
+ * Mixed feed of small ticks and occasional large snapshots through a {@link RecordRingBuffer}, each record taking
+ * only the space of its own payload.
+ */
+public class OneToOneRecordRingBufferThroughputTest extends AbstractPerfTestDisruptor
+{
+    private static final int TICK_LENGTH = 40;
+    private static final int SNAPSHOT_LENGTH = 2048;
+    private static final int SNAPSHOT_INTERVAL = 64;
+    private static final int CAPACITY = 16 * 1024 * 1024;
+    private static final long ITERATIONS = 1000 * 1000 * 10L;
+
+    private final Executor executor = Executors.newFixedThreadPool(1, DaemonThreadFactory.INSTANCE);
+    private final RecordRingBuffer buffer =
+            new RecordRingBuffer(ProducerType.SINGLE, CAPACITY, new YieldingWaitStrategy());
+    private final CountingRecordHandler handler = new CountingRecordHandler();
+    private final RecordProcessor processor = buffer.createProcessor(handler);
+    {
+        buffer.addGatingSequences(processor.getSequence());
+    }
+    private final byte[] data = new byte[SNAPSHOT_LENGTH];
+
+    public OneToOneRecordRingBufferThroughputTest()
+    {
+        new Random(1).nextBytes(data);
+    }
+
+    @Override
+    protected int getRequiredProcessorCount()
+    {
+        return 2;
+    }
+
+    @Override
+    protected long runDisruptorPass() throws Exception
+    {
+        byte[] data = this.data;
+
+        final CountDownLatch latch = new CountDownLatch(1);
+        handler.reset(latch, ITERATIONS);
+        executor.execute(processor);
+        long start = System.currentTimeMillis();
+
+        final RecordRingBuffer rb = buffer;
+
+        for (long i = 0; i < ITERATIONS; i++)
+        {
+            final boolean snapshot = 0 == i % SNAPSHOT_INTERVAL;
+            final int length = snapshot ? SNAPSHOT_LENGTH : TICK_LENGTH;
+            Record record = rb.claim(snapshot ? 1 : 0, length);
+            record.putBytes(0, data, 0, length);
+            rb.publish(record);
+        }
+
+        latch.await();
+        long opsPerSecond = (ITERATIONS * 1000L) / (System.currentTimeMillis() - start);
+        waitForProcessorSequence(rb.getCursor());
+        processor.halt();
+
+        return opsPerSecond;
+    }
+
+    private void waitForProcessorSequence(long expectedPosition)
+    {
+        while (processor.getSequence().get() < expectedPosition)
+        {
+            LockSupport.parkNanos(1);
+        }
+    }
+
+    public static void main(String[] args) throws Exception
+    {
+        new OneToOneRecordRingBufferThroughputTest().testImplementations();
+    }
+
+    public static class CountingRecordHandler implements RecordHandler
+    {
+        private long total = 0;
+        private long expectedCount;
+        private CountDownLatch latch;
+
+        @Override
+        public void onRecord(Record record, boolean endOfBatch) throws Exception
+        {
+            total += record.getLong(0) + record.getLength();
+
+            if (--expectedCount == 0)
+            {
+                latch.countDown();
+            }
+        }
+
+        public long getTotal()
+        {
+            return total;
+        }
+
+        public void reset(CountDownLatch latch, long expectedCount)
+        {
+            this.latch = latch;
+            this.expectedCount = expectedCount;
+        }
+    }
+}
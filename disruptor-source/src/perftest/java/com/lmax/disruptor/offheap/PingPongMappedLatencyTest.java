@@ -0,0 +1,265 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor.offheap;
+
+import java.io.File;
+import java.io.PrintStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.HdrHistogram.Histogram;
+
+import com.lmax.disruptor.BatchEventProcessor;
+import com.lmax.disruptor.EventHandler;
+import com.lmax.disruptor.LifecycleAware;
+import com.lmax.disruptor.MappedRingBuffer;
+import com.lmax.disruptor.OffHeapRingBuffer;
+import com.lmax.disruptor.OffHeapRingBuffer.Slot;
+import com.lmax.disruptor.YieldingWaitStrategy;
+import com.lmax.disruptor.dsl.ProducerType;
+import com.lmax.disruptor.util.DaemonThreadFactory;
+
+/**
+ * <pre>
+ *
+ * Ping pongs between 2 event handlers running in separate processes and measures the latency of
+ * a round trip.  The ping and pong ring buffers are files mapped by both processes, under /dev/shm
+ * where it exists.  The pinger runs in this process, the ponger in a child JVM started with the
+ * same class path.
+ *
+ *            process 1              |            process 2
+ *                                   |
+ * +-----+    +=====+ mapped file +=====+    +-----+
+ * | EP1 |--->| RB1 |============>| RB1 |--->| EP2 |
+ * +-----+    +=====+            |+=====+    +-----+
+ *    ^       +=====+ mapped file +=====+       |
+ *    +-------| RB2 |&lt;============| RB2 |&lt;------+
+ *            +=====+            |+=====+
+ *
+ * EP1 - Pinger
+ * EP2 - Ponger
+ * RB1 - PingBuffer
+ * RB2 - PongBuffer
+ *
+ * </pre>
+ *
+ * Note: <b>This test is only useful on a system using an invariant TSC in user space from the System.nanoTime() call.</b>
+ */
+public final class PingPongMappedLatencyTest
+{
+    private static final int BUFFER_SIZE = 1024;
+    private static final int SLOT_SIZE = 64;
+    private static final long ITERATIONS = 1000L * 1000L * 10L;
+    private static final long PAUSE_NANOS = 1000L;
+
+    private final ExecutorService executor = Executors.newCachedThreadPool(DaemonThreadFactory.INSTANCE);
+    private final Histogram histogram = new Histogram(10000000000L, 4);
+
+    private final File pingFile;
+    private final File pongFile;
+    private final MappedRingBuffer pingBuffer;
+    private final MappedRingBuffer pongBuffer;
+    private final Pinger pinger;
+    private final BatchEventProcessor<Slot> pingProcessor;
+
+    public PingPongMappedLatencyTest() throws Exception
+    {
+        final File directory = new File("/dev/shm").isDirectory() ?
+            new File("/dev/shm") : new File(System.getProperty("java.io.tmpdir"));
+        pingFile = new File(directory, "disruptor-ping");
+        pongFile = new File(directory, "disruptor-pong");
+        pingBuffer = MappedRingBuffer.create(pingFile, ProducerType.SINGLE, BUFFER_SIZE, SLOT_SIZE, 1, new YieldingWaitStrategy());
+        pongBuffer = MappedRingBuffer.create(pongFile, ProducerType.SINGLE, BUFFER_SIZE, SLOT_SIZE, 1, new YieldingWaitStrategy());
+
+        final OffHeapRingBuffer pongRingBuffer = pongBuffer.getRingBuffer();
+        pinger = new Pinger(pingBuffer.getRingBuffer(), ITERATIONS, PAUSE_NANOS);
+        pingProcessor = new BatchEventProcessor<Slot>(pongRingBuffer, pongRingBuffer.newBarrier(), pinger,
+                                                      pongBuffer.getConsumerSequence(0));
+    }
+
+    public void shouldMeasureRoundTripBetweenProcesses() throws Exception
+    {
+        final String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        final Process ponger = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                                                  getClass().getName(), pingFile.getPath(), pongFile.getPath())
+            .inheritIO()
+            .start();
+
+        try
+        {
+            final int runs = 3;
+
+            for (int i = 0; i < runs; i++)
+            {
+                System.gc();
+                histogram.reset();
+
+                runDisruptorPass();
+
+                System.out.format("%s run %d Disruptor %s\n", getClass().getSimpleName(), Long.valueOf(i), histogram);
+                dumpHistogram(histogram, System.out);
+            }
+        }
+        finally
+        {
+            ponger.destroy();
+            pingFile.delete();
+            pongFile.delete();
+        }
+    }
+
+    private static void dumpHistogram(final Histogram histogram, final PrintStream out)
+    {
+        histogram.outputPercentileDistribution(out, 1, 1000.0);
+    }
+
+    private void runDisruptorPass() throws InterruptedException
+    {
+        final CountDownLatch latch = new CountDownLatch(1);
+        pinger.reset(latch, histogram);
+
+        executor.submit(pingProcessor);
+        latch.await();
+
+        pingProcessor.halt();
+        while (pingProcessor.isRunning())
+        {
+            Thread.yield();
+        }
+    }
+
+    private static void runPonger(final File pingFile, final File pongFile) throws Exception
+    {
+        final MappedRingBuffer pingBuffer = MappedRingBuffer.open(pingFile, new YieldingWaitStrategy());
+        final MappedRingBuffer pongBuffer = MappedRingBuffer.open(pongFile, new YieldingWaitStrategy());
+        final OffHeapRingBuffer pingRingBuffer = pingBuffer.getRingBuffer();
+
+        final BatchEventProcessor<Slot> pongProcessor =
+            new BatchEventProcessor<Slot>(pingRingBuffer, pingRingBuffer.newBarrier(),
+                                          new Ponger(pongBuffer.getRingBuffer()), pingBuffer.getConsumerSequence(0));
+        pongProcessor.run();
+    }
+
+    public static void main(final String[] args) throws Exception
+    {
+        if (2 == args.length)
+        {
+            runPonger(new File(args[0]), new File(args[1]));
+        }
+        else
+        {
+            new PingPongMappedLatencyTest().shouldMeasureRoundTripBetweenProcesses();
+        }
+    }
+
+    private static class Pinger implements EventHandler<Slot>, LifecycleAware
+    {
+        private final OffHeapRingBuffer buffer;
+        private final long maxEvents;
+        private final long pauseTimeNs;
+
+        private long counter = 0;
+        private CountDownLatch latch;
+        private Histogram histogram;
+        private long t0;
+
+        public Pinger(final OffHeapRingBuffer buffer, final long maxEvents, final long pauseTimeNs)
+        {
+            this.buffer = buffer;
+            this.maxEvents = maxEvents;
+            this.pauseTimeNs = pauseTimeNs;
+        }
+
+        @Override
+        public void onEvent(final Slot event, final long sequence, final boolean endOfBatch) throws Exception
+        {
+            final long t1 = System.nanoTime();
+
+            histogram.recordValueWithExpectedInterval(t1 - t0, pauseTimeNs);
+
+            if (event.getLong(0) < maxEvents)
+            {
+                while (pauseTimeNs > (System.nanoTime() - t1))
+                {
+                    Thread.yield();
+                }
+
+                send();
+            }
+            else
+            {
+                latch.countDown();
+            }
+        }
+
+        private void send()
+        {
+            t0 = System.nanoTime();
+            final long next = buffer.next();
+            buffer.get(next).putLong(0, counter);
+            buffer.publish(next);
+
+            counter++;
+        }
+
+        @Override
+        public void onStart()
+        {
+            try
+            {
+                Thread.sleep(1000);
+                send();
+            }
+            catch (final Exception e)
+            {
+                throw new RuntimeException(e);
+            }
+        }
+
+        @Override
+        public void onShutdown()
+        {
+        }
+
+        public void reset(final CountDownLatch latch, final Histogram histogram)
+        {
+            this.histogram = histogram;
+            this.latch = latch;
+
+            counter = 0;
+        }
+    }
+
+    private static class Ponger implements EventHandler<Slot>
+    {
+        private final OffHeapRingBuffer buffer;
+
+        public Ponger(final OffHeapRingBuffer buffer)
+        {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public void onEvent(final Slot event, final long sequence, final boolean endOfBatch) throws Exception
+        {
+            final long value = event.getLong(0);
+            final long next = buffer.next();
+            buffer.get(next).putLong(0, value);
+            buffer.publish(next);
+        }
+    }
+}
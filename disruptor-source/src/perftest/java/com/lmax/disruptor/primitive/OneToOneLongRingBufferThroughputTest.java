@@ -0,0 +1,131 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor.primitive;
+
+import static com.lmax.disruptor.support.PerfTestUtil.failIfNot;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.lmax.disruptor.AbstractPerfTestDisruptor;
+import com.lmax.disruptor.BatchEventProcessor;
+import com.lmax.disruptor.LongRingBuffer;
+import com.lmax.disruptor.YieldingWaitStrategy;
+import com.lmax.disruptor.support.PerfTestUtil;
+import com.lmax.disruptor.util.DaemonThreadFactory;
+
+/**
+ * <pre>
+ * UniCast a series of longs between 1 publisher and 1 handler through a {@link LongRingBuffer}, publishing
+ * them a block at a time from a long[].
+ *
+ * +----+    +-----+
+ * | P1 |--->| EP1 |
+ * +----+    +-----+
+ * </pre>
+ */
+public final class OneToOneLongRingBufferThroughputTest extends AbstractPerfTestDisruptor
+{
+    private static final int BUFFER_SIZE = 1024 * 64;
+    private static final int BLOCK_SIZE = 64;
+    private static final long ITERATIONS = 1000L * 1000L * 100L;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(DaemonThreadFactory.INSTANCE);
+    private final long expectedResult = PerfTestUtil.accumulatedAddition(ITERATIONS);
+
+    ///////////////////////////////////////////////////////////////////////////////////////////////
+
+    private final LongRingBuffer ringBuffer = LongRingBuffer.createSingleProducer(BUFFER_SIZE, new YieldingWaitStrategy());
+    private final ValueAdditionLongHandler handler = new ValueAdditionLongHandler();
+    private final BatchEventProcessor<LongRingBuffer.LongEvent> batchEventProcessor = ringBuffer.createProcessor(handler);
+    {
+        ringBuffer.addGatingSequences(batchEventProcessor.getSequence());
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////////////
+
+    @Override
+    protected int getRequiredProcessorCount()
+    {
+        return 2;
+    }
+
+    @Override
+    protected long runDisruptorPass() throws InterruptedException
+    {
+        final CountDownLatch latch = new CountDownLatch(1);
+        long expectedCount = batchEventProcessor.getSequence().get() + ITERATIONS;
+        handler.reset(latch, expectedCount);
+        executor.submit(batchEventProcessor);
+        long start = System.currentTimeMillis();
+
+        final LongRingBuffer rb = ringBuffer;
+        final long[] block = new long[BLOCK_SIZE];
+
+        for (long i = 0; i < ITERATIONS; i += BLOCK_SIZE)
+        {
+            for (int j = 0; j < BLOCK_SIZE; j++)
+            {
+                block[j] = i + j;
+            }
+            rb.put(block, 0, BLOCK_SIZE);
+        }
+
+        latch.await();
+        long opsPerSecond = (ITERATIONS * 1000L) / (System.currentTimeMillis() - start);
+        batchEventProcessor.halt();
+
+        failIfNot(expectedResult, handler.getValue());
+
+        return opsPerSecond;
+    }
+
+    public static void main(String[] args) throws Exception
+    {
+        OneToOneLongRingBufferThroughputTest test = new OneToOneLongRingBufferThroughputTest();
+        test.testImplementations();
+    }
+
+    private static final class ValueAdditionLongHandler implements LongRingBuffer.LongHandler
+    {
+        private long value = 0;
+        private long count;
+        private CountDownLatch latch;
+
+        public long getValue()
+        {
+            return value;
+        }
+
+        public void reset(final CountDownLatch latch, final long expectedCount)
+        {
+            value = 0;
+            this.latch = latch;
+            count = expectedCount;
+        }
+
+        @Override
+        public void onEvent(final long event, final long sequence, final boolean endOfBatch) throws Exception
+        {
+            value += event;
+
+            if (count == sequence)
+            {
+                latch.countDown();
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor.sequenced;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.lmax.disruptor.BatchEventProcessor;
+import com.lmax.disruptor.BlockingProducerWaitStrategy;
+import com.lmax.disruptor.BlockingWaitStrategy;
+import com.lmax.disruptor.BusySpinProducerWaitStrategy;
+import com.lmax.disruptor.EventHandler;
+import com.lmax.disruptor.PhasedBackoffProducerWaitStrategy;
+import com.lmax.disruptor.ProducerWaitStrategy;
+import com.lmax.disruptor.RingBuffer;
+import com.lmax.disruptor.Sequenced;
+import com.lmax.disruptor.SleepingProducerWaitStrategy;
+import com.lmax.disruptor.YieldingProducerWaitStrategy;
+import com.lmax.disruptor.dsl.ProducerType;
+import com.lmax.disruptor.support.ValueEvent;
+import com.lmax.disruptor.util.DaemonThreadFactory;
+
+/**
+ * <pre>
+ * Measures how far a timed claim overshoots its timeout for each {@link ProducerWaitStrategy} and producer type,
+ * with the ring buffer full behind a stalled consumer, so the claim always times out.
+ *
+ * +----+    +-----+
+ * | P1 |--->| EP1 | (stalled)
+ * +----+    +-----+
+ *
+ * Prints the 50th, 90th, 99th percentile and maximum overshoot in microseconds.
+ * </pre>
+ */
+public final class ClaimTimeoutOvershootLatencyTest
+{
+    private static final int BUFFER_SIZE = 16;
+    private static final int CLAIMS = 1000;
+    private static final long TIMEOUT_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private final ExecutorService executor = Executors.newCachedThreadPool(DaemonThreadFactory.INSTANCE);
+
+    private void run(final ProducerType producerType, final ProducerWaitStrategy producerWaitStrategy) throws Exception
+    {
+        final RingBuffer<ValueEvent> ringBuffer = RingBuffer.create(
+            producerType, ValueEvent.EVENT_FACTORY, BUFFER_SIZE, new BlockingWaitStrategy(), producerWaitStrategy);
+        final CountDownLatch stalled = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final BatchEventProcessor<ValueEvent> processor =
+            new BatchEventProcessor<ValueEvent>(ringBuffer, ringBuffer.newBarrier(), new EventHandler<ValueEvent>()
+            {
+                @Override
+                public void onEvent(final ValueEvent event, final long sequence, final boolean endOfBatch) throws Exception
+                {
+                    stalled.countDown();
+                    release.await();
+                }
+            });
+        ringBuffer.addGatingSequences(processor.getSequence());
+        executor.execute(processor);
+
+        for (int i = 0; i < BUFFER_SIZE; i++)
+        {
+            ringBuffer.publish(ringBuffer.next());
+        }
+        stalled.await();
+
+        final long[] overshoots = new long[CLAIMS];
+        for (int i = 0; i < CLAIMS; i++)
+        {
+            final long start = System.nanoTime();
+            if (Sequenced.CLAIM_TIMED_OUT != ringBuffer.next(1, TIMEOUT_NANOS, TimeUnit.NANOSECONDS))
+            {
+                throw new IllegalStateException("Claim did not time out");
+            }
+            overshoots[i] = System.nanoTime() - start - TIMEOUT_NANOS;
+        }
+        release.countDown();
+        processor.halt();
+
+        Arrays.sort(overshoots);
+        System.out.format("%-8s %-34s overshoot us 50%%: %,8d 90%%: %,8d 99%%: %,8d max: %,8d%n",
+                          producerType,
+                          producerWaitStrategy.getClass().getSimpleName(),
+                          TimeUnit.NANOSECONDS.toMicros(overshoots[CLAIMS / 2]),
+                          TimeUnit.NANOSECONDS.toMicros(overshoots[CLAIMS * 9 / 10]),
+                          TimeUnit.NANOSECONDS.toMicros(overshoots[CLAIMS * 99 / 100]),
+                          TimeUnit.NANOSECONDS.toMicros(overshoots[CLAIMS - 1]));
+    }
+
+    public static void main(String[] args) throws Exception
+    {
+        final ClaimTimeoutOvershootLatencyTest test = new ClaimTimeoutOvershootLatencyTest();
+        for (final ProducerType producerType : ProducerType.values())
+        {
+            final ProducerWaitStrategy[] producerWaitStrategies =
+            {
+                new SleepingProducerWaitStrategy(),
+                new YieldingProducerWaitStrategy(),
+                new BusySpinProducerWaitStrategy(),
+                new BlockingProducerWaitStrategy(),
+                new PhasedBackoffProducerWaitStrategy(1, 1, TimeUnit.MILLISECONDS, new BlockingProducerWaitStrategy())
+            };
+            for (final ProducerWaitStrategy producerWaitStrategy : producerWaitStrategies)
+            {
+                test.run(producerType, producerWaitStrategy);
+            }
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor.sequenced;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.lmax.disruptor.AbstractPerfTestDisruptor;
+import com.lmax.disruptor.BatchEventProcessor;
+import com.lmax.disruptor.BusySpinWaitStrategy;
+import com.lmax.disruptor.RingBuffer;
+import com.lmax.disruptor.SequenceBarrier;
+import com.lmax.disruptor.dsl.ProducerType;
+import com.lmax.disruptor.support.ValueAdditionEventHandler;
+import com.lmax.disruptor.support.ValueEvent;
+import com.lmax.disruptor.support.ValuePublisher;
+import com.lmax.disruptor.util.DaemonThreadFactory;
+
+/**
+ * <pre>
+ *
+ * Sequence a series of events from a varying number of publishers going to one event processor,
+ * comparing the compare and set claim of the {@link com.lmax.disruptor.MultiProducerSequencer}
+ * with the fetch-and-add claim of the {@link com.lmax.disruptor.FetchAndAddMultiProducerSequencer}.
+ *
+ * +----+
+ * | P1 |------+
+ * +----+      |
+ *   ..        v
+ * +----+    +-----+
+ * | PN |--->| EP1 |
+ * +----+    +-----+
+ *
+ * P1  - Publisher 1
+ * PN  - Publisher N, for N in 1, 2, 4, 8 and 16
+ * EP1 - EventProcessor 1
+ *
+ * </pre>
+ */
+public final class ManyToOneClaimScalingThroughputTest extends AbstractPerfTestDisruptor
+{
+    private static final int[] PUBLISHER_COUNTS = { 1, 2, 4, 8, 16 };
+    private static final int BUFFER_SIZE = 1024 * 64;
+    private static final long ITERATIONS = 1000L * 1000L * 16L;
+
+    private final int numPublishers;
+    private final ExecutorService executor;
+    private final CyclicBarrier cyclicBarrier;
+
+    ///////////////////////////////////////////////////////////////////////////////////////////////
+
+    private final RingBuffer<ValueEvent> ringBuffer;
+    private final SequenceBarrier sequenceBarrier;
+    private final ValueAdditionEventHandler handler = new ValueAdditionEventHandler();
+    private final BatchEventProcessor<ValueEvent> batchEventProcessor;
+    private final ValuePublisher[] valuePublishers;
+
+    public ManyToOneClaimScalingThroughputTest(final ProducerType producerType, final int numPublishers)
+    {
+        this.numPublishers = numPublishers;
+        this.executor = Executors.newFixedThreadPool(numPublishers + 1, DaemonThreadFactory.INSTANCE);
+        this.cyclicBarrier = new CyclicBarrier(numPublishers + 1);
+
+        ringBuffer = RingBuffer.create(producerType, ValueEvent.EVENT_FACTORY, BUFFER_SIZE, new BusySpinWaitStrategy());
+        sequenceBarrier = ringBuffer.newBarrier();
+        batchEventProcessor = new BatchEventProcessor<ValueEvent>(ringBuffer, sequenceBarrier, handler);
+
+        valuePublishers = new ValuePublisher[numPublishers];
+        for (int i = 0; i < numPublishers; i++)
+        {
+            valuePublishers[i] = new ValuePublisher(cyclicBarrier, ringBuffer, ITERATIONS / numPublishers);
+        }
+
+        ringBuffer.addGatingSequences(batchEventProcessor.getSequence());
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////////////
+
+    @Override
+    protected int getRequiredProcessorCount()
+    {
+        return numPublishers + 1;
+    }
+
+    @Override
+    protected long runDisruptorPass() throws Exception
+    {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final long expectedCount = (ITERATIONS / numPublishers) * numPublishers;
+        handler.reset(latch, batchEventProcessor.getSequence().get() + expectedCount);
+
+        Future<?>[] futures = new Future[numPublishers];
+        for (int i = 0; i < numPublishers; i++)
+        {
+            futures[i] = executor.submit(valuePublishers[i]);
+        }
+        executor.submit(batchEventProcessor);
+
+        long start = System.currentTimeMillis();
+        cyclicBarrier.await();
+
+        for (int i = 0; i < numPublishers; i++)
+        {
+            futures[i].get();
+        }
+
+        latch.await();
+
+        long opsPerSecond = (expectedCount * 1000L) / (System.currentTimeMillis() - start);
+        batchEventProcessor.halt();
+
+        return opsPerSecond;
+    }
+
+    private long bestOfRuns() throws Exception
+    {
+        long best = 0L;
+        for (int i = 0; i < RUNS; i++)
+        {
+            System.gc();
+            best = Math.max(best, runDisruptorPass());
+        }
+
+        return best;
+    }
+
+    public static void main(String[] args) throws Exception
+    {
+        for (final int numPublishers : PUBLISHER_COUNTS)
+        {
+            long casOps = new ManyToOneClaimScalingThroughputTest(ProducerType.MULTI, numPublishers).bestOfRuns();
+            long fetchAndAddOps =
+                new ManyToOneClaimScalingThroughputTest(ProducerType.MULTI_FETCH_AND_ADD, numPublishers).bestOfRuns();
+
+            System.out.format("%2d publishers: CAS=%,d FetchAndAdd=%,d ops/sec%n",
+                              Integer.valueOf(numPublishers), Long.valueOf(casOps), Long.valueOf(fetchAndAddOps));
+        }
+    }
+}
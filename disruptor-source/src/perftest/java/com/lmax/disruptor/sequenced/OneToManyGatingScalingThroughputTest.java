@@ -0,0 +1,148 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor.sequenced;
+
+import static com.lmax.disruptor.RingBuffer.createSingleProducer;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.lmax.disruptor.AbstractPerfTestDisruptor;
+import com.lmax.disruptor.BatchEventProcessor;
+import com.lmax.disruptor.RingBuffer;
+import com.lmax.disruptor.SequenceBarrier;
+import com.lmax.disruptor.YieldingWaitStrategy;
+import com.lmax.disruptor.support.ValueAdditionEventHandler;
+import com.lmax.disruptor.support.ValueEvent;
+import com.lmax.disruptor.util.DaemonThreadFactory;
+
+/**
+ * <pre>
+ *
+ * MultiCast a series of items from 1 publisher to a varying number of event processors, showing the cost
+ * to the publisher of checking for wrap against the gating sequences as the fan-out grows.  Beyond
+ * 8 consumers the sequencer takes the minimum from a tree of cached minima.
+ *
+ *           +-----+
+ *    +----->| EP1 |
+ *    |      +-----+
+ * +----+      ..
+ * | P1 |
+ * +----+      ..
+ *    |      +-----+
+ *    +----->| EPN |
+ *           +-----+
+ *
+ * P1  - Publisher 1
+ * EPN - EventProcessor N, for N in 1, 2, 4, 8, 16, 32 and 64
+ *
+ * </pre>
+ */
+public final class OneToManyGatingScalingThroughputTest extends AbstractPerfTestDisruptor
+{
+    private static final int[] CONSUMER_COUNTS = { 1, 2, 4, 8, 16, 32, 64 };
+    private static final int BUFFER_SIZE = 1024 * 8;
+    private static final long ITERATIONS = 1000L * 1000L * 10L;
+
+    private final int numConsumers;
+    private final ExecutorService executor;
+
+    ///////////////////////////////////////////////////////////////////////////////////////////////
+
+    private final RingBuffer<ValueEvent> ringBuffer =
+        createSingleProducer(ValueEvent.EVENT_FACTORY, BUFFER_SIZE, new YieldingWaitStrategy());
+    private final SequenceBarrier sequenceBarrier = ringBuffer.newBarrier();
+    private final ValueAdditionEventHandler[] handlers;
+    private final BatchEventProcessor<?>[] batchEventProcessors;
+
+    public OneToManyGatingScalingThroughputTest(final int numConsumers)
+    {
+        this.numConsumers = numConsumers;
+        this.executor = Executors.newFixedThreadPool(numConsumers, DaemonThreadFactory.INSTANCE);
+
+        handlers = new ValueAdditionEventHandler[numConsumers];
+        batchEventProcessors = new BatchEventProcessor<?>[numConsumers];
+        for (int i = 0; i < numConsumers; i++)
+        {
+            handlers[i] = new ValueAdditionEventHandler();
+            batchEventProcessors[i] = new BatchEventProcessor<ValueEvent>(ringBuffer, sequenceBarrier, handlers[i]);
+            ringBuffer.addGatingSequences(batchEventProcessors[i].getSequence());
+        }
+    }
+
+    ///////////////////////////////////////////////////////////////////////////////////////////////
+
+    @Override
+    protected int getRequiredProcessorCount()
+    {
+        return 4;
+    }
+
+    @Override
+    protected long runDisruptorPass() throws Exception
+    {
+        final CountDownLatch latch = new CountDownLatch(numConsumers);
+        final long expectedSequence = ringBuffer.getCursor() + ITERATIONS;
+        for (int i = 0; i < numConsumers; i++)
+        {
+            handlers[i].reset(latch, expectedSequence);
+            executor.submit(batchEventProcessors[i]);
+        }
+
+        long start = System.currentTimeMillis();
+
+        final RingBuffer<ValueEvent> rb = ringBuffer;
+        for (long i = 0; i < ITERATIONS; i++)
+        {
+            long next = rb.next();
+            rb.get(next).setValue(i);
+            rb.publish(next);
+        }
+
+        latch.await();
+        long opsPerSecond = (ITERATIONS * 1000L) / (System.currentTimeMillis() - start);
+
+        for (int i = 0; i < numConsumers; i++)
+        {
+            batchEventProcessors[i].halt();
+        }
+
+        return opsPerSecond;
+    }
+
+    private long bestOfRuns() throws Exception
+    {
+        long best = 0L;
+        for (int i = 0; i < RUNS; i++)
+        {
+            System.gc();
+            best = Math.max(best, runDisruptorPass());
+        }
+
+        return best;
+    }
+
+    public static void main(String[] args) throws Exception
+    {
+        for (final int numConsumers : CONSUMER_COUNTS)
+        {
+            long ops = new OneToManyGatingScalingThroughputTest(numConsumers).bestOfRuns();
+
+            System.out.format("%2d consumers: %,d ops/sec%n", Integer.valueOf(numConsumers), Long.valueOf(ops));
+        }
+    }
+}
@@ -15,6 +15,7 @@
  */
 package com.lmax.disruptor.sequenced;
 
+import static com.lmax.disruptor.RingBuffer.createBitmapMultiProducer;
 import static com.lmax.disruptor.RingBuffer.createMultiProducer;
 
 import java.util.concurrent.CountDownLatch;
@@ -74,6 +75,9 @@ import com.lmax.disruptor.support.ValueEvent;
  * SB  - SequenceBarrier
  * EP1 - EventProcessor 1
  *
+ * Run once with the {@link com.lmax.disruptor.MultiProducerSequencer} and once with the
+ * {@link com.lmax.disruptor.BitmapMultiProducerSequencer} to compare the two.
+ *
  * </pre>
  */
 /**
@@ -90,14 +94,25 @@ public final class ThreeToOneSequencedBatchThroughputTest extends AbstractPerfTe
 
     ///////////////////////////////////////////////////////////////////////////////////////////////
 
-    private final RingBuffer<ValueEvent> ringBuffer =
-        createMultiProducer(ValueEvent.EVENT_FACTORY, BUFFER_SIZE, new BusySpinWaitStrategy());
-
-    private final SequenceBarrier sequenceBarrier = ringBuffer.newBarrier();
+    private final RingBuffer<ValueEvent> ringBuffer;
+    private final SequenceBarrier sequenceBarrier;
     private final ValueAdditionEventHandler handler = new ValueAdditionEventHandler();
-    private final BatchEventProcessor<ValueEvent> batchEventProcessor = new BatchEventProcessor<ValueEvent>(ringBuffer, sequenceBarrier, handler);
+    private final BatchEventProcessor<ValueEvent> batchEventProcessor;
     private final ValueBatchPublisher[] valuePublishers = new ValueBatchPublisher[NUM_PUBLISHERS];
+
+    public ThreeToOneSequencedBatchThroughputTest()
+    {
+        this(false);
+    }
+
+    public ThreeToOneSequencedBatchThroughputTest(final boolean bitmapSequencer)
     {
+        ringBuffer = bitmapSequencer ?
+            createBitmapMultiProducer(ValueEvent.EVENT_FACTORY, BUFFER_SIZE, new BusySpinWaitStrategy()) :
+            createMultiProducer(ValueEvent.EVENT_FACTORY, BUFFER_SIZE, new BusySpinWaitStrategy());
+        sequenceBarrier = ringBuffer.newBarrier();
+        batchEventProcessor = new BatchEventProcessor<ValueEvent>(ringBuffer, sequenceBarrier, handler);
+
         for (int i = 0; i < NUM_PUBLISHERS; i++)
         {
             valuePublishers[i] = new ValueBatchPublisher(cyclicBarrier, ringBuffer, ITERATIONS / NUM_PUBLISHERS, 10);
@@ -145,6 +160,10 @@ public final class ThreeToOneSequencedBatchThroughputTest extends AbstractPerfTe
 
     public static void main(String[] args) throws Exception
     {
-        new ThreeToOneSequencedBatchThroughputTest().testImplementations();
+        System.out.println("MultiProducerSequencer");
+        new ThreeToOneSequencedBatchThroughputTest(false).testImplementations();
+
+        System.out.println("BitmapMultiProducerSequencer");
+        new ThreeToOneSequencedBatchThroughputTest(true).testImplementations();
     }
 }
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor.startup;
+
+import com.lmax.disruptor.BlockingWaitStrategy;
+import com.lmax.disruptor.FillMode;
+import com.lmax.disruptor.RingBuffer;
+import com.lmax.disruptor.SleepingProducerWaitStrategy;
+import com.lmax.disruptor.dsl.ProducerType;
+import com.lmax.disruptor.support.ValueEvent;
+
+/**
+ * <pre>
+ * Measures the throughput of {@link RingBuffer#get(long)} once the ring buffer is full of events, for each
+ * {@link FillMode}, reading the value of every event for a number of laps on a single thread.  Every slot has been
+ * created by the time it is measured, so the fill modes should only differ by the cost of the accessor itself.
+ * </pre>
+ */
+public final class RingBufferAccessBenchmark
+{
+    private static final int BUFFER_SIZE = 1024 * 64;
+    private static final long ITERATIONS = 1000L * 1000L * 500L;
+    private static final int RUNS = 7;
+
+    private long run(final RingBuffer<ValueEvent> ringBuffer)
+    {
+        long sum = 0;
+        for (long i = 0; i < ITERATIONS; i++)
+        {
+            sum += ringBuffer.get(i).getValue();
+        }
+        return sum;
+    }
+
+    public static void main(String[] args) throws Exception
+    {
+        final RingBufferAccessBenchmark benchmark = new RingBufferAccessBenchmark();
+        for (final FillMode fillMode : FillMode.values())
+        {
+            final RingBuffer<ValueEvent> ringBuffer =
+                RingBuffer.create(ProducerType.SINGLE, ValueEvent.EVENT_FACTORY, BUFFER_SIZE,
+                                  new BlockingWaitStrategy(), new SleepingProducerWaitStrategy(), fillMode);
+            for (long i = 0; i < BUFFER_SIZE; i++)
+            {
+                ringBuffer.get(i).setValue(i);
+            }
+
+            for (int i = 0; i < RUNS; i++)
+            {
+                final long start = System.nanoTime();
+                final long sum = benchmark.run(ringBuffer);
+                final long opsPerSecond = (ITERATIONS * 1000L * 1000L * 1000L) / (System.nanoTime() - start);
+                System.out.format("%-8s run %d: %,d ops/sec (sum %d)%n", fillMode, i, opsPerSecond, sum);
+            }
+        }
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor.startup;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.lmax.disruptor.BatchEventProcessor;
+import com.lmax.disruptor.EventHandler;
+import com.lmax.disruptor.FillMode;
+import com.lmax.disruptor.RingBuffer;
+import com.lmax.disruptor.SleepingProducerWaitStrategy;
+import com.lmax.disruptor.YieldingWaitStrategy;
+import com.lmax.disruptor.dsl.ProducerType;
+import com.lmax.disruptor.support.ValueEvent;
+import com.lmax.disruptor.util.DaemonThreadFactory;
+
+/**
+ * <pre>
+ * Measures how long a large ring buffer takes to start for each {@link FillMode}.
+ *
+ * +----+    +-----+
+ * | P1 |--->| EP1 |
+ * +----+    +-----+
+ *
+ * construct:    time to construct the ring buffer.
+ * first event:  time from starting construction until the first published event is handled.
+ * steady state: time from starting construction until a full lap of the ring buffer has been handled,
+ *               after which every slot has been created whatever the fill mode.
+ * GCs:          collections from starting construction until the steady state.
+ * </pre>
+ */
+public final class RingBufferStartupBenchmark
+{
+    private static final int BUFFER_SIZE = 1024 * 1024 * 4;
+    private static final int RUNS = 5;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(DaemonThreadFactory.INSTANCE);
+
+    private void run(final FillMode fillMode) throws Exception
+    {
+        System.gc();
+        final long gcCountBefore = gcCount();
+        final CountDownLatch firstEvent = new CountDownLatch(1);
+        final CountDownLatch steadyState = new CountDownLatch(1);
+
+        final long start = System.nanoTime();
+        final RingBuffer<ValueEvent> ringBuffer =
+            RingBuffer.create(ProducerType.SINGLE, ValueEvent.EVENT_FACTORY, BUFFER_SIZE,
+                              new YieldingWaitStrategy(), new SleepingProducerWaitStrategy(), fillMode);
+        final long constructed = System.nanoTime();
+
+        final BatchEventProcessor<ValueEvent> processor =
+            new BatchEventProcessor<ValueEvent>(ringBuffer, ringBuffer.newBarrier(), new EventHandler<ValueEvent>()
+            {
+                @Override
+                public void onEvent(final ValueEvent event, final long sequence, final boolean endOfBatch)
+                {
+                    if (0 == sequence)
+                    {
+                        firstEvent.countDown();
+                    }
+                    if (BUFFER_SIZE - 1 == sequence)
+                    {
+                        steadyState.countDown();
+                    }
+                }
+            });
+        ringBuffer.addGatingSequences(processor.getSequence());
+        executor.execute(processor);
+
+        long firstEventAt = 0;
+        for (long i = 0; i < BUFFER_SIZE; i++)
+        {
+            final long sequence = ringBuffer.next();
+            ringBuffer.get(sequence).setValue(i);
+            ringBuffer.publish(sequence);
+            if (0 == i)
+            {
+                firstEvent.await();
+                firstEventAt = System.nanoTime();
+            }
+        }
+        steadyState.await();
+        final long end = System.nanoTime();
+        processor.halt();
+
+        System.out.format("%-8s construct: %,6d ms, first event: %,6d ms, steady state: %,6d ms, GCs: %d%n",
+                          fillMode,
+                          TimeUnit.NANOSECONDS.toMillis(constructed - start),
+                          TimeUnit.NANOSECONDS.toMillis(firstEventAt - start),
+                          TimeUnit.NANOSECONDS.toMillis(end - start),
+                          gcCount() - gcCountBefore);
+    }
+
+    private static long gcCount()
+    {
+        long count = 0;
+        for (final GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans())
+        {
+            count += Math.max(0, bean.getCollectionCount());
+        }
+        return count;
+    }
+
+    public static void main(String[] args) throws Exception
+    {
+        final RingBufferStartupBenchmark benchmark = new RingBufferStartupBenchmark();
+        for (int i = 0; i < RUNS; i++)
+        {
+            for (final FillMode fillMode : FillMode.values())
+            {
+                benchmark.run(fillMode);
+            }
+        }
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor.threads;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.HdrHistogram.Histogram;
+
+import com.lmax.disruptor.BlockingWaitStrategy;
+import com.lmax.disruptor.EventHandler;
+import com.lmax.disruptor.ParkingWaitStrategy;
+import com.lmax.disruptor.RingBuffer;
+import com.lmax.disruptor.WaitStrategy;
+import com.lmax.disruptor.dsl.Disruptor;
+import com.lmax.disruptor.dsl.ProducerType;
+import com.lmax.disruptor.support.ValueEvent;
+import com.lmax.disruptor.util.DaemonThreadFactory;
+import com.lmax.disruptor.util.VirtualThreads;
+
+/**
+ * <pre>
+ * Compares platform and virtual threads for many mostly idle consumers of one producer, each consumer
+ * handling every event on a thread of its own.
+ *
+ *           +-----+
+ *      +---&gt;| EP1 |
+ * +----+    +-----+
+ * | P1 |       ...
+ * +----+    +-----+
+ *      +---&gt;| EPn |
+ *           +-----+
+ *
+ * throughput: events published per second when every consumer has handled them all.
+ * latency:    time from publishing an event until each consumer handles it, publishing at a fixed pause.
+ *
+ * Run with the consumer counts to compare as arguments, by default 10 100 1000.  Virtual threads are
+ * only measured on Java 21 or later.
+ * </pre>
+ */
+public final class ManyConsumersBenchmark
+{
+    private static final int BUFFER_SIZE = 1024;
+    private static final long THROUGHPUT_EVENTS = 100L * 1000L;
+    private static final long LATENCY_EVENTS = 2000L;
+    private static final long PAUSE_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final int RUNS = 3;
+
+    private enum Mode
+    {
+        PLATFORM_BLOCKING, PLATFORM_PARKING, VIRTUAL_PARKING;
+
+        ThreadFactory threadFactory()
+        {
+            return this == VIRTUAL_PARKING ? VirtualThreads.threadFactory() : DaemonThreadFactory.INSTANCE;
+        }
+
+        WaitStrategy waitStrategy()
+        {
+            return this == PLATFORM_BLOCKING ? new BlockingWaitStrategy() : new ParkingWaitStrategy();
+        }
+    }
+
+    private static void run(final Mode mode, final int consumers) throws Exception
+    {
+        final long throughput = runThroughput(mode, consumers);
+        final Histogram latency = runLatency(mode, consumers);
+
+        System.out.format("%-17s consumers: %,5d throughput: %,11d ops/sec latency us p50: %,7.1f p99: %,8.1f max: %,9.1f%n",
+                          mode, consumers, throughput,
+                          latency.getValueAtPercentile(50) / 1000.0,
+                          latency.getValueAtPercentile(99) / 1000.0,
+                          latency.getMaxValue() / 1000.0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static long runThroughput(final Mode mode, final int consumers) throws Exception
+    {
+        final CountDownLatch latch = new CountDownLatch(consumers);
+        final Disruptor<ValueEvent> disruptor = newDisruptor(mode);
+        for (int i = 0; i < consumers; i++)
+        {
+            disruptor.handleEventsWith(new EventHandler<ValueEvent>()
+            {
+                @Override
+                public void onEvent(final ValueEvent event, final long sequence, final boolean endOfBatch)
+                {
+                    if (THROUGHPUT_EVENTS - 1 == sequence)
+                    {
+                        latch.countDown();
+                    }
+                }
+            });
+        }
+        final RingBuffer<ValueEvent> ringBuffer = disruptor.start();
+
+        final long start = System.nanoTime();
+        for (long i = 0; i < THROUGHPUT_EVENTS; i++)
+        {
+            final long sequence = ringBuffer.next();
+            ringBuffer.get(sequence).setValue(i);
+            ringBuffer.publish(sequence);
+        }
+        latch.await();
+        final long elapsed = System.nanoTime() - start;
+        disruptor.halt();
+
+        return (THROUGHPUT_EVENTS * TimeUnit.SECONDS.toNanos(1)) / elapsed;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Histogram runLatency(final Mode mode, final int consumers) throws Exception
+    {
+        final CountDownLatch latch = new CountDownLatch(consumers);
+        final Histogram[] histograms = new Histogram[consumers];
+        final Disruptor<ValueEvent> disruptor = newDisruptor(mode);
+        for (int i = 0; i < consumers; i++)
+        {
+            final Histogram histogram = new Histogram(TimeUnit.SECONDS.toNanos(10), 3);
+            histograms[i] = histogram;
+            disruptor.handleEventsWith(new EventHandler<ValueEvent>()
+            {
+                @Override
+                public void onEvent(final ValueEvent event, final long sequence, final boolean endOfBatch)
+                {
+                    histogram.recordValue(Math.min(System.nanoTime() - event.getValue(), histogram.getHighestTrackableValue()));
+                    if (LATENCY_EVENTS - 1 == sequence)
+                    {
+                        latch.countDown();
+                    }
+                }
+            });
+        }
+        final RingBuffer<ValueEvent> ringBuffer = disruptor.start();
+
+        for (long i = 0; i < LATENCY_EVENTS; i++)
+        {
+            final long sequence = ringBuffer.next();
+            final long publishTime = System.nanoTime();
+            ringBuffer.get(sequence).setValue(publishTime);
+            ringBuffer.publish(sequence);
+
+            while (System.nanoTime() - publishTime < PAUSE_NANOS)
+            {
+                // busy spin
+            }
+        }
+        latch.await();
+        disruptor.halt();
+
+        final Histogram latency = new Histogram(TimeUnit.SECONDS.toNanos(10), 3);
+        for (final Histogram histogram : histograms)
+        {
+            latency.add(histogram);
+        }
+        return latency;
+    }
+
+    private static Disruptor<ValueEvent> newDisruptor(final Mode mode)
+    {
+        return new Disruptor<ValueEvent>(ValueEvent.EVENT_FACTORY, BUFFER_SIZE, mode.threadFactory(),
+                                         ProducerType.SINGLE, mode.waitStrategy());
+    }
+
+    public static void main(final String[] args) throws Exception
+    {
+        final int[] consumerCounts = args.length == 0 ? new int[] {10, 100, 1000} : new int[args.length];
+        for (int i = 0; i < args.length; i++)
+        {
+            consumerCounts[i] = Integer.parseInt(args[i]);
+        }
+
+        if (!VirtualThreads.isSupported())
+        {
+            System.out.println("Virtual threads are not supported by this runtime, measuring platform threads only");
+        }
+
+        for (int run = 0; run < RUNS; run++)
+        {
+            for (final int consumers : consumerCounts)
+            {
+                for (final Mode mode : Mode.values())
+                {
+                    if (mode != Mode.VIRTUAL_PARKING || VirtualThreads.isSupported())
+                    {
+                        run(mode, consumers);
+                    }
+                }
+            }
+        }
+    }
+}
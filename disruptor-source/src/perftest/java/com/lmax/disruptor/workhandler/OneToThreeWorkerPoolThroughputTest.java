@@ -30,56 +30,65 @@ import com.lmax.disruptor.YieldingWaitStrategy;
 import com.lmax.disruptor.support.EventCountingQueueProcessor;
 import com.lmax.disruptor.support.EventCountingWorkHandler;
 import com.lmax.disruptor.support.ValueEvent;
+import com.lmax.disruptor.util.DaemonThreadFactory;
 import com.lmax.disruptor.util.PaddedLong;
 
 public final class OneToThreeWorkerPoolThroughputTest
     extends AbstractPerfTestDisruptor
 {
     private static final int NUM_WORKERS = 3;
+    private static final int[] SCALING_WORKERS = {2, 4, 8, 16};
+    private static final int[] SCALING_CLAIM_BATCH_SIZES = {1, 32};
     private static final int BUFFER_SIZE = 1024 * 8;
     private static final long ITERATIONS = 1000L * 1000L * 100L;
-    private final ExecutorService executor = Executors.newFixedThreadPool(NUM_WORKERS);
+    private final int numWorkers;
+    private final ExecutorService executor;
 
-    private final PaddedLong[] counters = new PaddedLong[NUM_WORKERS];
+    private final PaddedLong[] counters;
+    private final BlockingQueue<Long> blockingQueue = new LinkedBlockingQueue<Long>(BUFFER_SIZE);
+    private final EventCountingQueueProcessor[] queueWorkers;
+    private final EventCountingWorkHandler[] handlers;
+
+    private final RingBuffer<ValueEvent> ringBuffer =
+            RingBuffer.createSingleProducer(ValueEvent.EVENT_FACTORY,
+                                            BUFFER_SIZE,
+                                            new YieldingWaitStrategy());
+
+    private final WorkerPool<ValueEvent> workerPool;
+
+    public OneToThreeWorkerPoolThroughputTest()
     {
-        for (int i = 0; i < NUM_WORKERS; i++)
+        this(NUM_WORKERS, 1);
+    }
+
+    public OneToThreeWorkerPoolThroughputTest(final int numWorkers, final int claimBatchSize)
+    {
+        this.numWorkers = numWorkers;
+        this.executor = Executors.newFixedThreadPool(numWorkers, DaemonThreadFactory.INSTANCE);
+
+        counters = new PaddedLong[numWorkers];
+        for (int i = 0; i < numWorkers; i++)
         {
             counters[i] = new PaddedLong();
         }
-    }
-
-    ///////////////////////////////////////////////////////////////////////////////////////////////
 
-    private final BlockingQueue<Long> blockingQueue = new LinkedBlockingQueue<Long>(BUFFER_SIZE);
-    private final EventCountingQueueProcessor[] queueWorkers = new EventCountingQueueProcessor[NUM_WORKERS];
-    {
-        for (int i = 0; i < NUM_WORKERS; i++)
+        queueWorkers = new EventCountingQueueProcessor[numWorkers];
+        for (int i = 0; i < numWorkers; i++)
         {
             queueWorkers[i] = new EventCountingQueueProcessor(blockingQueue, counters, i);
         }
-    }
-
-    ///////////////////////////////////////////////////////////////////////////////////////////////
 
-    private final EventCountingWorkHandler[] handlers = new EventCountingWorkHandler[NUM_WORKERS];
-    {
-        for (int i = 0; i < NUM_WORKERS; i++)
+        handlers = new EventCountingWorkHandler[numWorkers];
+        for (int i = 0; i < numWorkers; i++)
         {
             handlers[i] = new EventCountingWorkHandler(counters, i);
         }
-    }
-
-    private final RingBuffer<ValueEvent> ringBuffer =
-            RingBuffer.createSingleProducer(ValueEvent.EVENT_FACTORY,
-                                            BUFFER_SIZE,
-                                            new YieldingWaitStrategy());
 
-    private final WorkerPool<ValueEvent> workerPool =
-            new WorkerPool<ValueEvent>(ringBuffer,
-                                       ringBuffer.newBarrier(),
-                                       new FatalExceptionHandler(),
-                                       handlers);
-    {
+        workerPool = new WorkerPool<ValueEvent>(ringBuffer,
+                                                ringBuffer.newBarrier(),
+                                                new FatalExceptionHandler(),
+                                                handlers);
+        workerPool.setClaimBatchSize(claimBatchSize);
         ringBuffer.addGatingSequences(workerPool.getWorkerSequences());
     }
 
@@ -88,7 +97,7 @@ public final class OneToThreeWorkerPoolThroughputTest
     @Override
     protected int getRequiredProcessorCount()
     {
-        return 4;
+        return numWorkers + 1;
     }
 
     @Override
@@ -116,7 +125,7 @@ public final class OneToThreeWorkerPoolThroughputTest
 
     private void resetCounters()
     {
-        for (int i = 0; i < NUM_WORKERS; i++)
+        for (int i = 0; i < numWorkers; i++)
         {
             counters[i].set(0L);
         }
@@ -125,7 +134,7 @@ public final class OneToThreeWorkerPoolThroughputTest
     private long sumCounters()
     {
         long sumJobs = 0L;
-        for (int i = 0; i < NUM_WORKERS; i++)
+        for (int i = 0; i < numWorkers; i++)
         {
             sumJobs += counters[i].get();
         }
@@ -133,8 +142,26 @@ public final class OneToThreeWorkerPoolThroughputTest
         return sumJobs;
     }
 
+    /**
+     * Run with three workers claiming one sequence at a time, or with the argument <code>scaling</code> for each
+     * combination of {@link #SCALING_WORKERS} workers and {@link #SCALING_CLAIM_BATCH_SIZES} claim batch sizes.
+     */
     public static void main(String[] args) throws Exception
     {
-        new OneToThreeWorkerPoolThroughputTest().testImplementations();
+        if (args.length > 0 && "scaling".equals(args[0]))
+        {
+            for (final int numWorkers : SCALING_WORKERS)
+            {
+                for (final int claimBatchSize : SCALING_CLAIM_BATCH_SIZES)
+                {
+                    System.out.format("Workers=%d, claim batch size=%d%n", numWorkers, claimBatchSize);
+                    new OneToThreeWorkerPoolThroughputTest(numWorkers, claimBatchSize).testImplementations();
+                }
+            }
+        }
+        else
+        {
+            new OneToThreeWorkerPoolThroughputTest().testImplementations();
+        }
     }
 }
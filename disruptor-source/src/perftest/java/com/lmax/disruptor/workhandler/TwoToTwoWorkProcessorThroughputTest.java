@@ -33,6 +33,8 @@ import com.lmax.disruptor.WorkProcessor;
 import com.lmax.disruptor.support.ValueAdditionWorkHandler;
 import com.lmax.disruptor.support.ValueEvent;
 import com.lmax.disruptor.support.ValuePublisher;
+import com.lmax.disruptor.util.DaemonThreadFactory;
+import com.lmax.disruptor.util.Util;
 
 /**
  * <pre>
@@ -56,9 +58,13 @@ import com.lmax.disruptor.support.ValuePublisher;
 public final class TwoToTwoWorkProcessorThroughputTest extends AbstractPerfTestDisruptor
 {
     private static final int NUM_PUBLISHERS = 2;
+    private static final int NUM_WORKERS = 2;
+    private static final int[] SCALING_WORKERS = {2, 4, 8, 16};
+    private static final int[] SCALING_CLAIM_BATCH_SIZES = {1, 32};
     private static final int BUFFER_SIZE = 1024 * 64;
     private static final long ITERATIONS = 1000L * 1000L * 1L;
-    private final ExecutorService executor = Executors.newFixedThreadPool(NUM_PUBLISHERS + 2);
+    private final int numWorkers;
+    private final ExecutorService executor;
     private final CyclicBarrier cyclicBarrier = new CyclicBarrier(NUM_PUBLISHERS + 1);
 
     ///////////////////////////////////////////////////////////////////////////////////////////////
@@ -69,31 +75,41 @@ public final class TwoToTwoWorkProcessorThroughputTest extends AbstractPerfTestD
     private final SequenceBarrier sequenceBarrier = ringBuffer.newBarrier();
     private final Sequence workSequence = new Sequence(-1);
 
-    private final ValueAdditionWorkHandler[] handlers = new ValueAdditionWorkHandler[2];
+    private final ValueAdditionWorkHandler[] handlers;
+    private final WorkProcessor<ValueEvent>[] workProcessors;
+    private final Sequence[] workerSequences;
+    private final ValuePublisher[] valuePublishers = new ValuePublisher[NUM_PUBLISHERS];
+
+    public TwoToTwoWorkProcessorThroughputTest()
     {
-        handlers[0] = new ValueAdditionWorkHandler();
-        handlers[1] = new ValueAdditionWorkHandler();
+        this(NUM_WORKERS, 1);
     }
 
     @SuppressWarnings("unchecked")
-    private final WorkProcessor<ValueEvent>[] workProcessors = new WorkProcessor[2];
+    public TwoToTwoWorkProcessorThroughputTest(final int numWorkers, final int claimBatchSize)
     {
-       workProcessors[0] = new WorkProcessor<ValueEvent>(ringBuffer, sequenceBarrier,
-                                                        handlers[0], new IgnoreExceptionHandler(),
-                                                        workSequence);
-       workProcessors[1] = new WorkProcessor<ValueEvent>(ringBuffer, sequenceBarrier,
-                                                        handlers[1], new IgnoreExceptionHandler(),
-                                                        workSequence);
-    };
+        this.numWorkers = numWorkers;
+        this.executor = Executors.newFixedThreadPool(NUM_PUBLISHERS + numWorkers, DaemonThreadFactory.INSTANCE);
+
+        handlers = new ValueAdditionWorkHandler[numWorkers];
+        workProcessors = new WorkProcessor[numWorkers];
+        workerSequences = new Sequence[numWorkers];
+        for (int i = 0; i < numWorkers; i++)
+        {
+            handlers[i] = new ValueAdditionWorkHandler();
+            workProcessors[i] = new WorkProcessor<ValueEvent>(ringBuffer, sequenceBarrier,
+                                                              handlers[i], new IgnoreExceptionHandler(),
+                                                              workSequence);
+            workProcessors[i].setClaimBatchSize(claimBatchSize);
+            workerSequences[i] = workProcessors[i].getSequence();
+        }
 
-    private final ValuePublisher[] valuePublishers = new ValuePublisher[NUM_PUBLISHERS];
-    {
         for (int i = 0; i < NUM_PUBLISHERS; i++)
         {
             valuePublishers[i] = new ValuePublisher(cyclicBarrier, ringBuffer, ITERATIONS);
         }
 
-        ringBuffer.addGatingSequences(workProcessors[0].getSequence(), workProcessors[1].getSequence());
+        ringBuffer.addGatingSequences(workerSequences);
     }
 
     ///////////////////////////////////////////////////////////////////////////////////////////////
@@ -101,7 +117,7 @@ public final class TwoToTwoWorkProcessorThroughputTest extends AbstractPerfTestD
     @Override
     protected int getRequiredProcessorCount()
     {
-        return 4;
+        return NUM_PUBLISHERS + numWorkers;
     }
 
     @Override
@@ -127,7 +143,8 @@ public final class TwoToTwoWorkProcessorThroughputTest extends AbstractPerfTestD
             futures[i].get();
         }
 
-        while (workSequence.get() < expected)
+        // with batched claims the work sequence runs ahead of the events handled
+        while (Util.getMinimumSequence(workerSequences) < expected)
         {
             LockSupport.parkNanos(1L);
         }
@@ -144,8 +161,26 @@ public final class TwoToTwoWorkProcessorThroughputTest extends AbstractPerfTestD
         return opsPerSecond;
     }
 
+    /**
+     * Run with two work processors claiming one sequence at a time, or with the argument <code>scaling</code> for
+     * each combination of {@link #SCALING_WORKERS} processors and {@link #SCALING_CLAIM_BATCH_SIZES} claim batch sizes.
+     */
     public static void main(String[] args) throws Exception
     {
-        new TwoToTwoWorkProcessorThroughputTest().testImplementations();
+        if (args.length > 0 && "scaling".equals(args[0]))
+        {
+            for (final int numWorkers : SCALING_WORKERS)
+            {
+                for (final int claimBatchSize : SCALING_CLAIM_BATCH_SIZES)
+                {
+                    System.out.format("Workers=%d, claim batch size=%d%n", numWorkers, claimBatchSize);
+                    new TwoToTwoWorkProcessorThroughputTest(numWorkers, claimBatchSize).testImplementations();
+                }
+            }
+        }
+        else
+        {
+            new TwoToTwoWorkProcessorThroughputTest().testImplementations();
+        }
     }
 }
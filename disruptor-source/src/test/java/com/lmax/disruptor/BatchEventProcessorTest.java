@@ -26,6 +26,8 @@ import org.jmock.integration.junit4.JMock;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CountDownLatch;
 
 import static com.lmax.disruptor.RingBuffer.createMultiProducer;
@@ -157,4 +159,116 @@ public final class BatchEventProcessorTest
         batchEventProcessor.halt();
         thread.join();
     }
+
+    @Test
+    public void shouldNotifyBatchStartAwareHandlerOfBatchSize()
+        throws Exception
+    {
+        final BatchStartRecordingHandler handler = new BatchStartRecordingHandler(latch);
+        final BatchEventProcessor<StubEvent> processor =
+            new BatchEventProcessor<StubEvent>(ringBuffer, ringBuffer.newBarrier(), handler);
+        ringBuffer.addGatingSequences(processor.getSequence());
+
+        ringBuffer.publish(ringBuffer.next());
+        ringBuffer.publish(ringBuffer.next());
+        ringBuffer.publish(ringBuffer.next());
+
+        Thread thread = new Thread(processor);
+        thread.start();
+
+        latch.await();
+
+        processor.halt();
+        thread.join();
+
+        assertEquals("[3/3, 0, 1, 2 end]", handler.calls.toString());
+    }
+
+    @Test
+    public void shouldLimitBatchSize()
+        throws Exception
+    {
+        final BatchStartRecordingHandler handler = new BatchStartRecordingHandler(new CountDownLatch(3));
+        final BatchEventProcessor<StubEvent> processor =
+            new BatchEventProcessor<StubEvent>(ringBuffer, ringBuffer.newBarrier(), handler);
+        processor.setMaxBatchSize(2);
+        ringBuffer.addGatingSequences(processor.getSequence());
+
+        final long hi = ringBuffer.next(5);
+        ringBuffer.publish(hi - 4, hi);
+
+        Thread thread = new Thread(processor);
+        thread.start();
+
+        handler.latch.await();
+
+        processor.halt();
+        thread.join();
+
+        assertEquals("[2/5, 0, 1 end, 2/3, 2, 3 end, 1/1, 4 end]", handler.calls.toString());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldUpdateSequenceWithinBatch()
+        throws Exception
+    {
+        final List<Long> progress = new ArrayList<Long>();
+        final BatchEventProcessor<StubEvent>[] processor = new BatchEventProcessor[1];
+        processor[0] = new BatchEventProcessor<StubEvent>(ringBuffer, ringBuffer.newBarrier(), new EventHandler<StubEvent>()
+        {
+            @Override
+            public void onEvent(final StubEvent event, final long sequence, final boolean endOfBatch) throws Exception
+            {
+                progress.add(processor[0].getSequence().get());
+                if (endOfBatch)
+                {
+                    latch.countDown();
+                }
+            }
+        });
+        processor[0].setProgressInterval(2);
+        ringBuffer.addGatingSequences(processor[0].getSequence());
+
+        final long hi = ringBuffer.next(5);
+        ringBuffer.publish(hi - 4, hi);
+
+        Thread thread = new Thread(processor[0]);
+        thread.start();
+
+        latch.await();
+
+        processor[0].halt();
+        thread.join();
+
+        assertEquals("[-1, -1, 1, 1, 3]", progress.toString());
+        assertEquals(4L, processor[0].getSequence().get());
+    }
+
+    private static final class BatchStartRecordingHandler implements EventHandler<StubEvent>, BatchStartAware
+    {
+        private final List<String> calls = new ArrayList<String>();
+        private final CountDownLatch latch;
+
+        private BatchStartRecordingHandler(final CountDownLatch latch)
+        {
+            this.latch = latch;
+        }
+
+        @Override
+        public void onBatchStart(final long batchSize, final long queueDepth)
+        {
+            calls.add(batchSize + "/" + queueDepth);
+        }
+
+        @Override
+        public void onEvent(final StubEvent event, final long sequence, final boolean endOfBatch) throws Exception
+        {
+            calls.add(endOfBatch ? sequence + " end" : String.valueOf(sequence));
+            if (endOfBatch)
+            {
+                latch.countDown();
+            }
+        }
+    }
 }
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+import com.lmax.disruptor.support.StubEvent;
+import com.lmax.disruptor.util.DaemonThreadFactory;
+
+public class BatchingPublisherTest
+{
+    private static final EventTranslatorOneArg<StubEvent, StubEvent> COPIER =
+        new EventTranslatorOneArg<StubEvent, StubEvent>()
+        {
+            @Override
+            public void translateTo(final StubEvent event, final long sequence, final StubEvent staged)
+            {
+                event.setValue(staged.getValue());
+                event.setTestString(staged.getTestString());
+            }
+        };
+
+    private final RingBuffer<StubEvent> ringBuffer = RingBuffer.createMultiProducer(StubEvent.EVENT_FACTORY, 1024);
+
+    @Test
+    public void shouldHoldEventsUntilBatchIsFull() throws Exception
+    {
+        final BatchingPublisher<StubEvent> publisher = newPublisher(ringBuffer, 4);
+
+        for (int i = 0; i < 3; i++)
+        {
+            publisher.publishEvent(StubEvent.TRANSLATOR, i, "");
+        }
+        assertThat(ringBuffer.getCursor(), is(Sequencer.INITIAL_CURSOR_VALUE));
+
+        publisher.publishEvent(StubEvent.TRANSLATOR, 3, "");
+        assertThat(ringBuffer.getCursor(), is(3L));
+
+        for (int i = 0; i < 4; i++)
+        {
+            assertThat(ringBuffer.get(i).getValue(), is(i));
+            assertThat(ringBuffer.isPublished(i), is(true));
+        }
+    }
+
+    @Test
+    public void shouldPublishPartialBatchOnFlush() throws Exception
+    {
+        final BatchingPublisher<StubEvent> publisher = newPublisher(ringBuffer, 8);
+
+        publisher.publishEvent(StubEvent.TRANSLATOR, 7, "");
+        publisher.publishEvent(StubEvent.TRANSLATOR, 8, "");
+        publisher.flush();
+        publisher.flush();
+
+        assertThat(ringBuffer.getCursor(), is(1L));
+        assertThat(ringBuffer.get(0).getValue(), is(7));
+        assertThat(ringBuffer.get(1).getValue(), is(8));
+    }
+
+    @Test
+    public void shouldTranslateArgumentsWhenPublished() throws Exception
+    {
+        final BatchingPublisher<StubEvent> publisher = newPublisher(ringBuffer, 4);
+        final EventTranslatorOneArg<StubEvent, int[]> translator = new EventTranslatorOneArg<StubEvent, int[]>()
+        {
+            @Override
+            public void translateTo(final StubEvent event, final long sequence, final int[] holder)
+            {
+                event.setValue(holder[0]);
+            }
+        };
+        final int[] holder = new int[1];
+
+        holder[0] = 1;
+        publisher.publishEvent(translator, holder);
+        holder[0] = 2;
+        publisher.publishEvent(translator, holder);
+        publisher.flush();
+
+        assertThat(ringBuffer.get(0).getValue(), is(1));
+        assertThat(ringBuffer.get(1).getValue(), is(2));
+    }
+
+    @Test
+    public void shouldPreserveOrderOfEachPublishingThread() throws Exception
+    {
+        final int numThreads = 4;
+        final int eventsPerThread = 250;
+        final BatchingPublisher<StubEvent> publisher = newPublisher(ringBuffer, 8);
+        final CyclicBarrier barrier = new CyclicBarrier(numThreads);
+        final Thread[] threads = new Thread[numThreads];
+
+        for (int t = 0; t < numThreads; t++)
+        {
+            final String name = String.valueOf(t);
+            threads[t] = new Thread(new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    try
+                    {
+                        barrier.await();
+                    }
+                    catch (Exception e)
+                    {
+                        throw new RuntimeException(e);
+                    }
+
+                    for (int i = 0; i < eventsPerThread; i++)
+                    {
+                        publisher.publishEvent(StubEvent.TRANSLATOR, i, name);
+                    }
+                    publisher.flush();
+                }
+            });
+            threads[t].start();
+        }
+
+        for (Thread thread : threads)
+        {
+            thread.join();
+        }
+
+        assertThat(ringBuffer.getCursor(), is((long) (numThreads * eventsPerThread) - 1));
+
+        final int[] expected = new int[numThreads];
+        for (int i = 0; i < numThreads * eventsPerThread; i++)
+        {
+            final StubEvent event = ringBuffer.get(i);
+            final int thread = Integer.parseInt(event.getTestString());
+            assertThat(event.getValue(), is(expected[thread]++));
+        }
+    }
+
+    @Test
+    public void shouldPreserveOrderOfEachPublishingThreadWhileEventsAreConsumed() throws Exception
+    {
+        final int numThreads = 4;
+        final int eventsPerThread = 10000;
+        final RingBuffer<StubEvent> ringBuffer = RingBuffer.createMultiProducer(StubEvent.EVENT_FACTORY, 64);
+        final BatchingPublisher<StubEvent> publisher = newPublisher(ringBuffer, 8);
+        final CountDownLatch consumed = new CountDownLatch(numThreads * eventsPerThread);
+        final AtomicReference<String> outOfOrder = new AtomicReference<String>();
+        final BatchEventProcessor<StubEvent> processor = new BatchEventProcessor<StubEvent>(
+            ringBuffer, ringBuffer.newBarrier(), new EventHandler<StubEvent>()
+            {
+                private final int[] expected = new int[numThreads];
+
+                @Override
+                public void onEvent(final StubEvent event, final long sequence, final boolean endOfBatch)
+                {
+                    final int thread = Integer.parseInt(event.getTestString());
+                    if (event.getValue() != expected[thread]++)
+                    {
+                        outOfOrder.compareAndSet(null, "thread " + thread + " event " + event.getValue() +
+                                                       " at sequence " + sequence);
+                    }
+                    consumed.countDown();
+                }
+            });
+        ringBuffer.addGatingSequences(processor.getSequence());
+        DaemonThreadFactory.INSTANCE.newThread(processor).start();
+
+        final CyclicBarrier barrier = new CyclicBarrier(numThreads);
+        for (int t = 0; t < numThreads; t++)
+        {
+            final String name = String.valueOf(t);
+            DaemonThreadFactory.INSTANCE.newThread(new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    try
+                    {
+                        barrier.await();
+                    }
+                    catch (Exception e)
+                    {
+                        throw new RuntimeException(e);
+                    }
+
+                    for (int i = 0; i < eventsPerThread; i++)
+                    {
+                        publisher.publishEvent(StubEvent.TRANSLATOR, i, name);
+                    }
+                    publisher.flush();
+                }
+            }).start();
+        }
+
+        assertThat(consumed.await(10, TimeUnit.SECONDS), is(true));
+        processor.halt();
+
+        assertThat(outOfOrder.get(), is((String) null));
+    }
+
+    private static BatchingPublisher<StubEvent> newPublisher(final RingBuffer<StubEvent> ringBuffer, final int batchSize)
+    {
+        return new BatchingPublisher<StubEvent>(ringBuffer, StubEvent.EVENT_FACTORY, COPIER, batchSize);
+    }
+}
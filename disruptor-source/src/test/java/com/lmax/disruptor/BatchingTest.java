@@ -29,7 +29,7 @@ public class BatchingTest
     @Parameters
     public static Collection<Object[]> generateData()
     {
-        Object[][] producerTypes = { { ProducerType.MULTI }, { ProducerType.SINGLE } };
+        Object[][] producerTypes = { { ProducerType.MULTI }, { ProducerType.SINGLE }, { ProducerType.MULTI_FETCH_AND_ADD } };
         return Arrays.asList(producerTypes);
     }
 
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+public class BitmapMultiProducerSequencerTest
+{
+    private final Sequencer publisher = new BitmapMultiProducerSequencer(1024, new BlockingWaitStrategy());
+
+    @Test
+    public void shouldOnlyAllowMessagesToBeAvailableIfSpecificallyPublished() throws Exception
+    {
+        publisher.publish(3);
+        publisher.publish(5);
+
+        assertThat(publisher.isAvailable(0), is(false));
+        assertThat(publisher.isAvailable(1), is(false));
+        assertThat(publisher.isAvailable(2), is(false));
+        assertThat(publisher.isAvailable(3), is(true));
+        assertThat(publisher.isAvailable(4), is(false));
+        assertThat(publisher.isAvailable(5), is(true));
+        assertThat(publisher.isAvailable(6), is(false));
+    }
+
+    @Test
+    public void shouldFindHighestPublishedSequenceAcrossWords() throws Exception
+    {
+        publisher.publish(0, 199);
+        publisher.publish(201, 300);
+
+        assertThat(publisher.getHighestPublishedSequence(0, 300), is(199L));
+        assertThat(publisher.getHighestPublishedSequence(0, 150), is(150L));
+        assertThat(publisher.getHighestPublishedSequence(201, 300), is(300L));
+        assertThat(publisher.getHighestPublishedSequence(200, 300), is(199L));
+
+        publisher.publish(200);
+
+        assertThat(publisher.getHighestPublishedSequence(0, 300), is(300L));
+    }
+
+    @Test
+    public void shouldFlipAvailabilityOnEachLap() throws Exception
+    {
+        publisher.publish(0, 1023);
+
+        assertThat(publisher.isAvailable(1023), is(true));
+        assertThat(publisher.isAvailable(1024), is(false));
+        assertThat(publisher.getHighestPublishedSequence(1024, 2047), is(1023L));
+
+        publisher.publish(1024, 1100);
+
+        assertThat(publisher.isAvailable(1100), is(true));
+        assertThat(publisher.isAvailable(1101), is(false));
+        assertThat(publisher.getHighestPublishedSequence(1024, 2047), is(1100L));
+    }
+
+    @Test
+    public void shouldPublishBatchSpanningTheEndOfTheBuffer() throws Exception
+    {
+        publisher.publish(0, 999);
+        publisher.publish(1000, 1050);
+
+        assertThat(publisher.getHighestPublishedSequence(990, 1060), is(1050L));
+    }
+
+    @Test
+    public void shouldTrackBuffersSmallerThanOneWord() throws Exception
+    {
+        final Sequencer small = new BitmapMultiProducerSequencer(8, new BlockingWaitStrategy());
+
+        small.publish(0, 7);
+        assertThat(small.getHighestPublishedSequence(0, 7), is(7L));
+        assertThat(small.isAvailable(8), is(false));
+
+        small.publish(8, 10);
+        assertThat(small.getHighestPublishedSequence(6, 12), is(10L));
+        assertThat(small.isAvailable(11), is(false));
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import org.junit.Test;
+
+import com.lmax.disruptor.support.LongEvent;
+
+public class ClaimTest
+{
+    private final RingBuffer<LongEvent> ringBuffer = RingBuffer.createSingleProducer(LongEvent.FACTORY, 16);
+
+    @Test
+    public void shouldPublishWhenClosed() throws Exception
+    {
+        try (Claim<LongEvent> claim = ringBuffer.claim())
+        {
+            claim.event().set(42L);
+            assertThat(claim.sequence(), is(0L));
+            assertThat(ringBuffer.isPublished(0L), is(false));
+        }
+
+        assertThat(ringBuffer.getCursor(), is(0L));
+        assertThat(ringBuffer.get(0L).get(), is(42L));
+    }
+
+    @Test
+    public void shouldPublishWhenExceptionIsThrown() throws Exception
+    {
+        try (Claim<LongEvent> claim = ringBuffer.claim(2))
+        {
+            claim.event(0).set(1L);
+            throw new IllegalStateException("Bang");
+        }
+        catch (IllegalStateException e)
+        {
+            // Expected
+        }
+
+        assertThat(ringBuffer.getCursor(), is(1L));
+        assertThat(ringBuffer.get(0L).get(), is(1L));
+    }
+
+    @Test
+    public void shouldIterateOverEventsOfBatch() throws Exception
+    {
+        ringBuffer.claim().close();
+
+        try (Claim<LongEvent> claim = ringBuffer.claim(4))
+        {
+            long value = 10L;
+            for (final LongEvent event : claim)
+            {
+                event.set(value++);
+            }
+            assertThat(claim.size(), is(4));
+            assertThat(claim.lastSequence(), is(4L));
+        }
+
+        assertThat(ringBuffer.getCursor(), is(4L));
+        for (long sequence = 1; sequence <= 4; sequence++)
+        {
+            assertThat(ringBuffer.get(sequence).get(), is(9L + sequence));
+        }
+    }
+
+    @Test
+    public void shouldReuseClaimOfThread() throws Exception
+    {
+        final Claim<LongEvent> first = ringBuffer.claim();
+        first.close();
+        first.close();
+        final Claim<LongEvent> second = ringBuffer.claim();
+        second.close();
+
+        assertThat(second, is(sameInstance(first)));
+        assertThat(ringBuffer.getCursor(), is(1L));
+    }
+
+    @Test
+    public void shouldRejectClaimWhileThreadHasOpenClaim() throws Exception
+    {
+        try (Claim<LongEvent> claim = ringBuffer.claim())
+        {
+            try
+            {
+                ringBuffer.claim();
+                fail("Should have thrown");
+            }
+            catch (IllegalStateException e)
+            {
+                // Expected
+            }
+            claim.event().set(1L);
+        }
+
+        assertThat(ringBuffer.getCursor(), is(0L));
+    }
+
+    @Test
+    public void shouldNotAllocateWhenClaiming() throws Exception
+    {
+        final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean))
+        {
+            return;
+        }
+        final com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) bean;
+        final long threadId = Thread.currentThread().getId();
+
+        claimAndPublish(10000);
+        threadMXBean.getThreadAllocatedBytes(threadId);
+        final long before = threadMXBean.getThreadAllocatedBytes(threadId);
+        claimAndPublish(100000);
+        final long allocated = threadMXBean.getThreadAllocatedBytes(threadId) - before;
+
+        assertThat("bytes per claim, " + allocated + " in total", allocated / 100000L, is(0L));
+    }
+
+    private void claimAndPublish(final int iterations)
+    {
+        for (int i = 0; i < iterations; i++)
+        {
+            try (Claim<LongEvent> claim = ringBuffer.claim())
+            {
+                claim.event().set(i);
+            }
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.lmax.disruptor.ColumnarRingBuffer.DoubleColumn;
+import com.lmax.disruptor.ColumnarRingBuffer.IntColumn;
+import com.lmax.disruptor.ColumnarRingBuffer.LongColumn;
+import com.lmax.disruptor.ColumnarRingBuffer.Row;
+import com.lmax.disruptor.dsl.Disruptor;
+import com.lmax.disruptor.dsl.ProducerType;
+import com.lmax.disruptor.util.DaemonThreadFactory;
+
+public class ColumnarRingBufferTest
+{
+    private final ExecutorService executor = Executors.newCachedThreadPool(DaemonThreadFactory.INSTANCE);
+    private final ColumnarRingBuffer ringBuffer = ColumnarRingBuffer.create(
+        ProducerType.SINGLE, 16,
+        new ColumnarRingBuffer.Schema().addLong("price").addLong("quantity").addInt("side").addDouble("rate"),
+        new BlockingWaitStrategy());
+    private final LongColumn price = ringBuffer.getLongColumn("price");
+    private final LongColumn quantity = ringBuffer.getLongColumn("quantity");
+    private final IntColumn side = ringBuffer.getIntColumn("side");
+    private final DoubleColumn rate = ringBuffer.getDoubleColumn("rate");
+
+    @After
+    public void tearDown()
+    {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldHoldEachFieldInItsOwnColumn() throws Exception
+    {
+        final long sequence = ringBuffer.next();
+        final Row row = ringBuffer.get(sequence);
+        row.set(price, 100L);
+        row.set(quantity, 3L);
+        row.set(side, 1);
+        row.set(rate, 0.5D);
+        ringBuffer.publish(sequence);
+
+        assertThat(price.get(sequence), is(100L));
+        assertThat(quantity.get(sequence), is(3L));
+        assertThat(side.get(sequence), is(1));
+        assertThat(rate.get(sequence), is(0.5D));
+        assertThat(ringBuffer.get(sequence).get(price), is(100L));
+        assertThat(price.get(sequence + 16), is(100L));
+        assertThat(price.getName(), is("price"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectColumnOfWrongType() throws Exception
+    {
+        ringBuffer.getIntColumn("price");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectDuplicateField() throws Exception
+    {
+        new ColumnarRingBuffer.Schema().addLong("price").addDouble("price");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldSetUpDisruptorAroundRingBuffer() throws Exception
+    {
+        final CountDownLatch latch = new CountDownLatch(40);
+        final long[] exposure = new long[1];
+        final Disruptor<Row> disruptor = new Disruptor<Row>(ringBuffer, executor);
+        disruptor.handleEventsWith(new EventHandler<Row>()
+        {
+            @Override
+            public void onEvent(final Row row, final long sequence, final boolean endOfBatch) throws Exception
+            {
+                exposure[0] += price.get(sequence) * quantity.get(sequence);
+                latch.countDown();
+            }
+        });
+        disruptor.startEventRing();
+
+        for (long i = 0; i < 40; i++)
+        {
+            ringBuffer.publishEvent(new EventTranslatorOneArg<Row, Long>()
+            {
+                @Override
+                public void translateTo(final Row row, final long sequence, final Long value)
+                {
+                    row.set(price, value);
+                    row.set(quantity, 2L);
+                }
+            }, i);
+        }
+
+        assertThat(latch.await(5, TimeUnit.SECONDS), is(true));
+        disruptor.shutdown();
+        assertThat(exposure[0], is(39L * 40L));
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.lmax.disruptor.dsl.Disruptor;
+import com.lmax.disruptor.support.LongEvent;
+import com.lmax.disruptor.util.DaemonThreadFactory;
+
+public class CooperativeSchedulerTest
+{
+    private final CooperativeScheduler scheduler = new CooperativeScheduler(DaemonThreadFactory.INSTANCE, 2);
+
+    @After
+    public void tearDown()
+    {
+        scheduler.shutdown();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldRunMoreProcessorsThanThreads() throws Exception
+    {
+        final Disruptor<LongEvent> disruptor = new Disruptor<LongEvent>(LongEvent.FACTORY, 64, scheduler);
+        final RingBuffer<LongEvent> ringBuffer = disruptor.getRingBuffer();
+
+        final int processorCount = 20;
+        final int eventCount = 500;
+        final CountingHandler[] handlers = new CountingHandler[processorCount];
+        final PollingEventProcessor<?>[] processors = new PollingEventProcessor<?>[processorCount];
+        for (int i = 0; i < processorCount; i++)
+        {
+            handlers[i] = new CountingHandler(eventCount);
+            processors[i] = new PollingEventProcessor<LongEvent>(ringBuffer, handlers[i]);
+        }
+        disruptor.handleEventsWith(processors);
+
+        final CountingHandler dedicated = new CountingHandler(eventCount);
+        disruptor.handleEventsWith(dedicated);
+        disruptor.start();
+
+        for (int i = 0; i < eventCount; i++)
+        {
+            ringBuffer.publish(ringBuffer.next());
+        }
+
+        for (CountingHandler handler : handlers)
+        {
+            assertTrue(handler.latch.await(5, TimeUnit.SECONDS));
+        }
+        assertTrue(dedicated.latch.await(5, TimeUnit.SECONDS));
+        assertThat(scheduler.getProcessorCount(), is(processorCount));
+
+        disruptor.shutdown();
+    }
+
+    @Test
+    public void shouldRemoveHaltedProcessorAndNotifyShutdown() throws Exception
+    {
+        final RingBuffer<LongEvent> ringBuffer = RingBuffer.createMultiProducer(LongEvent.FACTORY, 16);
+        final LifecycleHandler handler = new LifecycleHandler();
+        final PollingEventProcessor<LongEvent> processor = new PollingEventProcessor<LongEvent>(ringBuffer, handler);
+        ringBuffer.addGatingSequences(processor.getSequence());
+
+        scheduler.execute(processor);
+        assertTrue(handler.started.await(5, TimeUnit.SECONDS));
+        assertThat(scheduler.getProcessorCount(), is(1));
+
+        processor.halt();
+        assertTrue(handler.shutdown.await(5, TimeUnit.SECONDS));
+        assertThat(scheduler.getProcessorCount(), is(0));
+    }
+
+    @Test
+    public void shouldSkipEventWhoseHandlerThrowsAndLimitBatches() throws Exception
+    {
+        final RingBuffer<LongEvent> ringBuffer = RingBuffer.createMultiProducer(LongEvent.FACTORY, 16);
+        final StringBuilder log = new StringBuilder();
+        final PollingEventProcessor<LongEvent> processor = new PollingEventProcessor<LongEvent>(ringBuffer, new EventHandler<LongEvent>()
+        {
+            @Override
+            public void onEvent(final LongEvent event, final long sequence, final boolean endOfBatch) throws Exception
+            {
+                if (sequence == 1)
+                {
+                    throw new IllegalStateException();
+                }
+                log.append(sequence).append(endOfBatch ? "| " : " ");
+            }
+        });
+        processor.setExceptionHandler(new IgnoreExceptionHandler());
+        processor.setMaxBatchSize(2);
+        ringBuffer.addGatingSequences(processor.getSequence());
+
+        for (int i = 0; i < 5; i++)
+        {
+            ringBuffer.publish(ringBuffer.next());
+        }
+
+        while (processor.poll() == EventPoller.PollState.PROCESSING)
+        {
+            // drain
+        }
+
+        assertThat(log.toString(), is("0 2 3| 4| "));
+        assertThat(processor.getSequence().get(), is(4L));
+    }
+
+    private static final class CountingHandler implements EventHandler<LongEvent>
+    {
+        private final CountDownLatch latch;
+
+        CountingHandler(final int eventCount)
+        {
+            latch = new CountDownLatch(eventCount);
+        }
+
+        @Override
+        public void onEvent(final LongEvent event, final long sequence, final boolean endOfBatch) throws Exception
+        {
+            latch.countDown();
+        }
+    }
+
+    private static final class LifecycleHandler implements EventHandler<LongEvent>, LifecycleAware
+    {
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch shutdown = new CountDownLatch(1);
+
+        @Override
+        public void onEvent(final LongEvent event, final long sequence, final boolean endOfBatch) throws Exception
+        {
+        }
+
+        @Override
+        public void onStart()
+        {
+            started.countDown();
+        }
+
+        @Override
+        public void onShutdown()
+        {
+            shutdown.countDown();
+        }
+    }
+}
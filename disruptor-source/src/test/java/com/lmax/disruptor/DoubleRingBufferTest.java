@@ -0,0 +1,39 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Test;
+
+public class DoubleRingBufferTest
+{
+    @Test
+    public void shouldPutAndGetValues() throws Exception
+    {
+        final DoubleRingBuffer ringBuffer = DoubleRingBuffer.createMultiProducer(4, new BlockingWaitStrategy());
+
+        ringBuffer.put(1.5D);
+        ringBuffer.put(new double[] {2.5D, 3.5D}, 0, 2);
+
+        assertThat(ringBuffer.getCursor(), is(2L));
+        assertThat(ringBuffer.getValue(0), is(1.5D));
+        assertThat(ringBuffer.get(1).get(), is(2.5D));
+        assertThat(ringBuffer.get(2).getSequence(), is(2L));
+        assertThat(ringBuffer.getValue(2), is(3.5D));
+    }
+}
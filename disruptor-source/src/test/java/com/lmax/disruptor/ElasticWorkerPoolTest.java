@@ -0,0 +1,232 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+import com.lmax.disruptor.util.DaemonThreadFactory;
+
+public class ElasticWorkerPoolTest
+{
+    private final Executor executor = Executors.newCachedThreadPool(DaemonThreadFactory.INSTANCE);
+    private final RingBuffer<AtomicLong> ringBuffer = RingBuffer.createMultiProducer(new AtomicLongEventFactory(), 64);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRequireAtLeastOneWorker() throws Exception
+    {
+        new ElasticWorkerPool<AtomicLong>(ringBuffer, new BlockingHandlerFactory(), new FatalExceptionHandler(), 0, 2);
+    }
+
+    @Test
+    public void shouldAddWorkersWhileLaggingUpToMaximum() throws Exception
+    {
+        ElasticWorkerPool<AtomicLong> pool = newPool(1, 3);
+        pool.start(executor);
+
+        publish(10);
+
+        assertThat(pool.adjust(), is(1));
+        assertThat(pool.adjust(), is(1));
+        assertThat(pool.adjust(), is(0));
+        assertThat(pool.getWorkerCount(), is(3));
+
+        release.countDown();
+        pool.drainAndHalt();
+    }
+
+    @Test
+    public void shouldRetireWorkersOnlyAfterConsecutiveIdleChecks() throws Exception
+    {
+        ElasticWorkerPool<AtomicLong> pool = newPool(1, 2);
+        pool.start(executor);
+
+        publish(10);
+        assertThat(pool.adjust(), is(1));
+
+        release.countDown();
+        waitForDrain(pool);
+
+        assertThat(pool.adjust(), is(0));
+        assertThat(pool.adjust(), is(0));
+        assertThat(pool.adjust(), is(-1));
+        assertThat(pool.getWorkerCount(), is(2));
+
+        // the retiring worker stops once the event it has claimed is published and handled
+        publish(2);
+        waitForWorkerCount(pool, 1);
+
+        for (int i = 0; i < 5; i++)
+        {
+            assertThat(pool.adjust(), is(0));
+        }
+        assertThat(pool.getWorkerCount(), is(1));
+
+        pool.drainAndHalt();
+    }
+
+    @Test
+    public void shouldHandleEachEventOnceWhileWorkersAreAddedAndRetired() throws Exception
+    {
+        ElasticWorkerPool<AtomicLong> pool = newPool(1, 4);
+        release.countDown();
+        pool.start(executor);
+
+        final int events = 10000;
+        for (int i = 0; i < events; i++)
+        {
+            publish(1);
+            if (i % 100 == 0)
+            {
+                pool.adjust();
+            }
+        }
+        waitForDrain(pool);
+
+        for (int i = 0; i < 6; i++)
+        {
+            pool.adjust();
+        }
+        publish(64);
+        pool.drainAndHalt();
+
+        long handled = 0;
+        for (int i = 0; i < ringBuffer.getBufferSize(); i++)
+        {
+            handled += ringBuffer.get(i).get();
+        }
+        assertThat(handled, is((long) events + 64));
+    }
+
+    @Test
+    public void shouldCountRetiringWorkersTowardsMaximum() throws Exception
+    {
+        ElasticWorkerPool<AtomicLong> pool = newPool(1, 2);
+        pool.start(executor);
+
+        publish(10);
+        assertThat(pool.adjust(), is(1));
+        release.countDown();
+        waitForDrain(pool);
+
+        for (int i = 0; i < 3; i++)
+        {
+            pool.adjust();
+        }
+        assertThat(pool.getWorkerCount(), is(2));
+
+        // any lag is now above the scale up lag, but the retiring worker has not stopped
+        pool.setScaleUpLag(-1);
+        assertThat(pool.adjust(), is(0));
+
+        pool.drainAndHalt();
+    }
+
+    @Test
+    public void shouldHaltRetiringWorkers() throws Exception
+    {
+        final ExecutorService executorService = Executors.newCachedThreadPool(DaemonThreadFactory.INSTANCE);
+        ElasticWorkerPool<AtomicLong> pool = newPool(1, 2);
+        pool.start(executorService);
+
+        publish(10);
+        assertThat(pool.adjust(), is(1));
+        release.countDown();
+        waitForDrain(pool);
+
+        for (int i = 0; i < 3; i++)
+        {
+            pool.adjust();
+        }
+        assertThat(pool.getWorkerCount(), is(2));
+
+        pool.halt();
+        executorService.shutdown();
+
+        assertThat(executorService.awaitTermination(5, TimeUnit.SECONDS), is(true));
+    }
+
+    private ElasticWorkerPool<AtomicLong> newPool(final int minWorkers, final int maxWorkers)
+    {
+        ElasticWorkerPool<AtomicLong> pool = new ElasticWorkerPool<AtomicLong>(
+            ringBuffer, new BlockingHandlerFactory(), new FatalExceptionHandler(), minWorkers, maxWorkers);
+        pool.setScaleUpLag(4);
+        pool.setScaleDownLag(0, 3);
+        // checks are made by the tests
+        pool.setCheckInterval(1, TimeUnit.HOURS);
+        return pool;
+    }
+
+    private void publish(final int count)
+    {
+        for (int i = 0; i < count; i++)
+        {
+            ringBuffer.publish(ringBuffer.next());
+        }
+    }
+
+    private void waitForDrain(final ElasticWorkerPool<AtomicLong> pool)
+    {
+        while (pool.getWorkerSequence().get() < ringBuffer.getCursor())
+        {
+            Thread.yield();
+        }
+    }
+
+    private void waitForWorkerCount(final ElasticWorkerPool<AtomicLong> pool, final int workerCount)
+    {
+        while (pool.getWorkerCount() != workerCount)
+        {
+            Thread.yield();
+        }
+    }
+
+    private class BlockingHandlerFactory implements ElasticWorkerPool.WorkHandlerFactory<AtomicLong>
+    {
+        @Override
+        public WorkHandler<AtomicLong> newWorkHandler()
+        {
+            return new WorkHandler<AtomicLong>()
+            {
+                @Override
+                public void onEvent(final AtomicLong event) throws Exception
+                {
+                    release.await();
+                    event.incrementAndGet();
+                }
+            };
+        }
+    }
+
+    private static class AtomicLongEventFactory implements EventFactory<AtomicLong>
+    {
+        @Override
+        public AtomicLong newInstance()
+        {
+            return new AtomicLong(0);
+        }
+    }
+}
@@ -3,6 +3,10 @@ package com.lmax.disruptor;
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertThat;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 import org.jmock.Expectations;
 import org.jmock.Mockery;
 import org.jmock.States;
@@ -117,4 +121,48 @@ public class EventPollerTest
         // think of another thread
         poller.poll(handler);
     }
+
+    @Test
+    public void shouldNotifyBatchStartAwareHandler() throws Exception
+    {
+        final RingBuffer<Object[]> ringBuffer = RingBuffer.createMultiProducer(new EventFactory<Object[]>()
+        {
+            @Override
+            public Object[] newInstance()
+            {
+                return new Object[1];
+            }
+        }, 0x8, new SleepingWaitStrategy());
+
+        final EventPoller<Object[]> poller = ringBuffer.newPoller();
+        ringBuffer.addGatingSequences(poller.getSequence());
+
+        final long hi = ringBuffer.next(3);
+        ringBuffer.publish(hi - 2, hi);
+
+        final List<Long> batchSizes = new ArrayList<Long>();
+        final List<Long> sequences = new ArrayList<Long>();
+        class BatchStartAwareHandler implements EventPoller.Handler<Object[]>, BatchStartAware
+        {
+            @Override
+            public void onBatchStart(final long batchSize, final long queueDepth)
+            {
+                batchSizes.add(batchSize);
+            }
+
+            @Override
+            public boolean onEvent(final Object[] event, final long sequence, final boolean endOfBatch)
+            {
+                sequences.add(sequence);
+                return sequence < 1;
+            }
+        }
+
+        final BatchStartAwareHandler handler = new BatchStartAwareHandler();
+        poller.poll(handler);
+        poller.poll(handler);
+
+        assertThat(batchSizes, is(Arrays.asList(3L, 1L)));
+        assertThat(sequences, is(Arrays.asList(0L, 1L, 2L)));
+    }
 }
@@ -0,0 +1,114 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.lmax.disruptor.util.Util;
+
+public class GatingSequenceTreeTest
+{
+    @Test
+    public void shouldTrackMinimumAsSequencesAdvance() throws Exception
+    {
+        final Sequence[] sequences = newSequences(64);
+        final GatingSequenceTree tree = new GatingSequenceTree(sequences);
+        final Random random = new Random(7);
+
+        for (int i = 0; i < 10000; i++)
+        {
+            final Sequence sequence = sequences[random.nextInt(sequences.length)];
+            sequence.addAndGet(random.nextInt(4));
+
+            assertThat(tree.getMinimum(Long.MAX_VALUE), is(Util.getMinimumSequence(sequences)));
+        }
+    }
+
+    @Test
+    public void shouldTrackSizesThatDoNotFillTheTree() throws Exception
+    {
+        for (final int size : new int[] { 1, 7, 9, 63, 65, 513 })
+        {
+            final Sequence[] sequences = newSequences(size);
+            final GatingSequenceTree tree = new GatingSequenceTree(sequences);
+
+            for (int i = 0; i < size; i++)
+            {
+                sequences[i].set(size - i);
+            }
+            assertThat(tree.getMinimum(Long.MAX_VALUE), is(1L));
+
+            sequences[size - 1].set(size + 1);
+            assertThat(tree.getMinimum(Long.MAX_VALUE), is(Util.getMinimumSequence(sequences)));
+        }
+    }
+
+    @Test
+    public void shouldReturnSuppliedMinimumIfLower() throws Exception
+    {
+        final Sequence[] sequences = newSequences(16);
+        for (Sequence sequence : sequences)
+        {
+            sequence.set(10L);
+        }
+
+        assertThat(new GatingSequenceTree(sequences).getMinimum(5L), is(5L));
+    }
+
+    @Test
+    public void shouldGatePublisherOnSlowestOfManyConsumers() throws Exception
+    {
+        final Sequencer sequencer = new MultiProducerSequencer(16, new BlockingWaitStrategy());
+        final Sequence[] sequences = newSequences(40);
+        sequencer.addGatingSequences(sequences);
+
+        sequencer.publish(sequencer.next(16));
+        assertFalse(sequencer.hasAvailableCapacity(1));
+
+        for (int i = 1; i < sequences.length; i++)
+        {
+            sequences[i].set(15L);
+        }
+        assertFalse(sequencer.hasAvailableCapacity(1));
+        assertThat(sequencer.getMinimumSequence(), is(Sequencer.INITIAL_CURSOR_VALUE));
+
+        sequences[0].set(3L);
+        assertTrue(sequencer.hasAvailableCapacity(4));
+        assertFalse(sequencer.hasAvailableCapacity(5));
+
+        sequencer.removeGatingSequence(sequences[0]);
+        assertTrue(sequencer.hasAvailableCapacity(16));
+        assertThat(sequencer.getMinimumSequence(), is(15L));
+    }
+
+    private static Sequence[] newSequences(final int size)
+    {
+        final Sequence[] sequences = new Sequence[size];
+        for (int i = 0; i < size; i++)
+        {
+            sequences[i] = new Sequence(0L);
+        }
+
+        return sequences;
+    }
+}
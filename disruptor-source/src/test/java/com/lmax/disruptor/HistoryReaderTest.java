@@ -0,0 +1,109 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.lmax.disruptor.support.LongEvent;
+
+public class HistoryReaderTest
+{
+    private final RingBuffer<LongEvent> ringBuffer = RingBuffer.createSingleProducer(LongEvent.FACTORY, 8);
+    private final Sequence consumer = new Sequence();
+    {
+        ringBuffer.addGatingSequences(consumer);
+    }
+
+    @Test
+    public void shouldRetainHandledEvents() throws Exception
+    {
+        final HistoryReader<LongEvent> history = new HistoryReader<LongEvent>(ringBuffer, 4, consumer);
+
+        publishAndConsume(8);
+
+        assertThat(history.getRetainedSequence(), is(3L));
+        assertThat(ringBuffer.remainingCapacity(), is(4L));
+        assertThat(replay(history, 6), is(Arrays.asList(4L, 5L, 6L, 7L)));
+
+        history.close();
+        assertThat(ringBuffer.remainingCapacity(), is(8L));
+    }
+
+    @Test
+    public void shouldOnlyReplayEventsHandledAfterCreation() throws Exception
+    {
+        publishAndConsume(8);
+        final HistoryReader<LongEvent> history = new HistoryReader<LongEvent>(ringBuffer, 4, consumer);
+
+        assertThat(replay(history, 4), is(Arrays.<Long>asList()));
+
+        publishAndConsume(2);
+
+        assertThat(replay(history, 4), is(Arrays.asList(8L, 9L)));
+    }
+
+    @Test
+    public void shouldJoinBehindCursor() throws Exception
+    {
+        final HistoryReader<LongEvent> history = new HistoryReader<LongEvent>(ringBuffer, 4, consumer);
+        publishAndConsume(8);
+
+        final Sequence joined = new Sequence();
+        assertThat(history.join(joined, 2), is(5L));
+        assertThat(joined.get(), is(5L));
+        assertThat(ringBuffer.getMinimumGatingSequence(), is(3L));
+
+        assertThat(history.join(new Sequence(), 6), is(3L));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectHistoryOfWholeBuffer() throws Exception
+    {
+        new HistoryReader<LongEvent>(ringBuffer, 8, consumer);
+    }
+
+    private void publishAndConsume(final int count)
+    {
+        for (int i = 0; i < count; i++)
+        {
+            final long sequence = ringBuffer.next();
+            ringBuffer.get(sequence).set(sequence);
+            ringBuffer.publish(sequence);
+            consumer.set(sequence);
+        }
+    }
+
+    private static List<Long> replay(final HistoryReader<LongEvent> history, final int count) throws Exception
+    {
+        final List<Long> values = new ArrayList<Long>();
+        history.replay(count, new EventHandler<LongEvent>()
+        {
+            @Override
+            public void onEvent(final LongEvent event, final long sequence, final boolean endOfBatch)
+            {
+                values.add(event.get());
+            }
+        });
+        return values;
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class IntRingBufferTest
+{
+    @Test
+    public void shouldPutBatchAndProcessValues() throws Exception
+    {
+        final IntRingBuffer ringBuffer = IntRingBuffer.createSingleProducer(4, new BlockingWaitStrategy());
+        final CountDownLatch latch = new CountDownLatch(10);
+        final int[] total = new int[1];
+        final BatchEventProcessor<IntRingBuffer.IntEvent> processor = ringBuffer.createProcessor(new IntRingBuffer.IntHandler()
+        {
+            @Override
+            public void onEvent(final int value, final long sequence, final boolean endOfBatch) throws Exception
+            {
+                total[0] += value;
+                latch.countDown();
+            }
+        });
+        ringBuffer.addGatingSequences(processor.getSequence());
+        final Thread thread = new Thread(processor);
+        thread.start();
+
+        ringBuffer.put(new int[] {1, 2, 3, 4, 5, 6, 7, 8, 9}, 0, 9);
+        ringBuffer.put(10);
+
+        assertThat(latch.await(5, TimeUnit.SECONDS), is(true));
+        processor.halt();
+        thread.join();
+        assertThat(total[0], is(55));
+        assertThat(ringBuffer.getValue(9), is(10));
+    }
+}
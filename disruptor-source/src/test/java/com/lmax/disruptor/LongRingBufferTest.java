@@ -0,0 +1,142 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.lmax.disruptor.dsl.Disruptor;
+import com.lmax.disruptor.util.DaemonThreadFactory;
+
+public class LongRingBufferTest
+{
+    private final ExecutorService executor = Executors.newCachedThreadPool(DaemonThreadFactory.INSTANCE);
+
+    @After
+    public void tearDown()
+    {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldPutAndGetValues() throws Exception
+    {
+        final LongRingBuffer ringBuffer = LongRingBuffer.createSingleProducer(8, new BlockingWaitStrategy());
+
+        ringBuffer.put(3L);
+        assertThat(ringBuffer.tryPut(4L), is(true));
+        final long sequence = ringBuffer.next();
+        ringBuffer.get(sequence).set(5L);
+        ringBuffer.publish(sequence);
+
+        assertThat(ringBuffer.getCursor(), is(2L));
+        assertThat(ringBuffer.getValue(0), is(3L));
+        assertThat(ringBuffer.getValue(1), is(4L));
+        assertThat(ringBuffer.get(2).get(), is(5L));
+    }
+
+    @Test
+    public void shouldPutBatchWrappingAroundTheEndOfTheBuffer() throws Exception
+    {
+        final LongRingBuffer ringBuffer = LongRingBuffer.createMultiProducer(8, new BlockingWaitStrategy());
+        for (long i = 0; i < 6; i++)
+        {
+            ringBuffer.put(i);
+        }
+
+        ringBuffer.put(new long[] {-1L, 6L, 7L, 8L, 9L, 10L, -1L}, 1, 5);
+
+        assertThat(ringBuffer.getCursor(), is(10L));
+        for (long i = 6; i <= 10; i++)
+        {
+            assertThat(ringBuffer.getValue(i), is(i));
+            assertThat(ringBuffer.isPublished(i), is(true));
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void shouldRejectBatchOutsideOfArray() throws Exception
+    {
+        LongRingBuffer.createSingleProducer(8, new BlockingWaitStrategy()).put(new long[4], 2, 3);
+    }
+
+    @Test
+    public void shouldProcessBatchLargerThanTheBuffer() throws Exception
+    {
+        final LongRingBuffer ringBuffer = LongRingBuffer.createSingleProducer(8, new BlockingWaitStrategy());
+        final SummingHandler handler = new SummingHandler(100);
+        final BatchEventProcessor<LongRingBuffer.LongEvent> processor = ringBuffer.createProcessor(handler);
+        ringBuffer.addGatingSequences(processor.getSequence());
+        executor.submit(processor);
+
+        final long[] values = new long[100];
+        for (int i = 0; i < values.length; i++)
+        {
+            values[i] = i;
+        }
+        ringBuffer.put(values, 0, values.length);
+
+        assertThat(handler.latch.await(5, TimeUnit.SECONDS), is(true));
+        processor.halt();
+        assertThat(handler.total, is(99L * 100L / 2L));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldSetUpDisruptorAroundRingBuffer() throws Exception
+    {
+        final LongRingBuffer ringBuffer = LongRingBuffer.createMultiProducer(16, new BlockingWaitStrategy());
+        final SummingHandler handler = new SummingHandler(32);
+        final Disruptor<LongRingBuffer.LongEvent> disruptor = new Disruptor<LongRingBuffer.LongEvent>(ringBuffer, executor);
+        disruptor.handleEventsWith(LongRingBuffer.asEventHandler(handler));
+        disruptor.startEventRing();
+
+        for (long i = 0; i < 32; i++)
+        {
+            ringBuffer.put(i);
+        }
+
+        assertThat(handler.latch.await(5, TimeUnit.SECONDS), is(true));
+        disruptor.shutdown();
+        assertThat(handler.total, is(31L * 32L / 2L));
+    }
+
+    private static final class SummingHandler implements LongRingBuffer.LongHandler
+    {
+        private final CountDownLatch latch;
+        private long total;
+
+        SummingHandler(final int expected)
+        {
+            latch = new CountDownLatch(expected);
+        }
+
+        @Override
+        public void onEvent(final long value, final long sequence, final boolean endOfBatch) throws Exception
+        {
+            total += value;
+            latch.countDown();
+        }
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.lmax.disruptor.OffHeapRingBuffer.Slot;
+import com.lmax.disruptor.dsl.ProducerType;
+
+public class MappedRingBufferTest
+{
+    // offsets of the header fields written by MappedRingBuffer.create
+    private static final int BUFFER_SIZE_OFFSET = 8;
+    private static final int PRODUCER_TYPE_OFFSET = 20;
+
+    private File file;
+
+    @Before
+    public void setUp() throws Exception
+    {
+        file = File.createTempFile("ring", ".map");
+    }
+
+    @After
+    public void tearDown() throws Exception
+    {
+        file.delete();
+    }
+
+    @Test
+    public void shouldShareSlotsAndSequencesBetweenMappings() throws Exception
+    {
+        final MappedRingBuffer producer =
+            MappedRingBuffer.create(file, ProducerType.SINGLE, 4, 16, 1, new YieldingWaitStrategy());
+        final OffHeapRingBuffer ringBuffer = producer.getRingBuffer();
+        for (long i = 0; i < 4; i++)
+        {
+            final long sequence = ringBuffer.next();
+            ringBuffer.get(sequence).putLong(0, i * 10);
+            ringBuffer.publish(sequence);
+        }
+        assertThat(ringBuffer.hasAvailableCapacity(1), is(false));
+
+        final MappedRingBuffer consumer = MappedRingBuffer.open(file, new YieldingWaitStrategy());
+        final OffHeapRingBuffer consumerRingBuffer = consumer.getRingBuffer();
+
+        assertThat(consumerRingBuffer.getCursor(), is(3L));
+        assertThat(consumerRingBuffer.getBufferSize(), is(4));
+        assertThat(consumerRingBuffer.get(2).getLong(0), is(20L));
+
+        consumer.getConsumerSequence(0).set(1L);
+        assertThat(producer.getConsumerSequence(0).get(), is(1L));
+        assertThat(ringBuffer.hasAvailableCapacity(2), is(true));
+        assertThat(ringBuffer.hasAvailableCapacity(3), is(false));
+    }
+
+    @Test
+    public void shouldProcessEventsPublishedThroughAnotherMapping() throws Exception
+    {
+        final int eventCount = 1000;
+        final MappedRingBuffer producer =
+            MappedRingBuffer.create(file, ProducerType.MULTI, 64, 8, 1, new YieldingWaitStrategy());
+        final MappedRingBuffer consumer = MappedRingBuffer.open(file, new YieldingWaitStrategy());
+        final OffHeapRingBuffer consumerRingBuffer = consumer.getRingBuffer();
+
+        final CountDownLatch latch = new CountDownLatch(eventCount);
+        final long[] total = new long[1];
+        final BatchEventProcessor<Slot> processor = new BatchEventProcessor<Slot>(
+            consumerRingBuffer, consumerRingBuffer.newBarrier(), new EventHandler<Slot>()
+            {
+                @Override
+                public void onEvent(final Slot event, final long sequence, final boolean endOfBatch) throws Exception
+                {
+                    total[0] += event.getLong(0);
+                    latch.countDown();
+                }
+            }, consumer.getConsumerSequence(0));
+        final Thread thread = new Thread(processor);
+        thread.start();
+
+        final OffHeapRingBuffer ringBuffer = producer.getRingBuffer();
+        for (long i = 0; i < eventCount; i++)
+        {
+            final long sequence = ringBuffer.next();
+            ringBuffer.get(sequence).putLong(0, i);
+            ringBuffer.publish(sequence);
+        }
+
+        assertThat(latch.await(5, TimeUnit.SECONDS), is(true));
+        processor.halt();
+        thread.join();
+
+        assertThat(total[0], is((long) eventCount * (eventCount - 1) / 2));
+        assertThat(producer.getConsumerSequence(0).get(), is((long) eventCount - 1));
+    }
+
+    @Test
+    public void shouldRejectFileThatIsNotARingBuffer() throws Exception
+    {
+        final FileOutputStream out = new FileOutputStream(file);
+        try
+        {
+            out.write(new byte[4096]);
+        }
+        finally
+        {
+            out.close();
+        }
+
+        try
+        {
+            MappedRingBuffer.open(file, new YieldingWaitStrategy());
+            fail("Should have thrown");
+        }
+        catch (IOException e)
+        {
+            // Expected
+        }
+    }
+
+    @Test
+    public void shouldRejectUnknownProducerType() throws Exception
+    {
+        MappedRingBuffer.create(file, ProducerType.MULTI, 4, 16, 1, new YieldingWaitStrategy());
+        writeHeaderInt(PRODUCER_TYPE_OFFSET, 7);
+
+        assertNotOpened();
+    }
+
+    @Test
+    public void shouldRejectBufferSizeThatIsNotAPowerOf2() throws Exception
+    {
+        MappedRingBuffer.create(file, ProducerType.SINGLE, 4, 16, 1, new YieldingWaitStrategy());
+        writeHeaderInt(BUFFER_SIZE_OFFSET, 3);
+
+        assertNotOpened();
+    }
+
+    @Test
+    public void shouldRejectFileShorterThanItsSlots() throws Exception
+    {
+        MappedRingBuffer.create(file, ProducerType.SINGLE, 4, 16, 1, new YieldingWaitStrategy());
+        writeHeaderInt(BUFFER_SIZE_OFFSET, 1024);
+
+        assertNotOpened();
+    }
+
+    private void writeHeaderInt(final int offset, final int value) throws IOException
+    {
+        final RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+        try
+        {
+            randomAccessFile.seek(offset);
+            randomAccessFile.write(ByteBuffer.allocate(4).order(ByteOrder.nativeOrder()).putInt(value).array());
+        }
+        finally
+        {
+            randomAccessFile.close();
+        }
+    }
+
+    private void assertNotOpened()
+    {
+        try
+        {
+            MappedRingBuffer.open(file, new YieldingWaitStrategy());
+            fail("Should have thrown");
+        }
+        catch (IOException e)
+        {
+            // Expected
+        }
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.lang.reflect.Field;
+
+import org.junit.Test;
+
+/**
+ * Checks which {@link Sequence} the tests are running against.  The multi-release profile runs the Sequence tests
+ * a second time against the packaged jar with disruptor.multiRelease set, where the VarHandle based Sequence must
+ * have replaced the sun.misc.Unsafe based one.
+ */
+public class MultiReleaseSequenceTest
+{
+    @Test
+    public void shouldUseVarHandleSequenceOnlyFromMultiReleaseJar() throws Exception
+    {
+        assertThat(isVarHandleSequence(), is(Boolean.getBoolean("disruptor.multiRelease")));
+    }
+
+    private static boolean isVarHandleSequence()
+    {
+        for (Field field : Sequence.class.getDeclaredFields())
+        {
+            if ("java.lang.invoke.VarHandle".equals(field.getType().getName()))
+            {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
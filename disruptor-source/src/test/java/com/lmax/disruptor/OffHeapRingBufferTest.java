@@ -0,0 +1,212 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.lmax.disruptor.OffHeapRingBuffer.Slot;
+import com.lmax.disruptor.dsl.Disruptor;
+import com.lmax.disruptor.dsl.ProducerType;
+import com.lmax.disruptor.util.DaemonThreadFactory;
+
+public class OffHeapRingBufferTest
+{
+    private static final EventTranslatorOneArg<Slot, Long> LONG_TRANSLATOR = new EventTranslatorOneArg<Slot, Long>()
+    {
+        @Override
+        public void translateTo(final Slot slot, final long sequence, final Long value)
+        {
+            slot.putLong(0, value);
+        }
+    };
+
+    private final ExecutorService executor = Executors.newCachedThreadPool(DaemonThreadFactory.INSTANCE);
+    private final OffHeapRingBuffer ringBuffer =
+        OffHeapRingBuffer.create(ProducerType.SINGLE, 16, 20, new BlockingWaitStrategy());
+
+    @After
+    public void tearDown()
+    {
+        executor.shutdownNow();
+        ringBuffer.close();
+    }
+
+    @Test
+    public void shouldAlignSlotsToCacheLines() throws Exception
+    {
+        assertThat(ringBuffer.getSlotSize(), is(OffHeapRingBuffer.CACHE_LINE_SIZE));
+
+        final long first = ringBuffer.get(0).getAddress();
+        final long second = ringBuffer.get(1).getAddress();
+
+        assertThat(first % OffHeapRingBuffer.CACHE_LINE_SIZE, is(0L));
+        assertThat(second - first, is((long) OffHeapRingBuffer.CACHE_LINE_SIZE));
+        assertThat(ringBuffer.get(16).getAddress(), is(first));
+    }
+
+    @Test
+    public void shouldReadWhatWasWrittenToSlot() throws Exception
+    {
+        final byte[] bytes = {1, 2, 3, 4, 5};
+        final long sequence = ringBuffer.next();
+        final Slot slot = ringBuffer.get(sequence);
+        slot.putLong(0, 42L);
+        slot.putInt(8, 7);
+        slot.putDouble(16, 1.5D);
+        slot.putBytes(24, bytes, 0, bytes.length);
+        ringBuffer.publish(sequence);
+
+        final Slot read = ringBuffer.get(sequence);
+        final byte[] copy = new byte[bytes.length];
+        read.getBytes(24, copy, 0, copy.length);
+
+        assertThat(read.getLong(0), is(42L));
+        assertThat(read.getInt(8), is(7));
+        assertThat(read.getDouble(16), is(1.5D));
+        assertThat(copy, is(bytes));
+        assertThat(ringBuffer.isPublished(sequence), is(true));
+    }
+
+    @Test
+    public void shouldRejectAccessOutsideOfSlot() throws Exception
+    {
+        final Slot slot = ringBuffer.get(0);
+        slot.putLong(56, 1L);
+
+        try
+        {
+            slot.putLong(60, 1L);
+            fail("Should have thrown");
+        }
+        catch (IndexOutOfBoundsException e)
+        {
+            // Expected
+        }
+
+        try
+        {
+            slot.getBytes(0, new byte[8], 4, 8);
+            fail("Should have thrown");
+        }
+        catch (IndexOutOfBoundsException e)
+        {
+            // Expected
+        }
+    }
+
+    @Test
+    public void shouldPublishAndProcessEventsWithBatchEventProcessor() throws Exception
+    {
+        final CountDownLatch latch = new CountDownLatch(64);
+        final long[] total = new long[1];
+        final BatchEventProcessor<Slot> processor =
+            new BatchEventProcessor<Slot>(ringBuffer, ringBuffer.newBarrier(), new EventHandler<Slot>()
+            {
+                @Override
+                public void onEvent(final Slot event, final long sequence, final boolean endOfBatch) throws Exception
+                {
+                    total[0] += event.getLong(0);
+                    latch.countDown();
+                }
+            });
+        ringBuffer.addGatingSequences(processor.getSequence());
+        executor.submit(processor);
+
+        for (long i = 0; i < 64; i++)
+        {
+            ringBuffer.publishEvent(LONG_TRANSLATOR, i);
+        }
+
+        assertThat(latch.await(5, TimeUnit.SECONDS), is(true));
+        processor.halt();
+        assertThat(total[0], is(63L * 64L / 2L));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldSetUpDisruptorAroundOffHeapRingBuffer() throws Exception
+    {
+        final CountDownLatch latch = new CountDownLatch(32);
+        final Disruptor<Slot> disruptor = new Disruptor<Slot>(ringBuffer, executor);
+        final EventHandler<Slot> doubler = new EventHandler<Slot>()
+        {
+            @Override
+            public void onEvent(final Slot event, final long sequence, final boolean endOfBatch) throws Exception
+            {
+                event.putLong(8, event.getLong(0) * 2);
+            }
+        };
+        final long[] total = new long[1];
+        disruptor.handleEventsWith(doubler).then(new EventHandler<Slot>()
+        {
+            @Override
+            public void onEvent(final Slot event, final long sequence, final boolean endOfBatch) throws Exception
+            {
+                total[0] += event.getLong(8);
+                latch.countDown();
+            }
+        });
+
+        assertSame(ringBuffer, disruptor.startEventRing());
+
+        for (long i = 0; i < 32; i++)
+        {
+            disruptor.publishEvent(LONG_TRANSLATOR, i);
+        }
+
+        assertThat(latch.await(5, TimeUnit.SECONDS), is(true));
+        disruptor.shutdown();
+        assertThat(total[0], is(31L * 32L));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldOnlyReturnRingBufferFromDisruptorAroundRingBuffer() throws Exception
+    {
+        final Disruptor<Slot> disruptor = new Disruptor<Slot>(ringBuffer, executor);
+
+        assertSame(ringBuffer, disruptor.getEventRing());
+        disruptor.getRingBuffer();
+    }
+
+    @Test
+    public void shouldNotStartDisruptorAroundOffHeapRingBufferAsRingBuffer() throws Exception
+    {
+        final Disruptor<Slot> disruptor = new Disruptor<Slot>(ringBuffer, executor);
+
+        try
+        {
+            disruptor.start();
+            fail("Should have thrown");
+        }
+        catch (IllegalStateException e)
+        {
+            // expected
+        }
+
+        assertSame(ringBuffer, disruptor.startEventRing());
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import static com.lmax.disruptor.WaitStrategyTestUtil.assertWaitForWithDelayOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.lmax.disruptor.dsl.Disruptor;
+import com.lmax.disruptor.dsl.ProducerType;
+import com.lmax.disruptor.support.LongEvent;
+import com.lmax.disruptor.util.DaemonThreadFactory;
+import com.lmax.disruptor.util.VirtualThreads;
+
+public class ParkingWaitStrategyTest
+{
+    private final ExecutorService executor = Executors.newCachedThreadPool(DaemonThreadFactory.INSTANCE);
+
+    @Test
+    public void shouldWaitForValue() throws Exception
+    {
+        assertWaitForWithDelayOf(50, new ParkingWaitStrategy());
+    }
+
+    @Test
+    public void shouldParkUntilSignalled() throws Exception
+    {
+        final RingBuffer<LongEvent> ringBuffer =
+            RingBuffer.create(ProducerType.SINGLE, LongEvent.FACTORY, 16, new ParkingWaitStrategy());
+        final SequenceBarrier barrier = ringBuffer.newBarrier();
+
+        final Future<Long> waiter = executor.submit(new Callable<Long>()
+        {
+            @Override
+            public Long call() throws Exception
+            {
+                return barrier.waitFor(0);
+            }
+        });
+
+        Thread.sleep(50);
+        ringBuffer.publish(ringBuffer.next());
+
+        assertThat(waiter.get(5, TimeUnit.SECONDS), is(0L));
+    }
+
+    @Test
+    public void shouldUnparkEachWaiterOnceItsSequenceIsPublished() throws Exception
+    {
+        final int waiterCount = 20;
+        final RingBuffer<LongEvent> ringBuffer =
+            RingBuffer.create(ProducerType.SINGLE, LongEvent.FACTORY, 32, new ParkingWaitStrategy(0));
+        final SequenceBarrier barrier = ringBuffer.newBarrier();
+
+        @SuppressWarnings("unchecked")
+        final Future<Long>[] waiters = new Future[waiterCount];
+        for (int i = 0; i < waiterCount; i++)
+        {
+            final long sequence = i;
+            waiters[i] = executor.submit(new Callable<Long>()
+            {
+                @Override
+                public Long call() throws Exception
+                {
+                    return barrier.waitFor(sequence);
+                }
+            });
+        }
+        Thread.sleep(50);
+
+        for (int i = 0; i < waiterCount; i++)
+        {
+            ringBuffer.publish(ringBuffer.next());
+
+            assertThat(waiters[i].get(5, TimeUnit.SECONDS) >= i, is(true));
+            if (i + 1 < waiterCount)
+            {
+                assertThat(waiters[i + 1].isDone(), is(false));
+            }
+        }
+    }
+
+    @Test
+    public void shouldUnparkOnAlert() throws Exception
+    {
+        final RingBuffer<LongEvent> ringBuffer =
+            RingBuffer.create(ProducerType.SINGLE, LongEvent.FACTORY, 16, new ParkingWaitStrategy());
+        final SequenceBarrier barrier = ringBuffer.newBarrier();
+
+        final Future<Long> waiter = executor.submit(new Callable<Long>()
+        {
+            @Override
+            public Long call() throws Exception
+            {
+                return barrier.waitFor(0);
+            }
+        });
+
+        Thread.sleep(50);
+        barrier.alert();
+
+        try
+        {
+            waiter.get(5, TimeUnit.SECONDS);
+        }
+        catch (final ExecutionException e)
+        {
+            assertTrue(e.getCause() instanceof AlertException);
+            return;
+        }
+        throw new AssertionError("Expected the waiter to be alerted");
+    }
+
+    @Test
+    public void shouldRunAProcessorPerThreadFromThreadFactory() throws Exception
+    {
+        assertAllConsumersHandleEvents(DaemonThreadFactory.INSTANCE);
+    }
+
+    @Test
+    public void shouldRunProcessorsOnVirtualThreadsWhenSupported() throws Exception
+    {
+        if (VirtualThreads.isSupported())
+        {
+            assertAllConsumersHandleEvents(VirtualThreads.threadFactory());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void assertAllConsumersHandleEvents(final ThreadFactory threadFactory) throws Exception
+    {
+        final int consumers = 50;
+        final int events = 200;
+        final Disruptor<LongEvent> disruptor = new Disruptor<LongEvent>(
+            LongEvent.FACTORY, 64, threadFactory, ProducerType.SINGLE, new ParkingWaitStrategy());
+
+        final CountDownLatch latch = new CountDownLatch(consumers * events);
+        for (int i = 0; i < consumers; i++)
+        {
+            disruptor.handleEventsWith(new EventHandler<LongEvent>()
+            {
+                @Override
+                public void onEvent(final LongEvent event, final long sequence, final boolean endOfBatch)
+                {
+                    latch.countDown();
+                }
+            });
+        }
+
+        final RingBuffer<LongEvent> ringBuffer = disruptor.start();
+        for (int i = 0; i < events; i++)
+        {
+            ringBuffer.publish(ringBuffer.next());
+        }
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        disruptor.shutdown();
+    }
+}
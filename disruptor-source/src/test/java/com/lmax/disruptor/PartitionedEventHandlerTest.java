@@ -0,0 +1,301 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.lmax.disruptor.dsl.Disruptor;
+import com.lmax.disruptor.dsl.ProducerType;
+import com.lmax.disruptor.support.LongEvent;
+import com.lmax.disruptor.util.DaemonThreadFactory;
+
+public class PartitionedEventHandlerTest
+{
+    private static final LongPartitionKeyExtractor<LongEvent> KEY = new LongPartitionKeyExtractor<LongEvent>()
+    {
+        @Override
+        public long extractKey(final LongEvent event)
+        {
+            return event.get();
+        }
+    };
+
+    @Test
+    public void shouldOnlyPassOnEventsOfPartitionMarkingTheLastOfTheBatch() throws Exception
+    {
+        final RecordingHandler delegate = new RecordingHandler(null);
+        final int partition = PartitionedEventHandler.partitionOf(1L, 2);
+        final long otherKey = PartitionedEventHandler.partitionOf(2L, 2) != partition ? 2L : 3L;
+        final LongEvent[] events = events(1L, otherKey, 1L, otherKey, 1L);
+        final PartitionedEventHandler<LongEvent> handler =
+            new PartitionedEventHandler<LongEvent>(dataProvider(events), KEY, partition, 2, delegate);
+
+        handler.onEvent(events[0], 0, false);
+        handler.onEvent(events[1], 1, false);
+        handler.onEvent(events[2], 2, false);
+        handler.onEvent(events[3], 3, true);
+        handler.onEvent(events[4], 4, true);
+
+        assertThat(delegate.calls.toString(), is("[0, 2 end, 4 end]"));
+    }
+
+    @Test
+    public void shouldForwardBatchStartTimeoutAndSequenceCallbackToDelegate() throws Exception
+    {
+        final List<String> calls = new ArrayList<String>();
+        final Sequence sequenceCallback = new Sequence();
+        final PartitionedEventHandler<LongEvent> handler = new PartitionedEventHandler<LongEvent>(
+            dataProvider(events(1L)), KEY, 0, 1, new AwareHandler(calls));
+
+        handler.setSequenceCallback(sequenceCallback);
+        handler.onBatchStart(3, 5);
+        handler.onTimeout(7);
+
+        assertThat(calls.toString(), is("[callback, batch 3 5, timeout 7]"));
+    }
+
+    @Test
+    public void shouldSpreadConsecutiveKeysEvenlyBetweenPartitions() throws Exception
+    {
+        final int[] counts = new int[4];
+        for (long key = 0; key < 1024; key++)
+        {
+            counts[PartitionedEventHandler.partitionOf(key, counts.length)]++;
+        }
+
+        for (final int count : counts)
+        {
+            assertThat(count > 200 && count < 312, is(true));
+        }
+    }
+
+    @Test
+    public void shouldPartitionObjectKeysByTheirHashCode() throws Exception
+    {
+        final String[] keys = {"EUR", "GBP", "USD", "JPY", "CHF"};
+        final LongPartitionKeyExtractor<String> byHashCode =
+            PartitionedEventHandler.byHashCode(new PartitionKeyExtractor<String>()
+            {
+                @Override
+                public Object extractKey(final String event)
+                {
+                    return event;
+                }
+            });
+
+        for (final String key : keys)
+        {
+            assertThat(PartitionedEventHandler.partitionOf(byHashCode.extractKey(key), 3),
+                       is(PartitionedEventHandler.partitionOf(key, 3)));
+            assertThat(PartitionedEventHandler.partitionOf(key, 3),
+                       is(PartitionedEventHandler.partitionOf(key.hashCode(), 3)));
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldRejectProgressInterval() throws Exception
+    {
+        final RingBuffer<LongEvent> ringBuffer = RingBuffer.createSingleProducer(LongEvent.FACTORY, 8);
+        final BatchEventProcessor<LongEvent> processor = new BatchEventProcessor<LongEvent>(
+            ringBuffer, ringBuffer.newBarrier(),
+            new PartitionedEventHandler<LongEvent>(ringBuffer, KEY, 0, 1, new RecordingHandler(null)));
+
+        processor.setProgressInterval(4);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectPartitionOutOfRange() throws Exception
+    {
+        new PartitionedEventHandler<LongEvent>(dataProvider(events()), KEY, 2, 2, new RecordingHandler(null));
+    }
+
+    @Test
+    public void shouldHandleEveryEventOnceInOrderPerKey() throws Exception
+    {
+        final int eventCount = 1000;
+        final Disruptor<LongEvent> disruptor =
+            new Disruptor<LongEvent>(LongEvent.FACTORY, 64, Executors.newCachedThreadPool(DaemonThreadFactory.INSTANCE),
+                                     ProducerType.SINGLE, new BlockingWaitStrategy());
+        final CountDownLatch latch = new CountDownLatch(eventCount);
+        final RecordingHandler[] handlers = new RecordingHandler[3];
+        for (int i = 0; i < handlers.length; i++)
+        {
+            handlers[i] = new RecordingHandler(latch);
+        }
+
+        disruptor.handleEventsWithPartitioned(KEY, handlers);
+        final RingBuffer<LongEvent> ringBuffer = disruptor.start();
+
+        for (int i = 0; i < eventCount; i++)
+        {
+            final long sequence = ringBuffer.next();
+            ringBuffer.get(sequence).set(i % 10);
+            ringBuffer.publish(sequence);
+        }
+
+        assertThat(latch.await(5, TimeUnit.SECONDS), is(true));
+        disruptor.shutdown();
+
+        for (int i = 0; i < handlers.length; i++)
+        {
+            long last = -1;
+            for (final long[] keyAndSequence : handlers[i].events)
+            {
+                assertThat(PartitionedEventHandler.partitionOf(keyAndSequence[0], 3), is(i));
+                assertThat(keyAndSequence[1] > last, is(true));
+                last = keyAndSequence[1];
+            }
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldPassOnHeldEventsOfFlyweightRing() throws Exception
+    {
+        final int eventCount = 1000;
+        final LongRingBuffer ringBuffer = LongRingBuffer.createSingleProducer(64, new BlockingWaitStrategy());
+        final Disruptor<LongRingBuffer.LongEvent> disruptor = new Disruptor<LongRingBuffer.LongEvent>(
+            ringBuffer, Executors.newCachedThreadPool(DaemonThreadFactory.INSTANCE));
+        final CountDownLatch latch = new CountDownLatch(eventCount);
+        final List<long[]> mismatches = new ArrayList<long[]>();
+        final LongPartitionKeyExtractor<LongRingBuffer.LongEvent> key =
+            new LongPartitionKeyExtractor<LongRingBuffer.LongEvent>()
+            {
+                @Override
+                public long extractKey(final LongRingBuffer.LongEvent event)
+                {
+                    return event.get() % 10;
+                }
+            };
+        final EventHandler<LongRingBuffer.LongEvent> checkingHandler = new EventHandler<LongRingBuffer.LongEvent>()
+        {
+            @Override
+            public void onEvent(final LongRingBuffer.LongEvent event, final long sequence, final boolean endOfBatch)
+            {
+                if (event.get() != sequence)
+                {
+                    synchronized (mismatches)
+                    {
+                        mismatches.add(new long[] {sequence, event.get()});
+                    }
+                }
+                latch.countDown();
+            }
+        };
+
+        disruptor.handleEventsWithPartitioned(key, checkingHandler, checkingHandler, checkingHandler);
+        disruptor.startEventRing();
+
+        for (int i = 0; i < eventCount; i++)
+        {
+            ringBuffer.put(i);
+        }
+
+        assertThat(latch.await(5, TimeUnit.SECONDS), is(true));
+        disruptor.shutdown();
+
+        assertThat(mismatches.size(), is(0));
+    }
+
+    private static LongEvent[] events(final long... keys)
+    {
+        final LongEvent[] events = new LongEvent[keys.length];
+        for (int i = 0; i < keys.length; i++)
+        {
+            events[i] = new LongEvent();
+            events[i].set(keys[i]);
+        }
+        return events;
+    }
+
+    private static DataProvider<LongEvent> dataProvider(final LongEvent[] events)
+    {
+        return new DataProvider<LongEvent>()
+        {
+            @Override
+            public LongEvent get(final long sequence)
+            {
+                return events[(int) sequence];
+            }
+        };
+    }
+
+    private static final class AwareHandler
+        implements SequenceReportingEventHandler<LongEvent>, BatchStartAware, TimeoutHandler
+    {
+        private final List<String> calls;
+
+        private AwareHandler(final List<String> calls)
+        {
+            this.calls = calls;
+        }
+
+        @Override
+        public void onEvent(final LongEvent event, final long sequence, final boolean endOfBatch)
+        {
+        }
+
+        @Override
+        public void setSequenceCallback(final Sequence sequenceCallback)
+        {
+            calls.add("callback");
+        }
+
+        @Override
+        public void onBatchStart(final long batchSize, final long queueDepth)
+        {
+            calls.add("batch " + batchSize + " " + queueDepth);
+        }
+
+        @Override
+        public void onTimeout(final long sequence)
+        {
+            calls.add("timeout " + sequence);
+        }
+    }
+
+    private static final class RecordingHandler implements EventHandler<LongEvent>
+    {
+        private final List<String> calls = new ArrayList<String>();
+        private final List<long[]> events = new ArrayList<long[]>();
+        private final CountDownLatch latch;
+
+        private RecordingHandler(final CountDownLatch latch)
+        {
+            this.latch = latch;
+        }
+
+        @Override
+        public void onEvent(final LongEvent event, final long sequence, final boolean endOfBatch)
+        {
+            calls.add(endOfBatch ? sequence + " end" : String.valueOf(sequence));
+            events.add(new long[] {event.get(), sequence});
+            if (null != latch)
+            {
+                latch.countDown();
+            }
+        }
+    }
+}
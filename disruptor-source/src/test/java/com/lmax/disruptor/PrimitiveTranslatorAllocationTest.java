@@ -0,0 +1,155 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.lmax.disruptor.support.LongEvent;
+
+/**
+ * Measures the bytes allocated by the publishing thread, using the allocation counter of the HotSpot
+ * {@link com.sun.management.ThreadMXBean}.
+ */
+public class PrimitiveTranslatorAllocationTest
+{
+    private static final int ITERATIONS = 100000;
+    // above the range of cached boxes, so that boxing would allocate
+    private static final long VALUE_BASE = 1L << 20;
+
+    private static final EventTranslatorLong<LongEvent> LONG_TRANSLATOR = new EventTranslatorLong<LongEvent>()
+    {
+        @Override
+        public void translateTo(final LongEvent event, final long sequence, final long arg0)
+        {
+            event.set(arg0);
+        }
+    };
+
+    private static final EventTranslatorLongLong<LongEvent> LONG_LONG_TRANSLATOR =
+        new EventTranslatorLongLong<LongEvent>()
+        {
+            @Override
+            public void translateTo(final LongEvent event, final long sequence, final long arg0, final long arg1)
+            {
+                event.set(arg0 + arg1);
+            }
+        };
+
+    private static final EventTranslatorDouble<LongEvent> DOUBLE_TRANSLATOR = new EventTranslatorDouble<LongEvent>()
+    {
+        @Override
+        public void translateTo(final LongEvent event, final long sequence, final double arg0)
+        {
+            event.set((long) arg0);
+        }
+    };
+
+    private static final EventTranslatorLongObj<LongEvent, String> LONG_OBJ_TRANSLATOR =
+        new EventTranslatorLongObj<LongEvent, String>()
+        {
+            @Override
+            public void translateTo(final LongEvent event, final long sequence, final long arg0, final String arg1)
+            {
+                event.set(arg0 + arg1.length());
+            }
+        };
+
+    // holds the arguments of the last event, so that their allocation can not be optimised away
+    private static Object[] lastArgs;
+
+    private static final EventTranslatorVararg<LongEvent> VARARG_TRANSLATOR = new EventTranslatorVararg<LongEvent>()
+    {
+        @Override
+        public void translateTo(final LongEvent event, final long sequence, final Object... args)
+        {
+            lastArgs = args;
+            event.set((Long) args[0]);
+        }
+    };
+
+    private final RingBuffer<LongEvent> ringBuffer = RingBuffer.createSingleProducer(LongEvent.FACTORY, 1024);
+    private com.sun.management.ThreadMXBean threadMXBean;
+    private long threadId;
+
+    @Before
+    public void setUp()
+    {
+        final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        threadMXBean = (com.sun.management.ThreadMXBean) bean;
+        Assume.assumeTrue(threadMXBean.isThreadAllocatedMemorySupported());
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+        threadId = Thread.currentThread().getId();
+
+        // warm up both the counter and the publish paths
+        for (int i = 0; i < 3; i++)
+        {
+            allocatedBytes();
+            publishPrimitives();
+        }
+    }
+
+    @Test
+    public void shouldNotAllocateWhenPublishingWithPrimitiveTranslators() throws Exception
+    {
+        final long before = allocatedBytes();
+        publishPrimitives();
+        final long allocated = allocatedBytes() - before;
+
+        assertThat("bytes per publish, " + allocated + " in total", allocated / (4L * ITERATIONS), is(0L));
+    }
+
+    @Test
+    public void shouldMeasureAllocationsOnPublishingThread() throws Exception
+    {
+        final long before = allocatedBytes();
+        for (int i = 0; i < ITERATIONS; i++)
+        {
+            ringBuffer.publishEvent(VARARG_TRANSLATOR, Long.valueOf(VALUE_BASE + i));
+        }
+        final long allocated = allocatedBytes() - before;
+
+        assertTrue("allocated " + allocated, allocated / ITERATIONS > 0L);
+        assertThat(lastArgs.length, is(1));
+    }
+
+    private void publishPrimitives()
+    {
+        final RingBuffer<LongEvent> ringBuffer = this.ringBuffer;
+        for (int i = 0; i < ITERATIONS; i++)
+        {
+            final long value = VALUE_BASE + i;
+            ringBuffer.publishLongEvent(LONG_TRANSLATOR, value);
+            ringBuffer.publishEvent(LONG_LONG_TRANSLATOR, value, value);
+            ringBuffer.publishDoubleEvent(DOUBLE_TRANSLATOR, (double) value);
+            ringBuffer.publishEvent(LONG_OBJ_TRANSLATOR, value, "Foo");
+        }
+    }
+
+    private long allocatedBytes()
+    {
+        return threadMXBean.getThreadAllocatedBytes(threadId);
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import com.lmax.disruptor.util.DaemonThreadFactory;
+
+@RunWith(Parameterized.class)
+public class ProducerWaitStrategyTest
+{
+    private static final int BUFFER_SIZE = 4;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(DaemonThreadFactory.INSTANCE);
+
+    private final ProducerWaitStrategy producerWaitStrategy;
+
+    public ProducerWaitStrategyTest(ProducerWaitStrategy producerWaitStrategy)
+    {
+        this.producerWaitStrategy = producerWaitStrategy;
+    }
+
+    @Parameters
+    public static Collection<Object[]> generateData()
+    {
+        Object[][] strategies =
+        {
+            { new BusySpinProducerWaitStrategy() },
+            { new YieldingProducerWaitStrategy() },
+            { new SleepingProducerWaitStrategy() },
+            { new BlockingProducerWaitStrategy(1, TimeUnit.MINUTES) },
+            { new PhasedBackoffProducerWaitStrategy(1, 1, TimeUnit.MILLISECONDS,
+                                                    new BlockingProducerWaitStrategy(1, TimeUnit.MINUTES)) },
+        };
+        return Arrays.asList(strategies);
+    }
+
+    @Test(timeout = 10000)
+    public void shouldWaitForSingleProducerCapacity() throws Exception
+    {
+        assertPublisherWakesWhenGatingSequenceAdvances(
+            new SingleProducerSequencer(BUFFER_SIZE, new BlockingWaitStrategy(), producerWaitStrategy));
+    }
+
+    @Test(timeout = 10000)
+    public void shouldWaitForMultiProducerCapacity() throws Exception
+    {
+        assertPublisherWakesWhenGatingSequenceAdvances(
+            new MultiProducerSequencer(BUFFER_SIZE, new BlockingWaitStrategy(), producerWaitStrategy));
+    }
+
+    @Test(timeout = 10000)
+    public void shouldWaitForFetchAndAddMultiProducerCapacity() throws Exception
+    {
+        assertPublisherWakesWhenGatingSequenceAdvances(
+            new FetchAndAddMultiProducerSequencer(BUFFER_SIZE, new BlockingWaitStrategy(), producerWaitStrategy));
+    }
+
+    private void assertPublisherWakesWhenGatingSequenceAdvances(final Sequencer sequencer) throws Exception
+    {
+        final Sequence gatingSequence = new Sequence();
+        final SequenceBarrier barrier = sequencer.newBarrier();
+        sequencer.addGatingSequences(gatingSequence);
+
+        long sequence = sequencer.next(BUFFER_SIZE);
+        sequencer.publish(sequence - (BUFFER_SIZE - 1), sequence);
+
+        executor.submit(new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                try
+                {
+                    Thread.sleep(50);
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                }
+
+                gatingSequence.set(0L);
+                barrier.signalProducers();
+            }
+        });
+
+        assertThat(sequencer.next(), is((long) BUFFER_SIZE));
+    }
+}
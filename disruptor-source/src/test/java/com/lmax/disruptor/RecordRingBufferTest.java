@@ -0,0 +1,221 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.lmax.disruptor.RecordRingBuffer.Record;
+import com.lmax.disruptor.RecordRingBuffer.RecordHandler;
+import com.lmax.disruptor.dsl.ProducerType;
+import com.lmax.disruptor.util.DaemonThreadFactory;
+
+public class RecordRingBufferTest
+{
+    private final ExecutorService executor = Executors.newCachedThreadPool(DaemonThreadFactory.INSTANCE);
+    private RecordRingBuffer ringBuffer;
+
+    @After
+    public void tearDown()
+    {
+        executor.shutdownNow();
+        if (null != ringBuffer)
+        {
+            ringBuffer.close();
+        }
+    }
+
+    @Test
+    public void shouldReadRecordsOfMixedLengthsAcrossTheEndOfTheRing() throws Exception
+    {
+        ringBuffer = new RecordRingBuffer(ProducerType.SINGLE, 256, new BlockingWaitStrategy());
+        final CollectingHandler handler = new CollectingHandler(200);
+        final RecordRingBuffer.RecordProcessor processor = ringBuffer.createProcessor(handler);
+        ringBuffer.addGatingSequences(processor.getSequence());
+        executor.submit(processor);
+
+        for (int i = 0; i < 200; i++)
+        {
+            final int length = 0 == i % 3 ? 100 : 12;
+            final Record record = ringBuffer.claim(i, length);
+            record.putInt(0, i);
+            record.putByte(length - 1, (byte) length);
+            ringBuffer.publish(record);
+        }
+
+        assertThat(handler.latch.await(5, TimeUnit.SECONDS), is(true));
+        processor.halt();
+
+        for (int i = 0; i < 200; i++)
+        {
+            final byte[] payload = handler.payloads.get(i);
+            assertThat(handler.types.get(i), is(i));
+            assertThat(payload.length, is(0 == i % 3 ? 100 : 12));
+            assertThat((int) payload[payload.length - 1], is(payload.length));
+        }
+    }
+
+    @Test
+    public void shouldWakePublisherWaitingWithProducerWaitStrategy() throws Exception
+    {
+        ringBuffer = new RecordRingBuffer(ProducerType.MULTI, 256, new BlockingWaitStrategy(),
+                                          new BlockingProducerWaitStrategy(1, TimeUnit.MINUTES));
+        final CollectingHandler handler = new CollectingHandler(100);
+        final RecordRingBuffer.RecordProcessor processor = ringBuffer.createProcessor(handler);
+        ringBuffer.addGatingSequences(processor.getSequence());
+        executor.submit(processor);
+
+        for (int i = 0; i < 100; i++)
+        {
+            final Record record = ringBuffer.claim(i, 100);
+            record.putInt(0, i);
+            ringBuffer.publish(record);
+        }
+
+        assertThat(handler.latch.await(5, TimeUnit.SECONDS), is(true));
+        processor.halt();
+        assertThat(handler.types.get(99), is(99));
+    }
+
+    @Test
+    public void shouldNotClaimSpaceHeldByConsumers() throws Exception
+    {
+        ringBuffer = new RecordRingBuffer(ProducerType.MULTI, 64, new BlockingWaitStrategy());
+        ringBuffer.addGatingSequences(new Sequence());
+
+        assertThat(ringBuffer.tryWrite(1, new byte[24], 0, 24), is(true));
+        assertThat(ringBuffer.tryWrite(1, new byte[20], 0, 20), is(true));
+        assertThat(ringBuffer.remainingCapacity(), is(0L));
+        assertThat(ringBuffer.tryClaim(1, 0), is(nullValue()));
+        assertThat(ringBuffer.getCursor(), is(64L));
+    }
+
+    @Test
+    public void shouldRejectAccessOutsideOfRecord() throws Exception
+    {
+        ringBuffer = new RecordRingBuffer(ProducerType.SINGLE, 64, new BlockingWaitStrategy());
+        final Record record = ringBuffer.claim(0, 12);
+        record.putInt(8, 1);
+
+        try
+        {
+            record.putLong(8, 1L);
+            fail("Should have thrown");
+        }
+        catch (IndexOutOfBoundsException e)
+        {
+            // Expected
+        }
+
+        try
+        {
+            ringBuffer.claim(0, 57);
+            fail("Should have thrown");
+        }
+        catch (IllegalArgumentException e)
+        {
+            // Expected
+        }
+    }
+
+    @Test
+    public void shouldPublishRecordsFromMultipleProducersInClaimOrder() throws Exception
+    {
+        ringBuffer = new RecordRingBuffer(ProducerType.MULTI, 1024, new YieldingWaitStrategy());
+        final int perProducer = 5000;
+        final CollectingHandler handler = new CollectingHandler(2 * perProducer);
+        final RecordRingBuffer.RecordProcessor processor = ringBuffer.createProcessor(handler);
+        ringBuffer.addGatingSequences(processor.getSequence());
+        executor.submit(processor);
+
+        final CountDownLatch start = new CountDownLatch(1);
+        for (int p = 0; p < 2; p++)
+        {
+            final int type = p;
+            executor.submit(new Runnable()
+            {
+                @Override
+                public void run()
+                {
+                    try
+                    {
+                        start.await();
+                    }
+                    catch (InterruptedException e)
+                    {
+                        return;
+                    }
+
+                    for (int i = 0; i < perProducer; i++)
+                    {
+                        final Record record = ringBuffer.claim(type, 8 + (i % 5) * 16);
+                        record.putInt(0, i);
+                        ringBuffer.publish(record);
+                    }
+                }
+            });
+        }
+        start.countDown();
+
+        assertThat(handler.latch.await(10, TimeUnit.SECONDS), is(true));
+        processor.halt();
+
+        final int[] expected = new int[2];
+        for (int i = 0; i < handler.types.size(); i++)
+        {
+            final int type = handler.types.get(i);
+            final byte[] payload = handler.payloads.get(i);
+            assertThat(payload.length, is(8 + (expected[type] % 5) * 16));
+            expected[type]++;
+        }
+        assertThat(expected[0], is(perProducer));
+        assertThat(expected[1], is(perProducer));
+    }
+
+    private static final class CollectingHandler implements RecordHandler
+    {
+        private final List<Integer> types = new ArrayList<Integer>();
+        private final List<byte[]> payloads = new ArrayList<byte[]>();
+        private final CountDownLatch latch;
+
+        CollectingHandler(final int expected)
+        {
+            latch = new CountDownLatch(expected);
+        }
+
+        @Override
+        public void onRecord(final Record record, final boolean endOfBatch) throws Exception
+        {
+            final byte[] payload = new byte[record.getLength()];
+            record.getBytes(0, payload, 0, payload.length);
+            types.add(record.getType());
+            payloads.add(payload);
+            latch.countDown();
+        }
+    }
+}
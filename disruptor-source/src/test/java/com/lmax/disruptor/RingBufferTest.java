@@ -19,23 +19,30 @@ import static com.lmax.disruptor.RingBuffer.createMultiProducer;
 import static com.lmax.disruptor.RingBufferEventMatcher.ringBufferWithEvents;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.BrokenBarrierException;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.CyclicBarrier;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Test;
 
+import com.lmax.disruptor.dsl.ProducerType;
 import com.lmax.disruptor.support.StubEvent;
 import com.lmax.disruptor.support.TestWaiter;
 import com.lmax.disruptor.util.DaemonThreadFactory;
@@ -131,6 +138,28 @@ public class RingBufferTest
         assertFalse(ringBuffer.tryPublishEvent(StubEvent.TRANSLATOR, 3, "3"));
     }
 
+    @Test
+    public void shouldTimeOutPublishingWhenBufferIsFull() throws Exception
+    {
+        Sequence sequence = new Sequence(Sequencer.INITIAL_CURSOR_VALUE);
+        final RingBuffer<StubEvent> ringBuffer = createMultiProducer(StubEvent.EVENT_FACTORY, 4);
+        ringBuffer.addGatingSequences(sequence);
+
+        assertTrue(ringBuffer.tryPublishEvent(StubEvent.TRANSLATOR, 10, TimeUnit.MILLISECONDS, 0, "0"));
+        assertTrue(ringBuffer.tryPublishEvent(StubEvent.TRANSLATOR, 10, TimeUnit.MILLISECONDS, 1, "1"));
+        assertTrue(ringBuffer.tryPublishEvent(StubEvent.TRANSLATOR, 10, TimeUnit.MILLISECONDS, 2, "2"));
+        assertTrue(ringBuffer.tryPublishEvent(StubEvent.TRANSLATOR, 10, TimeUnit.MILLISECONDS, 3, "3"));
+
+        assertFalse(ringBuffer.tryPublishEvent(StubEvent.TRANSLATOR, 10, TimeUnit.MILLISECONDS, 4, "4"));
+        assertThat(ringBuffer.next(1, 10, TimeUnit.MILLISECONDS), is(Sequenced.CLAIM_TIMED_OUT));
+        assertThat(ringBuffer.getCursor(), is(3L));
+
+        sequence.set(0L);
+
+        assertTrue(ringBuffer.tryPublishEvent(StubEvent.TRANSLATOR, 10, TimeUnit.MILLISECONDS, 4, "4"));
+        assertThat(ringBuffer.get(4).getValue(), is(4));
+    }
+
     @Test
     public void shouldThrowExceptionIfBufferIsFull() throws Exception
     {
@@ -329,6 +358,65 @@ public class RingBufferTest
         assertThat(ringBuffer, ringBufferWithEvents("Foo-0", "Foo-1", "Foo-2", "Foo-3"));
     }
 
+    @Test
+    public void shouldPublishEventPrimitiveArgs() throws Exception
+    {
+        RingBuffer<Object[]> ringBuffer = RingBuffer.createSingleProducer(new ArrayFactory(1), 8);
+
+        ringBuffer.publishLongEvent(new LongEventTranslator(), 7L);
+        assertTrue(ringBuffer.tryPublishLongEvent(new LongEventTranslator(), 8L));
+        ringBuffer.publishEvent(new LongLongEventTranslator(), 1L, 2L);
+        assertTrue(ringBuffer.tryPublishEvent(new LongLongEventTranslator(), 3L, 4L));
+        ringBuffer.publishDoubleEvent(new DoubleEventTranslator(), 0.5D);
+        assertTrue(ringBuffer.tryPublishDoubleEvent(new DoubleEventTranslator(), 1.5D));
+        ringBuffer.publishEvent(new LongObjEventTranslator(), 9L, "Foo");
+        assertTrue(ringBuffer.tryPublishEvent(new LongObjEventTranslator(), 10L, "Bar"));
+
+        assertThat(ringBuffer, ringBufferWithEvents(
+            "7-0", "8-1", "12-2", "34-3", "0.5-4", "1.5-5", "9Foo-6", "10Bar-7"));
+    }
+
+    @Test
+    public void shouldPublishEventsPrimitiveArgs() throws Exception
+    {
+        RingBuffer<Object[]> ringBuffer = RingBuffer.createSingleProducer(new ArrayFactory(1), 8);
+
+        ringBuffer.publishLongEvents(new LongEventTranslator(), new long[]{1L, 2L});
+        assertTrue(ringBuffer.tryPublishEvents(new LongLongEventTranslator(), new long[]{1L, 3L}, new long[]{2L, 4L}));
+        ringBuffer.publishDoubleEvents(new DoubleEventTranslator(), 1, 1, new double[]{0.5D, 2.5D});
+        assertTrue(ringBuffer.tryPublishEvents(new LongObjEventTranslator(), 0, 2,
+                                               new long[]{5L, 6L, 7L}, new String[]{"Foo", "Bar", "Baz"}));
+
+        assertThat(ringBuffer, ringBufferWithEvents("1-0", "2-1", "12-2", "34-3", "2.5-4", "5Foo-5", "6Bar-6"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldNotPublishEventsLongIfBatchOverRunsArguments() throws Exception
+    {
+        RingBuffer<Object[]> ringBuffer = RingBuffer.createSingleProducer(new ArrayFactory(1), 4);
+
+        try
+        {
+            ringBuffer.publishEvents(new LongLongEventTranslator(), 0, 3, new long[]{1L, 2L, 3L}, new long[]{1L, 2L});
+        }
+        finally
+        {
+            assertEmptyRingBuffer(ringBuffer);
+        }
+    }
+
+    @Test
+    public void shouldNotTryPublishEventsLongWhenFull() throws Exception
+    {
+        RingBuffer<Object[]> ringBuffer = RingBuffer.createSingleProducer(new ArrayFactory(1), 4);
+        ringBuffer.addGatingSequences(new Sequence());
+
+        assertTrue(ringBuffer.tryPublishLongEvents(new LongEventTranslator(), new long[]{1L, 2L, 3L}));
+        assertFalse(ringBuffer.tryPublishLongEvents(new LongEventTranslator(), new long[]{4L, 5L}));
+        assertTrue(ringBuffer.tryPublishLongEvent(new LongEventTranslator(), 4L));
+        assertFalse(ringBuffer.tryPublishLongEvent(new LongEventTranslator(), 5L));
+    }
+
     @Test(expected = IllegalArgumentException.class)
     public void shouldNotPublishEventsOneArgIfBatchIsLargerThanRingBuffer() throws Exception
     {
@@ -1167,6 +1255,54 @@ public class RingBufferTest
         assertHandleResetAndNotWrap(RingBuffer.createMultiProducer(StubEvent.EVENT_FACTORY, 4));
     }
 
+    @Test
+    public void shouldFillEveryEntryInParallel() throws Exception
+    {
+        final CountingFactory factory = new CountingFactory();
+        final int bufferSize = 1 << 16;
+        RingBuffer<Object[]> rb = RingBuffer.create(ProducerType.SINGLE, factory, bufferSize,
+                                                    new BlockingWaitStrategy(), new SleepingProducerWaitStrategy(),
+                                                    FillMode.PARALLEL);
+
+        assertThat(factory.count.get(), is(bufferSize));
+        Set<Object[]> entries = Collections.newSetFromMap(new IdentityHashMap<Object[], Boolean>());
+        for (int i = 0; i < bufferSize; i++)
+        {
+            entries.add(rb.get(i));
+        }
+        assertThat(entries.size(), is(bufferSize));
+    }
+
+    @Test
+    public void shouldFillEntriesLazilyOnFirstAccess() throws Exception
+    {
+        final CountingFactory factory = new CountingFactory();
+        RingBuffer<Object[]> rb = RingBuffer.create(ProducerType.MULTI, factory, 4,
+                                                    new BlockingWaitStrategy(), new SleepingProducerWaitStrategy(),
+                                                    FillMode.LAZY);
+        Sequence sequence = new Sequence();
+        rb.addGatingSequences(sequence);
+
+        assertThat(factory.count.get(), is(0));
+
+        rb.publishEvent(new OneArgEventTranslator(), "Foo");
+        assertThat(factory.count.get(), is(1));
+        assertThat((String) rb.get(0)[0], is("Foo-0"));
+        assertThat(factory.count.get(), is(1));
+
+        for (int i = 1; i < 4; i++)
+        {
+            rb.publishEvent(new OneArgEventTranslator(), "Foo");
+        }
+        Object[] first = rb.get(0);
+        sequence.set(3);
+        rb.publishEvent(new OneArgEventTranslator(), "Bar");
+
+        assertThat(factory.count.get(), is(4));
+        assertThat(rb.get(4), sameInstance(first));
+        assertThat((String) rb.get(4)[0], is("Bar-4"));
+    }
+
     @SuppressWarnings("deprecation")
     private void assertHandleResetAndNotWrap(RingBuffer<StubEvent> rb)
     {
@@ -1280,6 +1416,18 @@ public class RingBufferTest
         }
     }
 
+    private static class CountingFactory implements EventFactory<Object[]>
+    {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Object[] newInstance()
+        {
+            count.incrementAndGet();
+            return new Object[1];
+        }
+    }
+
     private static class NoArgEventTranslator implements EventTranslator<Object[]>
     {
         @Override
@@ -1324,4 +1472,40 @@ public class RingBufferTest
             event[0] = arg0 + "-" + sequence;
         }
     }
+
+    private static class LongEventTranslator implements EventTranslatorLong<Object[]>
+    {
+        @Override
+        public void translateTo(Object[] event, long sequence, long arg0)
+        {
+            event[0] = arg0 + "-" + sequence;
+        }
+    }
+
+    private static class LongLongEventTranslator implements EventTranslatorLongLong<Object[]>
+    {
+        @Override
+        public void translateTo(Object[] event, long sequence, long arg0, long arg1)
+        {
+            event[0] = arg0 + "" + arg1 + "-" + sequence;
+        }
+    }
+
+    private static class DoubleEventTranslator implements EventTranslatorDouble<Object[]>
+    {
+        @Override
+        public void translateTo(Object[] event, long sequence, double arg0)
+        {
+            event[0] = arg0 + "-" + sequence;
+        }
+    }
+
+    private static class LongObjEventTranslator implements EventTranslatorLongObj<Object[], String>
+    {
+        @Override
+        public void translateTo(Object[] event, long sequence, long arg0, String arg1)
+        {
+            event[0] = arg0 + arg1 + "-" + sequence;
+        }
+    }
 }
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import com.lmax.disruptor.support.StubEvent;
+import com.lmax.disruptor.util.Util;
+
+public class SequenceArrayTest
+{
+    @Test
+    public void shouldInitialiseEachSequence() throws Exception
+    {
+        final SequenceArray sequences = new SequenceArray(3, 7L);
+
+        assertThat(sequences.size(), is(3));
+        for (int i = 0; i < 3; i++)
+        {
+            assertThat(sequences.get(i), is(7L));
+            assertThat(sequences.getSequence(i).get(), is(7L));
+        }
+    }
+
+    @Test
+    public void shouldKeepSequencesIndependent() throws Exception
+    {
+        final SequenceArray sequences = new SequenceArray(4);
+        final Sequence sequence = sequences.getSequence(1);
+
+        sequence.set(5L);
+        assertTrue(sequence.compareAndSet(5L, 6L));
+        assertFalse(sequence.compareAndSet(5L, 7L));
+        assertThat(sequence.incrementAndGet(), is(7L));
+        assertThat(sequence.addAndGet(3L), is(10L));
+        sequences.set(2, 20L);
+        sequences.getSequence(3).setRelease(30L);
+
+        assertThat(sequences.get(0), is(-1L));
+        assertThat(sequences.get(1), is(10L));
+        assertThat(sequences.getSequence(2).get(), is(20L));
+        assertThat(sequences.get(3), is(30L));
+        assertThat(sequences.getSequence(3).getAcquire(), is(30L));
+        assertThat(sequences.getSequence(1).getOpaque(), is(10L));
+    }
+
+    @Test
+    public void shouldFindMinimum() throws Exception
+    {
+        final SequenceArray sequences = new SequenceArray(5, 10L);
+        sequences.getSequence(3).set(4L);
+
+        assertThat(sequences.minimum(), is(4L));
+        assertThat(sequences.minimum(2L), is(2L));
+        assertThat(sequences.minimum(), is(Util.getMinimumSequence(sequences.getSequences())));
+        assertThat(new SequenceArray(0).minimum(), is(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void shouldGateRingBufferOnArraySequences() throws Exception
+    {
+        final RingBuffer<StubEvent> ringBuffer = RingBuffer.createSingleProducer(StubEvent.EVENT_FACTORY, 4);
+        final SequenceArray sequences = new SequenceArray(2);
+        ringBuffer.addGatingSequences(sequences.getSequences());
+
+        ringBuffer.publish(ringBuffer.next(4));
+        assertFalse(ringBuffer.hasAvailableCapacity(1));
+
+        sequences.set(0, 1L);
+        assertFalse(ringBuffer.hasAvailableCapacity(1));
+
+        sequences.set(1, 0L);
+        assertTrue(ringBuffer.hasAvailableCapacity(1));
+        assertFalse(ringBuffer.hasAvailableCapacity(2));
+    }
+}
@@ -64,6 +64,25 @@ public final class SequenceGroupTest
         assertEquals(sequenceThree.get(), sequenceGroup.get());
     }
 
+    @Test
+    public void shouldReportTheMinimumSequenceForAllAccessModes()
+    {
+        final Sequence sequenceThree = new Sequence(3L);
+        final Sequence sequenceSeven = new Sequence(7L);
+        final SequenceGroup sequenceGroup = new SequenceGroup();
+
+        sequenceGroup.add(sequenceSeven);
+        sequenceGroup.add(sequenceThree);
+
+        assertEquals(3L, sequenceGroup.getAcquire());
+        assertEquals(3L, sequenceGroup.getOpaque());
+
+        sequenceGroup.setRelease(9L);
+
+        assertEquals(9L, sequenceThree.getAcquire());
+        assertEquals(9L, sequenceSeven.getOpaque());
+    }
+
     @Test
     public void shouldReportSizeOfGroup()
     {
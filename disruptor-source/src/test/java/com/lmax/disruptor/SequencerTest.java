@@ -8,6 +8,7 @@ import java.util.Collection;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
 import org.jmock.Expectations;
 import org.jmock.Mockery;
@@ -17,6 +18,7 @@ import org.junit.runners.Parameterized;
 import org.junit.runners.Parameterized.Parameters;
 
 import com.lmax.disruptor.dsl.ProducerType;
+import com.lmax.disruptor.support.StubEvent;
 import com.lmax.disruptor.util.DaemonThreadFactory;
 
 @RunWith(Parameterized.class)
@@ -43,6 +45,7 @@ public class SequencerTest
         {
             { ProducerType.SINGLE, new BlockingWaitStrategy() },
             { ProducerType.MULTI,  new BlockingWaitStrategy() },
+            { ProducerType.MULTI_FETCH_AND_ADD, new BlockingWaitStrategy() },
         };
         return Arrays.asList(allocators);
     }
@@ -113,7 +116,9 @@ public class SequencerTest
         });
 
         waitingLatch.await();
+        assertThat(doneLatch.await(10, TimeUnit.MILLISECONDS), is(false));
         assertThat(sequencer.getCursor(), is(expectedFullSequence));
+        assertThat(sequencer.remainingCapacity(), is(0L));
 
         gatingSequence.set(Sequencer.INITIAL_CURSOR_VALUE + 1L);
 
@@ -132,6 +137,108 @@ public class SequencerTest
         sequencer.tryNext();
     }
 
+    @Test
+    public void shouldTimeOutClaimWhenSequencerIsFull() throws Exception
+    {
+        sequencer.addGatingSequences(gatingSequence);
+        long sequence = sequencer.next(BUFFER_SIZE);
+        sequencer.publish(sequence - (BUFFER_SIZE - 1), sequence);
+
+        final long start = System.nanoTime();
+        assertThat(sequencer.next(1, 20, TimeUnit.MILLISECONDS), is(Sequenced.CLAIM_TIMED_OUT));
+        final long elapsed = System.nanoTime() - start;
+
+        assertTrue(elapsed >= TimeUnit.MILLISECONDS.toNanos(20));
+        assertTrue(elapsed < TimeUnit.MILLISECONDS.toNanos(500));
+        assertThat(sequencer.getCursor(), is(sequence));
+        assertThat(sequencer.remainingCapacity(), is(0L));
+
+        gatingSequence.set(Sequencer.INITIAL_CURSOR_VALUE + 2L);
+
+        assertThat(sequencer.next(2, 20, TimeUnit.MILLISECONDS), is(sequence + 2L));
+    }
+
+    @Test
+    public void shouldTimeOutBehindStalledConsumerWithEachProducerWaitStrategy() throws Exception
+    {
+        final ProducerWaitStrategy[] producerWaitStrategies =
+        {
+            new SleepingProducerWaitStrategy(),
+            new YieldingProducerWaitStrategy(),
+            new BusySpinProducerWaitStrategy(),
+            new BlockingProducerWaitStrategy(),
+            new PhasedBackoffProducerWaitStrategy(1, 1, TimeUnit.MILLISECONDS, new BlockingProducerWaitStrategy())
+        };
+        final long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(5);
+        final ExecutorService consumerExecutor = Executors.newCachedThreadPool(DaemonThreadFactory.INSTANCE);
+
+        for (final ProducerWaitStrategy producerWaitStrategy : producerWaitStrategies)
+        {
+            final RingBuffer<StubEvent> ringBuffer = RingBuffer.create(
+                producerType, StubEvent.EVENT_FACTORY, BUFFER_SIZE, new BlockingWaitStrategy(), producerWaitStrategy);
+            final CountDownLatch stalled = new CountDownLatch(1);
+            final CountDownLatch release = new CountDownLatch(1);
+            final BatchEventProcessor<StubEvent> processor = new BatchEventProcessor<StubEvent>(
+                ringBuffer, ringBuffer.newBarrier(), new EventHandler<StubEvent>()
+                {
+                    @Override
+                    public void onEvent(final StubEvent event, final long sequence, final boolean endOfBatch) throws Exception
+                    {
+                        stalled.countDown();
+                        release.await();
+                    }
+                });
+            ringBuffer.addGatingSequences(processor.getSequence());
+            consumerExecutor.execute(processor);
+
+            for (int i = 0; i < BUFFER_SIZE; i++)
+            {
+                ringBuffer.publish(ringBuffer.next());
+            }
+            stalled.await();
+
+            final long start = System.nanoTime();
+            assertThat(ringBuffer.next(1, timeoutNanos, TimeUnit.NANOSECONDS), is(Sequenced.CLAIM_TIMED_OUT));
+            final long elapsed = System.nanoTime() - start;
+
+            final String description = producerWaitStrategy.getClass().getSimpleName() + " took " + elapsed + "ns";
+            assertTrue(description, elapsed >= timeoutNanos);
+            assertTrue(description, elapsed < TimeUnit.MILLISECONDS.toNanos(500));
+            assertThat(ringBuffer.getCursor(), is((long) BUFFER_SIZE - 1));
+
+            release.countDown();
+            processor.halt();
+        }
+    }
+
+    @Test
+    public void shouldClaimWithinTimeoutWhenCapacityIsReleased() throws Exception
+    {
+        sequencer.addGatingSequences(gatingSequence);
+        long sequence = sequencer.next(BUFFER_SIZE);
+        sequencer.publish(sequence - (BUFFER_SIZE - 1), sequence);
+
+        executor.submit(new Runnable()
+        {
+            @Override
+            public void run()
+            {
+                try
+                {
+                    Thread.sleep(20);
+                }
+                catch (InterruptedException e)
+                {
+                    Thread.currentThread().interrupt();
+                }
+
+                gatingSequence.set(Sequencer.INITIAL_CURSOR_VALUE + 1L);
+            }
+        });
+
+        assertThat(sequencer.next(1, 10, TimeUnit.SECONDS), is(sequence + 1L));
+    }
+
     @Test
     public void shouldCalculateRemainingCapacity() throws Exception
     {
@@ -289,6 +396,8 @@ public class SequencerTest
             return new SingleProducerSequencer(bufferSize, waitStrategy);
         case MULTI:
             return new MultiProducerSequencer(bufferSize, waitStrategy);
+        case MULTI_FETCH_AND_ADD:
+            return new FetchAndAddMultiProducerSequencer(bufferSize, waitStrategy);
         default:
             throw new IllegalStateException(producerType.toString());
         }
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Test;
+
+import com.lmax.disruptor.dsl.Disruptor;
+import com.lmax.disruptor.util.DaemonThreadFactory;
+
+public class ValueRingBufferTest
+{
+    private final ExecutorService executor = Executors.newCachedThreadPool(DaemonThreadFactory.INSTANCE);
+
+    @After
+    public void tearDown()
+    {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldPutAndGetValues() throws Exception
+    {
+        final ValueRingBuffer<String> ringBuffer = ValueRingBuffer.createSingleProducer(4, new BlockingWaitStrategy());
+
+        ringBuffer.put("a");
+        assertThat(ringBuffer.tryPut("b"), is(true));
+        ringBuffer.putAll(new String[] {"c", "d", "e"});
+
+        assertThat(ringBuffer.getCursor(), is(4L));
+        assertThat(ringBuffer.getValue(1), is("b"));
+        assertThat(ringBuffer.get(2).get(), is("c"));
+        assertThat(ringBuffer.getValue(3), is("d"));
+        assertThat(ringBuffer.getValue(4), is("e"));
+    }
+
+    @Test
+    public void shouldClearSlotsOnceConsumed() throws Exception
+    {
+        final ValueRingBuffer<String> ringBuffer = ValueRingBuffer.createMultiProducer(8, new BlockingWaitStrategy());
+        final CollectingHandler handler = new CollectingHandler(null);
+        final BatchEventProcessor<ValueRingBuffer.ValueEvent<String>> processor = ringBuffer.createProcessor(handler);
+        ringBuffer.addGatingSequences(processor.getSequence());
+        executor.submit(processor);
+
+        final String[] values = new String[20];
+        for (int i = 0; i < values.length; i++)
+        {
+            values[i] = String.valueOf(i);
+        }
+        ringBuffer.putAll(values, 0, values.length);
+
+        waitFor(processor.getSequence(), 19L);
+        processor.halt();
+
+        assertThat(handler.values.size(), is(20));
+        assertThat(handler.values.get(19), is("19"));
+        for (long sequence = 12; sequence < 20; sequence++)
+        {
+            assertThat(ringBuffer.getValue(sequence), is(nullValue()));
+        }
+    }
+
+    @Test
+    public void shouldNotClearSlotsUntilLastConsumerHasPassed() throws Exception
+    {
+        final ValueRingBuffer<String> ringBuffer = ValueRingBuffer.createSingleProducer(8, new BlockingWaitStrategy());
+        final CountDownLatch slowLatch = new CountDownLatch(1);
+        final BatchEventProcessor<ValueRingBuffer.ValueEvent<String>> fast =
+            ringBuffer.createProcessor(new CollectingHandler(null));
+        final BatchEventProcessor<ValueRingBuffer.ValueEvent<String>> slow =
+            ringBuffer.createProcessor(new CollectingHandler(slowLatch));
+        ringBuffer.addGatingSequences(fast.getSequence(), slow.getSequence());
+        executor.submit(fast);
+        executor.submit(slow);
+
+        ringBuffer.putAll(new String[] {"a", "b", "c", "d"});
+
+        waitFor(fast.getSequence(), 3L);
+        assertThat(ringBuffer.getValue(0), is("a"));
+        assertThat(ringBuffer.getValue(3), is("d"));
+
+        slowLatch.countDown();
+        waitFor(slow.getSequence(), 3L);
+        fast.halt();
+        slow.halt();
+
+        for (long sequence = 0; sequence < 4; sequence++)
+        {
+            assertThat(ringBuffer.getValue(sequence), is(nullValue()));
+        }
+    }
+
+    @Test
+    public void shouldClearSlotsWhenConsumersFinishBatchTogether() throws Exception
+    {
+        final ValueRingBuffer<String> ringBuffer = ValueRingBuffer.createSingleProducer(8, new BlockingWaitStrategy());
+        final Sequence firstSequence = new Sequence(Sequencer.INITIAL_CURSOR_VALUE);
+        final Sequence secondSequence = new Sequence(Sequencer.INITIAL_CURSOR_VALUE);
+        final EventHandler<ValueRingBuffer.ValueEvent<String>> first = adapt(ringBuffer, firstSequence);
+        final EventHandler<ValueRingBuffer.ValueEvent<String>> second = adapt(ringBuffer, secondSequence);
+        ringBuffer.addGatingSequences(firstSequence, secondSequence);
+
+        ringBuffer.putAll(new String[] {"a", "b", "c", "d"});
+
+        // both consumers reach the end of the batch before either advances its sequence
+        first.onEvent(ringBuffer.get(3), 3, true);
+        second.onEvent(ringBuffer.get(3), 3, true);
+        firstSequence.set(3);
+        secondSequence.set(3);
+
+        for (long sequence = 0; sequence < 4; sequence++)
+        {
+            assertThat(ringBuffer.getValue(sequence), is(nullValue()));
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldSetUpDisruptorAroundRingBuffer() throws Exception
+    {
+        final ValueRingBuffer<String> ringBuffer = ValueRingBuffer.createMultiProducer(16, new BlockingWaitStrategy());
+        final Disruptor<ValueRingBuffer.ValueEvent<String>> disruptor =
+            new Disruptor<ValueRingBuffer.ValueEvent<String>>(ringBuffer, executor);
+        final CollectingHandler first = new CollectingHandler(null);
+        final CollectingHandler second = new CollectingHandler(null);
+        disruptor.handleEventsWith(ringBuffer.asEventHandler(first)).then(ringBuffer.asEventHandler(second));
+        disruptor.startEventRing();
+
+        for (int i = 0; i < 32; i++)
+        {
+            ringBuffer.put(String.valueOf(i));
+        }
+
+        disruptor.shutdown();
+
+        assertThat(first.values.size(), is(32));
+        assertThat(second.values.size(), is(32));
+        assertThat(second.values.get(31), is("31"));
+        for (long sequence = 16; sequence < 32; sequence++)
+        {
+            assertThat(ringBuffer.getValue(sequence), is(nullValue()));
+        }
+    }
+
+    private static void waitFor(final Sequence sequence, final long expected) throws InterruptedException
+    {
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (sequence.get() < expected && System.currentTimeMillis() < deadline)
+        {
+            Thread.sleep(1);
+        }
+        assertThat(sequence.get(), is(expected));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static EventHandler<ValueRingBuffer.ValueEvent<String>> adapt(final ValueRingBuffer<String> ringBuffer,
+                                                                          final Sequence sequence)
+    {
+        final EventHandler<ValueRingBuffer.ValueEvent<String>> handler =
+            ringBuffer.asEventHandler(new CollectingHandler(null));
+        ((SequenceReportingEventHandler<ValueRingBuffer.ValueEvent<String>>) handler).setSequenceCallback(sequence);
+        return handler;
+    }
+
+    private static final class CollectingHandler implements EventHandler<String>
+    {
+        private final List<String> values = new ArrayList<String>();
+        private final CountDownLatch latch;
+
+        CollectingHandler(final CountDownLatch latch)
+        {
+            this.latch = latch;
+        }
+
+        @Override
+        public void onEvent(final String value, final long sequence, final boolean endOfBatch) throws Exception
+        {
+            if (null != latch)
+            {
+                latch.await();
+            }
+            values.add(value);
+        }
+    }
+}
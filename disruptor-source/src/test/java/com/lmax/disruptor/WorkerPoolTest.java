@@ -54,6 +54,30 @@ public class WorkerPoolTest
         assertThat(ringBuffer.get(1).get(), is(0L));
     }
 
+    @SuppressWarnings("unchecked")
+    @Test
+    public void shouldProcessEachMessageOnceWhenClaimingInBatches() throws Exception
+    {
+        Executor executor = Executors.newCachedThreadPool(DaemonThreadFactory.INSTANCE);
+        WorkerPool<AtomicLong> pool = new WorkerPool<AtomicLong>(new AtomicLongEventFactory(), new FatalExceptionHandler(),
+                new AtomicLongWorkHandler(), new AtomicLongWorkHandler(), new AtomicLongWorkHandler());
+        pool.setClaimBatchSize(4);
+
+        RingBuffer<AtomicLong> ringBuffer = pool.start(executor);
+
+        for (int i = 0; i < 10; i++)
+        {
+            ringBuffer.publish(ringBuffer.next());
+        }
+
+        pool.drainAndHalt();
+
+        for (int i = 0; i < 10; i++)
+        {
+            assertThat(ringBuffer.get(i).get(), is(1L));
+        }
+    }
+
     private static class AtomicLongWorkHandler implements WorkHandler<AtomicLong>
     {
         @Override
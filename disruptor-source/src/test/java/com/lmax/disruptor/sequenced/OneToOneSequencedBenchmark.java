@@ -0,0 +1,155 @@
+/*
+ * Copyright 2011 LMAX Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.lmax.disruptor.sequenced;
+
+import static com.lmax.disruptor.RingBuffer.createSingleProducer;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.lmax.disruptor.BatchEventProcessor;
+import com.lmax.disruptor.EventHandler;
+import com.lmax.disruptor.RingBuffer;
+import com.lmax.disruptor.Sequence;
+import com.lmax.disruptor.YieldingWaitStrategy;
+import com.lmax.disruptor.support.LongEvent;
+import com.lmax.disruptor.util.DaemonThreadFactory;
+
+/**
+ * <pre>
+ *
+ * JMH version of OneToOneSequencedThroughputTest, comparing the VarHandle based classes of the
+ * multi-release jar with the sun.misc.Unsafe based classes.  Each benchmark is run twice, the "unsafe"
+ * forks set -Djdk.util.jar.enableMultiRelease=false so the JVM ignores META-INF/versions.
+ *
+ * Kept with the tests, rather than the perftests, so the JMH annotation processor generates the benchmark
+ * when Maven compiles the tests.  Must be run on Java 9 or later with the disruptor jar, rather than
+ * target/classes, on the classpath:
+ *
+ *   mvn package
+ *   mvn dependency:build-classpath -Dmdep.includeScope=test -Dmdep.outputFile=target/test.classpath
+ *   java -cp target/disruptor-source-3.3.2.jar:target/test-classes:$(cat target/test.classpath) \
+ *       com.lmax.disruptor.sequenced.OneToOneSequencedBenchmark
+ *
+ * +----+    +-----+
+ * | P1 |--->| EP1 |
+ * +----+    +-----+
+ *
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@State(Scope.Benchmark)
+public class OneToOneSequencedBenchmark
+{
+    private static final int BUFFER_SIZE = 1024 * 64;
+    private static final String UNSAFE = "-Djdk.util.jar.enableMultiRelease=false";
+
+    private ExecutorService executor;
+    private RingBuffer<LongEvent> ringBuffer;
+    private BatchEventProcessor<LongEvent> batchEventProcessor;
+    private final Sequence sequence = new Sequence();
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        executor = Executors.newSingleThreadExecutor(DaemonThreadFactory.INSTANCE);
+        ringBuffer = createSingleProducer(LongEvent.FACTORY, BUFFER_SIZE, new YieldingWaitStrategy());
+
+        final EventHandler<LongEvent> handler = new EventHandler<LongEvent>()
+        {
+            private long value;
+
+            @Override
+            public void onEvent(final LongEvent event, final long sequence, final boolean endOfBatch)
+            {
+                value += event.get();
+            }
+        };
+        batchEventProcessor = new BatchEventProcessor<LongEvent>(ringBuffer, ringBuffer.newBarrier(), handler);
+        ringBuffer.addGatingSequences(batchEventProcessor.getSequence());
+
+        executor.submit(batchEventProcessor);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown()
+    {
+        batchEventProcessor.halt();
+        executor.shutdown();
+    }
+
+    @Benchmark
+    @Fork(1)
+    public void publishVarHandle()
+    {
+        publish();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = UNSAFE)
+    public void publishUnsafe()
+    {
+        publish();
+    }
+
+    @Benchmark
+    @Fork(1)
+    public long sequenceSetGetVarHandle()
+    {
+        sequence.set(sequence.get() + 1);
+        return sequence.get();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = UNSAFE)
+    public long sequenceSetGetUnsafe()
+    {
+        sequence.set(sequence.get() + 1);
+        return sequence.get();
+    }
+
+    private void publish()
+    {
+        final RingBuffer<LongEvent> rb = ringBuffer;
+        long next = rb.next();
+        rb.get(next).set(next);
+        rb.publish(next);
+    }
+
+    public static void main(String[] args) throws Exception
+    {
+        new Runner(new OptionsBuilder().include(OneToOneSequencedBenchmark.class.getSimpleName()).build()).run();
+    }
+}